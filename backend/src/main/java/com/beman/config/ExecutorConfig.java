@@ -0,0 +1,94 @@
+package com.beman.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 线程池配置类
+ */
+@Configuration
+public class ExecutorConfig {
+
+    /**
+     * 内容审核线程池
+     * 有界队列，队列满时由调用线程执行，避免无限堆积
+     */
+    @Bean(name = "auditExecutor", destroyMethod = "shutdown")
+    public ThreadPoolTaskExecutor auditExecutor(
+            @Value("${beman.audit.executor.pool-size:4}") int poolSize,
+            @Value("${beman.audit.executor.queue-capacity:1000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("audit-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 发布内容异步审核线程池
+     * 与批量审核线程池隔离；队列满时直接拒绝，不把审核耗时转嫁给发帖、评论请求
+     */
+    @Bean(name = "moderationExecutor", destroyMethod = "shutdown")
+    public ThreadPoolTaskExecutor moderationExecutor(
+            @Value("${beman.audit.moderation.pool-size:2}") int poolSize,
+            @Value("${beman.audit.moderation.queue-capacity:10000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("moderation-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 关注时间线扇出线程池
+     * 队列满时由调用线程执行，扇出不能丢失，否则粉丝的时间线会缺帖
+     */
+    @Bean(name = "feedExecutor", destroyMethod = "shutdown")
+    public ThreadPoolTaskExecutor feedExecutor(
+            @Value("${beman.feed.timeline.pool-size:2}") int poolSize,
+            @Value("${beman.feed.timeline.queue-capacity:10000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("feed-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 密码哈希线程池
+     * 线程数默认等于CPU核数，哈希是纯计算；队列满时直接拒绝，登录洪峰只会排队到上限，不占满Web请求线程
+     */
+    @Bean(name = "passwordExecutor", destroyMethod = "shutdown")
+    public ThreadPoolTaskExecutor passwordExecutor(
+            @Value("${beman.user.password.pool-size:0}") int poolSize,
+            @Value("${beman.user.password.queue-capacity:64}") int queueCapacity) {
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("password-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,33 @@
+package com.beman.config;
+
+import com.beman.util.PasswordHasher;
+import com.beman.util.Pbkdf2PasswordHasher;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 密码哈希配置类
+ */
+@Slf4j
+@Configuration
+public class PasswordConfig {
+
+    /**
+     * 密码哈希算法，默认 PBKDF2-HMAC-SHA256。
+     * 未指定迭代次数时在启动时按本机速度校准，使单次哈希约耗时 target-millis，且不低于 min-iterations；
+     * 多节点部署时应指定固定的迭代次数，否则各节点校准结果不同，校验耗时因节点而异
+     */
+    @Bean
+    public PasswordHasher passwordHasher(@Value("${beman.user.password.iterations:0}") int iterations,
+                                         @Value("${beman.user.password.target-millis:100}") long targetMillis,
+                                         @Value("${beman.user.password.min-iterations:100000}") int minIterations) {
+        if (iterations > 0) {
+            return new Pbkdf2PasswordHasher(iterations);
+        }
+        int calibrated = Pbkdf2PasswordHasher.calibrate(targetMillis, minIterations);
+        log.info("密码哈希迭代次数校准为 {}（目标耗时 {} 毫秒）", calibrated, targetMillis);
+        return new Pbkdf2PasswordHasher(calibrated);
+    }
+}
@@ -0,0 +1,112 @@
+package com.beman.config;
+
+import com.beman.service.FollowGraphService;
+import com.beman.service.PostDetailCacheService;
+import com.beman.service.PostLikeService;
+import com.beman.service.PostSearchService;
+import com.beman.service.impl.FollowGraphServiceImpl;
+import com.beman.service.impl.PostDetailCacheServiceImpl;
+import com.beman.service.impl.PostLikeServiceImpl;
+import com.beman.service.impl.PostSearchServiceImpl;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Redis发布订阅配置类
+ */
+@Slf4j
+@Configuration
+public class RedisConfig {
+
+    /**
+     * 订阅帖子详情缓存失效通知，清除本节点的本地缓存；只在启用Redis二级缓存时创建
+     */
+    @Bean
+    @ConditionalOnProperty(name = "beman.post.detail-cache.redis-enabled", havingValue = "true")
+    public RedisMessageListenerContainer postDetailInvalidationContainer(RedisConnectionFactory connectionFactory,
+                                                                         PostDetailCacheService postDetailCacheService) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener((message, pattern) -> {
+            String body = new String(message.getBody(), StandardCharsets.UTF_8);
+            try {
+                postDetailCacheService.evictLocal(Long.valueOf(body));
+            } catch (NumberFormatException e) {
+                log.warn("忽略无效的帖子详情缓存失效通知: {}", body);
+            }
+        }, new ChannelTopic(PostDetailCacheServiceImpl.INVALIDATION_CHANNEL));
+        return container;
+    }
+
+    /**
+     * 订阅点赞缓存失效通知，清除本节点缓存的用户点赞集合；只在启用跨节点广播时创建
+     */
+    @Bean
+    @ConditionalOnProperty(name = "beman.post.like.cache.redis-enabled", havingValue = "true")
+    public RedisMessageListenerContainer postLikeInvalidationContainer(RedisConnectionFactory connectionFactory,
+                                                                       PostLikeService postLikeService) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener((message, pattern) -> {
+            String body = new String(message.getBody(), StandardCharsets.UTF_8);
+            try {
+                postLikeService.evictLocal(Long.valueOf(body));
+            } catch (NumberFormatException e) {
+                log.warn("忽略无效的点赞缓存失效通知: {}", body);
+            }
+        }, new ChannelTopic(PostLikeServiceImpl.INVALIDATION_CHANNEL));
+        return container;
+    }
+
+    /**
+     * 订阅 token 失效通知，清除本节点的 token 近缓存；只在会话保存到Redis时创建
+     */
+    @Bean
+    @ConditionalOnProperty(name = "beman.auth.session.redis-enabled", havingValue = "true")
+    public RedisMessageListenerContainer saTokenInvalidationContainer(RedisConnectionFactory connectionFactory,
+                                                                      SaTokenRedisDao saTokenRedisDao) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener((message, pattern) ->
+                        saTokenRedisDao.evictLocal(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(SaTokenRedisDao.INVALIDATION_CHANNEL));
+        return container;
+    }
+
+    /**
+     * 订阅其他节点的关注增量，计入本节点的关注关系图；只在启用跨节点广播时创建
+     */
+    @Bean
+    @ConditionalOnProperty(name = "beman.user.follow-graph.redis-enabled", havingValue = "true")
+    public RedisMessageListenerContainer followGraphDeltaContainer(RedisConnectionFactory connectionFactory,
+                                                                   FollowGraphService followGraphService) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener((message, pattern) ->
+                        followGraphService.onRemoteDelta(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(FollowGraphServiceImpl.DELTA_CHANNEL));
+        return container;
+    }
+
+    /**
+     * 订阅其他节点的帖子索引同步通知，从数据库同步本节点的搜索索引；只在启用跨节点广播时创建
+     */
+    @Bean
+    @ConditionalOnProperty(name = "beman.post.search.redis-enabled", havingValue = "true")
+    public RedisMessageListenerContainer postSearchSyncContainer(RedisConnectionFactory connectionFactory,
+                                                                 PostSearchService postSearchService) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener((message, pattern) ->
+                        postSearchService.onRemoteSync(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(PostSearchServiceImpl.SYNC_CHANNEL));
+        return container;
+    }
+}
@@ -0,0 +1,288 @@
+package com.beman.config;
+
+import cn.dev33.satoken.dao.SaTokenDao;
+import cn.dev33.satoken.util.SaFoxUtil;
+import io.lettuce.core.LettuceFutures;
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.SetArgs;
+import io.lettuce.core.cluster.api.async.RedisClusterAsyncCommands;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * sa-token 会话持久层，token 和会话保存在 Redis 中，多个节点共享登录状态，重启后不掉线。
+ * 每个请求都要做的 token → 登录ID 查询走本地近缓存，未命中时 GET 和 PTTL 合并为一次往返，
+ * 缓存时长不超过键在 Redis 中的剩余有效期；token 被修改、删除（注销、踢下线、顶替）或修改有效期时广播失效通知。
+ * 会话对象（SaSession）按 JDK 序列化保存，不做本地缓存
+ */
+@Component
+@ConditionalOnProperty(name = "beman.auth.session.redis-enabled", havingValue = "true")
+public class SaTokenRedisDao implements SaTokenDao {
+
+    /**
+     * 跨节点失效通知频道，消息内容为键名
+     */
+    public static final String INVALIDATION_CHANNEL = "beman:satoken:invalidate";
+
+    /**
+     * token → 登录ID 映射的键名特征，形如 {tokenName}:{loginType}:token:{tokenValue}
+     */
+    private static final String TOKEN_KEY_MARK = ":token:";
+
+    /**
+     * 模糊查询时每次 SCAN 的建议数量
+     */
+    private static final long SCAN_COUNT = 1000;
+
+    /**
+     * 单条命令等待响应的最长时间，与 spring.redis.timeout 一致
+     */
+    private static final long COMMAND_TIMEOUT_SECONDS = 10;
+
+    private final StringRedisTemplate redisTemplate;
+    private final JdkSerializationRedisSerializer objectSerializer = new JdkSerializationRedisSerializer();
+    private final long nearCacheMillis;
+
+    /**
+     * token 近缓存，只缓存存在的 token
+     */
+    private final Cache<String, NearEntry> nearCache;
+
+    public SaTokenRedisDao(StringRedisTemplate redisTemplate,
+                           @Value("${beman.auth.session.near-cache-maximum-size:100000}") long nearCacheMaximumSize,
+                           @Value("${beman.auth.session.near-cache-expire-millis:5000}") long nearCacheMillis) {
+        this.redisTemplate = redisTemplate;
+        this.nearCacheMillis = nearCacheMillis;
+        this.nearCache = Caffeine.newBuilder()
+                .maximumSize(nearCacheMaximumSize)
+                .expireAfterWrite(Math.max(nearCacheMillis, 0), TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    @Override
+    public String get(String key) {
+        if (!isNearCached(key)) {
+            return redisTemplate.opsForValue().get(key);
+        }
+        long now = System.currentTimeMillis();
+        NearEntry entry = nearCache.getIfPresent(key);
+        if (entry != null && entry.value != null && entry.expireAt > now) {
+            return entry.value;
+        }
+
+        // 先放入本次加载独有的占位条目，加载期间收到失效通知会把它移除，加载结果随之作废，
+        // 避免把失效通知之前读到的旧值写回近缓存
+        NearEntry pending = new NearEntry(null, 0);
+        nearCache.put(key, pending);
+        byte[] rawKey = rawKey(key);
+        return redisTemplate.execute((RedisCallback<String>) connection -> {
+            RedisClusterAsyncCommands<byte[], byte[]> commands = nativeCommands(connection);
+            RedisFuture<byte[]> rawValue = commands.get(rawKey);
+            RedisFuture<Long> ttl = commands.pttl(rawKey);
+            byte[] raw = await(rawValue);
+            Long ttlMillis = await(ttl);
+            if (raw == null || ttlMillis == null || ttlMillis == -2) {
+                nearCache.asMap().remove(key, pending);
+                return null;
+            }
+            String value = new String(raw, StandardCharsets.UTF_8);
+            // 剩余有效期为 -1 表示永不过期
+            long cacheMillis = ttlMillis < 0 ? nearCacheMillis : Math.min(nearCacheMillis, ttlMillis);
+            nearCache.asMap().replace(key, pending, new NearEntry(value, now + cacheMillis));
+            return value;
+        });
+    }
+
+    @Override
+    public void set(String key, String value, long timeout) {
+        if (timeout == 0 || timeout <= NOT_VALUE_EXPIRE) {
+            return;
+        }
+        write(key, value.getBytes(StandardCharsets.UTF_8), setArgs(timeout));
+    }
+
+    @Override
+    public void update(String key, String value) {
+        write(key, value.getBytes(StandardCharsets.UTF_8), SetArgs.Builder.keepttl().xx());
+    }
+
+    @Override
+    public void delete(String key) {
+        nearCache.invalidate(key);
+        if (!isNearCached(key)) {
+            redisTemplate.delete(key);
+            return;
+        }
+        redisTemplate.execute((RedisCallback<Void>) connection -> {
+            RedisClusterAsyncCommands<byte[], byte[]> commands = nativeCommands(connection);
+            RedisFuture<Long> deleted = commands.del(rawKey(key));
+            RedisFuture<Long> published = broadcast(commands, key);
+            await(deleted);
+            await(published);
+            return null;
+        });
+        nearCache.invalidate(key);
+    }
+
+    @Override
+    public long getTimeout(String key) {
+        Long timeout = redisTemplate.getExpire(key);
+        return timeout == null ? NOT_VALUE_EXPIRE : timeout;
+    }
+
+    @Override
+    public void updateTimeout(String key, long timeout) {
+        nearCache.invalidate(key);
+        boolean broadcast = isNearCached(key);
+        redisTemplate.execute((RedisCallback<Void>) connection -> {
+            RedisClusterAsyncCommands<byte[], byte[]> commands = nativeCommands(connection);
+            // 其他节点近缓存中的条目按旧有效期计算，强制过期时也要通知它们
+            RedisFuture<Boolean> updated = timeout == NEVER_EXPIRE
+                    ? commands.persist(rawKey(key)) : commands.expire(rawKey(key), timeout);
+            if (broadcast) {
+                await(broadcast(commands, key));
+            }
+            await(updated);
+            return null;
+        });
+        nearCache.invalidate(key);
+    }
+
+    @Override
+    public Object getObject(String key) {
+        byte[] raw = redisTemplate.execute((RedisCallback<byte[]>) connection -> connection.stringCommands().get(rawKey(key)));
+        return objectSerializer.deserialize(raw);
+    }
+
+    @Override
+    public void setObject(String key, Object object, long timeout) {
+        if (timeout == 0 || timeout <= NOT_VALUE_EXPIRE) {
+            return;
+        }
+        write(key, objectSerializer.serialize(object), setArgs(timeout));
+    }
+
+    @Override
+    public void updateObject(String key, Object object) {
+        write(key, objectSerializer.serialize(object), SetArgs.Builder.keepttl().xx());
+    }
+
+    @Override
+    public void deleteObject(String key) {
+        delete(key);
+    }
+
+    @Override
+    public long getObjectTimeout(String key) {
+        return getTimeout(key);
+    }
+
+    @Override
+    public void updateObjectTimeout(String key, long timeout) {
+        updateTimeout(key, timeout);
+    }
+
+    /**
+     * 用 SCAN 代替 KEYS，避免阻塞 Redis；SCAN 返回顺序不固定，排序后再分页
+     */
+    @Override
+    public List<String> searchData(String prefix, String keyword, int start, int size, boolean sortType) {
+        ScanOptions options = ScanOptions.scanOptions()
+                .match(prefix + "*" + keyword + "*")
+                .count(SCAN_COUNT)
+                .build();
+        List<String> keys = new ArrayList<>();
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            cursor.forEachRemaining(keys::add);
+        }
+        Collections.sort(keys);
+        return SaFoxUtil.searchList(keys, start, size, sortType);
+    }
+
+    /**
+     * 清除本节点的近缓存，收到其他节点的失效通知时调用
+     */
+    public void evictLocal(String key) {
+        nearCache.invalidate(key);
+    }
+
+    /**
+     * 写入并在同一次往返中广播 token 失效通知。写完后再清一次本节点近缓存，
+     * 防止写入期间并发的读取把旧值放回
+     */
+    private void write(String key, byte[] value, SetArgs args) {
+        nearCache.invalidate(key);
+        boolean broadcast = isNearCached(key);
+        redisTemplate.execute((RedisCallback<Void>) connection -> {
+            RedisClusterAsyncCommands<byte[], byte[]> commands = nativeCommands(connection);
+            RedisFuture<String> written = commands.set(rawKey(key), value, args);
+            if (broadcast) {
+                await(broadcast(commands, key));
+            }
+            await(written);
+            return null;
+        });
+        nearCache.invalidate(key);
+    }
+
+    /**
+     * 广播失效通知，与写命令在同一次往返中发出
+     */
+    private static RedisFuture<Long> broadcast(RedisClusterAsyncCommands<byte[], byte[]> commands, String key) {
+        return commands.publish(rawKey(INVALIDATION_CHANNEL), rawKey(key));
+    }
+
+    /**
+     * Lettuce 的共享连接上连续发出的异步命令不等待前一条的响应，多条命令只花一次往返；
+     * 不用 executePipelined，因为它需要独占连接，没有连接池时每次都会新建连接
+     */
+    @SuppressWarnings("unchecked")
+    private static RedisClusterAsyncCommands<byte[], byte[]> nativeCommands(RedisConnection connection) {
+        return (RedisClusterAsyncCommands<byte[], byte[]>) connection.getNativeConnection();
+    }
+
+    private static <T> T await(RedisFuture<T> future) {
+        return LettuceFutures.awaitOrCancel(future, COMMAND_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    private static SetArgs setArgs(long timeout) {
+        return timeout == NEVER_EXPIRE ? new SetArgs() : SetArgs.Builder.ex(timeout);
+    }
+
+    private boolean isNearCached(String key) {
+        return nearCacheMillis > 0 && key.contains(TOKEN_KEY_MARK);
+    }
+
+    private static byte[] rawKey(String key) {
+        return key.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 近缓存条目，expireAt 不晚于键在 Redis 中的过期时间；value 为 null 表示正在加载的占位条目
+     */
+    private static final class NearEntry {
+
+        private final String value;
+        private final long expireAt;
+
+        private NearEntry(String value, long expireAt) {
+            this.value = value;
+            this.expireAt = expireAt;
+        }
+    }
+}
@@ -6,6 +6,7 @@ import com.beman.model.Comment;
 import com.beman.model.dto.CommentCreateDTO;
 import com.beman.model.dto.CommentQueryDTO;
 import com.beman.model.vo.CommentVO;
+import com.beman.model.vo.CursorPageVO;
 import com.beman.model.vo.Result;
 import com.beman.service.CommentService;
 import lombok.RequiredArgsConstructor;
@@ -51,6 +52,21 @@ public class CommentController {
         }
     }
 
+    /**
+     * 游标分页查询评论的回复（内嵌回复之后继续加载）
+     */
+    @GetMapping("/{id}/replies")
+    public Result<CursorPageVO<CommentVO>> getReplies(@PathVariable Long id,
+                                                      @RequestParam(required = false) String cursor,
+                                                      @RequestParam(defaultValue = "20") Integer size) {
+        try {
+            CursorPageVO<CommentVO> replies = commentService.getReplies(id, cursor, size);
+            return Result.success(replies);
+        } catch (Exception e) {
+            return Result.error(e.getMessage());
+        }
+    }
+
     /**
      * 获取评论详情
      */
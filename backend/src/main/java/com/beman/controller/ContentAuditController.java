@@ -1,12 +1,23 @@
 package com.beman.controller;
 
+import com.beman.model.AuditDictionary;
 import com.beman.model.AuditResult;
+import com.beman.model.dto.AuditBatchDTO;
+import com.beman.service.AuditCacheService;
+import com.beman.service.AuditDictionaryService;
 import com.beman.service.ContentAuditService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -20,6 +31,33 @@ public class ContentAuditController {
     @Autowired
     private ContentAuditService contentAuditService;
     
+    @Autowired
+    private AuditDictionaryService auditDictionaryService;
+    
+    @Autowired
+    private AuditCacheService auditCacheService;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    /**
+     * 批量审核单次最大条数
+     */
+    @Value("${beman.audit.batch.max-size:1000}")
+    private int batchMaxSize;
+    
+    /**
+     * 流式批量审核单次最大条数
+     */
+    @Value("${beman.audit.batch.stream-max-size:100000}")
+    private int streamMaxSize;
+    
+    /**
+     * 流式批量审核每次审核并写出的条数
+     */
+    @Value("${beman.audit.batch.stream-chunk-size:500}")
+    private int streamChunkSize;
+    
     /**
      * 审核内容
      * @param request 包含content字段的请求体
@@ -55,6 +93,82 @@ public class ContentAuditController {
         }
     }
     
+    /**
+     * 批量审核内容
+     * @param batchDTO 包含contents列表的请求体
+     * @return 审核结果列表，顺序与输入一致
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<Map<String, Object>> auditBatch(@RequestBody AuditBatchDTO batchDTO) {
+        try {
+            List<String> contents = batchDTO.getContents();
+            
+            if (contents == null || contents.isEmpty()) {
+                Map<String, Object> errorResponse = new HashMap<>();
+                errorResponse.put("success", false);
+                errorResponse.put("message", "内容不能为空");
+                return ResponseEntity.badRequest().body(errorResponse);
+            }
+            
+            if (contents.size() > batchMaxSize) {
+                Map<String, Object> errorResponse = new HashMap<>();
+                errorResponse.put("success", false);
+                errorResponse.put("message", "单次最多审核" + batchMaxSize + "条，更多请使用 /api/audit/batch/stream");
+                return ResponseEntity.badRequest().body(errorResponse);
+            }
+            
+            // 执行批量审核
+            List<AuditResult> results = contentAuditService.auditBatch(contents);
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("data", results);
+            response.put("message", "批量审核完成");
+            
+            return ResponseEntity.ok(response);
+            
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", "批量审核失败: " + e.getMessage());
+            return ResponseEntity.internalServerError().body(errorResponse);
+        }
+    }
+    
+    /**
+     * 流式批量审核内容，响应为NDJSON，每行一个审核结果，顺序与输入一致
+     * 按分片审核并立即写出，服务端不缓存整个响应
+     * @param batchDTO 包含contents列表的请求体
+     * @param response HTTP响应
+     */
+    @PostMapping(value = "/batch/stream", produces = "application/x-ndjson")
+    public void auditBatchStream(@RequestBody AuditBatchDTO batchDTO, HttpServletResponse response) throws IOException {
+        List<String> contents = batchDTO.getContents();
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding("UTF-8");
+        OutputStream out = response.getOutputStream();
+        
+        if (contents == null || contents.isEmpty() || contents.size() > streamMaxSize) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", contents == null || contents.isEmpty()
+                    ? "内容不能为空" : "单次最多审核" + streamMaxSize + "条");
+            response.setStatus(HttpStatus.BAD_REQUEST.value());
+            out.write(objectMapper.writeValueAsBytes(errorResponse));
+            out.write('\n');
+            return;
+        }
+        
+        for (int start = 0; start < contents.size(); start += streamChunkSize) {
+            List<String> chunk = contents.subList(start, Math.min(start + streamChunkSize, contents.size()));
+            for (AuditResult result : contentAuditService.auditBatch(chunk)) {
+                out.write(objectMapper.writeValueAsBytes(result));
+                out.write('\n');
+            }
+            out.flush();
+        }
+    }
+    
     /**
      * 检查内容是否为极端内容
      * @param request 包含content字段的请求体
@@ -171,6 +285,75 @@ public class ContentAuditController {
         }
     }
     
+    /**
+     * 获取当前词库信息
+     * @return 词库版本、规模及匹配器构建指标
+     */
+    @GetMapping("/dictionary")
+    public ResponseEntity<Map<String, Object>> getDictionary() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("data", describeDictionary(auditDictionaryService.current()));
+        response.put("message", "获取词库信息成功");
+        return ResponseEntity.ok(response);
+    }
+    
+    /**
+     * 立即重新加载词库
+     * @return 重新加载后的词库信息
+     */
+    @PostMapping("/dictionary/reload")
+    public ResponseEntity<Map<String, Object>> reloadDictionary() {
+        try {
+            boolean changed = auditDictionaryService.reload();
+            
+            Map<String, Object> data = describeDictionary(auditDictionaryService.current());
+            data.put("changed", changed);
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("data", data);
+            response.put("message", changed ? "词库已更新" : "词库版本未变化");
+            
+            return ResponseEntity.ok(response);
+            
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", "重新加载词库失败: " + e.getMessage());
+            return ResponseEntity.internalServerError().body(errorResponse);
+        }
+    }
+    
+    /**
+     * 获取审核结果缓存统计
+     * @return 命中、未命中、淘汰次数等
+     */
+    @GetMapping("/cache/stats")
+    public ResponseEntity<Map<String, Object>> getCacheStats() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("data", auditCacheService.getStats());
+        response.put("message", "获取缓存统计成功");
+        return ResponseEntity.ok(response);
+    }
+    
+    /**
+     * 词库信息
+     */
+    private Map<String, Object> describeDictionary(AuditDictionary dictionary) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("version", dictionary.getVersion());
+        data.put("extremeCount", dictionary.getExtremeKeywords().size());
+        data.put("sensitiveCount", dictionary.getSensitiveWeights().size());
+        data.put("sceneCount", dictionary.getSuggestionTemplates().size());
+        data.put("stateCount", dictionary.getMatcher().stateCount());
+        data.put("buildMillis", dictionary.getBuildMillis());
+        data.put("memoryBytes", dictionary.getMemoryBytes());
+        data.put("loadedAt", dictionary.getLoadedAt());
+        return data;
+    }
+    
     /**
      * 获取风险等级描述
      */
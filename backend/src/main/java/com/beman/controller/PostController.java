@@ -5,6 +5,7 @@ import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.beman.model.Post;
 import com.beman.model.dto.PostCreateDTO;
 import com.beman.model.dto.PostQueryDTO;
+import com.beman.model.vo.CursorPageVO;
 import com.beman.model.vo.Result;
 import com.beman.service.PostService;
 import lombok.RequiredArgsConstructor;
@@ -39,7 +40,7 @@ public class PostController {
     }
 
     /**
-     * 分页查询帖子列表
+     * 分页查询帖子列表（OFFSET 分页，含总数，供管理端使用）
      */
     @GetMapping("/page")
     public Result<IPage<Post>> getPostPage(PostQueryDTO queryDTO) {
@@ -51,6 +52,45 @@ public class PostController {
         }
     }
 
+    /**
+     * 游标分页查询帖子流（社区信息流使用，不返回总数）
+     */
+    @GetMapping("/feed")
+    public Result<CursorPageVO<Post>> getPostFeed(PostQueryDTO queryDTO) {
+        try {
+            CursorPageVO<Post> feed = postService.getPostFeed(queryDTO);
+            return Result.success(feed);
+        } catch (Exception e) {
+            return Result.error(e.getMessage());
+        }
+    }
+
+    /**
+     * 游标分页查询关注的人发布的帖子
+     */
+    @GetMapping("/following")
+    public Result<CursorPageVO<Post>> getFollowingFeed(PostQueryDTO queryDTO) {
+        try {
+            CursorPageVO<Post> feed = postService.getFollowingFeed(queryDTO);
+            return Result.success(feed);
+        } catch (Exception e) {
+            return Result.error(e.getMessage());
+        }
+    }
+
+    /**
+     * 搜索帖子（关键词按相关度排序，标签精确匹配）
+     */
+    @GetMapping("/search")
+    public Result<IPage<Post>> searchPosts(PostQueryDTO queryDTO) {
+        try {
+            IPage<Post> postPage = postService.searchPosts(queryDTO);
+            return Result.success(postPage);
+        } catch (Exception e) {
+            return Result.error(e.getMessage());
+        }
+    }
+
     /**
      * 获取帖子详情
      */
@@ -105,11 +145,14 @@ public class PostController {
 
     /**
      * 获取热门标签
+     * @param window 时间窗口：hour、day、week，默认按天
+     * @param limit 返回数量
      */
     @GetMapping("/hot-tags")
-    public Result<List<String>> getHotTags() {
+    public Result<List<String>> getHotTags(@RequestParam(defaultValue = "day") String window,
+                                           @RequestParam(defaultValue = "10") Integer limit) {
         try {
-            List<String> hotTags = postService.getHotTags();
+            List<String> hotTags = postService.getHotTags(window, limit);
             return Result.success(hotTags);
         } catch (Exception e) {
             return Result.error(e.getMessage());
@@ -7,9 +7,11 @@ import com.beman.model.dto.UserRegisterDTO;
 import com.beman.model.vo.Result;
 import com.beman.service.UserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.BeanUtils;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
 import java.util.HashMap;
 import java.util.Map;
@@ -44,9 +46,10 @@ public class UserController {
      * 用户登录
      */
     @PostMapping("/login")
-    public Result<Map<String, Object>> login(@Valid @RequestBody UserLoginDTO loginDTO) {
+    public Result<Map<String, Object>> login(@Valid @RequestBody UserLoginDTO loginDTO, HttpServletRequest request) {
         try {
-            String token = userService.login(loginDTO);
+            // 来自受信任代理的请求已由 Tomcat 按 X-Forwarded-For 还原真实IP（见 server.tomcat.remoteip），这里不直接读请求头
+            String token = userService.login(loginDTO, request.getRemoteAddr());
             Map<String, Object> result = new HashMap<>();
             result.put("token", token);
             result.put("tokenName", "beman-token");
@@ -84,8 +87,11 @@ public class UserController {
             Long userId = StpUtil.getLoginIdAsLong();
             User user = userService.findById(userId);
             if (user != null) {
-                user.setPassword(null);
-                return Result.success(user);
+                // 缓存中的对象是共享的，复制后再去掉密码
+                User info = new User();
+                BeanUtils.copyProperties(user, info);
+                info.setPassword(null);
+                return Result.success(info);
             }
             return Result.error("用户不存在");
         } catch (Exception e) {
@@ -144,6 +144,32 @@ public class UserFollowController {
         }
     }
 
+    /**
+     * 获取可能认识的人
+     */
+    @GetMapping("/suggestions")
+    public Result<List<UserFollowVO>> getSuggestedUsers(@RequestParam(required = false) Integer limit) {
+        try {
+            List<UserFollowVO> users = userFollowService.getSuggestedUsers(limit);
+            return Result.success(users);
+        } catch (Exception e) {
+            return Result.error(e.getMessage());
+        }
+    }
+
+    /**
+     * 获取与指定用户的共同粉丝数
+     */
+    @GetMapping("/common-followers/{userId}")
+    public Result<Integer> getCommonFollowersCount(@PathVariable Long userId) {
+        try {
+            Integer count = userFollowService.getCommonFollowersCount(userId);
+            return Result.success(count);
+        } catch (Exception e) {
+            return Result.error(e.getMessage());
+        }
+    }
+
     /**
      * 批量查询关注状态
      */
@@ -0,0 +1,45 @@
+package com.beman.event;
+
+/**
+ * 评论领域事件：评论发布、删除后发布，监听方在事务提交后处理
+ */
+public class CommentEvent {
+
+    /**
+     * 事件类型
+     */
+    public enum Type {
+        CREATED,
+        DELETED
+    }
+
+    private final Type type;
+    private final Long commentId;
+    private final Long postId;
+
+    public CommentEvent(Type type, Long commentId, Long postId) {
+        this.type = type;
+        this.commentId = commentId;
+        this.postId = postId;
+    }
+
+    public static CommentEvent created(Long commentId, Long postId) {
+        return new CommentEvent(Type.CREATED, commentId, postId);
+    }
+
+    public static CommentEvent deleted(Long commentId, Long postId) {
+        return new CommentEvent(Type.DELETED, commentId, postId);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Long getCommentId() {
+        return commentId;
+    }
+
+    public Long getPostId() {
+        return postId;
+    }
+}
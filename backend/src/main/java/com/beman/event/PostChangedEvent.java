@@ -0,0 +1,24 @@
+package com.beman.event;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 帖子变更事件：帖子删除、审核状态变化等影响详情内容或可见性时发布，监听方在事务提交后处理
+ */
+public class PostChangedEvent {
+
+    private final List<Long> postIds;
+
+    public PostChangedEvent(List<Long> postIds) {
+        this.postIds = postIds;
+    }
+
+    public static PostChangedEvent of(Long postId) {
+        return new PostChangedEvent(Collections.singletonList(postId));
+    }
+
+    public List<Long> getPostIds() {
+        return postIds;
+    }
+}
@@ -0,0 +1,19 @@
+package com.beman.event;
+
+import java.util.List;
+
+/**
+ * 帖子发布事件：预检时进入审核中的帖子审核通过、转为正常状态后发布，监听方补做发帖时跳过的扇出和热度统计
+ */
+public class PostPublishedEvent {
+
+    private final List<Long> postIds;
+
+    public PostPublishedEvent(List<Long> postIds) {
+        this.postIds = postIds;
+    }
+
+    public List<Long> getPostIds() {
+        return postIds;
+    }
+}
@@ -0,0 +1,12 @@
+package com.beman.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.beman.model.AuditKeyword;
+import org.apache.ibatis.annotations.Mapper;
+
+/**
+ * 审核关键词Mapper接口
+ */
+@Mapper
+public interface AuditKeywordMapper extends BaseMapper<AuditKeyword> {
+}
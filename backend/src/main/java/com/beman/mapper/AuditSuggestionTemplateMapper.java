@@ -0,0 +1,12 @@
+package com.beman.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.beman.model.AuditSuggestionTemplate;
+import org.apache.ibatis.annotations.Mapper;
+
+/**
+ * 审核建议模板Mapper接口
+ */
+@Mapper
+public interface AuditSuggestionTemplateMapper extends BaseMapper<AuditSuggestionTemplate> {
+}
@@ -4,10 +4,13 @@ import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.beman.model.Comment;
+import com.beman.model.vo.CommentChildrenCountVO;
 import com.beman.model.vo.CommentVO;
+import com.beman.util.ReplyCursor;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -23,22 +26,44 @@ public interface CommentMapper extends BaseMapper<Comment> {
                                       @Param("parentId") Long parentId, @Param("sortType") Integer sortType);
 
     /**
-     * 查询评论的子评论数量
+     * 按父评论分组统计回复数量，没有回复的评论不返回
      */
-    Integer selectChildrenCount(@Param("commentId") Long commentId);
+    List<CommentChildrenCountVO> selectChildrenCounts(@Param("parentIds") Collection<Long> parentIds);
 
     /**
-     * 查询评论的子评论列表
+     * 批量查询多条评论各自最早的若干条回复，按父评论、创建时间升序
+     * @param parentIds 父评论ID
+     * @param limit 每条评论最多返回的回复数
      */
-    List<CommentVO> selectChildren(@Param("commentId") Long commentId);
+    List<CommentVO> selectChildrenWindow(@Param("parentIds") Collection<Long> parentIds, @Param("limit") int limit);
+
+    /**
+     * 游标分页查询评论的回复，按创建时间升序
+     * @param parentId 父评论ID
+     * @param cursor 上一页最后一条回复的游标，第一页为 null
+     * @param limit 条数
+     */
+    List<CommentVO> selectReplies(@Param("parentId") Long parentId, @Param("cursor") ReplyCursor cursor,
+                                  @Param("limit") int limit);
 
     /**
      * 查询用户是否已点赞评论
      */
     Boolean selectIsLiked(@Param("commentId") Long commentId, @Param("userId") Long userId);
 
+    /**
+     * 查询用户在给定评论中点赞过的评论
+     */
+    List<Long> selectLikedCommentIds(@Param("userId") Long userId, @Param("commentIds") Collection<Long> commentIds);
+
     /**
      * 更新评论点赞数
      */
     int updateLikeCount(@Param("commentId") Long commentId, @Param("increment") Integer increment);
+
+    /**
+     * 批量回写审核结果，只更新正常和已隐藏状态的评论
+     */
+    int updateAuditResult(@Param("ids") List<Long> ids, @Param("status") Integer status,
+                          @Param("riskLevel") Integer riskLevel);
 }
@@ -0,0 +1,51 @@
+package com.beman.mapper;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 关注时间线Mapper接口
+ * 时间线表是复合主键，不继承 BaseMapper
+ */
+@Mapper
+public interface FeedTimelineMapper {
+
+    /**
+     * 把帖子写入一批用户的时间线，已存在时忽略
+     * @return 写入条数
+     */
+    int insertBatch(@Param("postId") Long postId, @Param("authorId") Long authorId,
+                    @Param("userIds") Collection<Long> userIds);
+
+    /**
+     * 把作者最近的帖子补入用户的时间线，用于新关注
+     * @return 写入条数
+     */
+    int insertRecentPosts(@Param("userId") Long userId, @Param("authorId") Long authorId, @Param("limit") int limit);
+
+    /**
+     * 删除用户时间线中某作者的帖子，用于取消关注
+     */
+    int deleteByAuthor(@Param("userId") Long userId, @Param("authorId") Long authorId);
+
+    /**
+     * 按帖子ID倒序查询用户时间线
+     * @param beforePostId 只返回ID小于该值的帖子，为空时从最新开始
+     */
+    List<Long> selectPostIds(@Param("userId") Long userId, @Param("beforePostId") Long beforePostId,
+                             @Param("limit") int limit);
+
+    /**
+     * 查询时间线表中最大的用户ID
+     */
+    Long selectMaxUserId();
+
+    /**
+     * 每个用户只保留最新的 capacity 条
+     * @return 删除条数
+     */
+    int trim(@Param("fromUserId") long fromUserId, @Param("toUserId") long toUserId, @Param("capacity") int capacity);
+}
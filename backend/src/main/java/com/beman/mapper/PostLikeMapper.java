@@ -0,0 +1,38 @@
+package com.beman.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.beman.model.PostLike;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 帖子点赞记录Mapper接口
+ */
+@Mapper
+public interface PostLikeMapper extends BaseMapper<PostLike> {
+
+    /**
+     * 写入点赞记录，已存在时忽略
+     * @return 1-新点赞，0-已点赞过
+     */
+    int insertIgnore(@Param("postId") Long postId, @Param("userId") Long userId);
+
+    /**
+     * 删除点赞记录
+     * @return 1-已取消，0-原本未点赞
+     */
+    int deleteLike(@Param("postId") Long postId, @Param("userId") Long userId);
+
+    /**
+     * 按帖子ID升序查询用户点赞过的帖子
+     */
+    List<Long> selectPostIdsByUserId(@Param("userId") Long userId, @Param("limit") int limit);
+
+    /**
+     * 查询用户在给定帖子中点赞过的帖子
+     */
+    List<Long> selectLikedPostIds(@Param("userId") Long userId, @Param("postIds") Collection<Long> postIds);
+}
@@ -4,10 +4,14 @@ import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.beman.model.Post;
+import com.beman.util.PostCursor;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 帖子Mapper接口
@@ -16,20 +20,28 @@ import java.util.List;
 public interface PostMapper extends BaseMapper<Post> {
 
     /**
-     * 分页查询帖子列表（包含作者信息）
+     * 分页查询帖子列表（不含作者信息）
      */
-    IPage<Post> selectPostPage(Page<Post> page, @Param("tags") List<String> tags, 
+    IPage<Post> selectPostPage(Page<Post> page, @Param("tagIds") List<Long> tagIds, 
                               @Param("keyword") String keyword, @Param("contentType") Integer contentType);
 
     /**
-     * 根据ID查询帖子详情（包含作者信息）
+     * 游标分页查询帖子流，按 (is_top, create_time, id) 倒序，不查询总数
      */
-    Post selectPostDetail(@Param("id") Long id, @Param("userId") Long userId);
+    List<Post> selectPostFeed(@Param("tagIds") List<Long> tagIds, @Param("keyword") String keyword,
+                              @Param("contentType") Integer contentType, @Param("cursor") PostCursor cursor,
+                              @Param("limit") int limit);
 
     /**
-     * 更新帖子浏览次数
+     * 只查询帖子的浏览、点赞、评论数，供详情缓存刷新计数
      */
-    int updateViewCount(@Param("id") Long id);
+    Post selectCounters(@Param("id") Long id);
+
+    /**
+     * 批量累加帖子浏览次数
+     * @param deltas 帖子ID到浏览增量
+     */
+    int increaseViewCounts(@Param("deltas") Map<Long, Long> deltas);
 
     /**
      * 更新帖子点赞次数
@@ -37,7 +49,46 @@ public interface PostMapper extends BaseMapper<Post> {
     int updateLikeCount(@Param("id") Long id, @Param("increment") int increment);
 
     /**
-     * 更新帖子评论次数
+     * 批量累加帖子评论数，结果不小于0
+     * @param deltas 帖子ID到评论数增量
+     */
+    int increaseCommentCounts(@Param("deltas") Map<Long, Long> deltas);
+
+    /**
+     * 查询最大帖子ID
+     */
+    Long selectMaxId();
+
+    /**
+     * 按评论表重新统计ID在 [fromId, toId] 内的帖子评论数
+     * @param quietSeconds 最近该秒数内有评论新增或删除的帖子跳过，其增量可能尚在某个节点内存中未写回
+     * @return 修正的帖子数
+     */
+    int reconcileCommentCounts(@Param("fromId") long fromId, @Param("toId") long toId,
+                               @Param("quietSeconds") int quietSeconds);
+
+    /**
+     * 查询时间窗口内最新的帖子，只含计算热度所需的列
+     * @param since 发布时间下界
+     * @param limit 最多返回条数
+     */
+    List<Post> selectHotCandidates(@Param("since") LocalDateTime since, @Param("limit") int limit);
+
+    /**
+     * 按ID批量查询计算热度所需的列，不过滤状态
+     */
+    List<Post> selectRankFieldsByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 按ID倒序查询作者最近的公开帖子ID，不含匿名帖子
+     * @param beforeId 只返回ID小于该值的帖子，为空时从最新开始
+     */
+    List<Long> selectRecentIdsByUser(@Param("userId") Long userId, @Param("beforeId") Long beforeId,
+                                     @Param("limit") int limit);
+
+    /**
+     * 批量回写审核结果，只更新审核中和正常状态的帖子
      */
-    int updateCommentCount(@Param("id") Long id, @Param("increment") int increment);
+    int updateAuditResult(@Param("ids") List<Long> ids, @Param("status") Integer status,
+                          @Param("riskLevel") Integer riskLevel);
 }
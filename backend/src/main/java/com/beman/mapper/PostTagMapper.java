@@ -0,0 +1,20 @@
+package com.beman.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.beman.model.PostTag;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.Collection;
+
+/**
+ * 帖子标签关联Mapper接口
+ */
+@Mapper
+public interface PostTagMapper extends BaseMapper<PostTag> {
+
+    /**
+     * 批量写入帖子的标签关联
+     */
+    int insertBatch(@Param("postId") Long postId, @Param("tagIds") Collection<Long> tagIds);
+}
@@ -0,0 +1,25 @@
+package com.beman.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.beman.model.Tag;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.Collection;
+
+/**
+ * 标签Mapper接口
+ */
+@Mapper
+public interface TagMapper extends BaseMapper<Tag> {
+
+    /**
+     * 批量登记标签：不存在时创建，存在时使用次数加一
+     */
+    int upsertUsage(@Param("names") Collection<String> names);
+
+    /**
+     * 帖子删除时扣减其所有标签的使用次数
+     */
+    int decreaseUsageByPostId(@Param("postId") Long postId);
+}
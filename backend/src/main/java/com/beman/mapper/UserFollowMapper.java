@@ -8,6 +8,7 @@ import com.beman.model.vo.UserFollowVO;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -38,6 +39,13 @@ public interface UserFollowMapper extends BaseMapper<UserFollow> {
      */
     UserFollow selectFollowRelation(@Param("followerId") Long followerId, @Param("followingId") Long followingId);
 
+    /**
+     * 仅当关注状态仍为预期值时更新状态、关注类型、备注名和更新时间，并发的重复请求只有一个能更新成功
+     * @param expectedStatus 读取时的关注状态
+     * @return 更新的行数
+     */
+    int updateStatusIfMatch(@Param("follow") UserFollow follow, @Param("expectedStatus") int expectedStatus);
+
     /**
      * 查询关注数量
      */
@@ -52,4 +60,36 @@ public interface UserFollowMapper extends BaseMapper<UserFollow> {
      * 查询互相关注的用户ID列表
      */
     List<Long> selectMutualFollowUserIds(@Param("userId") Long userId);
+
+    /**
+     * 按粉丝ID升序分批查询粉丝
+     * @param afterFollowerId 只返回ID大于该值的粉丝
+     */
+    List<Long> selectFollowerIds(@Param("followingId") Long followingId,
+                                 @Param("afterFollowerId") long afterFollowerId, @Param("limit") int limit);
+
+    /**
+     * 查询用户在给定用户中关注了哪些
+     */
+    List<Long> selectFollowingIdsIn(@Param("followerId") Long followerId,
+                                    @Param("followingIds") Collection<Long> followingIds);
+
+    /**
+     * 查询给定用户中哪些关注了该用户
+     */
+    List<Long> selectFollowerIdsIn(@Param("followingId") Long followingId,
+                                   @Param("followerIds") Collection<Long> followerIds);
+
+    /**
+     * 按 (关注者ID, 被关注者ID) 升序分批查询有效的关注关系，只填充这两列
+     * @param afterFollowerId 上一批最后一条的关注者ID
+     * @param afterFollowingId 上一批最后一条的被关注者ID
+     */
+    List<UserFollow> selectEdges(@Param("afterFollowerId") long afterFollowerId,
+                                 @Param("afterFollowingId") long afterFollowingId, @Param("limit") int limit);
+
+    /**
+     * 查询同时关注了两个用户的人数
+     */
+    Integer selectCommonFollowersCount(@Param("userId") Long userId, @Param("otherUserId") Long otherUserId);
 }
@@ -3,10 +3,19 @@ package com.beman.mapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.beman.model.User;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
 
 /**
  * 用户Mapper接口
  */
 @Mapper
 public interface UserMapper extends BaseMapper<User> {
-} 
\ No newline at end of file
+
+    /**
+     * 按主键升序分批查询未删除的用户ID
+     * @param afterId 只返回ID大于该值的用户
+     */
+    List<Long> selectIdsAfter(@Param("afterId") long afterId, @Param("limit") int limit);
+}
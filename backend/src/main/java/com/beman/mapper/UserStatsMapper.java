@@ -0,0 +1,39 @@
+package com.beman.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.beman.model.UserStats;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 用户统计Mapper接口
+ */
+@Mapper
+public interface UserStatsMapper extends BaseMapper<UserStats> {
+
+    /**
+     * 批量累加关注数和粉丝数，统计行不存在时插入
+     * @param deltas 每个用户的增量，followingCount、followerCount 为增量值
+     */
+    int increaseCounts(@Param("deltas") Collection<UserStats> deltas);
+
+    /**
+     * 查询粉丝数不少于阈值的用户ID
+     */
+    List<Long> selectUserIdsWithFollowersAtLeast(@Param("threshold") int threshold);
+
+    /**
+     * 查询最大用户ID，用于分段对账
+     */
+    Long selectMaxUserId();
+
+    /**
+     * 按关注表重新统计一段用户的关注数和粉丝数
+     * @param quietSeconds 最近该秒数内关注关系有变化的用户跳过，其增量可能尚在某个节点内存中未写回
+     * @return 受影响行数，计数无偏差的行不计入
+     */
+    int reconcile(@Param("fromId") long fromId, @Param("toId") long toId, @Param("quietSeconds") int quietSeconds);
+}
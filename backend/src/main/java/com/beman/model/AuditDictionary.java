@@ -0,0 +1,223 @@
+package com.beman.model;
+
+import com.beman.util.KeywordMatcher;
+import com.beman.util.TextNormalizer;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * 审核词库快照
+ * 构建完成后不可变，审核时整体读取一次引用，热更新通过替换整个快照完成
+ */
+@Getter
+public class AuditDictionary {
+
+    /**
+     * 词库版本，由词库内容计算得出，内容相同的词库版本相同
+     */
+    private final String version;
+
+    /**
+     * 极端关键词（已归一化）
+     */
+    private final Set<String> extremeKeywords;
+
+    /**
+     * 敏感关键词（已归一化）及权重，权重之和达到阈值时判定风险
+     */
+    private final Map<String, Integer> sensitiveWeights;
+
+    /**
+     * 引导性建议模板（场景词已归一化），按优先级排列
+     */
+    private final Map<String, String[]> suggestionTemplates;
+
+    /**
+     * 编译后的匹配器
+     */
+    private final KeywordMatcher matcher;
+
+    /**
+     * 匹配器构建耗时（毫秒）
+     */
+    private final long buildMillis;
+
+    /**
+     * 匹配器估算内存占用（字节）
+     */
+    private final long memoryBytes;
+
+    /**
+     * 加载时间戳
+     */
+    private final long loadedAt;
+
+    private AuditDictionary(String version, Set<String> extremeKeywords, Map<String, Integer> sensitiveWeights,
+                            Map<String, String[]> suggestionTemplates) {
+        this.version = version;
+        this.extremeKeywords = extremeKeywords;
+        this.sensitiveWeights = sensitiveWeights;
+        this.suggestionTemplates = suggestionTemplates;
+
+        long start = System.nanoTime();
+        Set<String> vocabulary = new HashSet<>(extremeKeywords);
+        vocabulary.addAll(sensitiveWeights.keySet());
+        vocabulary.addAll(suggestionTemplates.keySet());
+        this.matcher = KeywordMatcher.compile(vocabulary);
+        this.buildMillis = (System.nanoTime() - start) / 1_000_000;
+        this.memoryBytes = matcher.memoryBytes();
+        this.loadedAt = System.currentTimeMillis();
+    }
+
+    /**
+     * 构建词库快照，所有词都经过 {@link TextNormalizer} 归一化，与审核时的文本处理保持一致
+     * @param extremeKeywords 极端关键词
+     * @param sensitiveWeights 敏感关键词及权重
+     * @param suggestionTemplates 建议模板，迭代顺序即匹配优先级
+     * @return 词库快照
+     */
+    public static AuditDictionary build(Collection<String> extremeKeywords, Map<String, Integer> sensitiveWeights,
+                                        Map<String, String[]> suggestionTemplates) {
+        Set<String> extreme = normalizeKeywords(extremeKeywords);
+        Map<String, Integer> sensitive = normalizeKeys(sensitiveWeights);
+        Map<String, String[]> templates = normalizeKeys(suggestionTemplates);
+
+        return new AuditDictionary(versionOf(extreme, sensitive, templates),
+                Collections.unmodifiableSet(extreme),
+                Collections.unmodifiableMap(sensitive),
+                Collections.unmodifiableMap(templates));
+    }
+
+    /**
+     * 按 {@link #build} 的归一化规则计算版本号，与构建出的快照版本一致，不构建匹配器，用于判断词库是否变化
+     */
+    public static String normalizedVersionOf(Collection<String> extremeKeywords, Map<String, Integer> sensitiveWeights,
+                                             Map<String, String[]> suggestionTemplates) {
+        return versionOf(normalizeKeywords(extremeKeywords), normalizeKeys(sensitiveWeights),
+                normalizeKeys(suggestionTemplates));
+    }
+
+    private static Set<String> normalizeKeywords(Collection<String> keywords) {
+        Set<String> normalized = new HashSet<>();
+        for (String keyword : keywords) {
+            String word = TextNormalizer.normalizeToString(keyword);
+            if (!word.isEmpty()) {
+                normalized.add(word);
+            }
+        }
+        return normalized;
+    }
+
+    /**
+     * 归一化键，保持迭代顺序；归一化后相同的键以后出现的为准
+     */
+    private static <V> Map<String, V> normalizeKeys(Map<String, V> source) {
+        Map<String, V> normalized = new LinkedHashMap<>();
+        source.forEach((key, value) -> {
+            String word = TextNormalizer.normalizeToString(key);
+            if (!word.isEmpty()) {
+                normalized.put(word, value);
+            }
+        });
+        return normalized;
+    }
+
+    /**
+     * 计算词库内容的版本号（SHA-256 前16位），与数据来源和加载顺序无关，但建议模板的优先级顺序计入版本
+     */
+    public static String versionOf(Collection<String> extremeKeywords, Map<String, Integer> sensitiveWeights,
+                                   Map<String, String[]> suggestionTemplates) {
+        StringBuilder builder = new StringBuilder();
+        for (String keyword : new TreeSet<>(extremeKeywords)) {
+            builder.append("E:").append(keyword).append('\n');
+        }
+        new TreeMap<>(sensitiveWeights).forEach((keyword, weight) ->
+                builder.append("S:").append(keyword).append('=').append(weight).append('\n'));
+        suggestionTemplates.forEach((scene, items) ->
+                builder.append("T:").append(scene).append('=').append(Arrays.toString(items)).append('\n'));
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(builder.toString().getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder();
+            for (int i = 0; i < 8; i++) {
+                hex.append(String.format("%02x", digest[i]));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 不可用", e);
+        }
+    }
+
+    /**
+     * 内置默认词库，数据库词库不可用时兜底
+     */
+    public static AuditDictionary defaults() {
+        return Defaults.INSTANCE;
+    }
+
+    private static final class Defaults {
+
+        private static final AuditDictionary INSTANCE = create();
+
+        private static AuditDictionary create() {
+            Set<String> extreme = new HashSet<>(Arrays.asList(
+                "分手", "离婚", "绝交", "拉黑", "删除", "断绝关系", "永不相见",
+                "恨你", "讨厌你", "恶心", "滚蛋", "去死", "自杀", "自残",
+                "报复", "报复社会", "杀人", "放火", "爆炸", "恐怖袭击"
+            ));
+
+            Map<String, Integer> sensitive = new LinkedHashMap<>();
+            for (String keyword : Arrays.asList(
+                "吵架", "冷战", "不理你", "生气", "愤怒", "失望", "绝望",
+                "痛苦", "难过", "伤心", "崩溃", "想不开", "活不下去")) {
+                sensitive.put(keyword, 1);
+            }
+
+            Map<String, String[]> templates = new LinkedHashMap<>();
+
+            templates.put("失望", new String[]{
+                "失望的感觉很难受，你愿意分享具体是什么让你失望吗？",
+                "也许可以尝试表达你的期望，让对方知道你的需求？",
+                "失望往往源于期望，你觉得你的期望合理吗？"
+            });
+
+            templates.put("愤怒", new String[]{
+                "愤怒时容易说出伤人的话，你愿意先冷静一下吗？",
+                "也许可以尝试理解愤怒背后的原因，你觉得是什么触发了你的愤怒？",
+                "愤怒往往掩盖了更深层的情绪，你真正想要的是什么？"
+            });
+
+            templates.put("吵架", new String[]{
+                "吵架后冷静下来，你觉得问题的根源是什么？",
+                "也许可以尝试用'我'开头的表达方式，比如'我感觉...'",
+                "每次冲突都是了解对方的机会，你从这次吵架中学到了什么？"
+            });
+
+            templates.put("冷战", new String[]{
+                "冷战往往让问题变得更复杂，你愿意主动打破僵局吗？",
+                "也许可以先从一个小话题开始，比如分享今天的有趣事情？",
+                "关系需要温度，你觉得如何能让彼此重新连接？"
+            });
+
+            templates.put("分手", new String[]{
+                "分手是一个重大决定，你确定已经尝试了所有可能的解决方案吗？",
+                "在做出最终决定前，也许可以尝试一次深入的沟通，你觉得呢？",
+                "关系中的问题往往需要双方共同努力，你希望对方如何配合？"
+            });
+
+            return build(extreme, sensitive, templates);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.beman.model;
+
+import com.baomidou.mybatisplus.annotation.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.time.LocalDateTime;
+
+/**
+ * 审核关键词实体类
+ */
+@Data
+@EqualsAndHashCode(callSuper = false)
+@TableName("audit_keyword")
+public class AuditKeyword {
+
+    /**
+     * 主键ID
+     */
+    @TableId(value = "id", type = IdType.AUTO)
+    private Long id;
+
+    /**
+     * 关键词
+     */
+    @TableField("word")
+    private String word;
+
+    /**
+     * 类型：1-极端词，2-敏感词
+     */
+    @TableField("type")
+    private Integer type;
+
+    /**
+     * 权重（敏感词累计计分使用）
+     */
+    @TableField("weight")
+    private Integer weight;
+
+    /**
+     * 状态：0-停用，1-启用
+     */
+    @TableField("status")
+    private Integer status;
+
+    /**
+     * 创建时间
+     */
+    @TableField(value = "create_time", fill = FieldFill.INSERT)
+    private LocalDateTime createTime;
+
+    /**
+     * 更新时间
+     */
+    @TableField(value = "update_time", fill = FieldFill.INSERT_UPDATE)
+    private LocalDateTime updateTime;
+
+    /**
+     * 逻辑删除标识
+     */
+    @TableLogic
+    @TableField("deleted")
+    private Integer deleted;
+}
@@ -0,0 +1,65 @@
+package com.beman.model;
+
+import com.baomidou.mybatisplus.annotation.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.time.LocalDateTime;
+
+/**
+ * 审核建议模板实体类
+ */
+@Data
+@EqualsAndHashCode(callSuper = false)
+@TableName("audit_suggestion_template")
+public class AuditSuggestionTemplate {
+
+    /**
+     * 主键ID
+     */
+    @TableId(value = "id", type = IdType.AUTO)
+    private Long id;
+
+    /**
+     * 场景关键词
+     */
+    @TableField("scene")
+    private String scene;
+
+    /**
+     * 建议内容
+     */
+    @TableField("content")
+    private String content;
+
+    /**
+     * 场景优先级，数值越小越先匹配
+     */
+    @TableField("priority")
+    private Integer priority;
+
+    /**
+     * 状态：0-停用，1-启用
+     */
+    @TableField("status")
+    private Integer status;
+
+    /**
+     * 创建时间
+     */
+    @TableField(value = "create_time", fill = FieldFill.INSERT)
+    private LocalDateTime createTime;
+
+    /**
+     * 更新时间
+     */
+    @TableField(value = "update_time", fill = FieldFill.INSERT_UPDATE)
+    private LocalDateTime updateTime;
+
+    /**
+     * 逻辑删除标识
+     */
+    @TableLogic
+    @TableField("deleted")
+    private Integer deleted;
+}
@@ -92,6 +92,12 @@ public class Post {
     @TableField("is_top")
     private Integer isTop;
 
+    /**
+     * 审核风险等级：0-低风险，1-中风险，2-高风险
+     */
+    @TableField("risk_level")
+    private Integer riskLevel;
+
     /**
      * 创建时间
      */
@@ -0,0 +1,40 @@
+package com.beman.model;
+
+import com.baomidou.mybatisplus.annotation.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.time.LocalDateTime;
+
+/**
+ * 帖子标签关联实体类
+ */
+@Data
+@EqualsAndHashCode(callSuper = false)
+@TableName("post_tag")
+public class PostTag {
+
+    /**
+     * 主键ID
+     */
+    @TableId(value = "id", type = IdType.AUTO)
+    private Long id;
+
+    /**
+     * 帖子ID
+     */
+    @TableField("post_id")
+    private Long postId;
+
+    /**
+     * 标签ID
+     */
+    @TableField("tag_id")
+    private Long tagId;
+
+    /**
+     * 创建时间
+     */
+    @TableField(value = "create_time", fill = FieldFill.INSERT)
+    private LocalDateTime createTime;
+}
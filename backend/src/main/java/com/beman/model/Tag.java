@@ -0,0 +1,46 @@
+package com.beman.model;
+
+import com.baomidou.mybatisplus.annotation.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.time.LocalDateTime;
+
+/**
+ * 标签实体类
+ */
+@Data
+@EqualsAndHashCode(callSuper = false)
+@TableName("tag")
+public class Tag {
+
+    /**
+     * 主键ID
+     */
+    @TableId(value = "id", type = IdType.AUTO)
+    private Long id;
+
+    /**
+     * 标签名称
+     */
+    @TableField("name")
+    private String name;
+
+    /**
+     * 使用次数（未删除的帖子数）
+     */
+    @TableField("usage_count")
+    private Integer usageCount;
+
+    /**
+     * 创建时间
+     */
+    @TableField(value = "create_time", fill = FieldFill.INSERT)
+    private LocalDateTime createTime;
+
+    /**
+     * 更新时间
+     */
+    @TableField(value = "update_time", fill = FieldFill.INSERT_UPDATE)
+    private LocalDateTime updateTime;
+}
@@ -0,0 +1,41 @@
+package com.beman.model;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableField;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 用户统计实体类
+ */
+@Data
+@TableName("user_stats")
+public class UserStats {
+
+    /**
+     * 用户ID
+     */
+    @TableId(value = "user_id", type = IdType.INPUT)
+    private Long userId;
+
+    /**
+     * 关注数
+     */
+    @TableField("following_count")
+    private Integer followingCount;
+
+    /**
+     * 粉丝数
+     */
+    @TableField("follower_count")
+    private Integer followerCount;
+
+    /**
+     * 更新时间
+     */
+    @TableField("update_time")
+    private LocalDateTime updateTime;
+}
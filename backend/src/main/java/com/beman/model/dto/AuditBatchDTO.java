@@ -0,0 +1,19 @@
+package com.beman.model.dto;
+
+import lombok.Data;
+
+import javax.validation.constraints.NotEmpty;
+import java.util.List;
+
+/**
+ * 批量审核DTO
+ */
+@Data
+public class AuditBatchDTO {
+
+    /**
+     * 待审核内容列表，结果按相同顺序返回
+     */
+    @NotEmpty(message = "审核内容不能为空")
+    private List<String> contents;
+}
@@ -20,6 +20,11 @@ public class PostQueryDTO {
      */
     private Integer size = 10;
 
+    /**
+     * 游标（游标分页时使用），为空时查询第一页
+     */
+    private String cursor;
+
     /**
      * 标签列表
      */
@@ -0,0 +1,20 @@
+package com.beman.model.vo;
+
+import lombok.Data;
+
+/**
+ * 评论回复数VO
+ */
+@Data
+public class CommentChildrenCountVO {
+
+    /**
+     * 父评论ID
+     */
+    private Long parentId;
+
+    /**
+     * 回复数量
+     */
+    private Integer childrenCount;
+}
@@ -85,4 +85,9 @@ public class CommentVO {
      * 子评论数量
      */
     private Integer childrenCount;
+
+    /**
+     * 继续加载回复的游标，内嵌回复已是全部回复时为空
+     */
+    private String childrenCursor;
 }
@@ -0,0 +1,32 @@
+package com.beman.model.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 游标分页结果VO
+ * 不返回总数，客户端用 nextCursor 请求下一页
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageVO<T> {
+
+    /**
+     * 当前页数据
+     */
+    private List<T> records;
+
+    /**
+     * 下一页游标，没有更多数据时为 null
+     */
+    private String nextCursor;
+
+    /**
+     * 是否还有更多数据
+     */
+    private Boolean hasMore;
+}
@@ -0,0 +1,33 @@
+package com.beman.service;
+
+import com.beman.model.AuditResult;
+
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 审核结果缓存服务接口
+ * 以词库版本和内容摘要为键缓存审核结果，本地缓存为一级，Redis为可选的二级
+ */
+public interface AuditCacheService {
+
+    /**
+     * 读取缓存的审核结果，未命中时调用loader计算并写入缓存
+     * @param dictionaryVersion 词库版本
+     * @param content 待审核内容
+     * @param loader 未命中时的计算逻辑
+     * @return 审核结果（副本，调用方可修改）
+     */
+    AuditResult get(String dictionaryVersion, String content, Function<String, AuditResult> loader);
+
+    /**
+     * 获取缓存统计：命中、未命中、淘汰次数等
+     * @return 统计信息
+     */
+    Map<String, Object> getStats();
+
+    /**
+     * 清空本地缓存
+     */
+    void invalidateAll();
+}
@@ -0,0 +1,22 @@
+package com.beman.service;
+
+import com.beman.model.AuditDictionary;
+
+/**
+ * 审核词库服务接口
+ * 负责从数据库加载审核词库、构建匹配器并在版本变化时原子替换
+ */
+public interface AuditDictionaryService {
+
+    /**
+     * 获取当前生效的词库快照
+     * @return 词库快照
+     */
+    AuditDictionary current();
+
+    /**
+     * 重新加载词库，内容版本未变化时不重建匹配器
+     * @return true表示已切换到新版本，false表示版本未变化
+     */
+    boolean reload();
+}
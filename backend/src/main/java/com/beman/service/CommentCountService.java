@@ -0,0 +1,34 @@
+package com.beman.service;
+
+import com.beman.event.CommentEvent;
+
+/**
+ * 帖子评论数服务
+ * 评论发布、删除事件在内存中合并为增量，定期批量写回 post.comment_count；定期按帖子ID分段对账修正偏差
+ */
+public interface CommentCountService {
+
+    /**
+     * 处理评论事件，在事务提交后累加增量
+     * @param event 评论事件
+     */
+    void onCommentEvent(CommentEvent event);
+
+    /**
+     * 获取帖子评论数：已写回的计数加上待写回的增量
+     * @param postId 帖子ID
+     */
+    int getCommentCount(Long postId);
+
+    /**
+     * 将累计的增量写回数据库
+     * @return 写回的帖子数
+     */
+    int flush();
+
+    /**
+     * 按评论表重新统计并修正帖子评论数，其他节点正在对账时跳过
+     * @return 修正的帖子数
+     */
+    int reconcile();
+}
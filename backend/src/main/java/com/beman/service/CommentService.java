@@ -5,6 +5,7 @@ import com.beman.model.Comment;
 import com.beman.model.dto.CommentCreateDTO;
 import com.beman.model.dto.CommentQueryDTO;
 import com.beman.model.vo.CommentVO;
+import com.beman.model.vo.CursorPageVO;
 
 /**
  * 评论服务接口
@@ -21,6 +22,14 @@ public interface CommentService {
      */
     IPage<CommentVO> getCommentPage(CommentQueryDTO queryDTO);
 
+    /**
+     * 游标分页查询评论的回复
+     * @param commentId 父评论ID
+     * @param cursor 上一页返回的游标，为空时查询第一页
+     * @param size 每页条数
+     */
+    CursorPageVO<CommentVO> getReplies(Long commentId, String cursor, Integer size);
+
     /**
      * 获取评论详情
      */
@@ -2,6 +2,8 @@ package com.beman.service;
 
 import com.beman.model.AuditResult;
 
+import java.util.List;
+
 /**
  * 内容审核服务接口
  * 负责社区内容的审核、关键词过滤和极端倾向识别
@@ -15,6 +17,13 @@ public interface ContentAuditService {
      */
     AuditResult auditContent(String content);
     
+    /**
+     * 批量审核内容，同一批次使用同一份词库，在审核线程池上并行计算
+     * @param contents 待审核的内容列表
+     * @return 审核结果，顺序与输入一致
+     */
+    List<AuditResult> auditBatch(List<String> contents);
+    
     /**
      * 判断是否为极端内容
      * @param content 待判断的内容
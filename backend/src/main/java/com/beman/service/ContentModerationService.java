@@ -0,0 +1,36 @@
+package com.beman.service;
+
+/**
+ * 发布内容审核流水线服务
+ * 写入路径上只做轻量的同步预检，完整审核在独立线程池上异步执行，结果批量回写
+ */
+public interface ContentModerationService {
+
+    /**
+     * 同步预检，只扫描本地词库中的极端关键词
+     * @param content 待发布内容
+     * @return 是否需要先隐藏等待审核
+     */
+    boolean precheck(String content);
+
+    /**
+     * 提交帖子完整审核，在当前事务提交后执行
+     * @param postId 帖子ID
+     * @param content 审核文本
+     * @param held 是否因预检命中而处于审核中；审核通过后发布 {@link com.beman.event.PostPublishedEvent}
+     */
+    void submitPost(Long postId, String content, boolean held);
+
+    /**
+     * 提交评论完整审核，在当前事务提交后执行
+     * @param commentId 评论ID
+     * @param content 审核文本
+     */
+    void submitComment(Long commentId, String content);
+
+    /**
+     * 立即回写所有已完成的审核结果
+     * @return 回写条数
+     */
+    int flush();
+}
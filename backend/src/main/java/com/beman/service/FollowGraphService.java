@@ -0,0 +1,63 @@
+package com.beman.service;
+
+import java.util.List;
+
+/**
+ * 关注关系图服务
+ * 全量关注关系定期加载为内存中的压缩邻接表，两次加载之间各节点的关注、取消关注记为增量，
+ * 互关、共同粉丝、二度推荐都在进程内计算，不再自连接关注表
+ */
+public interface FollowGraphService {
+
+    /**
+     * 是否已完成首次加载，未就绪时调用方应回退到数据库查询
+     */
+    boolean isReady();
+
+    /**
+     * 与用户互相关注的人
+     * @param userId 用户ID
+     * @return 用户ID升序
+     */
+    List<Long> getMutualFollowIds(Long userId);
+
+    /**
+     * 同时关注了两个用户的人数
+     */
+    int countCommonFollowers(Long userId, Long otherUserId);
+
+    /**
+     * 可能认识的人：关注的人又关注了谁，按共同关注路径数排序，排除自己和已关注的人
+     * @param userId 用户ID
+     * @param limit 最多返回的人数
+     */
+    List<Long> suggest(Long userId, int limit);
+
+    /**
+     * 关注成功，事务提交后计入增量
+     */
+    void onFollow(Long followerId, Long followingId);
+
+    /**
+     * 取消关注，事务提交后计入增量
+     */
+    void onUnfollow(Long followerId, Long followingId);
+
+    /**
+     * 收到其他节点广播的关注增量，计入本节点
+     * @param message 广播的消息内容
+     */
+    void onRemoteDelta(String message);
+
+    /**
+     * 重新加载全量关注关系，合并此前的增量
+     * @return 加载的关注关系数
+     */
+    int rebuild();
+
+    /**
+     * 增量累积到阈值时在内存中合并进新的邻接表
+     * @return 合并后的关注关系数，未达到阈值时返回 0
+     */
+    int compact();
+}
@@ -0,0 +1,61 @@
+package com.beman.service;
+
+import com.beman.event.CommentEvent;
+import com.beman.event.PostChangedEvent;
+import com.beman.util.RankCursor;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 帖子热度榜服务接口
+ * 热度按点赞、评论、浏览和发布时长计算（Hacker News 式重力衰减），后台任务定期全量重算并增量刷新有变化的帖子，
+ * 榜单常驻内存，读请求只按游标顺序取ID
+ */
+public interface HotRankService {
+
+    /**
+     * 榜单是否已完成首次构建
+     */
+    boolean isReady();
+
+    /**
+     * 按热度倒序取下一页
+     * @param after 上一页最后一条的位置，为空时从榜首开始；在其所在的那一代榜单中继续，不受期间刷新影响
+     * @param contentType 内容类型，为空时不过滤
+     * @param tags 已规范化的标签，命中任一即可，为空时不过滤
+     * @param limit 返回数量
+     * @return 各条在榜单中的位置，其ID即帖子ID
+     */
+    List<RankCursor> next(RankCursor after, Integer contentType, Collection<String> tags, int limit);
+
+    /**
+     * 标记帖子热度需要重算
+     * @param postId 帖子ID
+     */
+    void markDirty(Long postId);
+
+    /**
+     * 评论数变化后标记帖子
+     * @param event 评论事件
+     */
+    void onCommentEvent(CommentEvent event);
+
+    /**
+     * 帖子删除或审核状态变化后标记帖子
+     * @param event 帖子变更事件
+     */
+    void onPostChanged(PostChangedEvent event);
+
+    /**
+     * 重算被标记的帖子并更新榜单
+     * @return 重算的帖子数
+     */
+    int refresh();
+
+    /**
+     * 按时间窗口内的帖子全量重建榜单，使发布时长衰减对所有帖子生效
+     * @return 榜单条数
+     */
+    int rebuild();
+}
@@ -0,0 +1,43 @@
+package com.beman.service;
+
+import com.beman.model.Post;
+
+import java.util.List;
+
+/**
+ * 热门标签服务接口
+ * 发帖、浏览、点赞实时累加标签热度，分小时、天、周三个时间窗口在内存中维护，定期快照到本地文件
+ */
+public interface HotTagService {
+
+    /**
+     * 记录发帖
+     * @param tags 已规范化的标签
+     */
+    void recordPublish(List<String> tags);
+
+    /**
+     * 记录浏览
+     * @param post 帖子（使用其标签）
+     */
+    void recordView(Post post);
+
+    /**
+     * 记录点赞
+     * @param post 帖子（使用其标签）
+     */
+    void recordLike(Post post);
+
+    /**
+     * 获取热门标签
+     * @param window 时间窗口：hour、day、week，为空时按天
+     * @param limit 返回数量
+     * @return 按热度倒序的标签
+     */
+    List<String> getHotTags(String window, int limit);
+
+    /**
+     * 将当前计数写入快照文件
+     */
+    void snapshot();
+}
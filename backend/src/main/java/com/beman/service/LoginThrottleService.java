@@ -0,0 +1,15 @@
+package com.beman.service;
+
+/**
+ * 登录限流服务
+ * 按用户名和客户端IP分别维护令牌桶，在校验密码之前拦截撞库和暴力破解
+ */
+public interface LoginThrottleService {
+
+    /**
+     * 登录尝试前调用，两个令牌桶都取到令牌才放行，否则抛出异常
+     * @param username 用户名
+     * @param clientIp 客户端IP，为空时只按用户名限流
+     */
+    void acquire(String username, String clientIp);
+}
@@ -0,0 +1,23 @@
+package com.beman.service;
+
+/**
+ * 密码服务
+ * 哈希和校验在专用的有界线程池中执行，线程池满时直接拒绝，登录洪峰不会占满 Web 请求线程
+ */
+public interface PasswordService {
+
+    /**
+     * 按当前算法和参数哈希密码
+     */
+    String hash(String rawPassword);
+
+    /**
+     * 校验密码，支持当前算法和旧版 MD5
+     */
+    boolean matches(String rawPassword, String encoded);
+
+    /**
+     * 编码不是当前算法或参数低于当前设置，登录成功后应重新哈希
+     */
+    boolean needsRehash(String encoded);
+}
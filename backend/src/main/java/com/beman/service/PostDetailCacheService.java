@@ -0,0 +1,43 @@
+package com.beman.service;
+
+import com.beman.event.PostChangedEvent;
+import com.beman.model.Post;
+
+/**
+ * 帖子详情缓存服务接口
+ * 帖子正文（很少变化）与计数（频繁变化）分开缓存：正文为本地 + Redis 两级缓存，变更时跨节点失效；
+ * 计数只在本地短时缓存，计数变化不会挤掉正文
+ */
+public interface PostDetailCacheService {
+
+    /**
+     * 获取帖子详情
+     * @param id 帖子ID
+     * @return 正文叠加最新计数的副本，调用方可修改；帖子不存在或不可见时返回 null
+     */
+    Post get(Long id);
+
+    /**
+     * 失效帖子正文缓存：删除Redis中的条目并通知所有节点清除本地缓存
+     * @param id 帖子ID
+     */
+    void invalidate(Long id);
+
+    /**
+     * 只清除本节点的本地正文缓存，收到其他节点的失效通知时调用
+     * @param id 帖子ID
+     */
+    void evictLocal(Long id);
+
+    /**
+     * 清除本节点的计数缓存，点赞等计数变化后调用
+     * @param id 帖子ID
+     */
+    void invalidateCounters(Long id);
+
+    /**
+     * 帖子变更后失效正文缓存
+     * @param event 帖子变更事件
+     */
+    void onPostChanged(PostChangedEvent event);
+}
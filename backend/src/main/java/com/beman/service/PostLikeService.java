@@ -0,0 +1,48 @@
+package com.beman.service;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * 帖子点赞服务接口
+ * 点赞记录与点赞数在同一事务内更新，重复点赞、重复取消不改变点赞数
+ */
+public interface PostLikeService {
+
+    /**
+     * 点赞
+     * @param postId 帖子ID
+     * @param userId 用户ID
+     * @return 是否为新点赞
+     */
+    boolean like(Long postId, Long userId);
+
+    /**
+     * 取消点赞
+     * @param postId 帖子ID
+     * @param userId 用户ID
+     * @return 是否取消了已有的点赞
+     */
+    boolean unlike(Long postId, Long userId);
+
+    /**
+     * 用户是否点赞过帖子
+     * @param userId 用户ID，为空时返回false
+     * @param postId 帖子ID
+     */
+    boolean isLiked(Long userId, Long postId);
+
+    /**
+     * 批量判断点赞状态，整页帖子最多一次查询
+     * @param userId 用户ID，为空时返回空集合
+     * @param postIds 帖子ID
+     * @return 其中用户点赞过的帖子ID
+     */
+    Set<Long> getLikedPostIds(Long userId, Collection<Long> postIds);
+
+    /**
+     * 只清除本节点缓存的用户点赞集合，用于处理其他节点的失效通知
+     * @param userId 用户ID
+     */
+    void evictLocal(Long userId);
+}
@@ -0,0 +1,53 @@
+package com.beman.service;
+
+import com.beman.event.PostChangedEvent;
+import com.beman.model.Post;
+import com.beman.util.InvertedIndex;
+
+import java.util.List;
+
+/**
+ * 帖子搜索服务接口
+ * 内存倒排索引，只包含正常状态的帖子；帖子发布、删除、审核状态变化后增量维护，启动时从数据库全量构建
+ */
+public interface PostSearchService {
+
+    /**
+     * 检索帖子ID
+     * @param keyword 关键词，非空时按相关度排序
+     * @param tags 标签过滤，精确匹配任一标签
+     * @param contentType 内容类型过滤
+     * @param offset 跳过条数
+     * @param limit 返回条数
+     * @return 命中的帖子ID及总数
+     */
+    InvertedIndex.Hits search(String keyword, List<String> tags, Integer contentType, int offset, int limit);
+
+    /**
+     * 索引是否已完成全量构建，未完成前调用方应回退到数据库查询
+     */
+    boolean isReady();
+
+    /**
+     * 加入或更新帖子索引，在当前事务提交后执行；不是正常状态的帖子移出索引
+     */
+    void index(Post post);
+
+    /**
+     * 帖子删除或审核状态变化后按最新状态更新索引
+     * @param event 帖子变更事件
+     */
+    void onPostChanged(PostChangedEvent event);
+
+    /**
+     * 收到其他节点广播的同步通知，从数据库同步对应帖子
+     * @param message 广播的消息内容
+     */
+    void onRemoteSync(String message);
+
+    /**
+     * 从数据库全量构建索引
+     * @return 构建的帖子数
+     */
+    int rebuild();
+}
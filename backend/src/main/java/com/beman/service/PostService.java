@@ -1,9 +1,11 @@
 package com.beman.service;
 
 import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.beman.event.PostPublishedEvent;
 import com.beman.model.Post;
 import com.beman.model.dto.PostCreateDTO;
 import com.beman.model.dto.PostQueryDTO;
+import com.beman.model.vo.CursorPageVO;
 
 /**
  * 帖子服务接口
@@ -20,6 +22,21 @@ public interface PostService {
      */
     IPage<Post> getPostPage(PostQueryDTO queryDTO);
 
+    /**
+     * 游标分页查询帖子流
+     */
+    CursorPageVO<Post> getPostFeed(PostQueryDTO queryDTO);
+
+    /**
+     * 游标分页查询当前用户关注的人发布的帖子，按发布先后倒序
+     */
+    CursorPageVO<Post> getFollowingFeed(PostQueryDTO queryDTO);
+
+    /**
+     * 搜索帖子：有关键词时按相关度排序，标签精确匹配
+     */
+    IPage<Post> searchPosts(PostQueryDTO queryDTO);
+
     /**
      * 根据ID获取帖子详情
      */
@@ -40,8 +57,15 @@ public interface PostService {
      */
     void deletePost(Long postId);
 
+    /**
+     * 预检扣留的帖子审核通过后，补做发帖时跳过的时间线扇出和标签热度统计；搜索索引和热度榜由帖子变更事件同步
+     */
+    void onPostPublished(PostPublishedEvent event);
+
     /**
      * 获取热门标签
+     * @param window 时间窗口：hour、day、week
+     * @param limit 返回数量
      */
-    java.util.List<String> getHotTags();
+    java.util.List<String> getHotTags(String window, int limit);
 }
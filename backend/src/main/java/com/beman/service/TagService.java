@@ -0,0 +1,38 @@
+package com.beman.service;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 标签服务接口
+ * 帖子标签在写入时解析一次并落到 post_tag 关联表，列表按标签过滤时走关联表索引
+ */
+public interface TagService {
+
+    /**
+     * 规范化标签：去除首尾空白、丢弃空标签和超长标签、按首次出现顺序去重
+     * @param tags 原始标签
+     * @return 规范化后的标签
+     */
+    List<String> normalize(List<String> tags);
+
+    /**
+     * 绑定帖子标签，登记标签字典并累加使用次数
+     * @param postId 帖子ID
+     * @param tags 已规范化的标签
+     */
+    void bindPostTags(Long postId, List<String> tags);
+
+    /**
+     * 解绑帖子标签并扣减使用次数
+     * @param postId 帖子ID
+     */
+    void unbindPostTags(Long postId);
+
+    /**
+     * 标签名称解析为ID，字典中不存在的标签忽略
+     * @param names 标签名称
+     * @return 标签ID
+     */
+    List<Long> resolveIds(Collection<String> names);
+}
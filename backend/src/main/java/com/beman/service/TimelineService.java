@@ -0,0 +1,60 @@
+package com.beman.service;
+
+import com.beman.model.Post;
+
+import java.util.List;
+
+/**
+ * 关注时间线服务接口
+ * 混合扇出：普通作者发帖时写入每个粉丝的时间线（写扩散），粉丝数超过阈值的大V不写入，
+ * 读取时把自己的时间线与所关注大V的最近发帖归并（读扩散），单页读取开销只与页大小和关注的大V数有关
+ */
+public interface TimelineService {
+
+    /**
+     * 帖子发布后扇出到粉丝时间线，事务提交后异步执行
+     * @param post 新帖子
+     */
+    void onPostPublished(Post post);
+
+    /**
+     * 帖子删除后失效作者的发帖缓存；时间线中的条目在读取时过滤
+     * @param authorId 作者ID
+     */
+    void onPostDeleted(Long authorId);
+
+    /**
+     * 关注后把对方最近的帖子补入时间线
+     * @param followerId 关注者ID
+     * @param followingId 被关注者ID
+     */
+    void onFollow(Long followerId, Long followingId);
+
+    /**
+     * 取消关注后从时间线移除对方的帖子
+     * @param followerId 关注者ID
+     * @param followingId 被关注者ID
+     */
+    void onUnfollow(Long followerId, Long followingId);
+
+    /**
+     * 按帖子ID倒序读取关注时间线
+     * @param userId 用户ID
+     * @param beforePostId 只返回ID小于该值的帖子，为空时从最新开始
+     * @param limit 返回数量
+     * @return 帖子ID，可能包含已删除或不可见的帖子，由调用方加载时过滤
+     */
+    List<Long> getTimeline(Long userId, Long beforePostId, int limit);
+
+    /**
+     * 重新统计大V名单
+     * @return 大V人数
+     */
+    int refreshCelebrities();
+
+    /**
+     * 按容量裁剪时间线
+     * @return 删除条数
+     */
+    int trim();
+}
@@ -0,0 +1,33 @@
+package com.beman.service;
+
+import com.beman.model.User;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * 用户资料缓存服务接口
+ * 用于列表等热点路径上批量填充作者信息，返回的是缓存共享对象，调用方只读不改
+ */
+public interface UserCacheService {
+
+    /**
+     * 根据ID获取用户，未命中时查询数据库
+     * @param id 用户ID
+     * @return 用户，不存在时返回 null
+     */
+    User get(Long id);
+
+    /**
+     * 批量获取用户，所有未命中的ID合并为一次查询
+     * @param ids 用户ID集合
+     * @return 用户ID到用户的映射，不存在的用户不包含在内
+     */
+    Map<Long, User> getAll(Collection<Long> ids);
+
+    /**
+     * 用户资料变更后使缓存失效
+     * @param id 用户ID
+     */
+    void invalidate(Long id);
+}
@@ -58,6 +58,17 @@ public interface UserFollowService {
      */
     List<UserFollowVO> getMutualFollowUsers(Long userId);
 
+    /**
+     * 可能认识的人：关注的人又关注了谁
+     * @param limit 最多返回的人数
+     */
+    List<UserFollowVO> getSuggestedUsers(Integer limit);
+
+    /**
+     * 当前用户与指定用户的共同粉丝数
+     */
+    Integer getCommonFollowersCount(Long userId);
+
     /**
      * 批量查询关注状态
      */
@@ -4,6 +4,9 @@ import com.beman.model.User;
 import com.beman.model.dto.UserLoginDTO;
 import com.beman.model.dto.UserRegisterDTO;
 
+import java.util.Collection;
+import java.util.Map;
+
 /**
  * 用户服务接口
  */
@@ -19,6 +22,12 @@ public interface UserService {
      */
     String login(UserLoginDTO loginDTO);
 
+    /**
+     * 用户登录，按用户名和客户端IP限流；旧版密码登录成功后自动升级为当前哈希算法
+     * @param clientIp 客户端IP，为空时只按用户名限流
+     */
+    String login(UserLoginDTO loginDTO, String clientIp);
+
     /**
      * 匿名登录
      */
@@ -45,7 +54,13 @@ public interface UserService {
     String generateAnonymousId();
 
     /**
-     * 根据ID查询用户
+     * 根据ID查询用户，优先读取缓存；返回的是缓存共享对象，调用方只读不改
      */
     User findById(Long id);
+
+    /**
+     * 根据ID批量查询用户，所有未命中缓存的ID合并为一次查询；返回的是缓存共享对象，调用方只读不改
+     * @return 用户ID到用户的映射，不存在的用户不包含在内
+     */
+    Map<Long, User> getByIds(Collection<Long> ids);
 } 
\ No newline at end of file
@@ -0,0 +1,46 @@
+package com.beman.service;
+
+/**
+ * 用户统计服务
+ * 关注、取消关注在内存中合并为增量，定期批量写回 user_stats；定期按用户ID分段对账修正偏差
+ */
+public interface UserStatsService {
+
+    /**
+     * 关注成功后累加双方计数，事务提交后生效
+     * @param followerId 关注者ID
+     * @param followingId 被关注者ID
+     */
+    void onFollow(Long followerId, Long followingId);
+
+    /**
+     * 取消关注后扣减双方计数，事务提交后生效
+     * @param followerId 关注者ID
+     * @param followingId 被关注者ID
+     */
+    void onUnfollow(Long followerId, Long followingId);
+
+    /**
+     * 获取关注数：已写回的计数加上待写回的增量
+     * @param userId 用户ID
+     */
+    int getFollowingCount(Long userId);
+
+    /**
+     * 获取粉丝数：已写回的计数加上待写回的增量
+     * @param userId 用户ID
+     */
+    int getFollowerCount(Long userId);
+
+    /**
+     * 将累计的增量写回数据库
+     * @return 写回的用户数
+     */
+    int flush();
+
+    /**
+     * 按关注表重新统计并修正用户计数，其他节点正在对账时跳过
+     * @return 修正的行数
+     */
+    int reconcile();
+}
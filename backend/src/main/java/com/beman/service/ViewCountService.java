@@ -0,0 +1,27 @@
+package com.beman.service;
+
+/**
+ * 帖子浏览计数服务
+ * 浏览只在内存中累加，定期合并为批量更新写回数据库，读路径上不再产生行锁写入
+ */
+public interface ViewCountService {
+
+    /**
+     * 记录一次浏览
+     * @param postId 帖子ID
+     */
+    void increment(Long postId);
+
+    /**
+     * 尚未写回数据库的浏览次数
+     * @param postId 帖子ID
+     * @return 待写回的增量
+     */
+    long getPending(Long postId);
+
+    /**
+     * 将累计的增量写回数据库
+     * @return 写回的帖子数
+     */
+    int flush();
+}
@@ -0,0 +1,151 @@
+package com.beman.service.impl;
+
+import com.beman.model.AuditResult;
+import com.beman.service.AuditCacheService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * 审核结果缓存服务实现类
+ * 一级为 Caffeine 本地缓存（W-TinyLFU 淘汰策略），二级为可选的 Redis 缓存；
+ * 键包含词库版本，词库切换后旧结果自然失效
+ */
+@Slf4j
+@Service
+public class AuditCacheServiceImpl implements AuditCacheService {
+
+    /**
+     * Redis缓存键前缀
+     */
+    private static final String REDIS_KEY_PREFIX = "beman:audit:result:";
+
+    private final Cache<String, AuditResult> localCache;
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final boolean redisEnabled;
+    private final long redisExpireSeconds;
+
+    private final LongAdder redisHits = new LongAdder();
+    private final LongAdder redisMisses = new LongAdder();
+    private final LongAdder redisErrors = new LongAdder();
+
+    public AuditCacheServiceImpl(@Nullable StringRedisTemplate redisTemplate,
+                                 ObjectMapper objectMapper,
+                                 @Value("${beman.audit.cache.maximum-size:100000}") long maximumSize,
+                                 @Value("${beman.audit.cache.expire-seconds:3600}") long expireSeconds,
+                                 @Value("${beman.audit.cache.redis-enabled:false}") boolean redisEnabled,
+                                 @Value("${beman.audit.cache.redis-expire-seconds:86400}") long redisExpireSeconds) {
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireSeconds, TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.redisEnabled = redisEnabled && redisTemplate != null;
+        this.redisExpireSeconds = redisExpireSeconds;
+    }
+
+    @Override
+    public AuditResult get(String dictionaryVersion, String content, Function<String, AuditResult> loader) {
+        String key = dictionaryVersion + ":" + digest(content);
+        AuditResult cached = localCache.get(key, k -> loadFromRedis(k, content, loader));
+        return copyOf(cached);
+    }
+
+    /**
+     * 本地未命中时查询Redis，再未命中则计算并回写Redis
+     */
+    private AuditResult loadFromRedis(String key, String content, Function<String, AuditResult> loader) {
+        if (!redisEnabled) {
+            return loader.apply(content);
+        }
+
+        String redisKey = REDIS_KEY_PREFIX + key;
+        try {
+            String json = redisTemplate.opsForValue().get(redisKey);
+            if (json != null) {
+                redisHits.increment();
+                return objectMapper.readValue(json, AuditResult.class);
+            }
+            redisMisses.increment();
+        } catch (Exception e) {
+            redisErrors.increment();
+            log.warn("读取审核结果缓存失败: {}", e.getMessage());
+        }
+
+        AuditResult result = loader.apply(content);
+        try {
+            redisTemplate.opsForValue().set(redisKey, objectMapper.writeValueAsString(result),
+                    redisExpireSeconds, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            redisErrors.increment();
+            log.warn("写入审核结果缓存失败: {}", e.getMessage());
+        }
+        return result;
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        CacheStats stats = localCache.stats();
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("size", localCache.estimatedSize());
+        data.put("hitCount", stats.hitCount());
+        data.put("missCount", stats.missCount());
+        data.put("hitRate", stats.hitRate());
+        data.put("evictionCount", stats.evictionCount());
+        data.put("redisEnabled", redisEnabled);
+        data.put("redisHitCount", redisHits.sum());
+        data.put("redisMissCount", redisMisses.sum());
+        data.put("redisErrorCount", redisErrors.sum());
+        return data;
+    }
+
+    @Override
+    public void invalidateAll() {
+        localCache.invalidateAll();
+    }
+
+    /**
+     * 内容的 SHA-256 摘要
+     */
+    private static String digest(String content) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(hash.length * 2);
+            for (byte b : hash) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 不可用", e);
+        }
+    }
+
+    /**
+     * 复制审核结果，避免调用方修改缓存中的对象
+     */
+    private static AuditResult copyOf(AuditResult source) {
+        AuditResult result = new AuditResult(source.isExtreme(), source.getSuggestion());
+        result.setRiskLevel(source.getRiskLevel());
+        result.setAuditStatus(source.getAuditStatus());
+        result.setRejectReason(source.getRejectReason());
+        return result;
+    }
+}
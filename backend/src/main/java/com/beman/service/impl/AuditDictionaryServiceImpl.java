@@ -0,0 +1,118 @@
+package com.beman.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.beman.mapper.AuditKeywordMapper;
+import com.beman.mapper.AuditSuggestionTemplateMapper;
+import com.beman.model.AuditDictionary;
+import com.beman.model.AuditKeyword;
+import com.beman.model.AuditSuggestionTemplate;
+import com.beman.service.AuditDictionaryService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 审核词库服务实现类
+ * 词库在调用线程（定时任务）上构建，构建完成后通过原子引用整体替换，进行中的审核继续使用旧快照
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AuditDictionaryServiceImpl implements AuditDictionaryService {
+
+    /**
+     * 关键词类型：极端词
+     */
+    private static final int TYPE_EXTREME = 1;
+
+    /**
+     * 关键词类型：敏感词
+     */
+    private static final int TYPE_SENSITIVE = 2;
+
+    private final AuditKeywordMapper auditKeywordMapper;
+    private final AuditSuggestionTemplateMapper auditSuggestionTemplateMapper;
+
+    private final AtomicReference<AuditDictionary> current = new AtomicReference<>(AuditDictionary.defaults());
+
+    @PostConstruct
+    public void init() {
+        try {
+            reload();
+        } catch (Exception e) {
+            log.warn("加载审核词库失败，使用内置默认词库: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public AuditDictionary current() {
+        return current.get();
+    }
+
+    @Override
+    public synchronized boolean reload() {
+        // 读取启用的关键词
+        List<AuditKeyword> keywords = auditKeywordMapper.selectList(new LambdaQueryWrapper<AuditKeyword>()
+                .eq(AuditKeyword::getStatus, 1));
+        if (keywords.isEmpty()) {
+            log.warn("审核词库为空，继续使用当前词库，版本: {}", current.get().getVersion());
+            return false;
+        }
+
+        Set<String> extreme = new HashSet<>();
+        Map<String, Integer> sensitive = new LinkedHashMap<>();
+        for (AuditKeyword keyword : keywords) {
+            String word = keyword.getWord() == null ? "" : keyword.getWord().trim().toLowerCase();
+            if (word.isEmpty()) {
+                continue;
+            }
+            if (Integer.valueOf(TYPE_EXTREME).equals(keyword.getType())) {
+                extreme.add(word);
+            } else if (Integer.valueOf(TYPE_SENSITIVE).equals(keyword.getType())) {
+                sensitive.put(word, keyword.getWeight() == null ? 1 : keyword.getWeight());
+            }
+        }
+
+        // 读取建议模板，按优先级分组
+        List<AuditSuggestionTemplate> templates = auditSuggestionTemplateMapper.selectList(
+                new LambdaQueryWrapper<AuditSuggestionTemplate>()
+                        .eq(AuditSuggestionTemplate::getStatus, 1)
+                        .orderByAsc(AuditSuggestionTemplate::getPriority)
+                        .orderByAsc(AuditSuggestionTemplate::getId));
+        Map<String, List<String>> grouped = new LinkedHashMap<>();
+        for (AuditSuggestionTemplate template : templates) {
+            // 未填写场景或内容的模板无法命中，跳过，避免一条脏数据使整次重载失败
+            String scene = template.getScene() == null ? "" : template.getScene().trim().toLowerCase();
+            if (scene.isEmpty() || !StringUtils.hasText(template.getContent())) {
+                continue;
+            }
+            grouped.computeIfAbsent(scene, k -> new ArrayList<>()).add(template.getContent());
+        }
+        Map<String, String[]> suggestionTemplates = new LinkedHashMap<>();
+        grouped.forEach((scene, items) -> suggestionTemplates.put(scene, items.toArray(new String[0])));
+
+        // 版本未变化时不重建匹配器；按构建时的归一化规则计算，否则含空格、繁体等的词每次都判定为变化
+        String version = AuditDictionary.normalizedVersionOf(extreme, sensitive, suggestionTemplates);
+        AuditDictionary previous = current.get();
+        if (version.equals(previous.getVersion())) {
+            return false;
+        }
+
+        AuditDictionary dictionary = AuditDictionary.build(extreme, sensitive, suggestionTemplates);
+        current.set(dictionary);
+        log.info("审核词库已切换，版本: {} -> {}，极端词: {}，敏感词: {}，建议场景: {}，匹配器构建耗时: {}ms，估算内存: {}KB",
+                previous.getVersion(), dictionary.getVersion(), extreme.size(), sensitive.size(),
+                suggestionTemplates.size(), dictionary.getBuildMillis(), dictionary.getMemoryBytes() / 1024);
+        return true;
+    }
+}
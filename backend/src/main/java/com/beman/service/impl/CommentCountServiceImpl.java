@@ -0,0 +1,147 @@
+package com.beman.service.impl;
+
+import com.beman.event.CommentEvent;
+import com.beman.mapper.PostMapper;
+import com.beman.model.Post;
+import com.beman.service.CommentCountService;
+import com.beman.util.ClusterLock;
+import com.beman.util.CounterBuffer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PreDestroy;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 帖子评论数服务实现类
+ * 计数口径与原先的实时统计一致：帖子下未删除的评论（含回复、含待审核隐藏的评论）
+ */
+@Slf4j
+@Service
+public class CommentCountServiceImpl implements CommentCountService {
+
+    private static final String RECONCILE_LOCK_KEY = "beman:comment:count:reconcile-lock";
+
+    private final PostMapper postMapper;
+    private final int batchSize;
+    private final int reconcileChunkSize;
+    private final int reconcileQuietSeconds;
+    private final ClusterLock reconcileLock;
+
+    private final CounterBuffer pending = new CounterBuffer();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public CommentCountServiceImpl(PostMapper postMapper,
+                                   @Nullable StringRedisTemplate redisTemplate,
+                                   @Value("${beman.comment.count.batch-size:500}") int batchSize,
+                                   @Value("${beman.comment.count.reconcile-chunk-size:1000}") int reconcileChunkSize,
+                                   @Value("${beman.comment.count.reconcile-quiet-seconds:300}") int reconcileQuietSeconds,
+                                   @Value("${beman.comment.count.reconcile-lock-millis:3600000}") long reconcileLockMillis,
+                                   @Value("${beman.comment.count.redis-enabled:false}") boolean redisEnabled) {
+        this.postMapper = postMapper;
+        this.batchSize = batchSize;
+        this.reconcileChunkSize = reconcileChunkSize;
+        this.reconcileQuietSeconds = reconcileQuietSeconds;
+        this.reconcileLock = new ClusterLock(redisEnabled ? redisTemplate : null, RECONCILE_LOCK_KEY, reconcileLockMillis);
+    }
+
+    /**
+     * 事务回滚时不计数；不在事务中发布时立即处理
+     */
+    @Override
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommentEvent(CommentEvent event) {
+        pending.add(event.getPostId(), event.getType() == CommentEvent.Type.CREATED ? 1 : -1);
+    }
+
+    @Override
+    public int getCommentCount(Long postId) {
+        Post post = postMapper.selectCounters(postId);
+        long stored = post == null || post.getCommentCount() == null ? 0 : post.getCommentCount();
+        return (int) Math.max(stored + pending.get(postId), 0);
+    }
+
+    @Override
+    public int flush() {
+        flushLock.lock();
+        try {
+            int written = 0;
+            Map<Long, Long> batch = new TreeMap<>();
+            for (Map.Entry<Long, Long> entry : pending.drain().entrySet()) {
+                batch.put(entry.getKey(), entry.getValue());
+                if (batch.size() >= batchSize) {
+                    written += write(batch);
+                    batch = new TreeMap<>();
+                }
+            }
+            if (!batch.isEmpty()) {
+                written += write(batch);
+            }
+            return written;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * 写回失败时增量放回内存，下一轮重试
+     */
+    private int write(Map<Long, Long> batch) {
+        try {
+            postMapper.increaseCommentCounts(batch);
+            return batch.size();
+        } catch (Exception e) {
+            log.error("回写帖子评论数失败，{} 条增量留待下次重试", batch.size(), e);
+            batch.forEach(pending::add);
+            return 0;
+        }
+    }
+
+    /**
+     * 按帖子ID分段，每段一条语句重新统计并只更新有偏差的行，避免长事务和大范围锁。
+     * 多节点部署时各节点都会触发定时对账，由集群锁保证同一时间只有一个节点执行。
+     * 其他节点内存中尚未写回的增量已包含在重新统计的结果中，之后写回会重复计数，本节点也无法丢弃它们，
+     * 因此只修正静默期内没有评论变化的帖子：静默期远大于写回间隔，这些帖子在各节点上都已没有待写回的增量。
+     * 仍存在的窗口：写回连续失败超过静默期的增量、执行超过静默期的事务中提交的评论，会在修正后再写回一次，由下次对账纠正
+     */
+    @Override
+    public int reconcile() {
+        String token = reconcileLock.tryLock();
+        if (token == null) {
+            log.info("帖子评论数对账已由其他节点执行，本节点跳过");
+            return 0;
+        }
+        try {
+            Long maxId = postMapper.selectMaxId();
+            if (maxId == null) {
+                return 0;
+            }
+            long start = System.currentTimeMillis();
+            // 先写回本节点积压的增量，避免静默期外仍未写回的增量在修正后重复计数
+            flush();
+            int fixed = 0;
+            for (long from = 1; from <= maxId; from += reconcileChunkSize) {
+                long to = from + reconcileChunkSize - 1;
+                fixed += postMapper.reconcileCommentCounts(from, to, reconcileQuietSeconds);
+            }
+            log.info("帖子评论数对账完成，修正 {} 条，耗时 {} ms", fixed, System.currentTimeMillis() - start);
+            return fixed;
+        } finally {
+            reconcileLock.unlock(token);
+        }
+    }
+
+    /**
+     * 停机时写回剩余增量
+     */
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+}
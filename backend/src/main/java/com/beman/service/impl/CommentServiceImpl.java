@@ -4,20 +4,33 @@ import cn.dev33.satoken.stp.StpUtil;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.beman.mapper.CommentMapper;
+import com.beman.event.CommentEvent;
 import com.beman.model.Comment;
 import com.beman.model.User;
 import com.beman.model.dto.CommentCreateDTO;
 import com.beman.model.dto.CommentQueryDTO;
+import com.beman.model.vo.CommentChildrenCountVO;
 import com.beman.model.vo.CommentVO;
+import com.beman.model.vo.CursorPageVO;
+import com.beman.service.CommentCountService;
 import com.beman.service.CommentService;
+import com.beman.service.ContentModerationService;
 import com.beman.service.UserService;
+import com.beman.util.ReplyCursor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.BeanUtils;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -27,8 +40,21 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class CommentServiceImpl implements CommentService {
 
+    /**
+     * 评论列表中每条顶级评论内嵌的回复数，更多回复通过游标继续加载
+     */
+    private static final int REPLY_PREVIEW_SIZE = 3;
+
+    /**
+     * 回复单页最大条数
+     */
+    private static final int MAX_REPLY_PAGE_SIZE = 100;
+
     private final CommentMapper commentMapper;
     private final UserService userService;
+    private final ContentModerationService contentModerationService;
+    private final CommentCountService commentCountService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -44,12 +70,19 @@ public class CommentServiceImpl implements CommentService {
         comment.setAuthorName(user.getUsername());
         comment.setAuthorAvatar(user.getAvatar());
         comment.setLikeCount(0);
-        comment.setStatus(0);
+        // 同步预检：命中极端关键词先隐藏，等待完整审核
+        comment.setStatus(contentModerationService.precheck(comment.getContent()) ? 2 : 0);
         comment.setCreateTime(LocalDateTime.now());
         comment.setUpdateTime(LocalDateTime.now());
         
         // 保存评论
         commentMapper.insert(comment);
+
+        // 完整审核在事务提交后异步执行，状态和风险等级批量回写
+        contentModerationService.submitComment(comment.getId(), comment.getContent());
+
+        // 帖子评论数在事务提交后由事件累加
+        eventPublisher.publishEvent(CommentEvent.created(comment.getId(), comment.getPostId()));
         
         return comment;
     }
@@ -64,39 +97,84 @@ public class CommentServiceImpl implements CommentService {
             page, queryDTO.getPostId(), queryDTO.getParentId(), queryDTO.getSortType()
         );
         
+        List<CommentVO> records = commentPage.getRecords();
+        if (records.isEmpty()) {
+            return commentPage;
+        }
+
         // 获取当前用户ID
         Long currentUserId = StpUtil.isLogin() ? StpUtil.getLoginIdAsLong() : null;
-        
-        // 处理评论数据
-        List<CommentVO> records = commentPage.getRecords().stream()
-            .map(comment -> {
-                // 设置是否已点赞
+
+        // 整页评论的回复数量：一次分组统计
+        List<Long> ids = records.stream().map(CommentVO::getId).collect(Collectors.toList());
+        Map<Long, Integer> childrenCounts = new HashMap<>();
+        for (CommentChildrenCountVO count : commentMapper.selectChildrenCounts(ids)) {
+            childrenCounts.put(count.getParentId(), count.getChildrenCount());
+        }
+
+        // 有回复的顶级评论：一次窗口查询取每条评论最早的几条回复，再按父评论分组
+        List<Long> parentIds = records.stream()
+            .filter(comment -> comment.getParentId() == null && childrenCounts.containsKey(comment.getId()))
+            .map(CommentVO::getId)
+            .collect(Collectors.toList());
+        Map<Long, List<CommentVO>> childrenByParent = parentIds.isEmpty()
+            ? Collections.emptyMap()
+            : commentMapper.selectChildrenWindow(parentIds, REPLY_PREVIEW_SIZE).stream()
+                .collect(Collectors.groupingBy(CommentVO::getParentId));
+
+        // 本页评论及其回复的点赞状态：一次查询
+        Set<Long> likedIds = Collections.emptySet();
+        if (currentUserId != null) {
+            List<Long> commentIds = new ArrayList<>(ids);
+            childrenByParent.values().forEach(children -> children.forEach(child -> commentIds.add(child.getId())));
+            likedIds = new HashSet<>(commentMapper.selectLikedCommentIds(currentUserId, commentIds));
+        }
+
+        for (CommentVO comment : records) {
+            comment.setChildrenCount(childrenCounts.getOrDefault(comment.getId(), 0));
+            if (currentUserId != null) {
+                comment.setIsLiked(likedIds.contains(comment.getId()));
+            }
+            List<CommentVO> children = childrenByParent.get(comment.getId());
+            if (children != null) {
                 if (currentUserId != null) {
-                    comment.setIsLiked(commentMapper.selectIsLiked(comment.getId(), currentUserId));
+                    for (CommentVO child : children) {
+                        child.setIsLiked(likedIds.contains(child.getId()));
+                    }
                 }
-                
-                // 设置子评论数量
-                comment.setChildrenCount(commentMapper.selectChildrenCount(comment.getId()));
-                
-                // 如果是顶级评论，加载子评论
-                if (comment.getParentId() == null && comment.getChildrenCount() > 0) {
-                    List<CommentVO> children = commentMapper.selectChildren(comment.getId());
-                    children.forEach(child -> {
-                        if (currentUserId != null) {
-                            child.setIsLiked(commentMapper.selectIsLiked(child.getId(), currentUserId));
-                        }
-                    });
-                    comment.setChildren(children);
+                comment.setChildren(children);
+                if (comment.getChildrenCount() > children.size()) {
+                    comment.setChildrenCursor(ReplyCursor.of(children.get(children.size() - 1)).encode());
                 }
-                
-                return comment;
-            })
-            .collect(Collectors.toList());
-        
-        commentPage.setRecords(records);
+            }
+        }
+
         return commentPage;
     }
 
+    @Override
+    public CursorPageVO<CommentVO> getReplies(Long commentId, String cursor, Integer size) {
+        ReplyCursor replyCursor = ReplyCursor.decode(cursor);
+        int limit = Math.min(Math.max(size == null ? 0 : size, 1), MAX_REPLY_PAGE_SIZE);
+
+        // 多取一条用于判断是否还有下一页
+        List<CommentVO> replies = commentMapper.selectReplies(commentId, replyCursor, limit + 1);
+        boolean hasMore = replies.size() > limit;
+        if (hasMore) {
+            replies = new ArrayList<>(replies.subList(0, limit));
+        }
+
+        if (!replies.isEmpty() && StpUtil.isLogin()) {
+            Long currentUserId = StpUtil.getLoginIdAsLong();
+            Set<Long> likedIds = new HashSet<>(commentMapper.selectLikedCommentIds(currentUserId,
+                replies.stream().map(CommentVO::getId).collect(Collectors.toList())));
+            replies.forEach(reply -> reply.setIsLiked(likedIds.contains(reply.getId())));
+        }
+
+        String nextCursor = hasMore ? ReplyCursor.of(replies.get(replies.size() - 1)).encode() : null;
+        return new CursorPageVO<>(replies, nextCursor, hasMore);
+    }
+
     @Override
     public CommentVO getCommentDetail(Long id) {
         Comment comment = commentMapper.selectById(id);
@@ -171,14 +249,14 @@ public class CommentServiceImpl implements CommentService {
         }
         
         // 逻辑删除评论
-        commentMapper.deleteById(id);
+        if (commentMapper.deleteById(id) > 0) {
+            eventPublisher.publishEvent(CommentEvent.deleted(id, comment.getPostId()));
+        }
     }
 
     @Override
     public Integer getCommentCount(Long postId) {
-        // 统计帖子的评论数量（包括子评论）
-        LambdaQueryWrapper<Comment> wrapper = new LambdaQueryWrapper<>();
-        wrapper.eq(Comment::getPostId, postId);
-        return Math.toIntExact(commentMapper.selectCount(wrapper));
+        // 读取帖子上维护的评论数（包括子评论），不再实时统计
+        return commentCountService.getCommentCount(postId);
     }
 }
@@ -1,184 +1,235 @@
 package com.beman.service.impl;
 
+import com.beman.model.AuditDictionary;
 import com.beman.model.AuditResult;
+import com.beman.service.AuditCacheService;
+import com.beman.service.AuditDictionaryService;
 import com.beman.service.ContentAuditService;
+import com.beman.util.KeywordMatcher;
+import com.beman.util.TextNormalizer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * 内容审核服务实现类
  */
 @Service
 public class ContentAuditServiceImpl implements ContentAuditService {
-    
+
     /**
-     * 极端关键词集合
+     * 敏感词累计权重达到该值视为极端内容
      */
-    private static final Set<String> EXTREME_KEYWORDS = new HashSet<>(Arrays.asList(
-        "分手", "离婚", "绝交", "拉黑", "删除", "断绝关系", "永不相见",
-        "恨你", "讨厌你", "恶心", "滚蛋", "去死", "自杀", "自残",
-        "报复", "报复社会", "杀人", "放火", "爆炸", "恐怖袭击"
-    ));
-    
+    private static final int EXTREME_SENSITIVE_SCORE = 3;
+
     /**
-     * 敏感关键词集合
+     * 敏感词累计权重达到该值视为中风险
      */
-    private static final Set<String> SENSITIVE_KEYWORDS = new HashSet<>(Arrays.asList(
-        "吵架", "冷战", "不理你", "生气", "愤怒", "失望", "绝望",
-        "痛苦", "难过", "伤心", "崩溃", "想不开", "活不下去"
-    ));
-    
+    private static final int MEDIUM_SENSITIVE_SCORE = 2;
+
     /**
-     * 引导性建议模板 - 按场景分类
+     * 批量审核时每个并行任务处理的条数
      */
-    private static final Map<String, String[]> SUGGESTION_TEMPLATES;
-    
-    static {
-        SUGGESTION_TEMPLATES = new HashMap<>();
-        
-        SUGGESTION_TEMPLATES.put("分手", new String[]{
-            "分手是一个重大决定，你确定已经尝试了所有可能的解决方案吗？",
-            "在做出最终决定前，也许可以尝试一次深入的沟通，你觉得呢？",
-            "关系中的问题往往需要双方共同努力，你希望对方如何配合？"
-        });
-        
-        SUGGESTION_TEMPLATES.put("吵架", new String[]{
-            "吵架后冷静下来，你觉得问题的根源是什么？",
-            "也许可以尝试用'我'开头的表达方式，比如'我感觉...'",
-            "每次冲突都是了解对方的机会，你从这次吵架中学到了什么？"
-        });
-        
-        SUGGESTION_TEMPLATES.put("冷战", new String[]{
-            "冷战往往让问题变得更复杂，你愿意主动打破僵局吗？",
-            "也许可以先从一个小话题开始，比如分享今天的有趣事情？",
-            "关系需要温度，你觉得如何能让彼此重新连接？"
-        });
-        
-        SUGGESTION_TEMPLATES.put("失望", new String[]{
-            "失望的感觉很难受，你愿意分享具体是什么让你失望吗？",
-            "也许可以尝试表达你的期望，让对方知道你的需求？",
-            "失望往往源于期望，你觉得你的期望合理吗？"
-        });
-        
-        SUGGESTION_TEMPLATES.put("愤怒", new String[]{
-            "愤怒时容易说出伤人的话，你愿意先冷静一下吗？",
-            "也许可以尝试理解愤怒背后的原因，你觉得是什么触发了你的愤怒？",
-            "愤怒往往掩盖了更深层的情绪，你真正想要的是什么？"
-        });
-    }
-    
+    private static final int BATCH_CHUNK_SIZE = 64;
+
+    /**
+     * 通用引导性建议
+     */
+    private static final String[] GENERAL_TEMPLATES = {
+        "建议先尝试沟通和改善，你试过哪些方法？",
+        "关系遇到困难时，冷静思考往往能找到解决方案，你觉得问题出在哪里？",
+        "每个人都会遇到挫折，重要的是如何面对，你愿意分享更多细节吗？",
+        "也许换个角度思考会有不同的发现，你觉得对方是怎么想的？",
+        "关系需要双方共同努力，你希望对方怎么做？"
+    };
+
+    /**
+     * 词库服务，未注入时（如直接实例化）使用内置默认词库
+     */
+    @Autowired(required = false)
+    private AuditDictionaryService auditDictionaryService;
+
+    /**
+     * 审核结果缓存，未注入时每次都重新计算
+     */
+    @Autowired(required = false)
+    private AuditCacheService auditCacheService;
+
+    /**
+     * 审核线程池，未注入时批量审核在调用线程上顺序执行
+     */
+    @Autowired(required = false)
+    @Qualifier("auditExecutor")
+    private Executor auditExecutor;
+
     @Override
     public AuditResult auditContent(String content) {
+        return audit(dictionary(), content);
+    }
+
+    @Override
+    public List<AuditResult> auditBatch(List<String> contents) {
+        AuditDictionary dictionary = dictionary();
+        AuditResult[] results = new AuditResult[contents.size()];
+
+        if (auditExecutor == null || contents.size() <= BATCH_CHUNK_SIZE) {
+            for (int i = 0; i < results.length; i++) {
+                results[i] = audit(dictionary, contents.get(i));
+            }
+            return Arrays.asList(results);
+        }
+
+        // 按固定大小分片并行审核，各分片写入结果数组的不同区间
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int start = 0; start < results.length; start += BATCH_CHUNK_SIZE) {
+            int from = start;
+            int to = Math.min(start + BATCH_CHUNK_SIZE, results.length);
+            futures.add(CompletableFuture.runAsync(() -> {
+                for (int i = from; i < to; i++) {
+                    results[i] = audit(dictionary, contents.get(i));
+                }
+            }, auditExecutor));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+
+        return Arrays.asList(results);
+    }
+
+    /**
+     * 使用指定词库快照审核单条内容，优先读取缓存
+     */
+    private AuditResult audit(AuditDictionary dictionary, String content) {
         if (content == null || content.trim().isEmpty()) {
             return new AuditResult(false, "内容不能为空");
         }
-        
+
+        if (auditCacheService == null) {
+            return score(dictionary, content);
+        }
+        return auditCacheService.get(dictionary.getVersion(), content, text -> score(dictionary, text));
+    }
+
+    /**
+     * 使用指定词库快照计算单条内容的审核结果
+     */
+    private AuditResult score(AuditDictionary dictionary, String content) {
+        // 整个审核过程使用同一份词库快照，一次扫描供判定、风险等级和建议共用
+        KeywordMatcher.MatchResult match = match(dictionary, content);
+
         // 判断是否为极端内容
-        boolean isExtreme = isExtremeContent(content);
-        
+        boolean isExtreme = isExtreme(dictionary, match);
+
         // 获取风险等级
-        int riskLevel = getRiskLevel(content);
-        
+        int riskLevel = riskLevel(dictionary, match, isExtreme);
+
         // 获取建议
-        String suggestion = isExtreme ? getReplacementSuggestion(content) : null;
-        
+        String suggestion = isExtreme ? suggestion(dictionary, content, match) : null;
+
         // 创建审核结果
         AuditResult result = new AuditResult(isExtreme, suggestion);
         result.setRiskLevel(riskLevel);
         result.setAuditStatus(isExtreme ? 2 : 1); // 2-拒绝，1-通过
         result.setRejectReason(isExtreme ? "包含极端内容" : null);
-        
+
         return result;
     }
-    
+
     @Override
     public boolean isExtremeContent(String content) {
         if (content == null || content.trim().isEmpty()) {
             return false;
         }
-        
-        String lowerContent = content.toLowerCase();
-        
-        // 检查极端关键词
-        for (String keyword : EXTREME_KEYWORDS) {
-            if (lowerContent.contains(keyword.toLowerCase())) {
-                return true;
-            }
-        }
-        
-        // 检查敏感词组合（多个敏感词同时出现可能表示极端倾向）
-        int sensitiveCount = 0;
-        for (String keyword : SENSITIVE_KEYWORDS) {
-            if (lowerContent.contains(keyword.toLowerCase())) {
-                sensitiveCount++;
-                if (sensitiveCount >= 3) { // 3个以上敏感词视为极端内容
-                    return true;
-                }
-            }
-        }
-        
-        return false;
+
+        AuditDictionary dictionary = dictionary();
+        return isExtreme(dictionary, match(dictionary, content));
     }
-    
+
     @Override
     public String getReplacementSuggestion(String content) {
         if (content == null || content.trim().isEmpty()) {
             return "请提供具体内容以便给出建议";
         }
-        
-        // 根据内容中的关键词选择合适的建议模板
-        String lowerContent = content.toLowerCase();
-        
-        // 优先匹配具体场景
-        for (Map.Entry<String, String[]> entry : SUGGESTION_TEMPLATES.entrySet()) {
-            if (lowerContent.contains(entry.getKey().toLowerCase())) {
-                String[] templates = entry.getValue();
-                int templateIndex = Math.abs(content.hashCode()) % templates.length;
-                return templates[templateIndex];
-            }
-        }
-        
-        // 如果没有匹配到具体场景，返回通用建议
-        String[] generalTemplates = {
-            "建议先尝试沟通和改善，你试过哪些方法？",
-            "关系遇到困难时，冷静思考往往能找到解决方案，你觉得问题出在哪里？",
-            "每个人都会遇到挫折，重要的是如何面对，你愿意分享更多细节吗？",
-            "也许换个角度思考会有不同的发现，你觉得对方是怎么想的？",
-            "关系需要双方共同努力，你希望对方怎么做？"
-        };
-        
-        int templateIndex = Math.abs(content.hashCode()) % generalTemplates.length;
-        return generalTemplates[templateIndex];
+
+        AuditDictionary dictionary = dictionary();
+        return suggestion(dictionary, content, match(dictionary, content));
     }
-    
+
     @Override
     public int getRiskLevel(String content) {
         if (content == null || content.trim().isEmpty()) {
             return 0;
         }
-        
-        if (isExtremeContent(content)) {
-            return 2; // 高风险
+
+        AuditDictionary dictionary = dictionary();
+        KeywordMatcher.MatchResult match = match(dictionary, content);
+        return riskLevel(dictionary, match, isExtreme(dictionary, match));
+    }
+
+    /**
+     * 归一化后扫描内容，命中位置换算回原文
+     */
+    private KeywordMatcher.MatchResult match(AuditDictionary dictionary, String content) {
+        TextNormalizer.Buffer normalized = TextNormalizer.normalize(content);
+        return dictionary.getMatcher().match(normalized.getChars(), normalized.getLength(), normalized.getOffsets());
+    }
+
+    /**
+     * 当前生效的词库快照
+     */
+    private AuditDictionary dictionary() {
+        return auditDictionaryService != null ? auditDictionaryService.current() : AuditDictionary.defaults();
+    }
+
+    /**
+     * 根据命中结果判断是否为极端内容
+     */
+    private boolean isExtreme(AuditDictionary dictionary, KeywordMatcher.MatchResult match) {
+        // 检查极端关键词
+        if (match.countIn(dictionary.getExtremeKeywords()) > 0) {
+            return true;
         }
-        
-        // 检查敏感词数量
-        String lowerContent = content.toLowerCase();
-        int sensitiveCount = 0;
-        for (String keyword : SENSITIVE_KEYWORDS) {
-            if (lowerContent.contains(keyword.toLowerCase())) {
-                sensitiveCount++;
-            }
+
+        // 检查敏感词组合（多个敏感词同时出现可能表示极端倾向）
+        return match.weightIn(dictionary.getSensitiveWeights()) >= EXTREME_SENSITIVE_SCORE;
+    }
+
+    /**
+     * 根据命中结果计算风险等级
+     */
+    private int riskLevel(AuditDictionary dictionary, KeywordMatcher.MatchResult match, boolean isExtreme) {
+        if (isExtreme) {
+            return 2; // 高风险
         }
-        
-        if (sensitiveCount >= 2) {
+
+        if (match.weightIn(dictionary.getSensitiveWeights()) >= MEDIUM_SENSITIVE_SCORE) {
             return 1; // 中风险
         }
-        
+
         return 0; // 低风险
     }
+
+    /**
+     * 根据命中结果选择建议模板
+     */
+    private String suggestion(AuditDictionary dictionary, String content, KeywordMatcher.MatchResult match) {
+        // 优先匹配具体场景
+        for (Map.Entry<String, String[]> entry : dictionary.getSuggestionTemplates().entrySet()) {
+            if (match.contains(entry.getKey())) {
+                String[] templates = entry.getValue();
+                int templateIndex = Math.abs(content.hashCode()) % templates.length;
+                return templates[templateIndex];
+            }
+        }
+
+        // 如果没有匹配到具体场景，返回通用建议
+        int templateIndex = Math.abs(content.hashCode()) % GENERAL_TEMPLATES.length;
+        return GENERAL_TEMPLATES[templateIndex];
+    }
 }
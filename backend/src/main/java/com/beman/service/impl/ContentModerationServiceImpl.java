@@ -0,0 +1,265 @@
+package com.beman.service.impl;
+
+import com.beman.event.PostChangedEvent;
+import com.beman.event.PostPublishedEvent;
+import com.beman.mapper.CommentMapper;
+import com.beman.mapper.PostMapper;
+import com.beman.model.AuditDictionary;
+import com.beman.model.AuditResult;
+import com.beman.service.AuditDictionaryService;
+import com.beman.service.ContentAuditService;
+import com.beman.service.ContentModerationService;
+import com.beman.util.TextNormalizer;
+import com.beman.util.TransactionUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 发布内容审核流水线服务实现类
+ * 预检只用本地词库，完整审核委托给 {@link ContentAuditService}，替换评分实现（如接入 ai-service）不影响写入延迟
+ */
+@Slf4j
+@Service
+public class ContentModerationServiceImpl implements ContentModerationService {
+
+    /**
+     * 帖子状态：0-审核中，1-正常
+     */
+    private static final int POST_REVIEWING = 0;
+    private static final int POST_NORMAL = 1;
+
+    /**
+     * 评论状态：0-正常，2-已隐藏
+     */
+    private static final int COMMENT_NORMAL = 0;
+    private static final int COMMENT_HIDDEN = 2;
+
+    /**
+     * 审核状态：2-拒绝
+     */
+    private static final int AUDIT_REJECTED = 2;
+
+    private final AuditDictionaryService auditDictionaryService;
+    private final ContentAuditService contentAuditService;
+    private final PostMapper postMapper;
+    private final CommentMapper commentMapper;
+    private final Executor moderationExecutor;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+
+    /**
+     * 已完成待回写的审核结果
+     */
+    private final ConcurrentLinkedQueue<Outcome> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public ContentModerationServiceImpl(AuditDictionaryService auditDictionaryService,
+                                        ContentAuditService contentAuditService,
+                                        PostMapper postMapper,
+                                        CommentMapper commentMapper,
+                                        @Qualifier("moderationExecutor") Executor moderationExecutor,
+                                        ApplicationEventPublisher eventPublisher,
+                                        @Value("${beman.audit.moderation.batch-size:100}") int batchSize) {
+        this.auditDictionaryService = auditDictionaryService;
+        this.contentAuditService = contentAuditService;
+        this.postMapper = postMapper;
+        this.commentMapper = commentMapper;
+        this.moderationExecutor = moderationExecutor;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public boolean precheck(String content) {
+        if (content == null || content.isEmpty()) {
+            return false;
+        }
+        AuditDictionary dictionary = auditDictionaryService.current();
+        TextNormalizer.Buffer normalized = TextNormalizer.normalize(content);
+        return dictionary.getMatcher()
+                .match(normalized.getChars(), normalized.getLength(), normalized.getOffsets())
+                .countIn(dictionary.getExtremeKeywords()) > 0;
+    }
+
+    @Override
+    public void submitPost(Long postId, String content, boolean held) {
+        submit(Target.POST, postId, content, held);
+    }
+
+    @Override
+    public void submitComment(Long commentId, String content) {
+        submit(Target.COMMENT, commentId, content, false);
+    }
+
+    /**
+     * 事务内提交时推迟到提交成功后再派发，避免审核读到未提交的数据或为回滚的记录回写
+     */
+    private void submit(Target target, Long id, String content, boolean held) {
+        TransactionUtils.afterCommit(() -> dispatch(target, id, content, held));
+    }
+
+    private void dispatch(Target target, Long id, String content, boolean held) {
+        try {
+            moderationExecutor.execute(() -> audit(target, id, content, held));
+        } catch (RejectedExecutionException e) {
+            // 队列已满时不阻塞写入线程，记录保留预检状态，可通过举报或人工审核兜底
+            log.warn("审核队列已满，{} {} 保留预检结果", target, id);
+        }
+    }
+
+    private void audit(Target target, Long id, String content, boolean held) {
+        try {
+            AuditResult result = contentAuditService.auditContent(content);
+            boolean rejected = result.getAuditStatus() != null && result.getAuditStatus() == AUDIT_REJECTED;
+            pending.add(new Outcome(target, id, target.statusOf(rejected), result.getRiskLevel(), held));
+        } catch (Exception e) {
+            log.error("审核 {} {} 失败", target, id, e);
+            return;
+        }
+        if (pendingCount.incrementAndGet() >= batchSize && flushLock.tryLock()) {
+            try {
+                drainAll();
+            } finally {
+                flushLock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public int flush() {
+        flushLock.lock();
+        try {
+            return drainAll();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * 停机时先等待线程池中的审核任务完成，再回写剩余结果
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (moderationExecutor instanceof ThreadPoolTaskExecutor) {
+            ((ThreadPoolTaskExecutor) moderationExecutor).shutdown();
+        }
+        flush();
+    }
+
+    private int drainAll() {
+        int total = 0;
+        List<Outcome> batch = new ArrayList<>(batchSize);
+        Outcome outcome;
+        while ((outcome = pending.poll()) != null) {
+            pendingCount.decrementAndGet();
+            batch.add(outcome);
+            if (batch.size() >= batchSize) {
+                total += write(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            total += write(batch);
+        }
+        return total;
+    }
+
+    /**
+     * 按（对象类型、状态、风险等级、是否预检扣留）分组，每组一条 UPDATE ... WHERE id IN (...)
+     */
+    private int write(List<Outcome> batch) {
+        Map<String, List<Long>> groups = new LinkedHashMap<>();
+        Map<String, Outcome> samples = new LinkedHashMap<>();
+        for (Outcome outcome : batch) {
+            String key = outcome.target + ":" + outcome.status + ":" + outcome.riskLevel + ":" + outcome.held;
+            groups.computeIfAbsent(key, k -> new ArrayList<>()).add(outcome.id);
+            samples.putIfAbsent(key, outcome);
+        }
+
+        int written = 0;
+        for (Map.Entry<String, List<Long>> entry : groups.entrySet()) {
+            Outcome sample = samples.get(entry.getKey());
+            try {
+                if (sample.target == Target.POST) {
+                    postMapper.updateAuditResult(entry.getValue(), sample.status, sample.riskLevel);
+                    // 可见性可能变化，失效帖子详情缓存
+                    eventPublisher.publishEvent(new PostChangedEvent(entry.getValue()));
+                    // 预检扣留的帖子审核通过，补做发帖时跳过的扇出和热度统计
+                    if (sample.held && sample.status == POST_NORMAL) {
+                        eventPublisher.publishEvent(new PostPublishedEvent(entry.getValue()));
+                    }
+                } else {
+                    commentMapper.updateAuditResult(entry.getValue(), sample.status, sample.riskLevel);
+                }
+                written += entry.getValue().size();
+            } catch (Exception e) {
+                log.error("回写审核结果失败，{} {}", sample.target, entry.getValue(), e);
+            }
+        }
+        log.debug("回写审核结果 {} 条，共 {} 组", written, groups.size());
+        return written;
+    }
+
+    /**
+     * 审核对象类型
+     */
+    private enum Target {
+        POST {
+            @Override
+            int statusOf(boolean rejected) {
+                return rejected ? POST_REVIEWING : POST_NORMAL;
+            }
+        },
+        COMMENT {
+            @Override
+            int statusOf(boolean rejected) {
+                return rejected ? COMMENT_HIDDEN : COMMENT_NORMAL;
+            }
+        };
+
+        /**
+         * 审核结论对应的记录状态
+         */
+        abstract int statusOf(boolean rejected);
+    }
+
+    /**
+     * 单条审核结论
+     */
+    private static final class Outcome {
+
+        private final Target target;
+        private final Long id;
+        private final int status;
+        private final int riskLevel;
+
+        /**
+         * 提交时是否因预检命中处于审核中
+         */
+        private final boolean held;
+
+        private Outcome(Target target, Long id, int status, int riskLevel, boolean held) {
+            this.target = target;
+            this.id = id;
+            this.status = status;
+            this.riskLevel = riskLevel;
+            this.held = held;
+        }
+    }
+}
@@ -0,0 +1,397 @@
+package com.beman.service.impl;
+
+import com.beman.mapper.UserFollowMapper;
+import com.beman.mapper.UserMapper;
+import com.beman.model.UserFollow;
+import com.beman.service.FollowGraphService;
+import com.beman.util.FollowGraph;
+import com.beman.util.TransactionUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 关注关系图服务实现类
+ * 当前状态是一份只读的邻接表加上自加载以来的增量。加载期间的关注事件同时记入旧增量和新增量，
+ * 加载完成后新图与新增量一起替换，加载开始后发生的变化不会丢失，重复记入的变化按集合语义合并。
+ * 启用 Redis 时每个节点的关注、取消关注在事务提交后广播给其他节点，各节点的增量都包含全部节点的变化，
+ * 互关和共同粉丝数与数据库只差广播的延迟；广播丢失（如订阅连接中断）的变化在下一次全量加载时补上。
+ * 二度推荐的中间层按最近一次加载的图展开，只按增量过滤已关注的人。
+ * 增量的每条变化在两个方向上各占一个装箱 Long 和一个 ConcurrentHashMap 节点，约 100 字节，是邻接表中一条边的十几倍，
+ * 因此累积到 compact-threshold 条后在内存中合并进一份新的邻接表，不读数据库；全量加载只作为补上丢失广播的兜底，间隔默认一天
+ */
+@Slf4j
+@Service
+public class FollowGraphServiceImpl implements FollowGraphService {
+
+    /**
+     * 跨节点关注增量频道，消息内容为 节点ID:关注者ID:被关注者ID:1（关注）或 0（取消关注）
+     */
+    public static final String DELTA_CHANNEL = "beman:user:follow-graph:delta";
+
+    private final UserFollowMapper userFollowMapper;
+    private final UserMapper userMapper;
+    private final StringRedisTemplate redisTemplate;
+    private final boolean redisEnabled;
+    private final boolean enabled;
+    private final int loadBatchSize;
+    private final int maxFanout;
+    private final int compactThreshold;
+
+    private final Object deltaLock = new Object();
+
+    /**
+     * 当前的图和增量，首次加载前为空
+     */
+    private volatile State state;
+
+    /**
+     * 加载进行中时收集加载开始后的增量
+     */
+    private Delta loading;
+
+    /**
+     * 本节点标识，收到自己广播的增量时跳过，本节点的变化已在提交后直接计入
+     */
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public FollowGraphServiceImpl(UserFollowMapper userFollowMapper, UserMapper userMapper,
+                                  @Nullable StringRedisTemplate redisTemplate,
+                                  @Value("${beman.user.follow-graph.redis-enabled:false}") boolean redisEnabled,
+                                  @Value("${beman.user.follow-graph.enabled:true}") boolean enabled,
+                                  @Value("${beman.user.follow-graph.load-batch-size:10000}") int loadBatchSize,
+                                  @Value("${beman.user.follow-graph.max-fanout:200}") int maxFanout,
+                                  @Value("${beman.user.follow-graph.compact-threshold:100000}") int compactThreshold) {
+        this.userFollowMapper = userFollowMapper;
+        this.userMapper = userMapper;
+        this.redisTemplate = redisTemplate;
+        this.redisEnabled = redisEnabled && redisTemplate != null;
+        this.enabled = enabled;
+        this.loadBatchSize = loadBatchSize;
+        this.maxFanout = maxFanout;
+        this.compactThreshold = compactThreshold;
+    }
+
+    @Override
+    public boolean isReady() {
+        return state != null;
+    }
+
+    @Override
+    public List<Long> getMutualFollowIds(Long userId) {
+        State current = state;
+        if (current == null) {
+            return Collections.emptyList();
+        }
+        Set<Long> candidates = new TreeSet<>();
+        for (long id : current.graph.mutual(userId)) {
+            candidates.add(id);
+        }
+        candidates.addAll(current.delta.get(current.delta.addedFollowing, userId));
+        candidates.addAll(current.delta.get(current.delta.addedFollowers, userId));
+
+        List<Long> result = new ArrayList<>(candidates.size());
+        for (Long id : candidates) {
+            if (current.follows(userId, id) && current.follows(id, userId)) {
+                result.add(id);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 图中的共同粉丝数，再按两人粉丝增量涉及的用户逐个修正
+     */
+    @Override
+    public int countCommonFollowers(Long userId, Long otherUserId) {
+        State current = state;
+        if (current == null) {
+            return 0;
+        }
+        int count = current.graph.countCommonFollowers(userId, otherUserId);
+        Set<Long> changed = new HashSet<>();
+        changed.addAll(current.delta.get(current.delta.addedFollowers, userId));
+        changed.addAll(current.delta.get(current.delta.removedFollowers, userId));
+        changed.addAll(current.delta.get(current.delta.addedFollowers, otherUserId));
+        changed.addAll(current.delta.get(current.delta.removedFollowers, otherUserId));
+        for (Long id : changed) {
+            if (current.graph.follows(id, userId) && current.graph.follows(id, otherUserId)) {
+                count--;
+            }
+            if (current.follows(id, userId) && current.follows(id, otherUserId)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public List<Long> suggest(Long userId, int limit) {
+        State current = state;
+        if (current == null || limit <= 0) {
+            return Collections.emptyList();
+        }
+        // 多取一些，给按增量过滤掉的人留出余量
+        int extra = current.delta.get(current.delta.addedFollowing, userId).size();
+        long[] candidates = current.graph.suggest(userId, limit * 2 + extra, maxFanout);
+        List<Long> result = new ArrayList<>(limit);
+        for (long id : candidates) {
+            if (!current.follows(userId, id)) {
+                result.add(id);
+                if (result.size() >= limit) {
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void onFollow(Long followerId, Long followingId) {
+        TransactionUtils.afterCommit(() -> {
+            apply(followerId, followingId, true);
+            broadcast(followerId, followingId, true);
+        });
+    }
+
+    @Override
+    public void onUnfollow(Long followerId, Long followingId) {
+        TransactionUtils.afterCommit(() -> {
+            apply(followerId, followingId, false);
+            broadcast(followerId, followingId, false);
+        });
+    }
+
+    @Override
+    public void onRemoteDelta(String message) {
+        String[] parts = message.split(":");
+        if (parts.length != 4) {
+            log.warn("忽略无效的关注增量通知: {}", message);
+            return;
+        }
+        if (nodeId.equals(parts[0])) {
+            return;
+        }
+        try {
+            apply(Long.valueOf(parts[1]), Long.valueOf(parts[2]), "1".equals(parts[3]));
+        } catch (NumberFormatException e) {
+            log.warn("忽略无效的关注增量通知: {}", message);
+        }
+    }
+
+    /**
+     * 同一节点的广播按发布顺序到达其他节点，同一关注关系的先后变化不会颠倒
+     */
+    private void broadcast(Long followerId, Long followingId, boolean follow) {
+        if (!redisEnabled) {
+            return;
+        }
+        try {
+            redisTemplate.convertAndSend(DELTA_CHANNEL,
+                    nodeId + ":" + followerId + ":" + followingId + ":" + (follow ? 1 : 0));
+        } catch (Exception e) {
+            log.warn("广播关注增量失败，其他节点将在下次全量加载后更新: {}", e.getMessage());
+        }
+    }
+
+    private void apply(Long followerId, Long followingId, boolean follow) {
+        synchronized (deltaLock) {
+            State current = state;
+            if (current != null) {
+                current.delta.apply(followerId, followingId, follow);
+            }
+            if (loading != null) {
+                loading.apply(followerId, followingId, follow);
+            }
+        }
+    }
+
+    /**
+     * 先按主键分批读出全部用户ID作为图内编号，再按关注表唯一键顺序分批读出关注关系
+     */
+    @Override
+    public synchronized int rebuild() {
+        if (!enabled) {
+            return 0;
+        }
+        synchronized (deltaLock) {
+            loading = new Delta();
+        }
+        try {
+            long start = System.currentTimeMillis();
+            long[] userIds = loadUserIds();
+            State current = state;
+            FollowGraph.Builder builder = new FollowGraph.Builder(userIds,
+                    current == null ? loadBatchSize : current.graph.edgeCount());
+            long afterFollowerId = 0;
+            long afterFollowingId = 0;
+            while (true) {
+                List<UserFollow> edges = userFollowMapper.selectEdges(afterFollowerId, afterFollowingId, loadBatchSize);
+                for (UserFollow edge : edges) {
+                    builder.add(edge.getFollowerId(), edge.getFollowingId());
+                }
+                if (edges.size() < loadBatchSize) {
+                    break;
+                }
+                UserFollow last = edges.get(edges.size() - 1);
+                afterFollowerId = last.getFollowerId();
+                afterFollowingId = last.getFollowingId();
+            }
+            FollowGraph graph = builder.build();
+            synchronized (deltaLock) {
+                state = new State(graph, loading);
+                loading = null;
+            }
+            log.info("关注关系图加载完成，用户 {} 人，关注关系 {} 条，忽略 {} 条，耗时 {} ms",
+                    graph.userCount(), graph.edgeCount(), builder.skipped(), System.currentTimeMillis() - start);
+            return graph.edgeCount();
+        } finally {
+            synchronized (deltaLock) {
+                loading = null;
+            }
+        }
+    }
+
+    /**
+     * 与全量加载相同，合并期间的变化同时记入旧增量和新增量，合并完成后新图与新增量一起替换；
+     * 合并读取旧增量时可能看到也可能看不到这些变化，新增量中的记录优先，结果相同
+     */
+    @Override
+    public synchronized int compact() {
+        State current = state;
+        if (!enabled || current == null || current.delta.changes < compactThreshold) {
+            return 0;
+        }
+        synchronized (deltaLock) {
+            loading = new Delta();
+        }
+        try {
+            long start = System.currentTimeMillis();
+            Set<Long> newUserIds = new HashSet<>();
+            for (Long id : current.delta.addedFollowing.keySet()) {
+                if (!current.graph.contains(id)) {
+                    newUserIds.add(id);
+                }
+            }
+            for (Long id : current.delta.addedFollowers.keySet()) {
+                if (!current.graph.contains(id)) {
+                    newUserIds.add(id);
+                }
+            }
+            long[] extra = new long[newUserIds.size()];
+            int i = 0;
+            for (Long id : newUserIds) {
+                extra[i++] = id;
+            }
+            FollowGraph graph = current.graph.merge(extra, current.delta.addedFollowing, current.delta.removedFollowing);
+            synchronized (deltaLock) {
+                state = new State(graph, loading);
+                loading = null;
+            }
+            log.info("关注关系增量合并完成，合并 {} 条变化，关注关系 {} 条，耗时 {} ms",
+                    current.delta.changes, graph.edgeCount(), System.currentTimeMillis() - start);
+            return graph.edgeCount();
+        } finally {
+            synchronized (deltaLock) {
+                loading = null;
+            }
+        }
+    }
+
+    private long[] loadUserIds() {
+        long[] ids = new long[Math.max(loadBatchSize, 16)];
+        int size = 0;
+        long afterId = 0;
+        while (true) {
+            List<Long> page = userMapper.selectIdsAfter(afterId, loadBatchSize);
+            for (Long id : page) {
+                if (size == ids.length) {
+                    ids = Arrays.copyOf(ids, size * 2);
+                }
+                ids[size++] = id;
+            }
+            if (page.size() < loadBatchSize) {
+                break;
+            }
+            afterId = ids[size - 1];
+        }
+        return Arrays.copyOf(ids, size);
+    }
+
+    /**
+     * 一次加载的图和加载开始后的增量
+     */
+    private static final class State {
+
+        private final FollowGraph graph;
+        private final Delta delta;
+
+        private State(FollowGraph graph, Delta delta) {
+            this.graph = graph;
+            this.delta = delta;
+        }
+
+        /**
+         * 叠加增量后 a 是否关注了 b
+         */
+        private boolean follows(long a, long b) {
+            if (delta.get(delta.addedFollowing, a).contains(b)) {
+                return true;
+            }
+            if (delta.get(delta.removedFollowing, a).contains(b)) {
+                return false;
+            }
+            return graph.follows(a, b);
+        }
+    }
+
+    /**
+     * 自加载以来新增和移除的关注关系，两个方向各记一份
+     */
+    private static final class Delta {
+
+        /**
+         * 记入的变化数，只在 deltaLock 内修改
+         */
+        private volatile int changes;
+
+        private final Map<Long, Set<Long>> addedFollowing = new ConcurrentHashMap<>();
+        private final Map<Long, Set<Long>> removedFollowing = new ConcurrentHashMap<>();
+        private final Map<Long, Set<Long>> addedFollowers = new ConcurrentHashMap<>();
+        private final Map<Long, Set<Long>> removedFollowers = new ConcurrentHashMap<>();
+
+        private void apply(Long followerId, Long followingId, boolean follow) {
+            changes++;
+            move(follow ? removedFollowing : addedFollowing, follow ? addedFollowing : removedFollowing,
+                    followerId, followingId);
+            move(follow ? removedFollowers : addedFollowers, follow ? addedFollowers : removedFollowers,
+                    followingId, followerId);
+        }
+
+        private static void move(Map<Long, Set<Long>> from, Map<Long, Set<Long>> to, Long key, Long value) {
+            Set<Long> old = from.get(key);
+            if (old != null) {
+                old.remove(value);
+            }
+            to.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(value);
+        }
+
+        private Set<Long> get(Map<Long, Set<Long>> map, Long key) {
+            Set<Long> values = map.get(key);
+            return values == null ? Collections.emptySet() : values;
+        }
+    }
+}
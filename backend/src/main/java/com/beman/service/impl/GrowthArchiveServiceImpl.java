@@ -332,7 +332,7 @@ public class GrowthArchiveServiceImpl extends ServiceImpl<RelationshipMilestoneM
         // 总里程碑数量
         QueryWrapper<RelationshipMilestone> totalQuery = new QueryWrapper<>();
         totalQuery.eq("user_id", userId).eq("deleted", 0);
-        int totalCount = milestoneMapper.selectCount(totalQuery);
+        long totalCount = milestoneMapper.selectCount(totalQuery);
         stats.put("totalCount", totalCount);
         
         // 按类型统计
@@ -436,7 +436,7 @@ public class GrowthArchiveServiceImpl extends ServiceImpl<RelationshipMilestoneM
         // 总记录数量
         QueryWrapper<GrowthTrajectory> totalQuery = new QueryWrapper<>();
         totalQuery.eq("user_id", userId).eq("deleted", 0);
-        int totalCount = trajectoryMapper.selectCount(totalQuery);
+        long totalCount = trajectoryMapper.selectCount(totalQuery);
         stats.put("totalCount", totalCount);
         
         // 平均评分
@@ -0,0 +1,314 @@
+package com.beman.service.impl;
+
+import com.beman.event.CommentEvent;
+import com.beman.event.PostChangedEvent;
+import com.beman.mapper.PostMapper;
+import com.beman.model.Post;
+import com.beman.service.HotRankService;
+import com.beman.service.ViewCountService;
+import com.beman.util.RankCursor;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.StringUtils;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 帖子热度榜服务实现类
+ * 榜单是按 (热度, ID) 倒序排好的只读数组，每次刷新或重建都生成新的一代，读请求不加锁；写入只来自后台任务，串行执行。
+ * 最近若干代按代数保留，游标记录所在代，翻页时在同一代内二分定位，名次变化不会导致跳过或重复；
+ * 游标所在代已淘汰（或来自其他节点）时退回当前代按排序键定位。
+ * 同一次重建内的所有热度都按重建时刻计算，增量刷新的帖子与其他帖子可以直接比较，衰减在下次重建时统一推进
+ */
+@Slf4j
+@Service
+public class HotRankServiceImpl implements HotRankService {
+
+    /**
+     * 各行为的热度权重
+     */
+    private static final double LIKE_WEIGHT = 3;
+    private static final double COMMENT_WEIGHT = 5;
+    private static final double VIEW_WEIGHT = 0.1;
+
+    /**
+     * 增量刷新时单次批量查询的帖子数
+     */
+    private static final int LOAD_BATCH_SIZE = 500;
+
+    /**
+     * 帖子状态：1-正常
+     */
+    private static final int POST_NORMAL = 1;
+
+    private static final Comparator<Item> ORDER = Comparator.comparingDouble((Item item) -> item.score).reversed()
+            .thenComparing(Comparator.comparingLong((Item item) -> item.id).reversed());
+
+    private final PostMapper postMapper;
+    private final ViewCountService viewCountService;
+    private final ObjectMapper objectMapper;
+    private final int maxSize;
+    private final int maxCandidates;
+    private final long windowMillis;
+    private final double gravity;
+    private final int retainedGenerations;
+
+    /**
+     * 待重算的帖子
+     */
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 当前榜单，首次重建前为空
+     */
+    private volatile Ranking ranking;
+
+    /**
+     * 最近几代榜单，供翻页中的游标继续读取
+     */
+    private final Map<Long, Ranking> generations = new ConcurrentHashMap<>();
+
+    /**
+     * 已生成的最大代数，只在持有锁时修改
+     */
+    private long lastGeneration;
+
+    public HotRankServiceImpl(PostMapper postMapper, ViewCountService viewCountService, ObjectMapper objectMapper,
+                              @Value("${beman.post.hot-rank.max-size:2000}") int maxSize,
+                              @Value("${beman.post.hot-rank.max-candidates:20000}") int maxCandidates,
+                              @Value("${beman.post.hot-rank.window-days:7}") int windowDays,
+                              @Value("${beman.post.hot-rank.gravity:1.8}") double gravity,
+                              @Value("${beman.post.hot-rank.retained-generations:60}") int retainedGenerations) {
+        this.postMapper = postMapper;
+        this.viewCountService = viewCountService;
+        this.objectMapper = objectMapper;
+        this.maxSize = maxSize;
+        this.maxCandidates = maxCandidates;
+        this.windowMillis = TimeUnit.DAYS.toMillis(windowDays);
+        this.gravity = gravity;
+        this.retainedGenerations = Math.max(retainedGenerations, 1);
+    }
+
+    @Override
+    public boolean isReady() {
+        return ranking != null;
+    }
+
+    @Override
+    public List<RankCursor> next(RankCursor after, Integer contentType, Collection<String> tags, int limit) {
+        Ranking current = ranking;
+        if (current == null || limit <= 0) {
+            return Collections.emptyList();
+        }
+        int from = 0;
+        if (after != null) {
+            // 优先在游标所在的那一代里继续翻页
+            Ranking frozen = generations.get(after.getGeneration());
+            if (frozen != null) {
+                current = frozen;
+            }
+            int index = Arrays.binarySearch(current.items,
+                    new Item(after.getId(), after.getScore(), null, Collections.emptySet()), ORDER);
+            from = index >= 0 ? index + 1 : -index - 1;
+        }
+
+        List<RankCursor> result = new ArrayList<>(limit);
+        for (int i = from; i < current.items.length; i++) {
+            Item item = current.items[i];
+            if (contentType != null && !contentType.equals(item.contentType)) {
+                continue;
+            }
+            if (tags != null && !tags.isEmpty() && Collections.disjoint(tags, item.tags)) {
+                continue;
+            }
+            result.add(new RankCursor(current.generation, item.score, item.id));
+            if (result.size() >= limit) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void markDirty(Long postId) {
+        if (postId != null) {
+            dirty.add(postId);
+        }
+    }
+
+    @Override
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommentEvent(CommentEvent event) {
+        markDirty(event.getPostId());
+    }
+
+    @Override
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        event.getPostIds().forEach(this::markDirty);
+    }
+
+    @Override
+    public synchronized int refresh() {
+        Ranking current = ranking;
+        if (current == null || dirty.isEmpty()) {
+            return 0;
+        }
+        List<Long> ids = new ArrayList<>(dirty);
+        dirty.removeAll(ids);
+
+        // 在副本上更新，旧的一代保持不变，正在翻页的请求继续读它
+        Map<Long, Item> byId = new HashMap<>(current.items.length * 2);
+        for (Item item : current.items) {
+            byId.put(item.id, item);
+        }
+        long windowStart = current.time - windowMillis;
+        for (int from = 0; from < ids.size(); from += LOAD_BATCH_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + LOAD_BATCH_SIZE, ids.size()));
+            Map<Long, Post> posts = new HashMap<>();
+            for (Post post : postMapper.selectRankFieldsByIds(chunk)) {
+                posts.put(post.getId(), post);
+            }
+            for (Long id : chunk) {
+                byId.remove(id);
+                // 已删除、不可见或超出时间窗口的帖子只移出榜单
+                Post post = posts.get(id);
+                if (post != null && isRankable(post, windowStart)) {
+                    byId.put(id, score(post, current.time));
+                }
+            }
+        }
+        publish(current.time, byId.values());
+        return ids.size();
+    }
+
+    @Override
+    public synchronized int rebuild() {
+        long now = System.currentTimeMillis();
+        LocalDateTime since = Instant.ofEpochMilli(now - windowMillis).atZone(ZoneId.systemDefault()).toLocalDateTime();
+        List<Post> posts = postMapper.selectHotCandidates(since, maxCandidates);
+
+        List<Item> items = new ArrayList<>(posts.size());
+        for (Post post : posts) {
+            if (isRankable(post, now - windowMillis)) {
+                items.add(score(post, now));
+            }
+        }
+        Ranking next = publish(now, items);
+        log.debug("热度榜重建完成，候选 {} 条，上榜 {} 条", posts.size(), next.items.length);
+        return next.items.length;
+    }
+
+    /**
+     * 排序截断后发布为新的一代，并淘汰超出保留数的旧代；调用方持有锁
+     */
+    private Ranking publish(long time, Collection<Item> items) {
+        Item[] sorted = items.toArray(new Item[0]);
+        Arrays.sort(sorted, ORDER);
+        if (sorted.length > maxSize) {
+            sorted = Arrays.copyOf(sorted, maxSize);
+        }
+        Ranking next = new Ranking(++lastGeneration, time, sorted);
+        generations.put(next.generation, next);
+        generations.remove(next.generation - retainedGenerations);
+        ranking = next;
+        return next;
+    }
+
+    private boolean isRankable(Post post, long windowStart) {
+        return post.getStatus() != null && post.getStatus() == POST_NORMAL
+                && post.getCreateTime() != null && toMillis(post.getCreateTime()) >= windowStart;
+    }
+
+    /**
+     * 热度 = (1 + 加权互动数) / (发布小时数 + 2) ^ gravity
+     */
+    private Item score(Post post, long now) {
+        double points = 1
+                + LIKE_WEIGHT * valueOf(post.getLikeCount())
+                + COMMENT_WEIGHT * valueOf(post.getCommentCount())
+                + VIEW_WEIGHT * (valueOf(post.getViewCount()) + viewCountService.getPending(post.getId()));
+        double ageHours = Math.max(0, now - toMillis(post.getCreateTime())) / (double) TimeUnit.HOURS.toMillis(1);
+        double score = points / Math.pow(ageHours + 2, gravity);
+        return new Item(post.getId(), score, post.getContentType(), parseTags(post.getTags()));
+    }
+
+    private static long valueOf(Integer value) {
+        return value == null ? 0 : value;
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private Set<String> parseTags(String tags) {
+        if (!StringUtils.hasText(tags)) {
+            return Collections.emptySet();
+        }
+        try {
+            return new HashSet<>(objectMapper.readValue(tags, new TypeReference<List<String>>() {}));
+        } catch (Exception e) {
+            return Collections.emptySet();
+        }
+    }
+
+    /**
+     * 一代榜单，发布后不再修改
+     */
+    private static final class Ranking {
+
+        private final long generation;
+
+        /**
+         * 计算热度的基准时刻
+         */
+        private final long time;
+
+        /**
+         * 按 ORDER 排好序的条目
+         */
+        private final Item[] items;
+
+        private Ranking(long generation, long time, Item[] items) {
+            this.generation = generation;
+            this.time = time;
+            this.items = items;
+        }
+    }
+
+    /**
+     * 榜单条目，保留过滤所需的内容类型和标签
+     */
+    private static final class Item {
+
+        private final long id;
+        private final double score;
+        private final Integer contentType;
+        private final Set<String> tags;
+
+        private Item(long id, double score, Integer contentType, Set<String> tags) {
+            this.id = id;
+            this.score = score;
+            this.contentType = contentType;
+            this.tags = tags;
+        }
+    }
+}
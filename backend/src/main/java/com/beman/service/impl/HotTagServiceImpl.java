@@ -0,0 +1,324 @@
+package com.beman.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.beman.mapper.TagMapper;
+import com.beman.model.Post;
+import com.beman.model.Tag;
+import com.beman.service.HotTagService;
+import com.beman.util.TrendingCounter;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * 热门标签服务实现类
+ * 每个时间窗口一个带衰减的 Space-Saving 计数器，内存占用只取决于容量；
+ * 查询直接读内存，不访问数据库。窗口内热度不足时用标签字典的使用次数补足
+ */
+@Slf4j
+@Service
+public class HotTagServiceImpl implements HotTagService {
+
+    /**
+     * 各行为的热度权重
+     */
+    private static final double PUBLISH_WEIGHT = 5;
+    private static final double LIKE_WEIGHT = 3;
+    private static final double VIEW_WEIGHT = 1;
+
+    /**
+     * 单次最多返回的标签数
+     */
+    private static final int MAX_LIMIT = 50;
+
+    /**
+     * 标签字典和实时计数都为空时的兜底标签
+     */
+    private static final List<String> DEFAULT_TAGS =
+            Arrays.asList("挽回经验", "冷战化解", "沟通技巧", "自我提升", "关系经营", "情绪管理");
+
+    /**
+     * 时间窗口，计数按窗口长度为时间常数衰减
+     */
+    private enum Window {
+        HOUR("hour", TimeUnit.HOURS.toMillis(1)),
+        DAY("day", TimeUnit.DAYS.toMillis(1)),
+        WEEK("week", TimeUnit.DAYS.toMillis(7));
+
+        private final String code;
+        private final long tauMillis;
+
+        Window(String code, long tauMillis) {
+            this.code = code;
+            this.tauMillis = tauMillis;
+        }
+
+        private static Window of(String code) {
+            if (!StringUtils.hasText(code)) {
+                return DAY;
+            }
+            for (Window window : values()) {
+                if (window.code.equalsIgnoreCase(code.trim())) {
+                    return window;
+                }
+            }
+            throw new IllegalArgumentException("无效的时间窗口: " + code);
+        }
+    }
+
+    private final TagMapper tagMapper;
+    private final ObjectMapper objectMapper;
+    private final Path snapshotFile;
+    private final LongSupplier clock;
+    private final Map<Window, TrendingCounter> counters = new EnumMap<>(Window.class);
+
+    /**
+     * 按使用次数排序的字典标签，快照时刷新
+     */
+    private volatile List<String> dictionaryTags;
+
+    @Autowired
+    public HotTagServiceImpl(TagMapper tagMapper, ObjectMapper objectMapper,
+                             @Value("${beman.post.hot-tags.capacity:1000}") int capacity,
+                             @Value("${beman.post.hot-tags.snapshot-file:data/hot-tags.json}") String snapshotFile) {
+        this(tagMapper, objectMapper, capacity, snapshotFile, System::currentTimeMillis);
+    }
+
+    HotTagServiceImpl(TagMapper tagMapper, ObjectMapper objectMapper, int capacity,
+                      String snapshotFile, LongSupplier clock) {
+        this.tagMapper = tagMapper;
+        this.objectMapper = objectMapper;
+        this.snapshotFile = Paths.get(snapshotFile);
+        this.clock = clock;
+        long now = clock.getAsLong();
+        for (Window window : Window.values()) {
+            counters.put(window, new TrendingCounter(capacity, window.tauMillis, now));
+        }
+    }
+
+    @Override
+    public void recordPublish(List<String> tags) {
+        record(tags, PUBLISH_WEIGHT);
+    }
+
+    @Override
+    public void recordView(Post post) {
+        record(parseTags(post.getTags()), VIEW_WEIGHT);
+    }
+
+    @Override
+    public void recordLike(Post post) {
+        record(parseTags(post.getTags()), LIKE_WEIGHT);
+    }
+
+    private void record(List<String> tags, double weight) {
+        if (tags == null || tags.isEmpty()) {
+            return;
+        }
+        long now = clock.getAsLong();
+        for (TrendingCounter counter : counters.values()) {
+            for (String tag : tags) {
+                counter.add(tag, weight, now);
+            }
+        }
+    }
+
+    @Override
+    public List<String> getHotTags(String window, int limit) {
+        int size = Math.min(Math.max(limit, 1), MAX_LIMIT);
+        Set<String> result = new LinkedHashSet<>();
+        for (TrendingCounter.Entry entry : counters.get(Window.of(window)).top(size, clock.getAsLong())) {
+            result.add(entry.getKey());
+        }
+        // 冷启动或窗口内行为太少时，用长期使用次数补足
+        if (result.size() < size) {
+            for (String tag : getDictionaryTags()) {
+                if (result.size() >= size) {
+                    break;
+                }
+                result.add(tag);
+            }
+        }
+        return new ArrayList<>(result);
+    }
+
+    private List<String> getDictionaryTags() {
+        List<String> tags = dictionaryTags;
+        if (tags == null) {
+            tags = loadDictionaryTags();
+            dictionaryTags = tags;
+        }
+        return tags;
+    }
+
+    private List<String> loadDictionaryTags() {
+        try {
+            List<Tag> tags = tagMapper.selectList(new LambdaQueryWrapper<Tag>()
+                    .gt(Tag::getUsageCount, 0)
+                    .orderByDesc(Tag::getUsageCount)
+                    .last("LIMIT " + MAX_LIMIT));
+            if (tags.isEmpty()) {
+                return DEFAULT_TAGS;
+            }
+            List<String> names = new ArrayList<>(tags.size());
+            for (Tag tag : tags) {
+                names.add(tag.getName());
+            }
+            return names;
+        } catch (Exception e) {
+            log.warn("加载标签字典失败，使用默认标签", e);
+            return DEFAULT_TAGS;
+        }
+    }
+
+    /**
+     * 启动时恢复快照，计数按停机时长衰减后并入
+     */
+    @PostConstruct
+    public void restore() {
+        if (!Files.exists(snapshotFile)) {
+            return;
+        }
+        try {
+            Snapshot snapshot = objectMapper.readValue(snapshotFile.toFile(), Snapshot.class);
+            long now = clock.getAsLong();
+            int restored = 0;
+            for (Window window : Window.values()) {
+                List<SnapshotEntry> entries = snapshot.getWindows().get(window.code);
+                if (entries == null) {
+                    continue;
+                }
+                List<TrendingCounter.Entry> list = new ArrayList<>(entries.size());
+                for (SnapshotEntry entry : entries) {
+                    list.add(new TrendingCounter.Entry(entry.getKey(), entry.getCount(), entry.getError()));
+                }
+                counters.get(window).restore(list, snapshot.getTime(), now);
+                restored += list.size();
+            }
+            log.info("热门标签快照恢复完成，计数项 {} 个，快照时间 {}", restored, snapshot.getTime());
+        } catch (Exception e) {
+            log.warn("热门标签快照恢复失败，热度将从零开始累计: {}", snapshotFile, e);
+        }
+    }
+
+    /**
+     * 先写临时文件再原子替换，进程中途退出不会留下半个快照
+     */
+    @Override
+    public synchronized void snapshot() {
+        long now = clock.getAsLong();
+        Snapshot snapshot = new Snapshot();
+        snapshot.setTime(now);
+        Map<String, List<SnapshotEntry>> windows = new HashMap<>();
+        counters.forEach((window, counter) -> {
+            List<TrendingCounter.Entry> entries = counter.entries(now);
+            List<SnapshotEntry> list = new ArrayList<>(entries.size());
+            for (TrendingCounter.Entry entry : entries) {
+                list.add(new SnapshotEntry(entry.getKey(), entry.getCount(), entry.getError()));
+            }
+            windows.put(window.code, list);
+        });
+        snapshot.setWindows(windows);
+
+        try {
+            Path parent = snapshotFile.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Path temp = Files.createTempFile(parent, "hot-tags", ".tmp");
+            try {
+                objectMapper.writeValue(temp.toFile(), snapshot);
+                try {
+                    Files.move(temp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temp, snapshotFile, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            log.warn("写入热门标签快照失败: {}", snapshotFile, e);
+        }
+
+        // 顺带刷新字典兜底标签
+        dictionaryTags = loadDictionaryTags();
+    }
+
+    /**
+     * 停机前保存一次快照
+     */
+    @PreDestroy
+    public void shutdown() {
+        snapshot();
+    }
+
+    private List<String> parseTags(String tags) {
+        if (!StringUtils.hasText(tags)) {
+            return Collections.emptyList();
+        }
+        try {
+            return objectMapper.readValue(tags, new TypeReference<List<String>>() {});
+        } catch (Exception e) {
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * 快照文件内容
+     */
+    @Data
+    static class Snapshot {
+
+        /**
+         * 快照时间戳（毫秒）
+         */
+        private long time;
+
+        /**
+         * 各窗口的计数项，计数已衰减到快照时刻
+         */
+        private Map<String, List<SnapshotEntry>> windows = new HashMap<>();
+    }
+
+    @Data
+    static class SnapshotEntry {
+
+        private String key;
+        private double count;
+        private double error;
+
+        SnapshotEntry() {
+        }
+
+        SnapshotEntry(String key, double count, double error) {
+            this.key = key;
+            this.count = count;
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.beman.service.impl;
+
+import com.beman.service.LoginThrottleService;
+import com.beman.util.TokenBucket;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * 登录限流服务实现类
+ * 令牌桶保存在本地缓存中，闲置过期后丢弃（此时桶已补满，丢弃不影响限流），条数有界，大量伪造用户名也不会撑爆内存
+ */
+@Service
+public class LoginThrottleServiceImpl implements LoginThrottleService {
+
+    private final Cache<String, TokenBucket> usernameBuckets;
+    private final Cache<String, TokenBucket> ipBuckets;
+    private final int usernameCapacity;
+    private final double usernameRefillPerSecond;
+    private final int ipCapacity;
+    private final double ipRefillPerSecond;
+    private final LongSupplier clock;
+
+    @Autowired
+    public LoginThrottleServiceImpl(@Value("${beman.user.login.throttle.username-capacity:5}") int usernameCapacity,
+                                    @Value("${beman.user.login.throttle.username-refill-per-minute:5}") double usernameRefillPerMinute,
+                                    @Value("${beman.user.login.throttle.ip-capacity:20}") int ipCapacity,
+                                    @Value("${beman.user.login.throttle.ip-refill-per-minute:30}") double ipRefillPerMinute,
+                                    @Value("${beman.user.login.throttle.maximum-size:100000}") long maximumSize) {
+        this(usernameCapacity, usernameRefillPerMinute, ipCapacity, ipRefillPerMinute, maximumSize, System::nanoTime);
+    }
+
+    LoginThrottleServiceImpl(int usernameCapacity, double usernameRefillPerMinute,
+                             int ipCapacity, double ipRefillPerMinute,
+                             long maximumSize, LongSupplier clock) {
+        this.usernameCapacity = usernameCapacity;
+        this.usernameRefillPerSecond = usernameRefillPerMinute / 60;
+        this.ipCapacity = ipCapacity;
+        this.ipRefillPerSecond = ipRefillPerMinute / 60;
+        this.clock = clock;
+        this.usernameBuckets = buildCache(maximumSize, usernameCapacity, usernameRefillPerSecond);
+        this.ipBuckets = buildCache(maximumSize, ipCapacity, ipRefillPerSecond);
+    }
+
+    /**
+     * 闲置时间超过补满一桶所需的时间后过期
+     */
+    private static Cache<String, TokenBucket> buildCache(long maximumSize, int capacity, double refillPerSecond) {
+        long refillSeconds = refillPerSecond > 0 ? (long) Math.ceil(capacity / refillPerSecond) : TimeUnit.DAYS.toSeconds(1);
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(Math.max(refillSeconds, 1), TimeUnit.SECONDS)
+                .build();
+    }
+
+    @Override
+    public void acquire(String username, String clientIp) {
+        long now = clock.getAsLong();
+        // 先按IP限流，同一IP轮换用户名撞库时不消耗被撞用户名的令牌
+        if (clientIp != null && !ipBuckets.get(clientIp, key -> new TokenBucket(ipCapacity, ipRefillPerSecond, now)).tryAcquire(now)) {
+            throw new RuntimeException("登录尝试过于频繁，请稍后再试");
+        }
+        if (username != null && !usernameBuckets.get(username, key -> new TokenBucket(usernameCapacity, usernameRefillPerSecond, now)).tryAcquire(now)) {
+            throw new RuntimeException("该账号登录尝试过于频繁，请稍后再试");
+        }
+    }
+}
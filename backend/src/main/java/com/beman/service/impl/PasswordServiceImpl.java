@@ -0,0 +1,85 @@
+package com.beman.service.impl;
+
+import com.beman.service.PasswordService;
+import com.beman.util.Md5PasswordVerifier;
+import com.beman.util.PasswordHasher;
+import com.beman.util.PasswordVerifier;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * 密码服务实现类
+ * 新密码用当前算法（默认 PBKDF2，可通过 PasswordHasher Bean 替换），旧版 MD5 只用于校验；
+ * 哈希耗时集中在专用线程池中，线程池和队列都满时立即拒绝，等待超时后放弃，Web 请求线程不会因排队被长时间占用
+ */
+@Service
+public class PasswordServiceImpl implements PasswordService {
+
+    private final PasswordHasher currentHasher;
+    private final List<PasswordVerifier> verifiers;
+    private final Executor passwordExecutor;
+    private final long timeoutMillis;
+
+    public PasswordServiceImpl(PasswordHasher passwordHasher,
+                               @Qualifier("passwordExecutor") Executor passwordExecutor,
+                               @Value("${beman.user.password.timeout-millis:3000}") long timeoutMillis) {
+        this.currentHasher = passwordHasher;
+        this.verifiers = Arrays.asList(passwordHasher, new Md5PasswordVerifier());
+        this.passwordExecutor = passwordExecutor;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    @Override
+    public String hash(String rawPassword) {
+        return submit(() -> currentHasher.hash(rawPassword));
+    }
+
+    @Override
+    public boolean matches(String rawPassword, String encoded) {
+        if (rawPassword == null || encoded == null) {
+            return false;
+        }
+        for (PasswordVerifier verifier : verifiers) {
+            if (verifier.supports(encoded)) {
+                return submit(() -> verifier.matches(rawPassword, encoded));
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean needsRehash(String encoded) {
+        return !currentHasher.supports(encoded) || currentHasher.needsRehash(encoded);
+    }
+
+    private <T> T submit(Supplier<T> task) {
+        CompletableFuture<T> future;
+        try {
+            future = CompletableFuture.supplyAsync(task, passwordExecutor);
+        } catch (RejectedExecutionException e) {
+            throw new RuntimeException("登录人数过多，请稍后再试");
+        }
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(false);
+            throw new RuntimeException("登录人数过多，请稍后再试");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("密码校验被中断");
+        } catch (ExecutionException e) {
+            throw new RuntimeException("密码校验失败", e.getCause());
+        }
+    }
+}
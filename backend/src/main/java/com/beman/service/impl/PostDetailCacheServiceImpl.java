@@ -0,0 +1,232 @@
+package com.beman.service.impl;
+
+import com.beman.event.PostChangedEvent;
+import com.beman.mapper.PostMapper;
+import com.beman.model.Post;
+import com.beman.service.PostDetailCacheService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 帖子详情缓存服务实现类
+ * 本地缓存未命中时由 Caffeine 保证同一帖子只有一个线程回源，其余线程等待结果，热门帖子不会击穿到数据库；
+ * 不存在或不可见的帖子也缓存，避免反复查询，但过期时间单独设置得较短，帖子审核通过后能很快可见。Redis 为可选的二级缓存，失效通知通过 Redis 发布订阅广播
+ */
+@Slf4j
+@Service
+public class PostDetailCacheServiceImpl implements PostDetailCacheService {
+
+    /**
+     * Redis缓存键前缀
+     */
+    private static final String REDIS_KEY_PREFIX = "beman:post:detail:";
+
+    /**
+     * 跨节点失效通知频道，消息内容为帖子ID
+     */
+    public static final String INVALIDATION_CHANNEL = "beman:post:detail:invalidate";
+
+    /**
+     * 帖子状态：1-正常
+     */
+    private static final int POST_NORMAL = 1;
+
+    private final PostMapper postMapper;
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final boolean redisEnabled;
+    private final long redisExpireSeconds;
+
+    /**
+     * 正文缓存，空值表示帖子不存在或不可见
+     */
+    private final Cache<Long, Optional<Post>> bodies;
+
+    /**
+     * 计数缓存，短时过期
+     */
+    private final Cache<Long, Counters> counters;
+
+    public PostDetailCacheServiceImpl(PostMapper postMapper,
+                                      @Nullable StringRedisTemplate redisTemplate,
+                                      ObjectMapper objectMapper,
+                                      @Value("${beman.post.detail-cache.maximum-size:10000}") long maximumSize,
+                                      @Value("${beman.post.detail-cache.expire-seconds:600}") long expireSeconds,
+                                      @Value("${beman.post.detail-cache.negative-expire-seconds:30}") long negativeExpireSeconds,
+                                      @Value("${beman.post.detail-cache.counter-expire-seconds:5}") long counterExpireSeconds,
+                                      @Value("${beman.post.detail-cache.redis-enabled:false}") boolean redisEnabled,
+                                      @Value("${beman.post.detail-cache.redis-expire-seconds:600}") long redisExpireSeconds) {
+        this.postMapper = postMapper;
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.redisEnabled = redisEnabled && redisTemplate != null;
+        this.redisExpireSeconds = redisExpireSeconds;
+        this.bodies = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new BodyExpiry(TimeUnit.SECONDS.toNanos(expireSeconds),
+                        TimeUnit.SECONDS.toNanos(negativeExpireSeconds)))
+                .build();
+        this.counters = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(counterExpireSeconds, TimeUnit.SECONDS)
+                .build();
+    }
+
+    @Override
+    public Post get(Long id) {
+        if (id == null) {
+            return null;
+        }
+        Optional<Post> body = bodies.get(id, this::loadBody);
+        if (!body.isPresent()) {
+            return null;
+        }
+
+        Post post = new Post();
+        BeanUtils.copyProperties(body.get(), post);
+        Counters current = counters.get(id, this::loadCounters);
+        post.setViewCount(current.viewCount);
+        post.setLikeCount(current.likeCount);
+        post.setCommentCount(current.commentCount);
+        return post;
+    }
+
+    /**
+     * 本地未命中时查询Redis，再未命中则查询数据库并回写Redis
+     */
+    private Optional<Post> loadBody(Long id) {
+        String redisKey = REDIS_KEY_PREFIX + id;
+        if (redisEnabled) {
+            try {
+                String json = redisTemplate.opsForValue().get(redisKey);
+                if (json != null) {
+                    return Optional.of(objectMapper.readValue(json, Post.class));
+                }
+            } catch (Exception e) {
+                log.warn("读取帖子详情缓存失败: {}", e.getMessage());
+            }
+        }
+
+        Post post = postMapper.selectById(id);
+        if (post == null || post.getStatus() == null || post.getStatus() != POST_NORMAL) {
+            return Optional.empty();
+        }
+        // 正文缓存不保存计数和作者资料，二者分别由计数缓存和用户缓存提供
+        post.setViewCount(null);
+        post.setLikeCount(null);
+        post.setCommentCount(null);
+        post.setAuthorName(null);
+        post.setAuthorAvatar(null);
+
+        if (redisEnabled) {
+            try {
+                redisTemplate.opsForValue().set(redisKey, objectMapper.writeValueAsString(post),
+                        redisExpireSeconds, TimeUnit.SECONDS);
+            } catch (Exception e) {
+                log.warn("写入帖子详情缓存失败: {}", e.getMessage());
+            }
+        }
+        return Optional.of(post);
+    }
+
+    private Counters loadCounters(Long id) {
+        Post post = postMapper.selectCounters(id);
+        return post == null ? new Counters(0, 0, 0)
+                : new Counters(valueOf(post.getViewCount()), valueOf(post.getLikeCount()), valueOf(post.getCommentCount()));
+    }
+
+    private static int valueOf(Integer value) {
+        return value == null ? 0 : value;
+    }
+
+    @Override
+    public void invalidate(Long id) {
+        evictLocal(id);
+        if (!redisEnabled) {
+            return;
+        }
+        try {
+            redisTemplate.delete(REDIS_KEY_PREFIX + id);
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, String.valueOf(id));
+        } catch (Exception e) {
+            log.warn("广播帖子详情缓存失效失败，其他节点将在过期后更新: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void evictLocal(Long id) {
+        bodies.invalidate(id);
+        counters.invalidate(id);
+    }
+
+    @Override
+    public void invalidateCounters(Long id) {
+        counters.invalidate(id);
+    }
+
+    /**
+     * 事务回滚时不失效；不在事务中发布（如审核结果回写）时立即处理
+     */
+    @Override
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        event.getPostIds().forEach(this::invalidate);
+    }
+
+    /**
+     * 按写入计时：正文用正常过期时间，空值用较短的过期时间，读取不延长
+     */
+    private static final class BodyExpiry implements Expiry<Long, Optional<Post>> {
+
+        private final long expireNanos;
+        private final long negativeExpireNanos;
+
+        private BodyExpiry(long expireNanos, long negativeExpireNanos) {
+            this.expireNanos = expireNanos;
+            this.negativeExpireNanos = negativeExpireNanos;
+        }
+
+        @Override
+        public long expireAfterCreate(Long id, Optional<Post> body, long currentTime) {
+            return body.isPresent() ? expireNanos : negativeExpireNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(Long id, Optional<Post> body, long currentTime, long currentDuration) {
+            return expireAfterCreate(id, body, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Long id, Optional<Post> body, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    /**
+     * 帖子计数
+     */
+    private static final class Counters {
+
+        private final int viewCount;
+        private final int likeCount;
+        private final int commentCount;
+
+        private Counters(int viewCount, int likeCount, int commentCount) {
+            this.viewCount = viewCount;
+            this.likeCount = likeCount;
+            this.commentCount = commentCount;
+        }
+    }
+}
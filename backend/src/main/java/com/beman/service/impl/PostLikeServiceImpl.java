@@ -0,0 +1,164 @@
+package com.beman.service.impl;
+
+import com.beman.mapper.PostLikeMapper;
+import com.beman.mapper.PostMapper;
+import com.beman.service.PostLikeService;
+import com.beman.util.TransactionUtils;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 帖子点赞服务实现类
+ * 按用户缓存其点赞过的帖子ID（有序数组，二分查找判断成员），整页判断点赞状态时不查询数据库；
+ * 点赞数超过单用户上限的用户不缓存全集，改为每页一次 IN 查询。点赞、取消点赞提交后失效该用户的缓存，
+ * 并通过 Redis 发布订阅通知其他节点；通知丢失时缓存最迟在写入后过期时间到达时刷新
+ */
+@Slf4j
+@Service
+public class PostLikeServiceImpl implements PostLikeService {
+
+    /**
+     * 跨节点失效通知频道，消息内容为用户ID
+     */
+    public static final String INVALIDATION_CHANNEL = "beman:post:like:invalidate";
+
+    private final PostLikeMapper postLikeMapper;
+    private final PostMapper postMapper;
+    private final StringRedisTemplate redisTemplate;
+    private final boolean redisEnabled;
+    private final int maxPerUser;
+    private final Cache<Long, LikedPosts> cache;
+
+    public PostLikeServiceImpl(PostLikeMapper postLikeMapper, PostMapper postMapper,
+                               @Nullable StringRedisTemplate redisTemplate,
+                               @Value("${beman.post.like.cache.redis-enabled:false}") boolean redisEnabled,
+                               @Value("${beman.post.like.cache.maximum-weight:2000000}") long maximumWeight,
+                               @Value("${beman.post.like.cache.max-per-user:5000}") int maxPerUser,
+                               @Value("${beman.post.like.cache.expire-seconds:600}") long expireSeconds) {
+        this.postLikeMapper = postLikeMapper;
+        this.postMapper = postMapper;
+        this.redisTemplate = redisTemplate;
+        this.redisEnabled = redisEnabled && redisTemplate != null;
+        this.maxPerUser = maxPerUser;
+        // 按缓存的帖子ID个数计权重，内存占用约为 maximumWeight * 8 字节
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumWeight)
+                .weigher((Long userId, LikedPosts liked) -> liked.postIds.length + 1)
+                .expireAfterWrite(expireSeconds, TimeUnit.SECONDS)
+                .build();
+    }
+
+    @Override
+    public boolean like(Long postId, Long userId) {
+        if (postLikeMapper.insertIgnore(postId, userId) == 0) {
+            return false;
+        }
+        postMapper.updateLikeCount(postId, 1);
+        TransactionUtils.afterCommit(() -> invalidate(userId));
+        return true;
+    }
+
+    @Override
+    public boolean unlike(Long postId, Long userId) {
+        if (postLikeMapper.deleteLike(postId, userId) == 0) {
+            return false;
+        }
+        postMapper.updateLikeCount(postId, -1);
+        TransactionUtils.afterCommit(() -> invalidate(userId));
+        return true;
+    }
+
+    @Override
+    public boolean isLiked(Long userId, Long postId) {
+        return postId != null && !getLikedPostIds(userId, Collections.singletonList(postId)).isEmpty();
+    }
+
+    @Override
+    public Set<Long> getLikedPostIds(Long userId, Collection<Long> postIds) {
+        if (userId == null || postIds == null || postIds.isEmpty()) {
+            return Collections.emptySet();
+        }
+        Set<Long> candidates = new HashSet<>(postIds);
+        candidates.remove(null);
+        if (candidates.isEmpty()) {
+            return Collections.emptySet();
+        }
+
+        LikedPosts liked = cache.get(userId, this::load);
+        if (liked.truncated) {
+            return new HashSet<>(postLikeMapper.selectLikedPostIds(userId, candidates));
+        }
+        Set<Long> result = new HashSet<>();
+        for (Long postId : candidates) {
+            if (Arrays.binarySearch(liked.postIds, postId) >= 0) {
+                result.add(postId);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void evictLocal(Long userId) {
+        cache.invalidate(userId);
+    }
+
+    private void invalidate(Long userId) {
+        evictLocal(userId);
+        if (!redisEnabled) {
+            return;
+        }
+        try {
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, String.valueOf(userId));
+        } catch (Exception e) {
+            log.warn("广播点赞缓存失效失败，其他节点将在过期后更新: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 多取一条判断是否超过单用户上限
+     */
+    private LikedPosts load(Long userId) {
+        List<Long> ids = postLikeMapper.selectPostIdsByUserId(userId, maxPerUser + 1);
+        if (ids.size() > maxPerUser) {
+            return LikedPosts.TRUNCATED;
+        }
+        long[] postIds = new long[ids.size()];
+        for (int i = 0; i < postIds.length; i++) {
+            postIds[i] = ids.get(i);
+        }
+        Arrays.sort(postIds);
+        return new LikedPosts(postIds, false);
+    }
+
+    /**
+     * 用户点赞过的帖子ID集合
+     */
+    private static final class LikedPosts {
+
+        /**
+         * 点赞过多、未缓存全集的用户共用的标记
+         */
+        private static final LikedPosts TRUNCATED = new LikedPosts(new long[0], true);
+
+        private final long[] postIds;
+        private final boolean truncated;
+
+        private LikedPosts(long[] postIds, boolean truncated) {
+            this.postIds = postIds;
+            this.truncated = truncated;
+        }
+    }
+}
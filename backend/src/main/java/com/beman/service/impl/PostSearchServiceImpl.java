@@ -0,0 +1,247 @@
+package com.beman.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.beman.event.PostChangedEvent;
+import com.beman.mapper.PostMapper;
+import com.beman.model.Post;
+import com.beman.service.PostSearchService;
+import com.beman.util.InvertedIndex;
+import com.beman.util.TransactionUtils;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 帖子搜索服务实现类
+ * 索引只包含正常状态的帖子。发布、删除、审核状态变化后按数据库中的最新状态重新同步对应帖子，
+ * 启用 Redis 时同时广播帖子ID，其他节点收到后同样从数据库同步，各节点的索引都包含全部节点的写入
+ */
+@Slf4j
+@Service
+public class PostSearchServiceImpl implements PostSearchService {
+
+    /**
+     * 跨节点同步通知频道，消息内容为逗号分隔的帖子ID
+     */
+    public static final String SYNC_CHANNEL = "beman:post:search:sync";
+
+    /**
+     * 全量构建时每批读取的帖子数
+     */
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    /**
+     * 帖子状态：1-正常，只有正常状态的帖子进入索引
+     */
+    private static final int POST_NORMAL = 1;
+
+    private final PostMapper postMapper;
+    private final ObjectMapper objectMapper;
+    private final StringRedisTemplate redisTemplate;
+    private final boolean redisEnabled;
+
+    private final InvertedIndex index = new InvertedIndex();
+
+    private volatile boolean ready;
+
+    /**
+     * 全量构建期间被同步过的帖子ID，构建进行中时不为 null
+     */
+    private volatile Set<Long> syncedDuringRebuild;
+
+    public PostSearchServiceImpl(PostMapper postMapper, ObjectMapper objectMapper,
+                                 @Nullable StringRedisTemplate redisTemplate,
+                                 @Value("${beman.post.search.redis-enabled:false}") boolean redisEnabled) {
+        this.postMapper = postMapper;
+        this.objectMapper = objectMapper;
+        this.redisTemplate = redisTemplate;
+        this.redisEnabled = redisEnabled && redisTemplate != null;
+    }
+
+    @Override
+    public InvertedIndex.Hits search(String keyword, List<String> tags, Integer contentType, int offset, int limit) {
+        return index.search(keyword, tags, contentType, offset, limit);
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public void index(Post post) {
+        TransactionUtils.afterCommit(() -> {
+            apply(post.getId(), post);
+            broadcast(Collections.singletonList(post.getId()));
+        });
+    }
+
+    /**
+     * 删除、审核状态变化后按数据库中的最新状态同步；事务回滚时不处理，不在事务中发布（如审核结果回写）时立即处理
+     */
+    @Override
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        sync(event.getPostIds());
+        broadcast(event.getPostIds());
+    }
+
+    @Override
+    public void onRemoteSync(String message) {
+        List<Long> ids = new ArrayList<>();
+        try {
+            for (String id : message.split(",")) {
+                ids.add(Long.valueOf(id));
+            }
+        } catch (NumberFormatException e) {
+            log.warn("忽略无效的帖子索引同步通知: {}", message);
+            return;
+        }
+        sync(ids);
+    }
+
+    /**
+     * 从数据库读取最新状态，正常状态的更新索引，已删除、审核中、已隐藏的移出索引
+     */
+    private void sync(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        Map<Long, Post> posts = postMapper.selectList(new LambdaQueryWrapper<Post>()
+                        .select(Post::getId, Post::getTitle, Post::getContent, Post::getTags,
+                                Post::getContentType, Post::getStatus)
+                        .in(Post::getId, ids))
+                .stream()
+                .collect(Collectors.toMap(Post::getId, Function.identity()));
+        for (Long id : ids) {
+            apply(id, posts.get(id));
+        }
+    }
+
+    private void apply(Long id, Post post) {
+        Set<Long> synced = syncedDuringRebuild;
+        if (synced != null) {
+            synced.add(id);
+        }
+        if (post != null && Integer.valueOf(POST_NORMAL).equals(post.getStatus())) {
+            put(post, false);
+        } else {
+            index.remove(id);
+        }
+    }
+
+    /**
+     * 广播失败时其他节点要到重启重建索引后才能看到变化
+     */
+    private void broadcast(Collection<Long> ids) {
+        if (!redisEnabled || ids.isEmpty()) {
+            return;
+        }
+        try {
+            redisTemplate.convertAndSend(SYNC_CHANNEL,
+                    ids.stream().map(String::valueOf).collect(Collectors.joining(",")));
+        } catch (Exception e) {
+            log.warn("广播帖子索引同步失败: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 应用启动完成后在后台线程构建索引，不阻塞启动
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        Thread thread = new Thread(() -> {
+            try {
+                rebuild();
+            } catch (Exception e) {
+                log.error("帖子搜索索引构建失败，关键词搜索将继续使用数据库查询", e);
+            }
+        }, "post-search-rebuild");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * 按主键分批读取，已存在的文档（构建期间新发布的帖子）不覆盖。
+     * 批次读出后帖子可能已被删除或隐藏并移出索引，再写入就是过期文档，因此构建期间被同步过的帖子不写入，
+     * 构建结束后再按数据库最新状态同步一次，覆盖判断与写入之间同步进来的变化
+     */
+    @Override
+    public int rebuild() {
+        long start = System.currentTimeMillis();
+        Set<Long> synced = ConcurrentHashMap.newKeySet();
+        syncedDuringRebuild = synced;
+        long lastId = 0;
+        int count = 0;
+        try {
+            while (true) {
+                List<Post> batch = postMapper.selectList(new LambdaQueryWrapper<Post>()
+                        .select(Post::getId, Post::getTitle, Post::getContent, Post::getTags,
+                                Post::getContentType, Post::getStatus)
+                        .gt(Post::getId, lastId)
+                        .eq(Post::getStatus, POST_NORMAL)
+                        .orderByAsc(Post::getId)
+                        .last("LIMIT " + REBUILD_BATCH_SIZE));
+                for (Post post : batch) {
+                    if (!synced.contains(post.getId())) {
+                        put(post, true);
+                    }
+                    lastId = post.getId();
+                }
+                count += batch.size();
+                if (batch.size() < REBUILD_BATCH_SIZE) {
+                    break;
+                }
+            }
+        } finally {
+            syncedDuringRebuild = null;
+        }
+        List<Long> resync = new ArrayList<>(synced);
+        for (int i = 0; i < resync.size(); i += REBUILD_BATCH_SIZE) {
+            sync(resync.subList(i, Math.min(i + REBUILD_BATCH_SIZE, resync.size())));
+        }
+        ready = true;
+        log.info("帖子搜索索引构建完成，帖子 {} 条，构建期间变化 {} 条，词项 {} 个，耗时 {} ms",
+                count, resync.size(), index.termCount(), System.currentTimeMillis() - start);
+        return count;
+    }
+
+    private void put(Post post, boolean ifAbsent) {
+        List<String> tags = parseTags(post.getTags());
+        int contentType = post.getContentType() == null ? 1 : post.getContentType();
+        if (ifAbsent) {
+            index.putIfAbsent(post.getId(), post.getTitle(), post.getContent(), tags, contentType);
+        } else {
+            index.put(post.getId(), post.getTitle(), post.getContent(), tags, contentType);
+        }
+    }
+
+    private List<String> parseTags(String tags) {
+        if (!StringUtils.hasText(tags)) {
+            return Collections.emptyList();
+        }
+        try {
+            return objectMapper.readValue(tags, new TypeReference<List<String>>() {});
+        } catch (Exception e) {
+            return Collections.emptyList();
+        }
+    }
+}
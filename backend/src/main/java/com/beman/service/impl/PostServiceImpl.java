@@ -4,23 +4,45 @@ import cn.dev33.satoken.stp.StpUtil;
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.beman.event.PostChangedEvent;
+import com.beman.event.PostPublishedEvent;
 import com.beman.mapper.PostMapper;
-import com.beman.mapper.UserMapper;
 import com.beman.model.Post;
 import com.beman.model.User;
 import com.beman.model.dto.PostCreateDTO;
 import com.beman.model.dto.PostQueryDTO;
+import com.beman.model.vo.CursorPageVO;
+import com.beman.service.ContentModerationService;
+import com.beman.service.HotRankService;
+import com.beman.service.HotTagService;
+import com.beman.service.PostDetailCacheService;
+import com.beman.service.PostLikeService;
+import com.beman.service.PostSearchService;
 import com.beman.service.PostService;
+import com.beman.service.TagService;
+import com.beman.service.TimelineService;
+import com.beman.service.UserCacheService;
+import com.beman.service.ViewCountService;
+import com.beman.util.InvertedIndex;
+import com.beman.util.PostCursor;
+import com.beman.util.RankCursor;
+import com.beman.util.TimelineCursor;
+import com.beman.util.TransactionUtils;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 import org.springframework.util.StringUtils;
 
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -30,16 +52,42 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class PostServiceImpl implements PostService {
 
+    /**
+     * 帖子流单页最大条数
+     */
+    private static final int MAX_FEED_SIZE = 100;
+
+    /**
+     * 排序方式：2-最热
+     */
+    private static final int SORT_HOT = 2;
+
+    /**
+     * 帖子状态：0-审核中，1-正常
+     */
+    private static final int POST_REVIEWING = 0;
+    private static final int POST_NORMAL = 1;
+
     private final PostMapper postMapper;
-    private final UserMapper userMapper;
     private final ObjectMapper objectMapper;
+    private final ContentModerationService contentModerationService;
+    private final UserCacheService userCacheService;
+    private final PostSearchService postSearchService;
+    private final TagService tagService;
+    private final HotTagService hotTagService;
+    private final ViewCountService viewCountService;
+    private final PostLikeService postLikeService;
+    private final PostDetailCacheService postDetailCacheService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final HotRankService hotRankService;
+    private final TimelineService timelineService;
 
     @Override
     @Transactional
     public Post createPost(PostCreateDTO createDTO) {
         // 获取当前用户
         Long userId = StpUtil.getLoginIdAsLong();
-        User user = userMapper.selectById(userId);
+        User user = userCacheService.get(userId);
         if (user == null) {
             throw new RuntimeException("用户不存在");
         }
@@ -54,13 +102,18 @@ public class PostServiceImpl implements PostService {
         post.setViewCount(0);
         post.setLikeCount(0);
         post.setCommentCount(0);
-        post.setStatus(1); // 正常状态
         post.setIsTop(0); // 默认不置顶
 
-        // 处理标签
-        if (createDTO.getTags() != null && !createDTO.getTags().isEmpty()) {
+        // 同步预检：命中极端关键词先进入审核中，不对外展示
+        String auditText = createDTO.getTitle() + "\n" + createDTO.getContent();
+        boolean held = contentModerationService.precheck(auditText);
+        post.setStatus(held ? POST_REVIEWING : POST_NORMAL);
+
+        // 处理标签：写入时规范化一次，读取时不再解析
+        List<String> tags = tagService.normalize(createDTO.getTags());
+        if (!tags.isEmpty()) {
             try {
-                post.setTags(objectMapper.writeValueAsString(createDTO.getTags()));
+                post.setTags(objectMapper.writeValueAsString(tags));
             } catch (JsonProcessingException e) {
                 throw new RuntimeException("标签格式错误");
             }
@@ -74,6 +127,27 @@ public class PostServiceImpl implements PostService {
         // 保存帖子
         postMapper.insert(post);
 
+        // 写入标签关联并累加标签使用次数
+        tagService.bindPostTags(post.getId(), tags);
+
+        // 完整审核在事务提交后异步执行，状态和风险等级批量回写
+        contentModerationService.submitPost(post.getId(), auditText, held);
+
+        // 审核中的帖子不对外展示，扇出、索引和热度统计等审核通过后由 onPostPublished 补做
+        if (!held) {
+            // 事务提交后扇出到粉丝的关注时间线
+            timelineService.onPostPublished(post);
+
+            // 事务提交后加入搜索索引
+            postSearchService.index(post);
+
+            // 事务提交后累加标签热度
+            TransactionUtils.afterCommit(() -> {
+                hotTagService.recordPublish(tags);
+                hotRankService.markDirty(post.getId());
+            });
+        }
+
         // 设置作者信息
         post.setAuthorName(Boolean.TRUE.equals(createDTO.getIsAnonymous()) ? "匿名用户" : user.getNickname());
         post.setAuthorAvatar(user.getAvatar());
@@ -83,66 +157,223 @@ public class PostServiceImpl implements PostService {
 
     @Override
     public IPage<Post> getPostPage(PostQueryDTO queryDTO) {
+        // 关键词搜索走倒排索引，索引构建完成前回退到数据库查询
+        if (StringUtils.hasText(queryDTO.getKeyword()) && postSearchService.isReady()) {
+            return searchIndex(queryDTO);
+        }
+
         // 创建分页对象
         Page<Post> page = new Page<>(queryDTO.getPage(), queryDTO.getSize());
 
+        // 标签过滤：与发帖时同样规范化，字典中不存在的标签不可能命中
+        List<Long> tagIds = tagService.resolveIds(tagService.normalize(queryDTO.getTags()));
+        if (hasTags(queryDTO) && tagIds.isEmpty()) {
+            return page;
+        }
+
         // 查询帖子列表
-        IPage<Post> postPage = postMapper.selectPostPage(page, queryDTO.getTags(), 
+        IPage<Post> postPage = postMapper.selectPostPage(page, tagIds, 
                                                        queryDTO.getKeyword(), queryDTO.getContentType());
 
+        // 填充作者等展示信息
+        fillRecords(postPage.getRecords());
+
+        return postPage;
+    }
+
+    @Override
+    public CursorPageVO<Post> getPostFeed(PostQueryDTO queryDTO) {
+        // 最热排序读预先计算的热度榜；关键词检索和榜单首次构建前仍按时间排序
+        if (Integer.valueOf(SORT_HOT).equals(queryDTO.getSortType())
+                && !StringUtils.hasText(queryDTO.getKeyword()) && hotRankService.isReady()) {
+            return getHotFeed(queryDTO);
+        }
+
+        PostCursor cursor = PostCursor.decode(queryDTO.getCursor());
+        int size = Math.min(Math.max(queryDTO.getSize(), 1), MAX_FEED_SIZE);
+
+        List<Long> tagIds = tagService.resolveIds(tagService.normalize(queryDTO.getTags()));
+        if (hasTags(queryDTO) && tagIds.isEmpty()) {
+            return new CursorPageVO<>(new ArrayList<>(), null, false);
+        }
+
+        // 多取一条用于判断是否还有下一页
+        List<Post> records = postMapper.selectPostFeed(tagIds, queryDTO.getKeyword(),
+                queryDTO.getContentType(), cursor, size + 1);
+        boolean hasMore = records.size() > size;
+        if (hasMore) {
+            records = new ArrayList<>(records.subList(0, size));
+        }
+
+        fillRecords(records);
+
+        String nextCursor = hasMore ? PostCursor.of(records.get(records.size() - 1)).encode() : null;
+        return new CursorPageVO<>(records, nextCursor, hasMore);
+    }
+
+    /**
+     * 按热度榜顺序分页，游标为上一页最后一条在榜单中的位置
+     */
+    private CursorPageVO<Post> getHotFeed(PostQueryDTO queryDTO) {
+        RankCursor cursor = RankCursor.decode(queryDTO.getCursor());
+        int size = Math.min(Math.max(queryDTO.getSize(), 1), MAX_FEED_SIZE);
+
+        List<String> tags = tagService.normalize(queryDTO.getTags());
+        if (hasTags(queryDTO) && tags.isEmpty()) {
+            return new CursorPageVO<>(new ArrayList<>(), null, false);
+        }
+
+        List<RankCursor> ranked = hotRankService.next(cursor, queryDTO.getContentType(), tags, size + 1);
+        boolean hasMore = ranked.size() > size;
+        if (hasMore) {
+            ranked = ranked.subList(0, size);
+        }
+
+        // 榜单刷新有延迟，批量加载时再过滤一次状态
+        List<Post> records = loadVisible(ranked.stream().map(RankCursor::getId).collect(Collectors.toList()));
+        fillRecords(records);
+
+        String nextCursor = hasMore ? ranked.get(ranked.size() - 1).encode() : null;
+        return new CursorPageVO<>(records, nextCursor, hasMore);
+    }
+
+    @Override
+    public IPage<Post> searchPosts(PostQueryDTO queryDTO) {
+        return postSearchService.isReady() ? searchIndex(queryDTO) : getPostPage(queryDTO);
+    }
+
+    /**
+     * 倒排索引检索当前页ID，再按ID批量加载帖子并保持相关度顺序
+     */
+    private IPage<Post> searchIndex(PostQueryDTO queryDTO) {
+        Page<Post> page = new Page<>(queryDTO.getPage(), queryDTO.getSize());
+        InvertedIndex.Hits hits = postSearchService.search(queryDTO.getKeyword(), queryDTO.getTags(),
+                queryDTO.getContentType(), (int) page.offset(), (int) page.getSize());
+
+        List<Post> records = loadVisible(hits.getIds());
+        fillRecords(records);
+
+        page.setRecords(records);
+        page.setTotal(hits.getTotal());
+        return page;
+    }
+
+    @Override
+    public CursorPageVO<Post> getFollowingFeed(PostQueryDTO queryDTO) {
+        Long userId = StpUtil.getLoginIdAsLong();
+        TimelineCursor cursor = TimelineCursor.decode(queryDTO.getCursor());
+        int size = Math.min(Math.max(queryDTO.getSize(), 1), MAX_FEED_SIZE);
+
+        // 时间线只保存帖子ID，多取一条用于判断是否还有下一页
+        List<Long> ids = timelineService.getTimeline(userId, cursor == null ? null : cursor.getPostId(), size + 1);
+        boolean hasMore = ids.size() > size;
+        if (hasMore) {
+            ids = ids.subList(0, size);
+        }
+
+        // 时间线不随删帖、审核同步清理，加载时过滤
+        List<Post> records = loadVisible(ids);
+        fillRecords(records);
+
+        String nextCursor = hasMore ? new TimelineCursor(ids.get(ids.size() - 1)).encode() : null;
+        return new CursorPageVO<>(records, nextCursor, hasMore);
+    }
+
+    /**
+     * 按ID批量加载帖子，只保留正常状态的帖子并保持传入顺序
+     */
+    private List<Post> loadVisible(List<Long> ids) {
+        List<Post> records = new ArrayList<>(ids.size());
+        if (ids.isEmpty()) {
+            return records;
+        }
+        Map<Long, Post> posts = postMapper.selectBatchIds(ids).stream()
+                .filter(post -> Integer.valueOf(1).equals(post.getStatus()))
+                .collect(Collectors.toMap(Post::getId, post -> post));
+        for (Long id : ids) {
+            Post post = posts.get(id);
+            if (post != null) {
+                records.add(post);
+            }
+        }
+        return records;
+    }
+
+    private boolean hasTags(PostQueryDTO queryDTO) {
+        return queryDTO.getTags() != null && !queryDTO.getTags().isEmpty();
+    }
+
+    /**
+     * 填充列表中帖子的作者信息和点赞状态
+     */
+    private void fillRecords(List<Post> records) {
         // 获取当前用户ID（用于判断是否点赞）
         Long currentUserId = null;
         if (StpUtil.isLogin()) {
             currentUserId = StpUtil.getLoginIdAsLong();
         }
 
-        // 处理帖子数据
-        postPage.getRecords().forEach(post -> {
-            // 解析标签
-            if (StringUtils.hasText(post.getTags())) {
-                try {
-                    List<String> tags = objectMapper.readValue(post.getTags(), new TypeReference<List<String>>() {});
-                    // 这里可以设置到post对象中，但需要添加字段
-                } catch (JsonProcessingException e) {
-                    // 忽略解析错误
-                }
-            }
+        // 整页批量判断点赞状态
+        Set<Long> likedPostIds = postLikeService.getLikedPostIds(currentUserId,
+                records.stream().map(Post::getId).collect(Collectors.toList()));
+
+        // 批量加载作者信息：整页合并为一次查询，缓存命中时不查询
+        Set<Long> authorIds = records.stream()
+                .filter(post -> post.getAnonymousId() == null)
+                .map(Post::getUserId)
+                .collect(Collectors.toSet());
+        Map<Long, User> authors = userCacheService.getAll(authorIds);
 
+        // 处理帖子数据
+        records.forEach(post -> {
             // 设置作者信息
             if (post.getAnonymousId() != null) {
                 post.setAuthorName("匿名用户");
+                post.setAuthorAvatar(null);
             } else {
-                User author = userMapper.selectById(post.getUserId());
+                User author = authors.get(post.getUserId());
                 if (author != null) {
                     post.setAuthorName(author.getNickname());
                     post.setAuthorAvatar(author.getAvatar());
                 }
             }
 
-            // TODO: 设置是否点赞状态（需要查询点赞表）
-            post.setIsLiked(false);
+            post.setViewCount(withPendingViews(post));
+            post.setIsLiked(likedPostIds.contains(post.getId()));
         });
+    }
 
-        return postPage;
+    /**
+     * 已写回的浏览次数加上内存中待写回的增量
+     */
+    private Integer withPendingViews(Post post) {
+        long stored = post.getViewCount() == null ? 0 : post.getViewCount();
+        return (int) (stored + viewCountService.getPending(post.getId()));
     }
 
     @Override
     public Post getPostDetail(Long id) {
         Long currentUserId = StpUtil.isLogin() ? StpUtil.getLoginIdAsLong() : null;
-        Post post = postMapper.selectPostDetail(id, currentUserId);
+        // 正文和计数走多级缓存，返回的是副本，下面的修改不影响缓存
+        Post post = postDetailCacheService.get(id);
         
         if (post == null) {
             throw new RuntimeException("帖子不存在");
         }
 
-        // 增加浏览次数
-        postMapper.updateViewCount(id);
+        // 增加浏览次数：内存累加后批量写回，返回值包含尚未写回的增量
+        viewCountService.increment(id);
+        hotRankService.markDirty(id);
+        post.setViewCount(withPendingViews(post));
+        hotTagService.recordView(post);
+        post.setIsLiked(postLikeService.isLiked(currentUserId, id));
 
-        // 设置作者信息
+        // 作者资料不随正文缓存，从用户缓存读取；匿名帖子隐藏作者资料
         if (post.getAnonymousId() != null) {
             post.setAuthorName("匿名用户");
+            post.setAuthorAvatar(null);
         } else {
-            User author = userMapper.selectById(post.getUserId());
+            User author = userCacheService.get(post.getUserId());
             if (author != null) {
                 post.setAuthorName(author.getNickname());
                 post.setAuthorAvatar(author.getAvatar());
@@ -161,9 +392,14 @@ public class PostServiceImpl implements PostService {
             throw new RuntimeException("帖子不存在");
         }
 
-        // TODO: 检查用户是否已点赞（需要点赞表）
-        // 这里简化处理，直接增加点赞数
-        postMapper.updateLikeCount(postId, 1);
+        // 点赞记录和点赞数同一事务更新，重复点赞不重复计数
+        if (postLikeService.like(postId, StpUtil.getLoginIdAsLong())) {
+            TransactionUtils.afterCommit(() -> {
+                hotTagService.recordLike(post);
+                hotRankService.markDirty(postId);
+                postDetailCacheService.invalidateCounters(postId);
+            });
+        }
     }
 
     @Override
@@ -175,9 +411,13 @@ public class PostServiceImpl implements PostService {
             throw new RuntimeException("帖子不存在");
         }
 
-        // TODO: 检查用户是否已点赞（需要点赞表）
-        // 这里简化处理，直接减少点赞数
-        postMapper.updateLikeCount(postId, -1);
+        // 只有已点赞才扣减点赞数
+        if (postLikeService.unlike(postId, StpUtil.getLoginIdAsLong())) {
+            TransactionUtils.afterCommit(() -> {
+                hotRankService.markDirty(postId);
+                postDetailCacheService.invalidateCounters(postId);
+            });
+        }
     }
 
     @Override
@@ -198,12 +438,43 @@ public class PostServiceImpl implements PostService {
 
         // 逻辑删除帖子
         postMapper.deleteById(postId);
+
+        // 解除标签关联并扣减标签使用次数
+        tagService.unbindPostTags(postId);
+
+        // 事务提交后移出搜索索引、失效详情缓存
+        eventPublisher.publishEvent(PostChangedEvent.of(postId));
+        timelineService.onPostDeleted(userId);
+    }
+
+    /**
+     * 审核回写不在事务中，立即处理；期间被删除或再次隐藏的帖子跳过
+     */
+    @Override
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostPublished(PostPublishedEvent event) {
+        for (Post post : postMapper.selectBatchIds(event.getPostIds())) {
+            if (post.getStatus() == null || post.getStatus() != POST_NORMAL) {
+                continue;
+            }
+            timelineService.onPostPublished(post);
+            hotTagService.recordPublish(readTags(post));
+        }
+    }
+
+    private List<String> readTags(Post post) {
+        if (!StringUtils.hasText(post.getTags())) {
+            return Collections.emptyList();
+        }
+        try {
+            return objectMapper.readValue(post.getTags(), new TypeReference<List<String>>() {});
+        } catch (JsonProcessingException e) {
+            return Collections.emptyList();
+        }
     }
 
     @Override
-    public List<String> getHotTags() {
-        // TODO: 实现热门标签查询
-        // 这里返回一些预设的热门标签
-        return Arrays.asList("挽回经验", "冷战化解", "沟通技巧", "自我提升", "关系经营", "情绪管理");
+    public List<String> getHotTags(String window, int limit) {
+        return hotTagService.getHotTags(window, limit);
     }
 }
@@ -0,0 +1,110 @@
+package com.beman.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.beman.mapper.PostTagMapper;
+import com.beman.mapper.TagMapper;
+import com.beman.model.PostTag;
+import com.beman.model.Tag;
+import com.beman.service.TagService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 标签服务实现类
+ */
+@Service
+public class TagServiceImpl implements TagService {
+
+    /**
+     * 标签名称最大长度，与 tag.name 列宽一致
+     */
+    private static final int MAX_TAG_LENGTH = 50;
+
+    /**
+     * 名称到ID的缓存容量，标签创建后ID不变，无需过期
+     */
+    private static final long ID_CACHE_SIZE = 10000;
+
+    private final TagMapper tagMapper;
+    private final PostTagMapper postTagMapper;
+    private final Cache<String, Long> idCache;
+
+    public TagServiceImpl(TagMapper tagMapper, PostTagMapper postTagMapper) {
+        this.tagMapper = tagMapper;
+        this.postTagMapper = postTagMapper;
+        this.idCache = Caffeine.newBuilder().maximumSize(ID_CACHE_SIZE).build();
+    }
+
+    @Override
+    public List<String> normalize(List<String> tags) {
+        if (tags == null || tags.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Set<String> normalized = new LinkedHashSet<>();
+        for (String tag : tags) {
+            String name = tag == null ? "" : tag.trim();
+            if (!name.isEmpty() && name.length() <= MAX_TAG_LENGTH) {
+                normalized.add(name);
+            }
+        }
+        return new ArrayList<>(normalized);
+    }
+
+    @Override
+    public void bindPostTags(Long postId, List<String> tags) {
+        if (tags == null || tags.isEmpty()) {
+            return;
+        }
+        tagMapper.upsertUsage(tags);
+        List<Long> tagIds = resolveIds(tags);
+        if (!tagIds.isEmpty()) {
+            postTagMapper.insertBatch(postId, tagIds);
+        }
+    }
+
+    @Override
+    public void unbindPostTags(Long postId) {
+        tagMapper.decreaseUsageByPostId(postId);
+        postTagMapper.delete(new LambdaQueryWrapper<PostTag>().eq(PostTag::getPostId, postId));
+    }
+
+    @Override
+    public List<Long> resolveIds(Collection<String> names) {
+        if (names == null || names.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<String, Long> ids = idCache.getAll(names, this::loadIds);
+        List<Long> result = new ArrayList<>(ids.size());
+        for (String name : names) {
+            Long id = ids.get(name);
+            if (id != null) {
+                result.add(id);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 一次 IN 查询加载所有未缓存的标签ID；tag.name 为二进制排序，查出的名称与入参逐字节一致
+     */
+    private Map<String, Long> loadIds(Iterable<? extends String> names) {
+        List<String> missing = new ArrayList<>();
+        names.forEach(missing::add);
+        List<Tag> tags = tagMapper.selectList(new LambdaQueryWrapper<Tag>().in(Tag::getName, missing));
+        Map<String, Long> loaded = new HashMap<>(tags.size() * 2);
+        for (Tag tag : tags) {
+            loaded.put(tag.getName(), tag.getId());
+        }
+        return loaded;
+    }
+}
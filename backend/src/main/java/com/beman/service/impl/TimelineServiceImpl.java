@@ -0,0 +1,259 @@
+package com.beman.service.impl;
+
+import com.beman.mapper.FeedTimelineMapper;
+import com.beman.mapper.PostMapper;
+import com.beman.mapper.UserFollowMapper;
+import com.beman.mapper.UserStatsMapper;
+import com.beman.model.Post;
+import com.beman.service.TimelineService;
+import com.beman.util.TimelineMerger;
+import com.beman.util.TransactionUtils;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 关注时间线服务实现类
+ * 普通作者的帖子在事务提交后按粉丝ID分批写入时间线表；大V的最近发帖和每个用户关注的大V名单都在本地短时缓存，
+ * 读取一页只需一次时间线主键范围查询，缓存命中时不再访问其他表
+ */
+@Slf4j
+@Service
+public class TimelineServiceImpl implements TimelineService {
+
+    private static final long[] EMPTY = new long[0];
+
+    private final FeedTimelineMapper feedTimelineMapper;
+    private final UserFollowMapper userFollowMapper;
+    private final UserStatsMapper userStatsMapper;
+    private final PostMapper postMapper;
+    private final Executor feedExecutor;
+    private final int celebrityThreshold;
+    private final int fanoutBatchSize;
+    private final int backfillSize;
+    private final int outboxSize;
+    private final int capacity;
+    private final int trimChunkSize;
+
+    /**
+     * 大V名单，定期重新统计
+     */
+    private volatile Set<Long> celebrities = Collections.emptySet();
+
+    /**
+     * 大V最近的发帖，按帖子ID倒序
+     */
+    private final Cache<Long, long[]> outboxes;
+
+    /**
+     * 每个用户关注的大V
+     */
+    private final Cache<Long, long[]> followedCelebrities;
+
+    public TimelineServiceImpl(FeedTimelineMapper feedTimelineMapper,
+                               UserFollowMapper userFollowMapper,
+                               UserStatsMapper userStatsMapper,
+                               PostMapper postMapper,
+                               @Qualifier("feedExecutor") Executor feedExecutor,
+                               @Value("${beman.feed.timeline.celebrity-threshold:5000}") int celebrityThreshold,
+                               @Value("${beman.feed.timeline.fanout-batch-size:1000}") int fanoutBatchSize,
+                               @Value("${beman.feed.timeline.backfill-size:20}") int backfillSize,
+                               @Value("${beman.feed.timeline.outbox-size:200}") int outboxSize,
+                               @Value("${beman.feed.timeline.outbox-expire-seconds:30}") long outboxExpireSeconds,
+                               @Value("${beman.feed.timeline.capacity:800}") int capacity,
+                               @Value("${beman.feed.timeline.trim-chunk-size:1000}") int trimChunkSize) {
+        this.feedTimelineMapper = feedTimelineMapper;
+        this.userFollowMapper = userFollowMapper;
+        this.userStatsMapper = userStatsMapper;
+        this.postMapper = postMapper;
+        this.feedExecutor = feedExecutor;
+        this.celebrityThreshold = celebrityThreshold;
+        this.fanoutBatchSize = fanoutBatchSize;
+        this.backfillSize = backfillSize;
+        this.outboxSize = outboxSize;
+        this.capacity = capacity;
+        this.trimChunkSize = trimChunkSize;
+        this.outboxes = Caffeine.newBuilder()
+                .maximumSize(10000)
+                .expireAfterWrite(outboxExpireSeconds, TimeUnit.SECONDS)
+                .build();
+        this.followedCelebrities = Caffeine.newBuilder()
+                .maximumSize(100000)
+                .expireAfterWrite(60, TimeUnit.SECONDS)
+                .build();
+    }
+
+    @Override
+    public void onPostPublished(Post post) {
+        // 匿名帖子不进入关注时间线，否则等于公开了作者
+        if (post.getAnonymousId() != null) {
+            return;
+        }
+        Long postId = post.getId();
+        Long authorId = post.getUserId();
+        TransactionUtils.afterCommit(() -> {
+            if (celebrities.contains(authorId)) {
+                outboxes.invalidate(authorId);
+                return;
+            }
+            try {
+                feedExecutor.execute(() -> fanOut(Collections.singletonList(postId), authorId));
+            } catch (Exception e) {
+                log.error("提交时间线扇出失败，帖子 {}", postId, e);
+            }
+        });
+    }
+
+    /**
+     * 按粉丝ID分批写入，每批每个帖子一条语句
+     */
+    private void fanOut(List<Long> postIds, Long authorId) {
+        long after = 0;
+        int written = 0;
+        try {
+            while (true) {
+                List<Long> followerIds = userFollowMapper.selectFollowerIds(authorId, after, fanoutBatchSize);
+                if (followerIds.isEmpty()) {
+                    break;
+                }
+                for (Long postId : postIds) {
+                    written += feedTimelineMapper.insertBatch(postId, authorId, followerIds);
+                }
+                after = followerIds.get(followerIds.size() - 1);
+                if (followerIds.size() < fanoutBatchSize) {
+                    break;
+                }
+            }
+            log.debug("帖子 {} 扇出到 {} 条时间线", postIds, written);
+        } catch (Exception e) {
+            log.error("时间线扇出失败，帖子 {} 已写入 {} 条", postIds, written, e);
+        }
+    }
+
+    @Override
+    public void onPostDeleted(Long authorId) {
+        TransactionUtils.afterCommit(() -> outboxes.invalidate(authorId));
+    }
+
+    @Override
+    public void onFollow(Long followerId, Long followingId) {
+        // 大V的帖子读取时合并，不需要补入
+        if (!celebrities.contains(followingId)) {
+            feedTimelineMapper.insertRecentPosts(followerId, followingId, backfillSize);
+        }
+        TransactionUtils.afterCommit(() -> followedCelebrities.invalidate(followerId));
+    }
+
+    @Override
+    public void onUnfollow(Long followerId, Long followingId) {
+        feedTimelineMapper.deleteByAuthor(followerId, followingId);
+        TransactionUtils.afterCommit(() -> followedCelebrities.invalidate(followerId));
+    }
+
+    @Override
+    public List<Long> getTimeline(Long userId, Long beforePostId, int limit) {
+        List<long[]> sources = new ArrayList<>();
+        sources.add(toArray(feedTimelineMapper.selectPostIds(userId, beforePostId, limit)));
+        for (long celebrityId : getFollowedCelebrities(userId)) {
+            sources.add(getOutbox(celebrityId, beforePostId, limit));
+        }
+
+        long[] merged = TimelineMerger.merge(sources, beforePostId, limit);
+        List<Long> result = new ArrayList<>(merged.length);
+        for (long id : merged) {
+            result.add(id);
+        }
+        return result;
+    }
+
+    private long[] getFollowedCelebrities(Long userId) {
+        Set<Long> current = celebrities;
+        if (current.isEmpty()) {
+            return EMPTY;
+        }
+        return followedCelebrities.get(userId, id -> toArray(userFollowMapper.selectFollowingIdsIn(id, current)));
+    }
+
+    /**
+     * 缓存只保留最近 outboxSize 条，翻到更早的页时直接查询
+     */
+    private long[] getOutbox(long celebrityId, Long beforePostId, int limit) {
+        long[] recent = outboxes.get(celebrityId, id -> toArray(postMapper.selectRecentIdsByUser(id, null, outboxSize)));
+        if (recent.length < outboxSize) {
+            return recent;
+        }
+        int start = beforePostId == null ? 0 : TimelineMerger.firstBelow(recent, beforePostId);
+        if (recent.length - start >= limit) {
+            return recent;
+        }
+        return toArray(postMapper.selectRecentIdsByUser(celebrityId, beforePostId, limit));
+    }
+
+    /**
+     * 粉丝数读取用户统计表，不再按关注表分组统计。
+     * 作者跌出名单后改为写扩散，但做大V期间的发帖从未写入粉丝的时间线，因此把其最近的发帖补入每个粉丝的时间线，
+     * 与新关注时补入的条数相同；各节点都会检测到同一次降级，补入用 INSERT IGNORE，重复执行不产生重复条目
+     */
+    @Override
+    public int refreshCelebrities() {
+        Set<Long> previous = celebrities;
+        Set<Long> next = new HashSet<>(userStatsMapper.selectUserIdsWithFollowersAtLeast(celebrityThreshold));
+        if (!next.equals(previous)) {
+            celebrities = Collections.unmodifiableSet(next);
+            followedCelebrities.invalidateAll();
+            log.info("大V名单更新，共 {} 人", next.size());
+            for (Long authorId : previous) {
+                if (!next.contains(authorId)) {
+                    backfillDemoted(authorId);
+                }
+            }
+        }
+        return next.size();
+    }
+
+    private void backfillDemoted(Long authorId) {
+        try {
+            feedExecutor.execute(() -> {
+                List<Long> postIds = postMapper.selectRecentIdsByUser(authorId, null, backfillSize);
+                if (!postIds.isEmpty()) {
+                    fanOut(postIds, authorId);
+                }
+            });
+        } catch (Exception e) {
+            log.error("提交降级作者 {} 的时间线补入失败", authorId, e);
+        }
+    }
+
+    @Override
+    public int trim() {
+        Long maxUserId = feedTimelineMapper.selectMaxUserId();
+        if (maxUserId == null) {
+            return 0;
+        }
+        int deleted = 0;
+        for (long from = 1; from <= maxUserId; from += trimChunkSize) {
+            deleted += feedTimelineMapper.trim(from, from + trimChunkSize - 1, capacity);
+        }
+        log.info("时间线裁剪完成，删除 {} 条", deleted);
+        return deleted;
+    }
+
+    private static long[] toArray(List<Long> ids) {
+        long[] result = new long[ids.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = ids.get(i);
+        }
+        return result;
+    }
+}
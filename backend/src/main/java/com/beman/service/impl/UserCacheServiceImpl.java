@@ -0,0 +1,134 @@
+package com.beman.service.impl;
+
+import com.beman.mapper.UserMapper;
+import com.beman.model.User;
+import com.beman.service.UserCacheService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 用户资料缓存服务实现类
+ * Caffeine 本地缓存，容量有界、写入后短时过期，资料修改后的最长可见延迟即过期时间。
+ * 处于 Web 请求中时另有一层请求级缓存，同一请求内多次读取同一用户只查一次本地缓存，且读到的是同一份资料
+ */
+@Service
+public class UserCacheServiceImpl implements UserCacheService {
+
+    private static final String REQUEST_CACHE = UserCacheServiceImpl.class.getName() + ".REQUEST_CACHE";
+
+    private final UserMapper userMapper;
+    private final Cache<Long, User> cache;
+
+    public UserCacheServiceImpl(UserMapper userMapper,
+                                @Value("${beman.user.cache.maximum-size:10000}") long maximumSize,
+                                @Value("${beman.user.cache.expire-seconds:60}") long expireSeconds) {
+        this.userMapper = userMapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireSeconds, TimeUnit.SECONDS)
+                .build();
+    }
+
+    @Override
+    public User get(Long id) {
+        if (id == null) {
+            return null;
+        }
+        Map<Long, User> requestCache = requestCache();
+        if (requestCache == null) {
+            return cache.get(id, userMapper::selectById);
+        }
+        if (requestCache.containsKey(id)) {
+            return requestCache.get(id);
+        }
+        User user = cache.get(id, userMapper::selectById);
+        requestCache.put(id, user);
+        return user;
+    }
+
+    @Override
+    public Map<Long, User> getAll(Collection<Long> ids) {
+        Set<Long> keys = new HashSet<>(ids);
+        keys.remove(null);
+        if (keys.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<Long, User> requestCache = requestCache();
+        if (requestCache == null) {
+            return cache.getAll(keys, this::loadAll);
+        }
+        Map<Long, User> result = new HashMap<>(keys.size() * 2);
+        Set<Long> missing = new HashSet<>();
+        for (Long key : keys) {
+            if (requestCache.containsKey(key)) {
+                User user = requestCache.get(key);
+                if (user != null) {
+                    result.put(key, user);
+                }
+            } else {
+                missing.add(key);
+            }
+        }
+        if (!missing.isEmpty()) {
+            Map<Long, User> loaded = cache.getAll(missing, this::loadAll);
+            result.putAll(loaded);
+            requestCache.putAll(loaded);
+        }
+        return result;
+    }
+
+    /**
+     * 一次 IN 查询加载所有未命中的用户
+     */
+    private Map<Long, User> loadAll(Iterable<? extends Long> ids) {
+        Set<Long> missing = new HashSet<>();
+        ids.forEach(missing::add);
+        List<User> users = userMapper.selectBatchIds(missing);
+        Map<Long, User> loaded = new HashMap<>(users.size() * 2);
+        for (User user : users) {
+            loaded.put(user.getId(), user);
+        }
+        return loaded;
+    }
+
+    @Override
+    public void invalidate(Long id) {
+        if (id != null) {
+            cache.invalidate(id);
+            Map<Long, User> requestCache = requestCache();
+            if (requestCache != null) {
+                requestCache.remove(id);
+            }
+        }
+    }
+
+    /**
+     * 当前请求的缓存，不在 Web 请求中时返回 null；请求由单个线程处理，用普通 HashMap
+     */
+    @SuppressWarnings("unchecked")
+    private Map<Long, User> requestCache() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        Map<Long, User> requestCache = (Map<Long, User>) attributes.getAttribute(REQUEST_CACHE, RequestAttributes.SCOPE_REQUEST);
+        if (requestCache == null) {
+            requestCache = new HashMap<>();
+            attributes.setAttribute(REQUEST_CACHE, requestCache, RequestAttributes.SCOPE_REQUEST);
+        }
+        return requestCache;
+    }
+}
@@ -10,16 +10,30 @@ import com.beman.model.User;
 import com.beman.model.dto.UserFollowDTO;
 import com.beman.model.dto.UserFollowQueryDTO;
 import com.beman.model.vo.UserFollowVO;
+import com.beman.service.FollowGraphService;
+import com.beman.service.TimelineService;
+import com.beman.service.UserCacheService;
 import com.beman.service.UserFollowService;
 import com.beman.service.UserService;
+import com.beman.service.UserStatsService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.BeanUtils;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 
 /**
@@ -29,8 +43,17 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class UserFollowServiceImpl implements UserFollowService {
 
+    /**
+     * 批量查询关注状态时单条 IN 语句的最大ID数
+     */
+    private static final int IN_BATCH_SIZE = 1000;
+
     private final UserFollowMapper userFollowMapper;
     private final UserService userService;
+    private final TimelineService timelineService;
+    private final UserCacheService userCacheService;
+    private final UserStatsService userStatsService;
+    private final FollowGraphService followGraphService;
 
     @Override
     @Transactional
@@ -55,12 +78,18 @@ public class UserFollowServiceImpl implements UserFollowService {
             if (existingFollow.getStatus() == 0) {
                 throw new RuntimeException("已经关注该用户");
             }
-            // 如果之前取消过关注，重新关注
+            // 如果之前取消过关注，重新关注；并发的重复请求只有一个更新成功，计数和时间线只变动一次
+            int previousStatus = existingFollow.getStatus();
             existingFollow.setStatus(0);
             existingFollow.setFollowType(followDTO.getFollowType());
             existingFollow.setRemarkName(followDTO.getRemarkName());
             existingFollow.setUpdateTime(LocalDateTime.now());
-            userFollowMapper.updateById(existingFollow);
+            if (userFollowMapper.updateStatusIfMatch(existingFollow, previousStatus) != 1) {
+                throw new RuntimeException("已经关注该用户");
+            }
+            userStatsService.onFollow(followerId, followDTO.getFollowingId());
+            followGraphService.onFollow(followerId, followDTO.getFollowingId());
+            timelineService.onFollow(followerId, followDTO.getFollowingId());
             return existingFollow;
         }
         
@@ -74,7 +103,17 @@ public class UserFollowServiceImpl implements UserFollowService {
         userFollow.setCreateTime(LocalDateTime.now());
         userFollow.setUpdateTime(LocalDateTime.now());
         
-        userFollowMapper.insert(userFollow);
+        try {
+            userFollowMapper.insert(userFollow);
+        } catch (DuplicateKeyException e) {
+            // 并发的重复请求已插入同一关注关系
+            throw new RuntimeException("已经关注该用户");
+        }
+        userStatsService.onFollow(followerId, followDTO.getFollowingId());
+        followGraphService.onFollow(followerId, followDTO.getFollowingId());
+
+        // 把对方最近的帖子补入关注时间线
+        timelineService.onFollow(followerId, followDTO.getFollowingId());
         return userFollow;
     }
 
@@ -88,10 +127,17 @@ public class UserFollowServiceImpl implements UserFollowService {
             throw new RuntimeException("未关注该用户");
         }
         
-        // 逻辑删除关注关系
+        // 逻辑删除关注关系，并发的重复请求只有一个更新成功
         userFollow.setStatus(1);
         userFollow.setUpdateTime(LocalDateTime.now());
-        userFollowMapper.updateById(userFollow);
+        if (userFollowMapper.updateStatusIfMatch(userFollow, 0) != 1) {
+            throw new RuntimeException("未关注该用户");
+        }
+        userStatsService.onUnfollow(followerId, followingId);
+        followGraphService.onUnfollow(followerId, followingId);
+
+        // 从关注时间线移除对方的帖子
+        timelineService.onUnfollow(followerId, followingId);
     }
 
     @Override
@@ -125,10 +171,10 @@ public class UserFollowServiceImpl implements UserFollowService {
             page, queryDTO.getUserId(), queryDTO.getFollowType(), queryDTO.getKeyword()
         );
         
-        // 设置互相关注状态
-        result.getRecords().forEach(follow -> {
-            follow.setIsMutualFollow(userFollowMapper.selectIsFollowing(follow.getUserId(), queryDTO.getUserId()));
-        });
+        // 设置互相关注状态：一次查出本页中哪些人也关注了该用户
+        Set<Long> followBack = selectAmong(queryDTO.getUserId(), userIdsOf(result.getRecords()),
+                userFollowMapper::selectFollowerIdsIn);
+        result.getRecords().forEach(follow -> follow.setIsMutualFollow(followBack.contains(follow.getUserId())));
         
         return result;
     }
@@ -146,10 +192,10 @@ public class UserFollowServiceImpl implements UserFollowService {
             page, queryDTO.getUserId(), queryDTO.getFollowType(), queryDTO.getKeyword()
         );
         
-        // 设置互相关注状态
-        result.getRecords().forEach(follower -> {
-            follower.setIsMutualFollow(userFollowMapper.selectIsFollowing(queryDTO.getUserId(), follower.getUserId()));
-        });
+        // 设置互相关注状态：一次查出该用户关注了本页中的哪些人
+        Set<Long> followed = selectAmong(queryDTO.getUserId(), userIdsOf(result.getRecords()),
+                userFollowMapper::selectFollowingIdsIn);
+        result.getRecords().forEach(follower -> follower.setIsMutualFollow(followed.contains(follower.getUserId())));
         
         return result;
     }
@@ -162,43 +208,97 @@ public class UserFollowServiceImpl implements UserFollowService {
 
     @Override
     public Integer getFollowingCount(Long userId) {
-        return userFollowMapper.selectFollowingCount(userId);
+        return userStatsService.getFollowingCount(userId);
     }
 
     @Override
     public Integer getFollowersCount(Long userId) {
-        return userFollowMapper.selectFollowersCount(userId);
+        return userStatsService.getFollowerCount(userId);
     }
 
     @Override
     public List<UserFollowVO> getMutualFollowUsers(Long userId) {
-        List<Long> mutualUserIds = userFollowMapper.selectMutualFollowUserIds(userId);
-        
-        return mutualUserIds.stream()
-            .map(mutualUserId -> {
+        // 关注关系图加载完成后在内存中求交集，否则自连接关注表
+        List<Long> mutualUserIds = followGraphService.isReady()
+            ? followGraphService.getMutualFollowIds(userId)
+            : userFollowMapper.selectMutualFollowUserIds(userId);
+        return toFollowVOs(mutualUserIds, true);
+    }
+
+    @Override
+    public List<UserFollowVO> getSuggestedUsers(Integer limit) {
+        Long userId = StpUtil.getLoginIdAsLong();
+        int size = limit == null || limit <= 0 ? 10 : Math.min(limit, 50);
+        return toFollowVOs(followGraphService.suggest(userId, size), false);
+    }
+
+    @Override
+    public Integer getCommonFollowersCount(Long userId) {
+        Long currentUserId = StpUtil.getLoginIdAsLong();
+        return followGraphService.isReady()
+            ? followGraphService.countCommonFollowers(currentUserId, userId)
+            : userFollowMapper.selectCommonFollowersCount(currentUserId, userId);
+    }
+
+    /**
+     * 所有用户资料一次批量获取，已不存在的用户跳过
+     */
+    private List<UserFollowVO> toFollowVOs(List<Long> userIds, boolean mutual) {
+        if (userIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Map<Long, User> users = userCacheService.getAll(userIds);
+        return userIds.stream()
+            .map(users::get)
+            .filter(Objects::nonNull)
+            .map(user -> {
                 UserFollowVO followVO = new UserFollowVO();
-                User user = userService.findById(mutualUserId);
-                if (user != null) {
-                    followVO.setUserId(user.getId());
-                    followVO.setUsername(user.getUsername());
-                    followVO.setNickname(user.getNickname());
-                    followVO.setAvatar(user.getAvatar());
-                    followVO.setUserStatus(user.getStatus());
-                    followVO.setLastActiveTime(user.getLastLoginTime());
-                    followVO.setIsMutualFollow(true);
-                }
+                followVO.setUserId(user.getId());
+                followVO.setUsername(user.getUsername());
+                followVO.setNickname(user.getNickname());
+                followVO.setAvatar(user.getAvatar());
+                followVO.setUserStatus(user.getStatus());
+                followVO.setLastActiveTime(user.getLastLoginTime());
+                followVO.setIsMutualFollow(mutual);
                 return followVO;
             })
-            .filter(followVO -> followVO.getUserId() != null)
             .collect(Collectors.toList());
     }
 
     @Override
     public List<Boolean> batchCheckFollowStatus(List<Long> userIds) {
         Long currentUserId = StpUtil.getLoginIdAsLong();
-        
+
+        Set<Long> followed = selectAmong(currentUserId, userIds, userFollowMapper::selectFollowingIdsIn);
         return userIds.stream()
-            .map(userId -> userFollowMapper.selectIsFollowing(currentUserId, userId))
+            .map(followed::contains)
             .collect(Collectors.toList());
     }
+
+    private List<Long> userIdsOf(List<UserFollowVO> records) {
+        return records.stream()
+            .map(UserFollowVO::getUserId)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * 在给定用户中筛选与 userId 存在关注关系的用户，去重后每 IN_BATCH_SIZE 个ID一次查询
+     * @param query selectFollowingIdsIn 或 selectFollowerIdsIn
+     */
+    private Set<Long> selectAmong(Long userId, Collection<Long> ids,
+                                  BiFunction<Long, Collection<Long>, List<Long>> query) {
+        if (ids == null || ids.isEmpty()) {
+            return Collections.emptySet();
+        }
+        List<Long> distinct = ids.stream()
+            .filter(Objects::nonNull)
+            .collect(Collectors.collectingAndThen(Collectors.toCollection(LinkedHashSet::new), ArrayList::new));
+        Set<Long> result = new HashSet<>();
+        for (int from = 0; from < distinct.size(); from += IN_BATCH_SIZE) {
+            result.addAll(query.apply(userId, distinct.subList(from, Math.min(from + IN_BATCH_SIZE, distinct.size()))));
+        }
+        return result;
+    }
 }
@@ -6,12 +6,17 @@ import com.beman.mapper.UserMapper;
 import com.beman.model.User;
 import com.beman.model.dto.UserLoginDTO;
 import com.beman.model.dto.UserRegisterDTO;
+import com.beman.service.LoginThrottleService;
+import com.beman.service.PasswordService;
+import com.beman.service.UserCacheService;
 import com.beman.service.UserService;
+import com.beman.util.TransactionUtils;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
-import org.springframework.util.DigestUtils;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -22,6 +27,9 @@ import java.util.UUID;
 public class UserServiceImpl implements UserService {
 
     private final UserMapper userMapper;
+    private final UserCacheService userCacheService;
+    private final PasswordService passwordService;
+    private final LoginThrottleService loginThrottleService;
 
     @Override
     public User register(UserRegisterDTO registerDTO) {
@@ -40,7 +48,7 @@ public class UserServiceImpl implements UserService {
         // 创建用户
         User user = new User();
         user.setUsername(registerDTO.getUsername());
-        user.setPassword(DigestUtils.md5DigestAsHex(registerDTO.getPassword().getBytes()));
+        user.setPassword(passwordService.hash(registerDTO.getPassword()));
         user.setNickname(registerDTO.getNickname());
         user.setEmail(registerDTO.getEmail());
         user.setPhone(registerDTO.getPhone());
@@ -57,14 +65,21 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public String login(UserLoginDTO loginDTO) {
+        return login(loginDTO, null);
+    }
+
+    @Override
+    public String login(UserLoginDTO loginDTO, String clientIp) {
+        // 限流在查库和校验密码之前，撞库请求不消耗数据库和哈希线程
+        loginThrottleService.acquire(loginDTO.getUsername(), clientIp);
+
         User user = findByUsername(loginDTO.getUsername());
         if (user == null) {
             throw new RuntimeException("用户不存在");
         }
 
         // 验证密码
-        String encryptedPassword = DigestUtils.md5DigestAsHex(loginDTO.getPassword().getBytes());
-        if (!user.getPassword().equals(encryptedPassword)) {
+        if (!passwordService.matches(loginDTO.getPassword(), user.getPassword())) {
             throw new RuntimeException("密码错误");
         }
 
@@ -73,9 +88,15 @@ public class UserServiceImpl implements UserService {
             throw new RuntimeException("用户已被禁用");
         }
 
+        // 旧版 MD5 或迭代次数低于当前设置的密码，借登录时的明文重新哈希，与最后登录时间一起写回
+        if (passwordService.needsRehash(user.getPassword())) {
+            user.setPassword(passwordService.hash(loginDTO.getPassword()));
+        }
+
         // 更新最后登录时间
         user.setLastLoginTime(LocalDateTime.now());
         userMapper.updateById(user);
+        userCacheService.invalidate(user.getId());
 
         // 生成token
         StpUtil.login(user.getId());
@@ -125,7 +146,11 @@ public class UserServiceImpl implements UserService {
     @Override
     public boolean updateUser(User user) {
         user.setUpdateTime(LocalDateTime.now());
-        return userMapper.updateById(user) > 0;
+        boolean updated = userMapper.updateById(user) > 0;
+        // 事务内先失效一次，提交后再失效一次，避免提交前被其他请求读回旧资料
+        userCacheService.invalidate(user.getId());
+        TransactionUtils.afterCommit(() -> userCacheService.invalidate(user.getId()));
+        return updated;
     }
 
     @Override
@@ -135,6 +160,11 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public User findById(Long id) {
-        return userMapper.selectById(id);
+        return userCacheService.get(id);
+    }
+
+    @Override
+    public Map<Long, User> getByIds(Collection<Long> ids) {
+        return userCacheService.getAll(ids);
     }
 } 
\ No newline at end of file
@@ -0,0 +1,181 @@
+package com.beman.service.impl;
+
+import com.beman.mapper.UserStatsMapper;
+import com.beman.model.UserStats;
+import com.beman.service.UserStatsService;
+import com.beman.util.ClusterLock;
+import com.beman.util.CounterBuffer;
+import com.beman.util.TransactionUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 用户统计服务实现类
+ * 计数口径与原先的实时统计一致：状态为已关注且未删除的关注关系。
+ * 大V短时间内涨粉上千也只在内存中累加，每轮写回对同一行只有一次更新，不在单行上排队加锁
+ */
+@Slf4j
+@Service
+public class UserStatsServiceImpl implements UserStatsService {
+
+    private static final String RECONCILE_LOCK_KEY = "beman:user:stats:reconcile-lock";
+
+    private final UserStatsMapper userStatsMapper;
+    private final int batchSize;
+    private final int reconcileChunkSize;
+    private final int reconcileQuietSeconds;
+    private final ClusterLock reconcileLock;
+
+    private final CounterBuffer followingPending = new CounterBuffer();
+    private final CounterBuffer followerPending = new CounterBuffer();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public UserStatsServiceImpl(UserStatsMapper userStatsMapper,
+                                @Nullable StringRedisTemplate redisTemplate,
+                                @Value("${beman.user.stats.batch-size:500}") int batchSize,
+                                @Value("${beman.user.stats.reconcile-chunk-size:1000}") int reconcileChunkSize,
+                                @Value("${beman.user.stats.reconcile-quiet-seconds:300}") int reconcileQuietSeconds,
+                                @Value("${beman.user.stats.reconcile-lock-millis:3600000}") long reconcileLockMillis,
+                                @Value("${beman.user.stats.redis-enabled:false}") boolean redisEnabled) {
+        this.userStatsMapper = userStatsMapper;
+        this.batchSize = batchSize;
+        this.reconcileChunkSize = reconcileChunkSize;
+        this.reconcileQuietSeconds = reconcileQuietSeconds;
+        this.reconcileLock = new ClusterLock(redisEnabled ? redisTemplate : null, RECONCILE_LOCK_KEY, reconcileLockMillis);
+    }
+
+    @Override
+    public void onFollow(Long followerId, Long followingId) {
+        TransactionUtils.afterCommit(() -> {
+            followingPending.add(followerId, 1);
+            followerPending.add(followingId, 1);
+        });
+    }
+
+    @Override
+    public void onUnfollow(Long followerId, Long followingId) {
+        TransactionUtils.afterCommit(() -> {
+            followingPending.add(followerId, -1);
+            followerPending.add(followingId, -1);
+        });
+    }
+
+    @Override
+    public int getFollowingCount(Long userId) {
+        UserStats stats = userStatsMapper.selectById(userId);
+        long stored = stats == null || stats.getFollowingCount() == null ? 0 : stats.getFollowingCount();
+        return (int) Math.max(stored + followingPending.get(userId), 0);
+    }
+
+    @Override
+    public int getFollowerCount(Long userId) {
+        UserStats stats = userStatsMapper.selectById(userId);
+        long stored = stats == null || stats.getFollowerCount() == null ? 0 : stats.getFollowerCount();
+        return (int) Math.max(stored + followerPending.get(userId), 0);
+    }
+
+    @Override
+    public int flush() {
+        flushLock.lock();
+        try {
+            // 同一用户的关注数和粉丝数增量合并到一行
+            Map<Long, UserStats> deltas = new TreeMap<>();
+            followingPending.drain().forEach((userId, delta) -> delta(deltas, userId).setFollowingCount(delta.intValue()));
+            followerPending.drain().forEach((userId, delta) -> delta(deltas, userId).setFollowerCount(delta.intValue()));
+
+            int written = 0;
+            List<UserStats> batch = new ArrayList<>(Math.min(deltas.size(), batchSize));
+            for (UserStats delta : deltas.values()) {
+                batch.add(delta);
+                if (batch.size() >= batchSize) {
+                    written += write(batch);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                written += write(batch);
+            }
+            return written;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private static UserStats delta(Map<Long, UserStats> deltas, Long userId) {
+        return deltas.computeIfAbsent(userId, id -> {
+            UserStats stats = new UserStats();
+            stats.setUserId(id);
+            stats.setFollowingCount(0);
+            stats.setFollowerCount(0);
+            return stats;
+        });
+    }
+
+    /**
+     * 写回失败时增量放回内存，下一轮重试
+     */
+    private int write(List<UserStats> batch) {
+        try {
+            userStatsMapper.increaseCounts(batch);
+            return batch.size();
+        } catch (Exception e) {
+            log.error("回写用户关注计数失败，{} 条增量留待下次重试", batch.size(), e);
+            for (UserStats delta : batch) {
+                followingPending.add(delta.getUserId(), delta.getFollowingCount());
+                followerPending.add(delta.getUserId(), delta.getFollowerCount());
+            }
+            return 0;
+        }
+    }
+
+    /**
+     * 按用户ID分段，每段一条语句重新统计。各节点都会触发定时对账，由集群锁保证同一时间只有一个节点执行。
+     * 其他节点尚未写回的增量已包含在重新统计的结果中，因此只修正静默期内关注关系没有变化的用户，
+     * 静默期远大于写回间隔，这些用户在各节点上都已没有待写回的增量。
+     * 仍存在的窗口：写回连续失败超过静默期的增量会在修正后再写回一次，由下次对账纠正
+     */
+    @Override
+    public int reconcile() {
+        String token = reconcileLock.tryLock();
+        if (token == null) {
+            log.info("用户关注计数对账已由其他节点执行，本节点跳过");
+            return 0;
+        }
+        try {
+            Long maxUserId = userStatsMapper.selectMaxUserId();
+            if (maxUserId == null) {
+                return 0;
+            }
+            long start = System.currentTimeMillis();
+            // 先写回本节点积压的增量，避免静默期外仍未写回的增量在修正后重复计数
+            flush();
+            int fixed = 0;
+            for (long from = 1; from <= maxUserId; from += reconcileChunkSize) {
+                long to = from + reconcileChunkSize - 1;
+                fixed += userStatsMapper.reconcile(from, to, reconcileQuietSeconds);
+            }
+            log.info("用户关注计数对账完成，修正 {} 条，耗时 {} ms", fixed, System.currentTimeMillis() - start);
+            return fixed;
+        } finally {
+            reconcileLock.unlock(token);
+        }
+    }
+
+    /**
+     * 停机时写回剩余增量
+     */
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+}
@@ -0,0 +1,31 @@
+package com.beman.task;
+
+import com.beman.service.AuditDictionaryService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 审核词库热更新定时任务
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AuditDictionaryTask {
+
+    private final AuditDictionaryService auditDictionaryService;
+
+    /**
+     * 定期检查词库版本，变化时在后台重建匹配器并切换
+     */
+    @Scheduled(fixedDelayString = "${beman.audit.dictionary.reload-interval:60000}",
+               initialDelayString = "${beman.audit.dictionary.reload-interval:60000}")
+    public void reloadDictionary() {
+        try {
+            auditDictionaryService.reload();
+        } catch (Exception e) {
+            log.error("审核词库热更新失败", e);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.beman.task;
+
+import com.beman.service.CommentCountService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 帖子评论数定时任务
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CommentCountTask {
+
+    private final CommentCountService commentCountService;
+
+    /**
+     * 定期把内存中合并的评论数增量写回数据库
+     */
+    @Scheduled(fixedDelayString = "${beman.comment.count.flush-interval:2000}")
+    public void flushCommentCounts() {
+        try {
+            commentCountService.flush();
+        } catch (Exception e) {
+            log.error("回写帖子评论数失败", e);
+        }
+    }
+
+    /**
+     * 每天凌晨对账，修正进程异常退出等原因造成的偏差；各节点都会触发，由集群锁保证只有一个节点执行
+     */
+    @Scheduled(cron = "${beman.comment.count.reconcile-cron:0 30 3 * * ?}")
+    public void reconcileCommentCounts() {
+        try {
+            commentCountService.reconcile();
+        } catch (Exception e) {
+            log.error("帖子评论数对账失败", e);
+        }
+    }
+}
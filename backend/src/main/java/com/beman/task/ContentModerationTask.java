@@ -0,0 +1,30 @@
+package com.beman.task;
+
+import com.beman.service.ContentModerationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 发布内容审核结果回写定时任务
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ContentModerationTask {
+
+    private final ContentModerationService contentModerationService;
+
+    /**
+     * 定期回写未攒满一批的审核结果，保证低流量时结果也能及时生效
+     */
+    @Scheduled(fixedDelayString = "${beman.audit.moderation.flush-interval:1000}")
+    public void flushAuditResults() {
+        try {
+            contentModerationService.flush();
+        } catch (Exception e) {
+            log.error("回写审核结果失败", e);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.beman.task;
+
+import com.beman.service.FollowGraphService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 关注关系图定时任务
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FollowGraphTask {
+
+    private final FollowGraphService followGraphService;
+
+    /**
+     * 定期全量重新加载，补上丢失的跨节点广播；启动后立即执行一次
+     */
+    @Scheduled(fixedDelayString = "${beman.user.follow-graph.rebuild-interval:86400000}")
+    public void rebuildFollowGraph() {
+        try {
+            followGraphService.rebuild();
+        } catch (Exception e) {
+            log.error("加载关注关系图失败", e);
+        }
+    }
+
+    /**
+     * 定期检查增量大小，超过阈值时合并进邻接表
+     */
+    @Scheduled(fixedDelayString = "${beman.user.follow-graph.compact-interval:60000}",
+               initialDelayString = "${beman.user.follow-graph.compact-interval:60000}")
+    public void compactFollowGraph() {
+        try {
+            followGraphService.compact();
+        } catch (Exception e) {
+            log.error("合并关注关系增量失败", e);
+        }
+    }
+}
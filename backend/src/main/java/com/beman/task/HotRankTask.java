@@ -0,0 +1,42 @@
+package com.beman.task;
+
+import com.beman.service.HotRankService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 帖子热度榜定时任务
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HotRankTask {
+
+    private final HotRankService hotRankService;
+
+    /**
+     * 重算有新互动的帖子
+     */
+    @Scheduled(fixedDelayString = "${beman.post.hot-rank.refresh-interval:10000}")
+    public void refreshHotRank() {
+        try {
+            hotRankService.refresh();
+        } catch (Exception e) {
+            log.error("刷新帖子热度榜失败", e);
+        }
+    }
+
+    /**
+     * 定期全量重建，推进发布时长衰减并移出超出时间窗口的帖子；启动后立即执行一次
+     */
+    @Scheduled(fixedDelayString = "${beman.post.hot-rank.rebuild-interval:300000}")
+    public void rebuildHotRank() {
+        try {
+            hotRankService.rebuild();
+        } catch (Exception e) {
+            log.error("重建帖子热度榜失败", e);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.beman.task;
+
+import com.beman.service.HotTagService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 热门标签快照定时任务
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HotTagTask {
+
+    private final HotTagService hotTagService;
+
+    /**
+     * 定期保存热度计数，重启后从快照恢复，热度不会清零
+     */
+    @Scheduled(fixedDelayString = "${beman.post.hot-tags.snapshot-interval:60000}")
+    public void snapshotHotTags() {
+        try {
+            hotTagService.snapshot();
+        } catch (Exception e) {
+            log.error("保存热门标签快照失败", e);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.beman.task;
+
+import com.beman.service.TimelineService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 关注时间线定时任务
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TimelineTask {
+
+    private final TimelineService timelineService;
+
+    /**
+     * 定期重新统计大V名单；启动后立即执行一次
+     */
+    @Scheduled(fixedDelayString = "${beman.feed.timeline.celebrity-refresh-interval:600000}")
+    public void refreshCelebrities() {
+        try {
+            timelineService.refreshCelebrities();
+        } catch (Exception e) {
+            log.error("统计大V名单失败", e);
+        }
+    }
+
+    /**
+     * 每天凌晨裁剪超出容量的时间线条目
+     */
+    @Scheduled(cron = "${beman.feed.timeline.trim-cron:0 0 4 * * ?}")
+    public void trimTimelines() {
+        try {
+            timelineService.trim();
+        } catch (Exception e) {
+            log.error("裁剪关注时间线失败", e);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.beman.task;
+
+import com.beman.service.UserStatsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 用户关注计数定时任务
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserStatsTask {
+
+    private final UserStatsService userStatsService;
+
+    /**
+     * 定期把内存中合并的关注计数增量写回数据库
+     */
+    @Scheduled(fixedDelayString = "${beman.user.stats.flush-interval:2000}")
+    public void flushUserStats() {
+        try {
+            userStatsService.flush();
+        } catch (Exception e) {
+            log.error("回写用户关注计数失败", e);
+        }
+    }
+
+    /**
+     * 每天凌晨对账，修正进程异常退出等原因造成的偏差；各节点都会触发，由集群锁保证只有一个节点执行
+     */
+    @Scheduled(cron = "${beman.user.stats.reconcile-cron:0 45 3 * * ?}")
+    public void reconcileUserStats() {
+        try {
+            userStatsService.reconcile();
+        } catch (Exception e) {
+            log.error("用户关注计数对账失败", e);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.beman.task;
+
+import com.beman.service.ViewCountService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 帖子浏览次数回写定时任务
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ViewCountTask {
+
+    private final ViewCountService viewCountService;
+
+    /**
+     * 定期把内存中累计的浏览次数合并写回数据库
+     */
+    @Scheduled(fixedDelayString = "${beman.post.view-count.flush-interval:5000}")
+    public void flushViewCounts() {
+        try {
+            viewCountService.flush();
+        } catch (Exception e) {
+            log.error("回写帖子浏览次数失败", e);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.beman.util;
+
+import java.util.function.IntConsumer;
+
+/**
+ * 中文二元分词器
+ * 先经 {@link TextNormalizer} 归一化，再把相邻两个字符组成一个词项；索引时额外输出单字，以支持单字查询。
+ * 词项编码为 int：单字为字符本身，二元为 (c1 &lt;&lt; 16) | c2，归一化后不含 0 字符，两者不会冲突
+ */
+public final class BigramTokenizer {
+
+    private BigramTokenizer() {
+    }
+
+    /**
+     * 索引分词：输出全部单字和二元词项
+     * @param text 原文
+     * @param consumer 词项接收者
+     * @return 归一化后的长度
+     */
+    public static int tokenizeForIndex(CharSequence text, IntConsumer consumer) {
+        TextNormalizer.Buffer buffer = TextNormalizer.normalize(text);
+        char[] chars = buffer.getChars();
+        int length = buffer.getLength();
+        for (int i = 0; i < length; i++) {
+            consumer.accept(chars[i]);
+            if (i + 1 < length) {
+                consumer.accept(bigram(chars[i], chars[i + 1]));
+            }
+        }
+        return length;
+    }
+
+    /**
+     * 查询分词：两个字符及以上只输出二元词项，单字查询输出单字
+     * @param text 查询词
+     * @param consumer 词项接收者
+     */
+    public static void tokenizeForQuery(CharSequence text, IntConsumer consumer) {
+        TextNormalizer.Buffer buffer = TextNormalizer.normalize(text);
+        char[] chars = buffer.getChars();
+        int length = buffer.getLength();
+        if (length == 1) {
+            consumer.accept(chars[0]);
+            return;
+        }
+        for (int i = 0; i + 1 < length; i++) {
+            consumer.accept(bigram(chars[i], chars[i + 1]));
+        }
+    }
+
+    private static int bigram(char first, char second) {
+        return (first << 16) | second;
+    }
+}
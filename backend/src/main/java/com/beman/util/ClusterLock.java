@@ -0,0 +1,71 @@
+package com.beman.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.lang.Nullable;
+
+import java.util.Collections;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 基于 Redis SET NX PX 的集群互斥锁，用于只需一个节点执行的定时任务。
+ * 锁值为每次加锁生成的随机令牌，释放时比较令牌后再删除，不会误删超时后被其他节点取得的锁。
+ * 未配置Redis时视为单节点部署，总能加锁；Redis不可用时加锁失败，宁可本轮跳过也不并发执行
+ */
+@Slf4j
+public class ClusterLock {
+
+    private static final DefaultRedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    @Nullable
+    private final StringRedisTemplate redisTemplate;
+    private final String key;
+    private final long ttlMillis;
+
+    /**
+     * @param redisTemplate 为 null 时按单节点处理
+     * @param ttlMillis     锁的最长持有时间，应大于任务的最长执行时间，节点异常退出时到期自动释放
+     */
+    public ClusterLock(@Nullable StringRedisTemplate redisTemplate, String key, long ttlMillis) {
+        this.redisTemplate = redisTemplate;
+        this.key = key;
+        this.ttlMillis = ttlMillis;
+    }
+
+    /**
+     * 尝试加锁，不等待
+     * @return 加锁成功时返回令牌，用于释放；锁被其他节点持有或Redis不可用时返回 null
+     */
+    @Nullable
+    public String tryLock() {
+        String token = UUID.randomUUID().toString();
+        if (redisTemplate == null) {
+            return token;
+        }
+        try {
+            Boolean acquired = redisTemplate.opsForValue().setIfAbsent(key, token, ttlMillis, TimeUnit.MILLISECONDS);
+            return Boolean.TRUE.equals(acquired) ? token : null;
+        } catch (Exception e) {
+            log.warn("获取集群锁失败: {}", key, e);
+            return null;
+        }
+    }
+
+    /**
+     * 释放锁，锁已过期或已被其他节点取得时不做任何操作
+     */
+    public void unlock(String token) {
+        if (redisTemplate == null) {
+            return;
+        }
+        try {
+            redisTemplate.execute(RELEASE_SCRIPT, Collections.singletonList(key), token);
+        } catch (Exception e) {
+            log.warn("释放集群锁失败，等待到期自动释放: {}", key, e);
+        }
+    }
+}
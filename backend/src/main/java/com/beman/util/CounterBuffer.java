@@ -0,0 +1,91 @@
+package com.beman.util;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 计数增量缓冲
+ * 每个键一个 LongAdder，高并发累加分散到不同槽位；定期整体取出合并写回，写回前的增量可随时读取。
+ * 取出时整体换下槽位而不是 sumThenReset：后者逐个单元读取再清零，不是原子操作，夹在中间的累加会丢失
+ */
+public final class CounterBuffer {
+
+    private final ConcurrentHashMap<Long, Slot> deltas = new ConcurrentHashMap<>();
+
+    /**
+     * 累加增量
+     * @param key 键
+     * @param delta 增量，可为负
+     */
+    public void add(Long key, long delta) {
+        if (key == null || delta == 0) {
+            return;
+        }
+        while (true) {
+            Slot slot = deltas.computeIfAbsent(key, k -> new Slot());
+            slot.writers.incrementAndGet();
+            try {
+                if (!slot.retired) {
+                    slot.value.add(delta);
+                    return;
+                }
+            } finally {
+                slot.writers.decrementAndGet();
+            }
+            // 槽位已被 drain 移除，换新槽位重试
+            deltas.remove(key, slot);
+        }
+    }
+
+    /**
+     * 尚未取出的增量
+     */
+    public long get(Long key) {
+        Slot slot = key == null ? null : deltas.get(key);
+        return slot == null ? 0 : slot.value.sum();
+    }
+
+    /**
+     * 取出全部非零增量。每个槽位先标记停用并移除，等已经进入该槽位的累加全部完成后再求和，
+     * 此后的累加写入新槽位，留到下一轮，移除前后的增量都不会丢
+     * @return 键升序的增量
+     */
+    public Map<Long, Long> drain() {
+        Map<Long, Long> drained = new TreeMap<>();
+        for (Map.Entry<Long, Slot> entry : deltas.entrySet()) {
+            Slot slot = entry.getValue();
+            retire(entry.getKey(), slot);
+            long delta = slot.value.sum();
+            if (delta != 0) {
+                drained.put(entry.getKey(), delta);
+            }
+        }
+        return drained;
+    }
+
+    /**
+     * 标记停用并移除槽位，等待已经进入该槽位的累加完成；之后的累加会换新槽位，不会写进已移除的槽位
+     */
+    private void retire(Long key, Slot slot) {
+        slot.retired = true;
+        deltas.remove(key, slot);
+        while (slot.writers.get() != 0) {
+            Thread.yield();
+        }
+    }
+
+    /**
+     * 一个键的槽位。写入方先登记再检查停用标记，drain 先设置停用标记再等待登记清零，
+     * 二者必有一方看到对方：要么累加被最后一次读取计入，要么写入方换新槽位重试。
+     * 登记数用 AtomicInteger 而不是 LongAdder：LongAdder 求和不是原子快照，可能在仍有写入方时读到 0
+     */
+    private static final class Slot {
+
+        private final LongAdder value = new LongAdder();
+        private final AtomicInteger writers = new AtomicInteger();
+        private volatile boolean retired;
+    }
+}
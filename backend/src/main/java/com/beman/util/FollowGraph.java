@@ -0,0 +1,411 @@
+package com.beman.util;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * 关注关系图的压缩邻接表（CSR），构建后只读
+ * 用户ID升序存放在 ids 中，用户在数组中的下标作为图内编号；关注和粉丝各一组 offsets/targets，
+ * 每个用户的邻居是 targets 中的一段，段内按编号升序，交集用双指针归并，判断关注关系用二分查找。
+ * 每条边在两个方向上各占一个 int，5000 万条边约 400MB
+ */
+public final class FollowGraph {
+
+    private static final long[] EMPTY = new long[0];
+
+    private final long[] ids;
+    private final int[] followingOffsets;
+    private final int[] followingTargets;
+    private final int[] followerOffsets;
+    private final int[] followerTargets;
+
+    private FollowGraph(long[] ids, int[] followingOffsets, int[] followingTargets,
+                        int[] followerOffsets, int[] followerTargets) {
+        this.ids = ids;
+        this.followingOffsets = followingOffsets;
+        this.followingTargets = followingTargets;
+        this.followerOffsets = followerOffsets;
+        this.followerTargets = followerTargets;
+    }
+
+    /**
+     * 用户数
+     */
+    public int userCount() {
+        return ids.length;
+    }
+
+    /**
+     * 关注关系数
+     */
+    public int edgeCount() {
+        return followingTargets.length;
+    }
+
+    /**
+     * 用户是否在图中
+     */
+    public boolean contains(long userId) {
+        return indexOf(userId) >= 0;
+    }
+
+    /**
+     * a 是否关注了 b
+     */
+    public boolean follows(long a, long b) {
+        int from = indexOf(a);
+        int to = indexOf(b);
+        if (from < 0 || to < 0) {
+            return false;
+        }
+        return Arrays.binarySearch(followingTargets, followingOffsets[from], followingOffsets[from + 1], to) >= 0;
+    }
+
+    /**
+     * 用户关注的人，按用户ID升序
+     */
+    public long[] following(long userId) {
+        return neighbors(followingOffsets, followingTargets, indexOf(userId));
+    }
+
+    /**
+     * 用户的粉丝，按用户ID升序
+     */
+    public long[] followers(long userId) {
+        return neighbors(followerOffsets, followerTargets, indexOf(userId));
+    }
+
+    /**
+     * 与用户互相关注的人，按用户ID升序
+     */
+    public long[] mutual(long userId) {
+        int index = indexOf(userId);
+        if (index < 0) {
+            return EMPTY;
+        }
+        int i = followingOffsets[index];
+        int iEnd = followingOffsets[index + 1];
+        int j = followerOffsets[index];
+        int jEnd = followerOffsets[index + 1];
+        long[] result = new long[Math.min(iEnd - i, jEnd - j)];
+        int size = 0;
+        while (i < iEnd && j < jEnd) {
+            int a = followingTargets[i];
+            int b = followerTargets[j];
+            if (a == b) {
+                result[size++] = ids[a];
+                i++;
+                j++;
+            } else if (a < b) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return size == result.length ? result : Arrays.copyOf(result, size);
+    }
+
+    /**
+     * 同时关注了 a 和 b 的人数
+     */
+    public int countCommonFollowers(long a, long b) {
+        int x = indexOf(a);
+        int y = indexOf(b);
+        if (x < 0 || y < 0) {
+            return 0;
+        }
+        int i = followerOffsets[x];
+        int iEnd = followerOffsets[x + 1];
+        int j = followerOffsets[y];
+        int jEnd = followerOffsets[y + 1];
+        int count = 0;
+        while (i < iEnd && j < jEnd) {
+            int p = followerTargets[i];
+            int q = followerTargets[j];
+            if (p == q) {
+                count++;
+                i++;
+                j++;
+            } else if (p < q) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 二度推荐：用户关注的人又关注了谁，按经过的路径数倒序、用户ID升序，排除自己和已关注的人
+     * @param maxFanout 每个中间用户最多展开的关注数，限制关注了大量账号的中间用户的开销
+     */
+    public long[] suggest(long userId, int limit, int maxFanout) {
+        int index = indexOf(userId);
+        if (index < 0 || limit <= 0) {
+            return EMPTY;
+        }
+        int start = followingOffsets[index];
+        int end = followingOffsets[index + 1];
+
+        // 收集全部二度编号后排序，相同编号连续出现的次数即路径数
+        int total = 0;
+        for (int i = start; i < end; i++) {
+            int v = followingTargets[i];
+            total += Math.min(followingOffsets[v + 1] - followingOffsets[v], maxFanout);
+        }
+        int[] candidates = new int[total];
+        int size = 0;
+        for (int i = start; i < end; i++) {
+            int v = followingTargets[i];
+            int from = followingOffsets[v];
+            int count = Math.min(followingOffsets[v + 1] - from, maxFanout);
+            System.arraycopy(followingTargets, from, candidates, size, count);
+            size += count;
+        }
+        Arrays.sort(candidates, 0, size);
+
+        // 按 (路径数, -编号) 打包为 long，保留最大的 limit 个
+        long[] top = new long[limit];
+        int topSize = 0;
+        for (int i = 0; i < size; ) {
+            int candidate = candidates[i];
+            int j = i;
+            while (j < size && candidates[j] == candidate) {
+                j++;
+            }
+            int paths = j - i;
+            i = j;
+            if (candidate == index || Arrays.binarySearch(followingTargets, start, end, candidate) >= 0) {
+                continue;
+            }
+            long key = ((long) paths << 32) | (Integer.MAX_VALUE - candidate);
+            if (topSize < limit) {
+                top[topSize++] = key;
+                siftUp(top, topSize - 1);
+            } else if (key > top[0]) {
+                top[0] = key;
+                siftDown(top, topSize);
+            }
+        }
+
+        Arrays.sort(top, 0, topSize);
+        long[] result = new long[topSize];
+        for (int i = 0; i < topSize; i++) {
+            result[i] = ids[Integer.MAX_VALUE - (int) top[topSize - 1 - i]];
+        }
+        return result;
+    }
+
+    /**
+     * 在当前图上叠加增量，生成一份新的邻接表，不读数据库。
+     * 没有增量的用户直接复制原有的关注段，有增量的用户按ID排序合并后重新加入
+     * @param newUserIds 加载后新出现的用户ID，可无序，已在图中的忽略
+     * @param added 每个关注者新增关注的人
+     * @param removed 每个关注者取消关注的人
+     */
+    public FollowGraph merge(long[] newUserIds, Map<Long, ? extends Collection<Long>> added,
+                             Map<Long, ? extends Collection<Long>> removed) {
+        long[] mergedIds = union(ids, newUserIds);
+        int addedCount = 0;
+        for (Collection<Long> values : added.values()) {
+            addedCount += values.size();
+        }
+        Builder builder = new Builder(mergedIds, edgeCount() + addedCount);
+        for (long followerId : mergedIds) {
+            int index = indexOf(followerId);
+            Collection<Long> plus = added.get(followerId);
+            Collection<Long> minus = removed.get(followerId);
+            if ((plus == null || plus.isEmpty()) && (minus == null || minus.isEmpty())) {
+                if (index >= 0) {
+                    for (int i = followingOffsets[index]; i < followingOffsets[index + 1]; i++) {
+                        builder.add(followerId, ids[followingTargets[i]]);
+                    }
+                }
+                continue;
+            }
+            TreeSet<Long> following = new TreeSet<>();
+            for (long id : neighbors(followingOffsets, followingTargets, index)) {
+                following.add(id);
+            }
+            if (minus != null) {
+                following.removeAll(minus);
+            }
+            if (plus != null) {
+                following.addAll(plus);
+            }
+            for (Long followingId : following) {
+                builder.add(followerId, followingId);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * 两组用户ID的并集，升序且不重复
+     */
+    private static long[] union(long[] sortedIds, long[] extraIds) {
+        long[] extra = Arrays.copyOf(extraIds, extraIds.length);
+        Arrays.sort(extra);
+        long[] result = new long[sortedIds.length + extra.length];
+        int i = 0;
+        int j = 0;
+        int size = 0;
+        while (i < sortedIds.length || j < extra.length) {
+            long next;
+            if (j >= extra.length || (i < sortedIds.length && sortedIds[i] <= extra[j])) {
+                next = sortedIds[i++];
+            } else {
+                next = extra[j++];
+            }
+            if (size == 0 || result[size - 1] != next) {
+                result[size++] = next;
+            }
+        }
+        return size == result.length ? result : Arrays.copyOf(result, size);
+    }
+
+    private int indexOf(long userId) {
+        int index = Arrays.binarySearch(ids, userId);
+        return index < 0 ? -1 : index;
+    }
+
+    private long[] neighbors(int[] offsets, int[] targets, int index) {
+        if (index < 0) {
+            return EMPTY;
+        }
+        long[] result = new long[offsets[index + 1] - offsets[index]];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = ids[targets[offsets[index] + i]];
+        }
+        return result;
+    }
+
+    /**
+     * 小顶堆上浮
+     */
+    private static void siftUp(long[] heap, int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heap[parent] <= heap[i]) {
+                return;
+            }
+            swap(heap, parent, i);
+            i = parent;
+        }
+    }
+
+    /**
+     * 小顶堆下沉
+     */
+    private static void siftDown(long[] heap, int size) {
+        int i = 0;
+        while (true) {
+            int left = 2 * i + 1;
+            if (left >= size) {
+                return;
+            }
+            int smallest = left + 1 < size && heap[left + 1] < heap[left] ? left + 1 : left;
+            if (heap[i] <= heap[smallest]) {
+                return;
+            }
+            swap(heap, i, smallest);
+            i = smallest;
+        }
+    }
+
+    private static void swap(long[] array, int i, int j) {
+        long tmp = array[i];
+        array[i] = array[j];
+        array[j] = tmp;
+    }
+
+    /**
+     * 构建器：关注关系必须按 (关注者ID, 被关注者ID) 升序加入，即关注表唯一键的顺序，
+     * 关注方向的邻接表边加入边生成，粉丝方向在 build 时按被关注者计数排序得到
+     */
+    public static final class Builder {
+
+        private final long[] ids;
+        private final int[] followingOffsets;
+        private int[] targets;
+        private int edges;
+        private int lastFollower = -1;
+        private int lastFollowing = -1;
+        private int skipped;
+
+        /**
+         * @param sortedUserIds 图中的全部用户ID，升序且不重复
+         * @param expectedEdges 预计的关注关系数，用于预分配
+         */
+        public Builder(long[] sortedUserIds, int expectedEdges) {
+            this.ids = sortedUserIds;
+            this.followingOffsets = new int[sortedUserIds.length + 1];
+            this.targets = new int[Math.max(expectedEdges, 16)];
+        }
+
+        /**
+         * 加入一条关注关系，任一方不在用户列表中或重复时忽略
+         * @throws IllegalArgumentException 未按顺序加入
+         */
+        public Builder add(long followerId, long followingId) {
+            int from = Arrays.binarySearch(ids, followerId);
+            int to = Arrays.binarySearch(ids, followingId);
+            if (from < 0 || to < 0 || from == to) {
+                skipped++;
+                return this;
+            }
+            if (from < lastFollower || (from == lastFollower && to <= lastFollowing)) {
+                if (from == lastFollower && to == lastFollowing) {
+                    skipped++;
+                    return this;
+                }
+                throw new IllegalArgumentException("关注关系未按 (关注者ID, 被关注者ID) 升序加入");
+            }
+            // 中间没有关注关系的用户，起点与上一位相同
+            for (int i = lastFollower + 1; i <= from; i++) {
+                followingOffsets[i] = edges;
+            }
+            if (edges == targets.length) {
+                targets = Arrays.copyOf(targets, (int) Math.min((long) targets.length * 3 / 2 + 1, Integer.MAX_VALUE - 8));
+            }
+            targets[edges++] = to;
+            lastFollower = from;
+            lastFollowing = to;
+            return this;
+        }
+
+        /**
+         * 因用户不存在或重复被忽略的关注关系数
+         */
+        public int skipped() {
+            return skipped;
+        }
+
+        public FollowGraph build() {
+            for (int i = lastFollower + 1; i <= ids.length; i++) {
+                followingOffsets[i] = edges;
+            }
+            int[] followingTargets = targets.length == edges ? targets : Arrays.copyOf(targets, edges);
+            targets = null;
+
+            // 按被关注者计数排序；关注者编号升序遍历，每段粉丝天然有序
+            int[] followerOffsets = new int[ids.length + 1];
+            for (int i = 0; i < edges; i++) {
+                followerOffsets[followingTargets[i] + 1]++;
+            }
+            for (int i = 0; i < ids.length; i++) {
+                followerOffsets[i + 1] += followerOffsets[i];
+            }
+            int[] cursor = Arrays.copyOf(followerOffsets, ids.length);
+            int[] followerTargets = new int[edges];
+            for (int from = 0; from < ids.length; from++) {
+                for (int i = followingOffsets[from]; i < followingOffsets[from + 1]; i++) {
+                    followerTargets[cursor[followingTargets[i]]++] = from;
+                }
+            }
+            return new FollowGraph(ids, followingOffsets, followingTargets, followerOffsets, followerTargets);
+        }
+    }
+}
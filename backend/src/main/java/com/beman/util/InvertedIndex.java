@@ -0,0 +1,463 @@
+package com.beman.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 帖子内存倒排索引
+ * 文档按加入顺序分配递增序号，倒排表天然有序，只追加不插入；更新即删除旧序号再追加，
+ * 删除只打标记，删除比例过高时整体压缩。关键词检索按 BM25 打分，标签为精确匹配。
+ * 读写锁保护：检索并发执行，增删互斥
+ */
+public final class InvertedIndex {
+
+    /**
+     * 标题词频权重，标题命中比正文命中更相关
+     */
+    private static final int TITLE_WEIGHT = 3;
+
+    /**
+     * BM25 参数
+     */
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    /**
+     * 已删除文档占比超过该值时压缩
+     */
+    private static final double COMPACT_RATIO = 0.25;
+    private static final int COMPACT_MIN_DOCS = 1024;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Map<Integer, Postings> terms = new HashMap<>();
+    private Map<String, Postings> tags = new HashMap<>();
+    private Map<Long, Integer> ordinals = new HashMap<>();
+
+    private long[] ids = new long[1024];
+    private int[] lengths = new int[1024];
+    private byte[] types = new byte[1024];
+    private BitSet deleted = new BitSet();
+    private int docCount;
+    private int deletedCount;
+    private long totalLength;
+
+    /**
+     * 加入或替换文档
+     * @param id 文档ID
+     * @param title 标题
+     * @param content 正文
+     * @param docTags 标签
+     * @param contentType 内容类型
+     */
+    public void put(long id, String title, String content, Collection<String> docTags, int contentType) {
+        Map<Integer, int[]> freqs = new HashMap<>();
+        int length = BigramTokenizer.tokenizeForIndex(title, term -> freqs.computeIfAbsent(term, t -> new int[1])[0] += TITLE_WEIGHT)
+                + BigramTokenizer.tokenizeForIndex(content, term -> freqs.computeIfAbsent(term, t -> new int[1])[0]++);
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            int ord = docCount++;
+            ensureCapacity(docCount);
+            ids[ord] = id;
+            lengths[ord] = length;
+            types[ord] = (byte) contentType;
+            totalLength += length;
+            ordinals.put(id, ord);
+
+            freqs.forEach((term, freq) -> terms.computeIfAbsent(term, t -> new Postings()).add(ord, freq[0]));
+            if (docTags != null) {
+                for (String tag : docTags) {
+                    if (tag != null && !tag.trim().isEmpty()) {
+                        tags.computeIfAbsent(tag.trim(), t -> new Postings()).add(ord, 1);
+                    }
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 文档不存在时才加入，用于全量重建时避免覆盖期间新写入的文档
+     */
+    public void putIfAbsent(long id, String title, String content, Collection<String> docTags, int contentType) {
+        lock.readLock().lock();
+        try {
+            if (ordinals.containsKey(id)) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        put(id, title, content, docTags, contentType);
+    }
+
+    /**
+     * 删除文档
+     */
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            if (docCount >= COMPACT_MIN_DOCS && deletedCount > docCount * COMPACT_RATIO) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeLocked(long id) {
+        Integer ord = ordinals.remove(id);
+        if (ord != null) {
+            deleted.set(ord);
+            deletedCount++;
+            totalLength -= lengths[ord];
+        }
+    }
+
+    /**
+     * 检索
+     * @param keyword 关键词，为空时只按标签过滤并按加入顺序倒序
+     * @param filterTags 标签过滤，命中任一标签即可，为空时不过滤
+     * @param contentType 内容类型过滤，为 null 时不过滤
+     * @param offset 跳过条数
+     * @param limit 返回条数
+     * @return 命中结果
+     */
+    public Hits search(String keyword, Collection<String> filterTags, Integer contentType, int offset, int limit) {
+        int[] queryTerms = queryTerms(keyword);
+        boolean hasTags = filterTags != null && !filterTags.isEmpty();
+        if (queryTerms.length == 0 && !hasTags) {
+            return Hits.EMPTY;
+        }
+
+        lock.readLock().lock();
+        try {
+            List<Postings> tagLists = new ArrayList<>();
+            if (hasTags) {
+                for (String tag : filterTags) {
+                    Postings postings = tag == null ? null : tags.get(tag.trim());
+                    if (postings != null) {
+                        tagLists.add(postings);
+                    }
+                }
+                if (tagLists.isEmpty()) {
+                    return Hits.EMPTY;
+                }
+            }
+            return queryTerms.length == 0
+                    ? filterByTags(tagLists, contentType, offset, limit)
+                    : rank(queryTerms, tagLists, contentType, offset, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 以最短倒排表为驱动逐个求交，交集内按 BM25 打分，小顶堆保留前 offset + limit 条
+     */
+    private Hits rank(int[] queryTerms, List<Postings> tagLists, Integer contentType, int offset, int limit) {
+        Postings[] lists = new Postings[queryTerms.length];
+        for (int i = 0; i < queryTerms.length; i++) {
+            lists[i] = terms.get(queryTerms[i]);
+            if (lists[i] == null) {
+                return Hits.EMPTY;
+            }
+        }
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+
+        int liveDocs = docCount - deletedCount;
+        double avgLength = liveDocs == 0 ? 1 : Math.max(1, (double) totalLength / liveDocs);
+        double[] idf = new double[lists.length];
+        for (int i = 0; i < lists.length; i++) {
+            idf[i] = Math.log(1 + (liveDocs - lists[i].size + 0.5) / (lists[i].size + 0.5));
+        }
+
+        int capacity = offset + limit;
+        PriorityQueue<ScoredDoc> heap = new PriorityQueue<>(Math.max(1, capacity + 1));
+        int[] cursors = new int[lists.length];
+        int total = 0;
+
+        Postings driver = lists[0];
+        outer:
+        for (int i = 0; i < driver.size; i++) {
+            int ord = driver.docs[i];
+            if (!accept(ord, tagLists, contentType)) {
+                continue;
+            }
+            double norm = K1 * (1 - B + B * lengths[ord] / avgLength);
+            double score = idf[0] * bm25(driver.freqs[i], norm);
+            for (int j = 1; j < lists.length; j++) {
+                int pos = lists[j].advance(cursors[j], ord);
+                cursors[j] = pos;
+                if (pos >= lists[j].size || lists[j].docs[pos] != ord) {
+                    continue outer;
+                }
+                score += idf[j] * bm25(lists[j].freqs[pos], norm);
+            }
+            total++;
+            // 堆满后只有不低于堆顶的文档才入堆（同分时后加入的更新），避免为大量低分命中创建对象
+            if (heap.size() < capacity) {
+                heap.offer(new ScoredDoc(ord, score));
+            } else if (capacity > 0 && score >= heap.peek().score) {
+                heap.poll();
+                heap.offer(new ScoredDoc(ord, score));
+            }
+        }
+
+        List<ScoredDoc> ranked = new ArrayList<>(heap);
+        Collections.sort(ranked, Collections.reverseOrder());
+        List<Long> result = new ArrayList<>(Math.min(limit, ranked.size()));
+        for (int i = offset; i < ranked.size(); i++) {
+            result.add(ids[ranked.get(i).ord]);
+        }
+        return new Hits(result, total);
+    }
+
+    /**
+     * 只有标签过滤时按加入顺序倒序（越新越靠前）
+     */
+    private Hits filterByTags(List<Postings> tagLists, Integer contentType, int offset, int limit) {
+        BitSet matched = new BitSet(docCount);
+        for (Postings postings : tagLists) {
+            for (int i = 0; i < postings.size; i++) {
+                matched.set(postings.docs[i]);
+            }
+        }
+        matched.andNot(deleted);
+
+        List<Long> result = new ArrayList<>();
+        int total = 0;
+        for (int ord = matched.previousSetBit(docCount - 1); ord >= 0; ord = matched.previousSetBit(ord - 1)) {
+            if (contentType != null && types[ord] != contentType) {
+                continue;
+            }
+            if (total >= offset && result.size() < limit) {
+                result.add(ids[ord]);
+            }
+            total++;
+        }
+        return new Hits(result, total);
+    }
+
+    private boolean accept(int ord, List<Postings> tagLists, Integer contentType) {
+        if (deleted.get(ord)) {
+            return false;
+        }
+        if (contentType != null && types[ord] != contentType) {
+            return false;
+        }
+        if (tagLists.isEmpty()) {
+            return true;
+        }
+        for (Postings postings : tagLists) {
+            if (Arrays.binarySearch(postings.docs, 0, postings.size, ord) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static double bm25(int freq, double norm) {
+        return freq * (K1 + 1) / (freq + norm);
+    }
+
+    private static int[] queryTerms(String keyword) {
+        if (keyword == null || keyword.isEmpty()) {
+            return new int[0];
+        }
+        int[] buffer = new int[keyword.length()];
+        int[] count = {0};
+        BigramTokenizer.tokenizeForQuery(keyword, term -> buffer[count[0]++] = term);
+        return Arrays.stream(buffer, 0, count[0]).distinct().toArray();
+    }
+
+    /**
+     * 丢弃已删除文档，重新分配连续序号
+     */
+    private void compact() {
+        int[] remap = new int[docCount];
+        int live = 0;
+        for (int ord = 0; ord < docCount; ord++) {
+            if (deleted.get(ord)) {
+                remap[ord] = -1;
+            } else {
+                remap[ord] = live;
+                ids[live] = ids[ord];
+                lengths[live] = lengths[ord];
+                types[live] = types[ord];
+                live++;
+            }
+        }
+        terms = compact(terms, remap);
+        tags = compact(tags, remap);
+        ordinals = new HashMap<>(live * 2);
+        for (int ord = 0; ord < live; ord++) {
+            ordinals.put(ids[ord], ord);
+        }
+        docCount = live;
+        deletedCount = 0;
+        deleted = new BitSet();
+    }
+
+    private static <K> Map<K, Postings> compact(Map<K, Postings> source, int[] remap) {
+        Map<K, Postings> target = new HashMap<>(source.size() * 2);
+        source.forEach((key, postings) -> {
+            Postings compacted = postings.remap(remap);
+            if (compacted.size > 0) {
+                target.put(key, compacted);
+            }
+        });
+        return target;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (ids.length < capacity) {
+            int size = Math.max(capacity, ids.length * 2);
+            ids = Arrays.copyOf(ids, size);
+            lengths = Arrays.copyOf(lengths, size);
+            types = Arrays.copyOf(types, size);
+        }
+    }
+
+    /**
+     * 有效文档数
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docCount - deletedCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 词项数
+     */
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return terms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 倒排表：文档序号升序，词频饱和存储为 byte
+     */
+    private static final class Postings {
+
+        private int[] docs = new int[2];
+        private byte[] freqs = new byte[2];
+        private int size;
+
+        private void add(int ord, int freq) {
+            if (size == docs.length) {
+                int capacity = size + (size >> 1) + 1;
+                docs = Arrays.copyOf(docs, capacity);
+                freqs = Arrays.copyOf(freqs, capacity);
+            }
+            docs[size] = ord;
+            freqs[size] = (byte) Math.min(freq, Byte.MAX_VALUE);
+            size++;
+        }
+
+        /**
+         * 从 from 开始查找第一个不小于 ord 的位置，先倍增步长再二分
+         */
+        private int advance(int from, int ord) {
+            int low = from;
+            int step = 1;
+            int high = from;
+            while (high < size && docs[high] < ord) {
+                low = high + 1;
+                high = from + step;
+                step <<= 1;
+            }
+            high = Math.min(high, size);
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (docs[mid] < ord) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private Postings remap(int[] remap) {
+            Postings result = new Postings();
+            for (int i = 0; i < size; i++) {
+                int ord = remap[docs[i]];
+                if (ord >= 0) {
+                    result.add(ord, freqs[i]);
+                }
+            }
+            return result;
+        }
+    }
+
+    private static final class ScoredDoc implements Comparable<ScoredDoc> {
+
+        private final int ord;
+        private final double score;
+
+        private ScoredDoc(int ord, double score) {
+            this.ord = ord;
+            this.score = score;
+        }
+
+        /**
+         * 分数相同时较新的文档优先
+         */
+        @Override
+        public int compareTo(ScoredDoc other) {
+            int result = Double.compare(score, other.score);
+            return result != 0 ? result : Integer.compare(ord, other.ord);
+        }
+    }
+
+    /**
+     * 检索结果
+     */
+    public static final class Hits {
+
+        public static final Hits EMPTY = new Hits(Collections.emptyList(), 0);
+
+        private final List<Long> ids;
+        private final int total;
+
+        public Hits(List<Long> ids, int total) {
+            this.ids = ids;
+            this.total = total;
+        }
+
+        /**
+         * 当前页文档ID，按相关度倒序
+         */
+        public List<Long> getIds() {
+            return ids;
+        }
+
+        /**
+         * 命中总数
+         */
+        public int getTotal() {
+            return total;
+        }
+    }
+}
@@ -0,0 +1,390 @@
+package com.beman.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * 多模式关键词匹配器（Aho-Corasick 自动机）
+ * 编译后不可变、线程安全，一次扫描即可找出文本中所有关键词的命中位置和次数，
+ * 耗时与文本长度及命中数成正比，与关键词数量无关
+ */
+public final class KeywordMatcher {
+
+    /**
+     * 关键词（已转为小写），下标即模式编号
+     */
+    private final String[] keywords;
+
+    /**
+     * 状态 s 的子节点位于 childChars/childTargets 的 [childStart[s], childStart[s + 1]) 区间，按字符升序排列
+     */
+    private final int[] childStart;
+    private final char[] childChars;
+    private final int[] childTargets;
+
+    /**
+     * 根状态的稠密转移表，按字符直接寻址，0 表示无转移；正文中绝大多数字符都停留在根状态，避免二分查找
+     */
+    private final int[] rootNext;
+
+    /**
+     * 失配指针
+     */
+    private final int[] fail;
+
+    /**
+     * 以该状态结尾的关键词编号，-1 表示非终止状态
+     */
+    private final int[] terminal;
+
+    /**
+     * 沿失配链最近的终止状态，-1 表示不存在
+     */
+    private final int[] outputLink;
+
+    private KeywordMatcher(String[] keywords, int[] childStart, char[] childChars, int[] childTargets,
+                           int[] fail, int[] terminal, int[] outputLink) {
+        this.keywords = keywords;
+        this.childStart = childStart;
+        this.childChars = childChars;
+        this.childTargets = childTargets;
+        this.rootNext = new int[Character.MAX_VALUE + 1];
+        for (int k = childStart[0]; k < childStart[1]; k++) {
+            rootNext[childChars[k]] = childTargets[k];
+        }
+        this.fail = fail;
+        this.terminal = terminal;
+        this.outputLink = outputLink;
+    }
+
+    /**
+     * 编译关键词集合，空白和重复的关键词会被忽略，匹配不区分大小写
+     * @param words 关键词集合
+     * @return 匹配器
+     */
+    public static KeywordMatcher compile(Collection<String> words) {
+        Set<String> unique = new LinkedHashSet<>();
+        for (String word : words) {
+            if (word != null && !word.isEmpty()) {
+                unique.add(word.toLowerCase());
+            }
+        }
+        String[] keywords = unique.toArray(new String[0]);
+
+        // 构建字典树
+        List<TreeMap<Character, Integer>> children = new ArrayList<>();
+        List<Integer> terminals = new ArrayList<>();
+        children.add(new TreeMap<>());
+        terminals.add(-1);
+        for (int i = 0; i < keywords.length; i++) {
+            int state = 0;
+            String keyword = keywords[i];
+            for (int j = 0; j < keyword.length(); j++) {
+                Integer next = children.get(state).get(keyword.charAt(j));
+                if (next == null) {
+                    next = children.size();
+                    children.add(new TreeMap<>());
+                    terminals.add(-1);
+                    children.get(state).put(keyword.charAt(j), next);
+                }
+                state = next;
+            }
+            terminals.set(state, i);
+        }
+
+        // 压平为数组，便于二分查找和缓存友好的遍历
+        int stateCount = children.size();
+        int[] childStart = new int[stateCount + 1];
+        int edgeCount = 0;
+        for (int s = 0; s < stateCount; s++) {
+            childStart[s] = edgeCount;
+            edgeCount += children.get(s).size();
+        }
+        childStart[stateCount] = edgeCount;
+        char[] childChars = new char[edgeCount];
+        int[] childTargets = new int[edgeCount];
+        int[] terminal = new int[stateCount];
+        for (int s = 0; s < stateCount; s++) {
+            int k = childStart[s];
+            for (Map.Entry<Character, Integer> edge : children.get(s).entrySet()) {
+                childChars[k] = edge.getKey();
+                childTargets[k] = edge.getValue();
+                k++;
+            }
+            terminal[s] = terminals.get(s);
+        }
+
+        // 广度优先计算失配指针和输出链
+        int[] fail = new int[stateCount];
+        int[] outputLink = new int[stateCount];
+        Arrays.fill(outputLink, -1);
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int k = childStart[0]; k < childStart[1]; k++) {
+            queue.add(childTargets[k]);
+        }
+        while (!queue.isEmpty()) {
+            int s = queue.poll();
+            for (int k = childStart[s]; k < childStart[s + 1]; k++) {
+                char c = childChars[k];
+                int child = childTargets[k];
+                int f = fail[s];
+                int target;
+                while ((target = find(childStart, childChars, childTargets, f, c)) < 0 && f != 0) {
+                    f = fail[f];
+                }
+                fail[child] = target < 0 ? 0 : target;
+                int fs = fail[child];
+                outputLink[child] = terminal[fs] >= 0 ? fs : outputLink[fs];
+                queue.add(child);
+            }
+        }
+
+        return new KeywordMatcher(keywords, childStart, childChars, childTargets, fail, terminal, outputLink);
+    }
+
+    /**
+     * 在状态 state 的子节点中查找字符 c，未找到返回 -1
+     */
+    private static int find(int[] childStart, char[] childChars, int[] childTargets, int state, char c) {
+        int low = childStart[state];
+        int high = childStart[state + 1] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char midChar = childChars[mid];
+            if (midChar < c) {
+                low = mid + 1;
+            } else if (midChar > c) {
+                high = mid - 1;
+            } else {
+                return childTargets[mid];
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 扫描文本，返回所有命中
+     * @param text 待扫描文本
+     * @return 匹配结果
+     */
+    public MatchResult match(CharSequence text) {
+        List<Hit> hits = null;
+        if (text != null) {
+            int state = 0;
+            for (int i = 0; i < text.length(); i++) {
+                state = next(state, Character.toLowerCase(text.charAt(i)));
+                hits = collect(state, i, null, hits);
+            }
+        }
+        return hits == null ? MatchResult.EMPTY : new MatchResult(hits);
+    }
+
+    /**
+     * 扫描字符缓冲区（通常为 {@link TextNormalizer} 的输出），返回所有命中
+     * @param chars 字符缓冲区
+     * @param length 有效长度
+     * @param offsets 每个字符在原文中的下标，用于把命中位置换算回原文；为 null 时位置基于缓冲区
+     * @return 匹配结果
+     */
+    public MatchResult match(char[] chars, int length, int[] offsets) {
+        List<Hit> hits = null;
+        int state = 0;
+        for (int i = 0; i < length; i++) {
+            state = next(state, Character.toLowerCase(chars[i]));
+            hits = collect(state, i, offsets, hits);
+        }
+        return hits == null ? MatchResult.EMPTY : new MatchResult(hits);
+    }
+
+    /**
+     * 状态转移
+     */
+    private int next(int state, char c) {
+        int next = -1;
+        while (state != 0 && (next = find(childStart, childChars, childTargets, state, c)) < 0) {
+            state = fail[state];
+        }
+        return state == 0 ? rootNext[c] : next;
+    }
+
+    /**
+     * 收集以位置 i 结尾的全部命中
+     */
+    private List<Hit> collect(int state, int i, int[] offsets, List<Hit> hits) {
+        for (int s = terminal[state] >= 0 ? state : outputLink[state]; s >= 0; s = outputLink[s]) {
+            if (hits == null) {
+                hits = new ArrayList<>();
+            }
+            String keyword = keywords[terminal[s]];
+            int start = i + 1 - keyword.length();
+            if (offsets == null) {
+                hits.add(new Hit(keyword, start, i + 1));
+            } else {
+                hits.add(new Hit(keyword, offsets[start], offsets[i] + 1));
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * 关键词数量
+     */
+    public int size() {
+        return keywords.length;
+    }
+
+    /**
+     * 自动机状态数量
+     */
+    public int stateCount() {
+        return terminal.length;
+    }
+
+    /**
+     * 估算自动机占用的堆内存（字节），按数组长度和关键词字符数粗略计算，不含对象头对齐误差
+     */
+    public long memoryBytes() {
+        long bytes = 4L * (childStart.length + childTargets.length + rootNext.length
+                + fail.length + terminal.length + outputLink.length);
+        bytes += 2L * childChars.length;
+        for (String keyword : keywords) {
+            // String 对象头 + 底层数组，按 UTF-16 估算
+            bytes += 40 + 2L * keyword.length();
+        }
+        return bytes;
+    }
+
+    /**
+     * 单次命中
+     */
+    public static final class Hit {
+
+        private final String keyword;
+        private final int start;
+        private final int end;
+
+        Hit(String keyword, int start, int end) {
+            this.keyword = keyword;
+            this.start = start;
+            this.end = end;
+        }
+
+        /**
+         * 命中的关键词（小写）
+         */
+        public String getKeyword() {
+            return keyword;
+        }
+
+        /**
+         * 命中起始位置（包含），基于原文
+         */
+        public int getStart() {
+            return start;
+        }
+
+        /**
+         * 命中结束位置（不包含），基于原文
+         */
+        public int getEnd() {
+            return end;
+        }
+
+        @Override
+        public String toString() {
+            return keyword + "[" + start + "," + end + ")";
+        }
+    }
+
+    /**
+     * 一次扫描的匹配结果，按命中结束位置排序
+     */
+    public static final class MatchResult {
+
+        static final MatchResult EMPTY = new MatchResult(Collections.emptyList());
+
+        private final List<Hit> hits;
+        private final Map<String, Integer> counts;
+
+        MatchResult(List<Hit> hits) {
+            this.hits = Collections.unmodifiableList(hits);
+            Map<String, Integer> counts = new LinkedHashMap<>();
+            for (Hit hit : hits) {
+                counts.merge(hit.getKeyword(), 1, Integer::sum);
+            }
+            this.counts = Collections.unmodifiableMap(counts);
+        }
+
+        /**
+         * 全部命中（含重复和重叠）
+         */
+        public List<Hit> getHits() {
+            return hits;
+        }
+
+        /**
+         * 每个命中关键词的出现次数，按首次出现顺序排列
+         */
+        public Map<String, Integer> getCounts() {
+            return counts;
+        }
+
+        /**
+         * 命中的不重复关键词
+         */
+        public Set<String> getKeywords() {
+            return counts.keySet();
+        }
+
+        /**
+         * 是否命中指定关键词
+         */
+        public boolean contains(String keyword) {
+            return keyword != null && counts.containsKey(keyword.toLowerCase());
+        }
+
+        /**
+         * 命中的关键词中属于指定集合的个数（不重复计数），集合中的词需为小写
+         */
+        public int countIn(Collection<String> vocabulary) {
+            int count = 0;
+            for (String keyword : counts.keySet()) {
+                if (vocabulary.contains(keyword)) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        /**
+         * 命中的关键词在指定权重表中的权重之和（不重复计分），表中的词需为小写
+         */
+        public int weightIn(Map<String, Integer> weights) {
+            int sum = 0;
+            for (String keyword : counts.keySet()) {
+                Integer weight = weights.get(keyword);
+                if (weight != null) {
+                    sum += weight;
+                }
+            }
+            return sum;
+        }
+
+        /**
+         * 是否没有任何命中
+         */
+        public boolean isEmpty() {
+            return hits.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.beman.util;
+
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * 旧版无盐 MD5 密码，只用于校验存量密码，登录成功后一律重新哈希
+ */
+public class Md5PasswordVerifier implements PasswordVerifier {
+
+    private static final int MD5_HEX_LENGTH = 32;
+
+    @Override
+    public boolean supports(String encoded) {
+        if (encoded == null || encoded.length() != MD5_HEX_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < MD5_HEX_LENGTH; i++) {
+            if (Character.digit(encoded.charAt(i), 16) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean matches(String rawPassword, String encoded) {
+        byte[] actual = DigestUtils.md5DigestAsHex(rawPassword.getBytes(StandardCharsets.UTF_8)).getBytes(StandardCharsets.UTF_8);
+        return MessageDigest.isEqual(actual, encoded.toLowerCase().getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public boolean needsRehash(String encoded) {
+        return true;
+    }
+}
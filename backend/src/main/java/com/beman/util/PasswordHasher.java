@@ -0,0 +1,12 @@
+package com.beman.util;
+
+/**
+ * 密码哈希算法，实现可替换。更换算法或调高参数后旧密码仍可校验，登录成功时再按新设置重新哈希
+ */
+public interface PasswordHasher extends PasswordVerifier {
+
+    /**
+     * 生成带随机盐的编码
+     */
+    String hash(String rawPassword);
+}
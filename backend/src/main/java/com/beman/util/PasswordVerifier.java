@@ -0,0 +1,22 @@
+package com.beman.util;
+
+/**
+ * 密码校验算法。编码结果能识别出所用算法和参数，旧算法只需实现校验，登录成功时由当前算法重新哈希
+ */
+public interface PasswordVerifier {
+
+    /**
+     * 编码是否由本算法生成
+     */
+    boolean supports(String encoded);
+
+    /**
+     * 校验明文密码与编码是否一致，编码损坏时返回 false
+     */
+    boolean matches(String rawPassword, String encoded);
+
+    /**
+     * 编码参数低于当前设置或已损坏，登录成功后应重新哈希
+     */
+    boolean needsRehash(String encoded);
+}
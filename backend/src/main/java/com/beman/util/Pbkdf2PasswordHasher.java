@@ -0,0 +1,141 @@
+package com.beman.util;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * PBKDF2-HMAC-SHA256 密码哈希，迭代次数可调，编码格式为 pbkdf2_sha256$迭代次数$盐$哈希（盐和哈希为 Base64）
+ */
+public class Pbkdf2PasswordHasher implements PasswordHasher {
+
+    private static final String PREFIX = "pbkdf2_sha256$";
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final int SALT_BYTES = 16;
+    private static final int HASH_BITS = 256;
+
+    /**
+     * 校准时每轮测量的迭代次数
+     */
+    private static final int CALIBRATION_ITERATIONS = 20000;
+
+    /**
+     * 校准轮数，前几轮用于预热
+     */
+    private static final int CALIBRATION_ROUNDS = 10;
+    private static final int CALIBRATION_WARMUP_ROUNDS = 4;
+
+    private final int iterations;
+    private final SecureRandom random = new SecureRandom();
+
+    public Pbkdf2PasswordHasher(int iterations) {
+        if (iterations <= 0) {
+            throw new IllegalArgumentException("迭代次数必须为正数");
+        }
+        this.iterations = iterations;
+    }
+
+    @Override
+    public String hash(String rawPassword) {
+        byte[] salt = new byte[SALT_BYTES];
+        random.nextBytes(salt);
+        Base64.Encoder encoder = Base64.getEncoder().withoutPadding();
+        return PREFIX + iterations + "$" + encoder.encodeToString(salt) + "$"
+                + encoder.encodeToString(derive(rawPassword, salt, iterations));
+    }
+
+    @Override
+    public boolean supports(String encoded) {
+        return encoded != null && encoded.startsWith(PREFIX);
+    }
+
+    @Override
+    public boolean matches(String rawPassword, String encoded) {
+        Encoded parsed = parse(encoded);
+        if (parsed == null) {
+            return false;
+        }
+        byte[] actual = derive(rawPassword, parsed.salt, parsed.iterations);
+        // 定长比较，耗时与不一致的位置无关
+        return MessageDigest.isEqual(parsed.hash, actual);
+    }
+
+    @Override
+    public boolean needsRehash(String encoded) {
+        Encoded parsed = parse(encoded);
+        return parsed == null || parsed.iterations < iterations;
+    }
+
+    /**
+     * 测量本机单次哈希的耗时，返回使单次哈希约耗时 targetMillis 的迭代次数，不低于 minIterations，按千取整
+     */
+    public static int calibrate(long targetMillis, int minIterations) {
+        byte[] salt = new byte[SALT_BYTES];
+        // 启动时尚未经过 JIT 编译，前几轮预热，取其余几轮的最小值，排除偶发的调度抖动
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < CALIBRATION_ROUNDS; round++) {
+            long start = System.nanoTime();
+            derive("calibration", salt, CALIBRATION_ITERATIONS);
+            long elapsed = System.nanoTime() - start;
+            if (round >= CALIBRATION_WARMUP_ROUNDS) {
+                best = Math.min(best, elapsed);
+            }
+        }
+        long iterations = targetMillis * 1_000_000L * CALIBRATION_ITERATIONS / Math.max(best, 1);
+        iterations = iterations / 1000 * 1000;
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(iterations, minIterations));
+    }
+
+    /**
+     * 解析迭代次数、盐、哈希三段；段数不符、迭代次数不是正整数或 Base64 损坏时返回 null
+     */
+    private static Encoded parse(String encoded) {
+        if (encoded == null || !encoded.startsWith(PREFIX)) {
+            return null;
+        }
+        String[] parts = encoded.substring(PREFIX.length()).split("\\$");
+        if (parts.length != 3) {
+            return null;
+        }
+        try {
+            int iterations = Integer.parseInt(parts[0]);
+            Base64.Decoder decoder = Base64.getDecoder();
+            byte[] salt = decoder.decode(parts[1]);
+            byte[] hash = decoder.decode(parts[2]);
+            return iterations > 0 && salt.length > 0 && hash.length > 0 ? new Encoded(iterations, salt, hash) : null;
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException 也是 IllegalArgumentException
+            return null;
+        }
+    }
+
+    private static byte[] derive(String rawPassword, byte[] salt, int iterations) {
+        PBEKeySpec spec = new PBEKeySpec(rawPassword.toCharArray(), salt, iterations, HASH_BITS);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("密码哈希失败", e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+
+    /**
+     * 解析后的编码
+     */
+    private static final class Encoded {
+
+        private final int iterations;
+        private final byte[] salt;
+        private final byte[] hash;
+
+        private Encoded(int iterations, byte[] salt, byte[] hash) {
+            this.iterations = iterations;
+            this.salt = salt;
+            this.hash = hash;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.beman.util;
+
+import com.beman.model.Post;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 帖子流游标
+ * 记录上一页最后一条的排序键 (is_top, create_time, id)，对客户端以不透明字符串形式传递
+ */
+public final class PostCursor {
+
+    private final Integer isTop;
+    private final LocalDateTime createTime;
+    private final Long id;
+
+    private PostCursor(Integer isTop, LocalDateTime createTime, Long id) {
+        this.isTop = isTop;
+        this.createTime = createTime;
+        this.id = id;
+    }
+
+    /**
+     * 以帖子的排序键生成游标
+     */
+    public static PostCursor of(Post post) {
+        return new PostCursor(post.getIsTop() == null ? 0 : post.getIsTop(), post.getCreateTime(), post.getId());
+    }
+
+    /**
+     * 编码为 URL 安全的字符串
+     */
+    public String encode() {
+        String raw = isTop + "," + createTime + "," + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解析游标字符串
+     * @param cursor 游标，为空时表示第一页
+     * @return 游标，第一页时返回 null
+     * @throws IllegalArgumentException 游标格式错误
+     */
+    public static PostCursor decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(",");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("无效的游标");
+            }
+            return new PostCursor(Integer.valueOf(parts[0]), LocalDateTime.parse(parts[1]), Long.valueOf(parts[2]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("无效的游标", e);
+        }
+    }
+
+    public Integer getIsTop() {
+        return isTop;
+    }
+
+    public LocalDateTime getCreateTime() {
+        return createTime;
+    }
+
+    public Long getId() {
+        return id;
+    }
+}
@@ -0,0 +1,63 @@
+package com.beman.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 热度榜游标
+ * 记录上一页所在的榜单代数和最后一条的排序键 (score, id)，榜单按热度倒序，对客户端以不透明字符串形式传递
+ */
+public final class RankCursor {
+
+    private final long generation;
+    private final double score;
+    private final Long id;
+
+    public RankCursor(long generation, double score, Long id) {
+        this.generation = generation;
+        this.score = score;
+        this.id = id;
+    }
+
+    /**
+     * 编码为 URL 安全的字符串
+     */
+    public String encode() {
+        String raw = generation + "," + score + "," + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解析游标字符串
+     * @param cursor 游标，为空时表示第一页
+     * @return 游标，第一页时返回 null
+     * @throws IllegalArgumentException 游标格式错误
+     */
+    public static RankCursor decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(",");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("无效的游标");
+            }
+            return new RankCursor(Long.parseLong(parts[0]), Double.parseDouble(parts[1]), Long.valueOf(parts[2]));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("无效的游标", e);
+        }
+    }
+
+    public long getGeneration() {
+        return generation;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public Long getId() {
+        return id;
+    }
+}
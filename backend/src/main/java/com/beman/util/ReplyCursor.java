@@ -0,0 +1,68 @@
+package com.beman.util;
+
+import com.beman.model.vo.CommentVO;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 评论回复游标
+ * 记录上一页最后一条回复的排序键 (create_time, id)，回复按时间正序，对客户端以不透明字符串形式传递
+ */
+public final class ReplyCursor {
+
+    private final LocalDateTime createTime;
+    private final Long id;
+
+    private ReplyCursor(LocalDateTime createTime, Long id) {
+        this.createTime = createTime;
+        this.id = id;
+    }
+
+    /**
+     * 以回复的排序键生成游标
+     */
+    public static ReplyCursor of(CommentVO reply) {
+        return new ReplyCursor(reply.getCreateTime(), reply.getId());
+    }
+
+    /**
+     * 编码为 URL 安全的字符串
+     */
+    public String encode() {
+        String raw = createTime + "," + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解析游标字符串
+     * @param cursor 游标，为空时表示第一页
+     * @return 游标，第一页时返回 null
+     * @throws IllegalArgumentException 游标格式错误
+     */
+    public static ReplyCursor decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(",");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("无效的游标");
+            }
+            return new ReplyCursor(LocalDateTime.parse(parts[0]), Long.valueOf(parts[1]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("无效的游标", e);
+        }
+    }
+
+    public LocalDateTime getCreateTime() {
+        return createTime;
+    }
+
+    public Long getId() {
+        return id;
+    }
+}
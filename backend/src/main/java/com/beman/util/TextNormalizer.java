@@ -0,0 +1,164 @@
+package com.beman.util;
+
+/**
+ * 审核文本归一化工具
+ * 单次遍历完成全角转半角、大小写折叠、繁简及异体字映射，并剔除空白、标点、符号和零宽等不可见字符，
+ * 使"分 手"、"分-手"、夹杂零宽字符的"分手"、"ＰＵＡ"、"離婚"等规避写法与词库中的原词一致。
+ * 结果写入线程内复用的缓冲区，不产生额外对象
+ */
+public final class TextNormalizer {
+
+    /**
+     * 字符映射表，0 表示该字符被剔除
+     */
+    private static final char[] FOLD = new char[Character.MAX_VALUE + 1];
+
+    /**
+     * 异体字映射：繁体及常见异体写法 -> 简体
+     */
+    private static final String VARIANT_FROM = "離絕斷關係見討厭噁惡滾殺報復襲擊戰氣難過傷潰開會憤刪殘結愛們對時說話懷這壞婦";
+    private static final String VARIANT_TO = "离绝断关系见讨厌恶恶滚杀报复袭击战气难过伤溃开会愤删残结爱们对时说话怀这坏妇";
+
+    /**
+     * 线程内复用缓冲区的最大容量，超长文本使用一次性缓冲区，避免线程长期持有大数组
+     */
+    private static final int MAX_RETAINED_CAPACITY = 16 * 1024;
+
+    private static final ThreadLocal<Buffer> BUFFER = ThreadLocal.withInitial(Buffer::new);
+
+    static {
+        for (int c = 0; c <= Character.MAX_VALUE; c++) {
+            FOLD[c] = fold((char) c);
+        }
+        for (int i = 0; i < VARIANT_FROM.length(); i++) {
+            FOLD[VARIANT_FROM.charAt(i)] = VARIANT_TO.charAt(i);
+        }
+    }
+
+    private TextNormalizer() {
+    }
+
+    /**
+     * 计算单个字符的归一化结果
+     */
+    private static char fold(char c) {
+        char m = c;
+        // 全角 ASCII 转半角
+        if (m >= '！' && m <= '～') {
+            m = (char) (m - 0xFEE0);
+        }
+        m = Character.toLowerCase(m);
+        return isStripped(m) ? 0 : m;
+    }
+
+    /**
+     * 是否为需要剔除的字符：空白、标点、符号、控制符、零宽及组合字符、代理对
+     */
+    private static boolean isStripped(char c) {
+        if (Character.isWhitespace(c) || Character.isSpaceChar(c)) {
+            return true;
+        }
+        switch (Character.getType(c)) {
+            case Character.CONTROL:
+            case Character.FORMAT:
+            case Character.SURROGATE:
+            case Character.PRIVATE_USE:
+            case Character.UNASSIGNED:
+            case Character.NON_SPACING_MARK:
+            case Character.ENCLOSING_MARK:
+            case Character.COMBINING_SPACING_MARK:
+            case Character.CONNECTOR_PUNCTUATION:
+            case Character.DASH_PUNCTUATION:
+            case Character.START_PUNCTUATION:
+            case Character.END_PUNCTUATION:
+            case Character.INITIAL_QUOTE_PUNCTUATION:
+            case Character.FINAL_QUOTE_PUNCTUATION:
+            case Character.OTHER_PUNCTUATION:
+            case Character.MATH_SYMBOL:
+            case Character.CURRENCY_SYMBOL:
+            case Character.MODIFIER_SYMBOL:
+            case Character.OTHER_SYMBOL:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * 归一化文本，结果写入当前线程的复用缓冲区，在同一线程下次调用前有效
+     * @param text 原始文本
+     * @return 归一化缓冲区
+     */
+    public static Buffer normalize(CharSequence text) {
+        int length = text == null ? 0 : text.length();
+        Buffer buffer = length > MAX_RETAINED_CAPACITY ? new Buffer() : BUFFER.get();
+        buffer.ensureCapacity(length);
+        char[] chars = buffer.chars;
+        int[] offsets = buffer.offsets;
+        int n = 0;
+        for (int i = 0; i < length; i++) {
+            char m = FOLD[text.charAt(i)];
+            if (m != 0) {
+                chars[n] = m;
+                offsets[n] = i;
+                n++;
+            }
+        }
+        buffer.length = n;
+        return buffer;
+    }
+
+    /**
+     * 归一化文本并返回新字符串，用于词库构建等非热点路径
+     * @param text 原始文本
+     * @return 归一化后的字符串
+     */
+    public static String normalizeToString(CharSequence text) {
+        Buffer buffer = normalize(text);
+        return new String(buffer.chars, 0, buffer.length);
+    }
+
+    /**
+     * 归一化缓冲区
+     */
+    public static final class Buffer {
+
+        private char[] chars = new char[256];
+        private int[] offsets = new int[256];
+        private int length;
+
+        private void ensureCapacity(int capacity) {
+            if (chars.length < capacity) {
+                int size = Math.max(capacity, chars.length * 2);
+                chars = new char[size];
+                offsets = new int[size];
+            }
+        }
+
+        /**
+         * 归一化后的字符，有效区间为 [0, length)
+         */
+        public char[] getChars() {
+            return chars;
+        }
+
+        /**
+         * 每个归一化字符在原文中的下标
+         */
+        public int[] getOffsets() {
+            return offsets;
+        }
+
+        /**
+         * 归一化后的长度
+         */
+        public int getLength() {
+            return length;
+        }
+
+        @Override
+        public String toString() {
+            return new String(chars, 0, length);
+        }
+    }
+}
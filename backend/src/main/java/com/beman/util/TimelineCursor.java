@@ -0,0 +1,46 @@
+package com.beman.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 关注时间线游标
+ * 时间线按帖子ID倒序，游标记录上一页最后一条的帖子ID，对客户端以不透明字符串形式传递
+ */
+public final class TimelineCursor {
+
+    private final Long postId;
+
+    public TimelineCursor(Long postId) {
+        this.postId = postId;
+    }
+
+    /**
+     * 编码为 URL 安全的字符串
+     */
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(String.valueOf(postId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解析游标字符串
+     * @param cursor 游标，为空时表示第一页
+     * @return 游标，第一页时返回 null
+     * @throws IllegalArgumentException 游标格式错误
+     */
+    public static TimelineCursor decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            return new TimelineCursor(Long.valueOf(raw));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("无效的游标", e);
+        }
+    }
+
+    public Long getPostId() {
+        return postId;
+    }
+}
@@ -0,0 +1,75 @@
+package com.beman.util;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * 时间线归并
+ * 把多个按帖子ID倒序的序列（自己的时间线、各个大V的发帖记录）多路归并为一页，
+ * 开销为 O((k + limit) log k)，与各序列的总长度无关
+ */
+public final class TimelineMerger {
+
+    private TimelineMerger() {
+    }
+
+    /**
+     * 归并取一页
+     * @param sources 各序列，均按帖子ID倒序
+     * @param beforeId 只返回ID小于该值的帖子，为空时从最新开始
+     * @param limit 返回数量
+     * @return 按ID倒序去重后的前 limit 个帖子ID
+     */
+    public static long[] merge(List<long[]> sources, Long beforeId, int limit) {
+        if (limit <= 0 || sources.isEmpty()) {
+            return new long[0];
+        }
+        // 堆中元素为 {序列下标, 位置}，按当前位置的ID倒序
+        PriorityQueue<int[]> heap = new PriorityQueue<>(sources.size(),
+                (a, b) -> Long.compare(sources.get(b[0])[b[1]], sources.get(a[0])[a[1]]));
+        for (int i = 0; i < sources.size(); i++) {
+            long[] source = sources.get(i);
+            int start = beforeId == null ? 0 : firstBelow(source, beforeId);
+            if (start < source.length) {
+                heap.offer(new int[]{i, start});
+            }
+        }
+
+        long[] result = new long[limit];
+        int size = 0;
+        while (size < limit && !heap.isEmpty()) {
+            int[] top = heap.poll();
+            long[] source = sources.get(top[0]);
+            long id = source[top[1]];
+            // 帖子可能同时在时间线和发帖记录里（作者刚成为大V），只保留一次
+            if (size == 0 || result[size - 1] != id) {
+                result[size++] = id;
+            }
+            if (++top[1] < source.length) {
+                heap.offer(top);
+            }
+        }
+        return size == limit ? result : Arrays.copyOf(result, size);
+    }
+
+    /**
+     * 倒序数组中第一个小于 beforeId 的位置
+     * @param source 按帖子ID倒序的序列
+     * @param beforeId 帖子ID
+     * @return 位置，全部不小于 beforeId 时返回数组长度
+     */
+    public static int firstBelow(long[] source, long beforeId) {
+        int low = 0;
+        int high = source.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (source[mid] >= beforeId) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,34 @@
+package com.beman.util;
+
+/**
+ * 令牌桶：容量为 capacity，每秒补充 refillPerSecond 个，初始为满桶；时间由调用方传入，便于测试
+ */
+public class TokenBucket {
+
+    private final double capacity;
+    private final double refillPerNano;
+    private double tokens;
+    private long lastRefillNanos;
+
+    public TokenBucket(double capacity, double refillPerSecond, long nowNanos) {
+        this.capacity = capacity;
+        this.refillPerNano = refillPerSecond / 1_000_000_000d;
+        this.tokens = capacity;
+        this.lastRefillNanos = nowNanos;
+    }
+
+    /**
+     * 取一个令牌，桶空时返回 false
+     */
+    public synchronized boolean tryAcquire(long nowNanos) {
+        if (nowNanos > lastRefillNanos) {
+            tokens = Math.min(capacity, tokens + (nowNanos - lastRefillNanos) * refillPerNano);
+            lastRefillNanos = nowNanos;
+        }
+        if (tokens < 1) {
+            return false;
+        }
+        tokens -= 1;
+        return true;
+    }
+}
@@ -0,0 +1,265 @@
+package com.beman.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * 带时间衰减的热点计数器（Space-Saving）
+ * 最多保留 capacity 个计数项，满了以后新键替换当前最小的计数项并继承其计数作为误差上界，
+ * 真正的高频键不会被挤出。计数按时间常数 tau 指数衰减，近似长度为 tau 的滑动窗口；
+ * 衰减采用前向衰减：写入时按写入时刻放大权重，读取时统一缩小，写入不需要遍历所有计数项。
+ * 计数项同时放在按计数排列的小顶堆中，每项记录自己在堆中的下标，累加和替换最小项都是 O(log capacity)
+ */
+public final class TrendingCounter {
+
+    /**
+     * 放大指数超过该值时以当前时刻为新基准整体缩放，避免双精度溢出
+     */
+    private static final double MAX_EXPONENT = 50;
+
+    private final int capacity;
+    private final double lambda;
+    private final Map<String, Counter> counters;
+
+    /**
+     * 按计数排列的小顶堆，堆顶为当前最小计数项
+     */
+    private final Counter[] heap;
+
+    private long landmark;
+
+    /**
+     * @param capacity 最多保留的计数项数
+     * @param tauMillis 衰减时间常数（毫秒），计数每经过 tau 衰减为 1/e
+     * @param now 当前时间戳（毫秒）
+     */
+    public TrendingCounter(int capacity, long tauMillis, long now) {
+        if (capacity <= 0 || tauMillis <= 0) {
+            throw new IllegalArgumentException("容量和衰减时间必须为正数");
+        }
+        this.capacity = capacity;
+        this.lambda = 1.0 / tauMillis;
+        this.counters = new HashMap<>(capacity * 2);
+        this.heap = new Counter[capacity];
+        this.landmark = now;
+    }
+
+    /**
+     * 累加计数
+     * @param key 键
+     * @param weight 权重
+     * @param now 事件时间戳（毫秒）
+     */
+    public synchronized void add(String key, double weight, long now) {
+        rescaleIfNeeded(now);
+        double scaled = weight * Math.exp(lambda * (now - landmark));
+        Counter counter = counters.get(key);
+        if (counter != null) {
+            counter.count += scaled;
+            fix(counter.index);
+            return;
+        }
+        if (counters.size() < capacity) {
+            insert(new Counter(key, scaled, 0));
+            return;
+        }
+        // 替换堆顶的最小计数项，继承的计数即新键的高估上界
+        Counter min = heap[0];
+        counters.remove(min.key);
+        Counter replacement = new Counter(key, min.count + scaled, min.count);
+        counters.put(key, replacement);
+        place(replacement, 0);
+        fix(0);
+    }
+
+    /**
+     * 当前计数最高的若干个键
+     * @param limit 返回数量
+     * @param now 当前时间戳（毫秒）
+     * @return 按衰减后计数倒序
+     */
+    public synchronized List<Entry> top(int limit, long now) {
+        if (limit <= 0 || counters.isEmpty()) {
+            return Collections.emptyList();
+        }
+        // 容量有界，用大小为 limit 的小顶堆选出前几名
+        PriorityQueue<Counter> heap = new PriorityQueue<>(limit, Comparator.comparingDouble(c -> c.count));
+        for (Counter c : counters.values()) {
+            if (heap.size() < limit) {
+                heap.offer(c);
+            } else if (c.count > heap.peek().count) {
+                heap.poll();
+                heap.offer(c);
+            }
+        }
+        double decay = Math.exp(-lambda * (now - landmark));
+        Entry[] result = new Entry[heap.size()];
+        for (int i = result.length - 1; i >= 0; i--) {
+            Counter c = heap.poll();
+            result[i] = new Entry(c.key, c.count * decay, c.error * decay);
+        }
+        List<Entry> list = new ArrayList<>(result.length);
+        Collections.addAll(list, result);
+        return list;
+    }
+
+    /**
+     * 导出全部计数项，用于快照
+     * @param now 当前时间戳（毫秒），计数衰减到该时刻
+     * @return 计数项，无序
+     */
+    public synchronized List<Entry> entries(long now) {
+        double decay = Math.exp(-lambda * (now - landmark));
+        List<Entry> list = new ArrayList<>(counters.size());
+        for (Counter c : counters.values()) {
+            list.add(new Entry(c.key, c.count * decay, c.error * decay));
+        }
+        return list;
+    }
+
+    /**
+     * 从快照恢复：按快照时刻到当前时刻的间隔衰减后并入，超出容量时保留计数最高的项
+     * @param entries 快照中的计数项
+     * @param snapshotTime 快照时间戳（毫秒）
+     * @param now 当前时间戳（毫秒）
+     */
+    public synchronized void restore(List<Entry> entries, long snapshotTime, long now) {
+        rescaleIfNeeded(now);
+        double scale = Math.exp(lambda * (snapshotTime - landmark));
+        List<Entry> sorted = new ArrayList<>(entries);
+        sorted.sort(Comparator.comparingDouble(Entry::getCount).reversed());
+        for (Entry entry : sorted) {
+            Counter counter = counters.get(entry.getKey());
+            if (counter != null) {
+                counter.count += entry.getCount() * scale;
+                counter.error += entry.getError() * scale;
+                fix(counter.index);
+            } else if (counters.size() < capacity) {
+                insert(new Counter(entry.getKey(), entry.getCount() * scale, entry.getError() * scale));
+            }
+        }
+    }
+
+    /**
+     * 当前计数项数
+     */
+    public synchronized int size() {
+        return counters.size();
+    }
+
+    private void rescaleIfNeeded(long now) {
+        double exponent = lambda * (now - landmark);
+        if (exponent <= MAX_EXPONENT) {
+            return;
+        }
+        double factor = Math.exp(-exponent);
+        for (Counter c : counters.values()) {
+            c.count *= factor;
+            c.error *= factor;
+        }
+        landmark = now;
+    }
+
+    private void insert(Counter counter) {
+        int index = counters.size();
+        counters.put(counter.key, counter);
+        place(counter, index);
+        fix(index);
+    }
+
+    private void place(Counter counter, int index) {
+        heap[index] = counter;
+        counter.index = index;
+    }
+
+    /**
+     * 计数变化后恢复堆序：先上浮，位置未变再下沉
+     */
+    private void fix(int index) {
+        Counter counter = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (heap[parent].count <= counter.count) {
+                break;
+            }
+            place(heap[parent], index);
+            index = parent;
+        }
+        int size = counters.size();
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && heap[child + 1].count < heap[child].count) {
+                child++;
+            }
+            if (counter.count <= heap[child].count) {
+                break;
+            }
+            place(heap[child], index);
+            index = child;
+        }
+        place(counter, index);
+    }
+
+    private static final class Counter {
+
+        private final String key;
+        private double count;
+        private double error;
+
+        /**
+         * 在堆中的下标
+         */
+        private int index;
+
+        private Counter(String key, double count, double error) {
+            this.key = key;
+            this.count = count;
+            this.error = error;
+        }
+    }
+
+    /**
+     * 计数项
+     */
+    public static final class Entry {
+
+        private final String key;
+        private final double count;
+        private final double error;
+
+        public Entry(String key, double count, double error) {
+            this.key = key;
+            this.count = count;
+            this.error = error;
+        }
+
+        /**
+         * 键
+         */
+        public String getKey() {
+            return key;
+        }
+
+        /**
+         * 衰减后的计数，可能高估，不会低估
+         */
+        public double getCount() {
+            return count;
+        }
+
+        /**
+         * 高估上界：真实计数不小于 count - error
+         */
+        public double getError() {
+            return error;
+        }
+    }
+}
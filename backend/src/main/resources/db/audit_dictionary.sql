@@ -0,0 +1,83 @@
+-- 审核关键词表
+CREATE TABLE IF NOT EXISTS `audit_keyword` (
+  `id` bigint(20) NOT NULL AUTO_INCREMENT COMMENT '主键ID',
+  `word` varchar(100) NOT NULL COMMENT '关键词',
+  `type` tinyint(4) NOT NULL COMMENT '类型：1-极端词，2-敏感词',
+  `weight` int(11) NOT NULL DEFAULT 1 COMMENT '权重（敏感词累计计分使用）',
+  `status` tinyint(4) NOT NULL DEFAULT 1 COMMENT '状态：0-停用，1-启用',
+  `create_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+  `update_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+  `deleted` tinyint(1) DEFAULT 0 COMMENT '逻辑删除标识',
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `uk_word_type` (`word`, `type`),
+  KEY `idx_status` (`status`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='审核关键词表';
+
+-- 审核建议模板表
+CREATE TABLE IF NOT EXISTS `audit_suggestion_template` (
+  `id` bigint(20) NOT NULL AUTO_INCREMENT COMMENT '主键ID',
+  `scene` varchar(100) NOT NULL COMMENT '场景关键词',
+  `content` varchar(500) NOT NULL COMMENT '建议内容',
+  `priority` int(11) NOT NULL DEFAULT 0 COMMENT '场景优先级，数值越小越先匹配',
+  `status` tinyint(4) NOT NULL DEFAULT 1 COMMENT '状态：0-停用，1-启用',
+  `create_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+  `update_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+  `deleted` tinyint(1) DEFAULT 0 COMMENT '逻辑删除标识',
+  PRIMARY KEY (`id`),
+  KEY `idx_scene` (`scene`),
+  KEY `idx_status` (`status`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='审核建议模板表';
+
+-- 插入默认词库
+INSERT INTO `audit_keyword` (`word`, `type`, `weight`) VALUES
+('分手', 1, 1),
+('离婚', 1, 1),
+('绝交', 1, 1),
+('拉黑', 1, 1),
+('删除', 1, 1),
+('断绝关系', 1, 1),
+('永不相见', 1, 1),
+('恨你', 1, 1),
+('讨厌你', 1, 1),
+('恶心', 1, 1),
+('滚蛋', 1, 1),
+('去死', 1, 1),
+('自杀', 1, 1),
+('自残', 1, 1),
+('报复', 1, 1),
+('报复社会', 1, 1),
+('杀人', 1, 1),
+('放火', 1, 1),
+('爆炸', 1, 1),
+('恐怖袭击', 1, 1),
+('吵架', 2, 1),
+('冷战', 2, 1),
+('不理你', 2, 1),
+('生气', 2, 1),
+('愤怒', 2, 1),
+('失望', 2, 1),
+('绝望', 2, 1),
+('痛苦', 2, 1),
+('难过', 2, 1),
+('伤心', 2, 1),
+('崩溃', 2, 1),
+('想不开', 2, 1),
+('活不下去', 2, 1);
+
+-- 插入默认建议模板
+INSERT INTO `audit_suggestion_template` (`scene`, `content`, `priority`) VALUES
+('失望', '失望的感觉很难受，你愿意分享具体是什么让你失望吗？', 1),
+('失望', '也许可以尝试表达你的期望，让对方知道你的需求？', 1),
+('失望', '失望往往源于期望，你觉得你的期望合理吗？', 1),
+('愤怒', '愤怒时容易说出伤人的话，你愿意先冷静一下吗？', 2),
+('愤怒', '也许可以尝试理解愤怒背后的原因，你觉得是什么触发了你的愤怒？', 2),
+('愤怒', '愤怒往往掩盖了更深层的情绪，你真正想要的是什么？', 2),
+('吵架', '吵架后冷静下来，你觉得问题的根源是什么？', 3),
+('吵架', '也许可以尝试用''我''开头的表达方式，比如''我感觉...''', 3),
+('吵架', '每次冲突都是了解对方的机会，你从这次吵架中学到了什么？', 3),
+('冷战', '冷战往往让问题变得更复杂，你愿意主动打破僵局吗？', 4),
+('冷战', '也许可以先从一个小话题开始，比如分享今天的有趣事情？', 4),
+('冷战', '关系需要温度，你觉得如何能让彼此重新连接？', 4),
+('分手', '分手是一个重大决定，你确定已经尝试了所有可能的解决方案吗？', 5),
+('分手', '在做出最终决定前，也许可以尝试一次深入的沟通，你觉得呢？', 5),
+('分手', '关系中的问题往往需要双方共同努力，你希望对方如何配合？', 5);
@@ -0,0 +1,9 @@
+-- 回填帖子评论数：此前 comment_count 未维护，上线前按评论表统计一次（口径：未删除的评论，含回复）
+UPDATE `post` p
+LEFT JOIN (
+  SELECT post_id, COUNT(*) AS cnt
+  FROM `comment`
+  WHERE deleted = 0
+  GROUP BY post_id
+) c ON c.post_id = p.id
+SET p.comment_count = IFNULL(c.cnt, 0);
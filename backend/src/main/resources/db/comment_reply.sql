@@ -0,0 +1,2 @@
+-- 回复按父评论分窗口、按时间正序分页，(parent_id, create_time, id) 覆盖分区和排序键
+ALTER TABLE `comment` ADD KEY `idx_parent_create` (`parent_id`, `create_time`, `id`);
@@ -0,0 +1,6 @@
+-- 帖子、评论审核风险等级，由异步审核批量回写
+ALTER TABLE `post`
+  ADD COLUMN `risk_level` tinyint(4) DEFAULT '0' COMMENT '审核风险等级：0-低风险，1-中风险，2-高风险' AFTER `is_top`;
+
+ALTER TABLE `comment`
+  ADD COLUMN `risk_level` tinyint(4) DEFAULT 0 COMMENT '审核风险等级：0-低风险，1-中风险，2-高风险' AFTER `status`;
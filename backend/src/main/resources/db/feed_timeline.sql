@@ -0,0 +1,16 @@
+-- 关注时间线表：普通作者发帖时写入每个粉丝的时间线，主键 (user_id, post_id) 即读取顺序，
+-- 翻页直接按主键范围扫描；大V作者的帖子不写入，读取时从其发帖记录合并
+CREATE TABLE IF NOT EXISTS `feed_timeline` (
+  `user_id` bigint(20) NOT NULL COMMENT '时间线所属用户ID',
+  `post_id` bigint(20) NOT NULL COMMENT '帖子ID',
+  `author_id` bigint(20) NOT NULL COMMENT '帖子作者ID',
+  `create_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '写入时间',
+  PRIMARY KEY (`user_id`, `post_id`),
+  KEY `idx_user_author` (`user_id`, `author_id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='关注时间线表';
+
+-- 发帖扇出按粉丝ID分批遍历
+ALTER TABLE `user_follow` ADD KEY `idx_following_status_follower` (`following_id`, `status`, `follower_id`);
+
+-- 读取大V最近的帖子
+ALTER TABLE `post` ADD KEY `idx_user_post` (`user_id`, `id`);
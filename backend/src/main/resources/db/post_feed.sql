@@ -0,0 +1,4 @@
+-- 帖子流游标分页索引：等值条件在前，排序键 (is_top, create_time, id) 在后，
+-- 游标翻页直接从索引定位起点，深翻页与首页开销相同
+ALTER TABLE `post`
+  ADD INDEX `idx_feed` (`status`, `deleted`, `is_top`, `create_time`, `id`);
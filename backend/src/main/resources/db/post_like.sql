@@ -0,0 +1,10 @@
+-- 帖子点赞记录表：取消点赞直接删除记录，唯一键保证同一用户对同一帖子只计一次
+CREATE TABLE IF NOT EXISTS `post_like` (
+  `id` bigint(20) NOT NULL AUTO_INCREMENT COMMENT '主键ID',
+  `post_id` bigint(20) NOT NULL COMMENT '帖子ID',
+  `user_id` bigint(20) NOT NULL COMMENT '用户ID',
+  `create_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `uk_post_user` (`post_id`, `user_id`),
+  KEY `idx_user_post` (`user_id`, `post_id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='帖子点赞记录表';
@@ -0,0 +1,45 @@
+-- 标签字典表
+CREATE TABLE IF NOT EXISTS `tag` (
+  `id` bigint(20) NOT NULL AUTO_INCREMENT COMMENT '主键ID',
+  `name` varchar(50) CHARACTER SET utf8mb4 COLLATE utf8mb4_bin NOT NULL COMMENT '标签名称（二进制排序，与应用内按原文匹配一致）',
+  `usage_count` int(11) NOT NULL DEFAULT 0 COMMENT '使用次数（未删除的帖子数）',
+  `create_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+  `update_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `uk_name` (`name`),
+  KEY `idx_usage_count` (`usage_count`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='标签字典表';
+
+-- 已建的表改为二进制排序：默认排序规则忽略大小写和重音，"ABC" 会命中 "abc" 的唯一索引，应用按原文取回ID时找不到
+ALTER TABLE `tag` MODIFY `name` varchar(50) CHARACTER SET utf8mb4 COLLATE utf8mb4_bin NOT NULL COMMENT '标签名称（二进制排序，与应用内按原文匹配一致）';
+
+-- 帖子标签关联表
+CREATE TABLE IF NOT EXISTS `post_tag` (
+  `id` bigint(20) NOT NULL AUTO_INCREMENT COMMENT '主键ID',
+  `post_id` bigint(20) NOT NULL COMMENT '帖子ID',
+  `tag_id` bigint(20) NOT NULL COMMENT '标签ID',
+  `create_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `uk_post_tag` (`post_id`, `tag_id`),
+  KEY `idx_tag_post` (`tag_id`, `post_id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='帖子标签关联表';
+
+-- 从 post.tags（JSON）回填历史数据（MySQL 8.0+）
+INSERT IGNORE INTO `tag` (`name`)
+SELECT DISTINCT TRIM(jt.name)
+FROM `post` p,
+     JSON_TABLE(p.tags, '$[*]' COLUMNS (name VARCHAR(50) PATH '$')) jt
+WHERE p.deleted = 0 AND p.tags IS NOT NULL AND TRIM(jt.name) != '';
+
+INSERT IGNORE INTO `post_tag` (`post_id`, `tag_id`)
+SELECT p.id, t.id
+FROM `post` p,
+     JSON_TABLE(p.tags, '$[*]' COLUMNS (name VARCHAR(50) PATH '$')) jt
+JOIN `tag` t ON t.name = TRIM(jt.name)
+WHERE p.deleted = 0 AND p.tags IS NOT NULL;
+
+UPDATE `tag` t
+SET t.usage_count = (
+  SELECT COUNT(*) FROM `post_tag` pt JOIN `post` p ON p.id = pt.post_id AND p.deleted = 0
+  WHERE pt.tag_id = t.id
+);
@@ -0,0 +1,3 @@
+-- 密码改为 PBKDF2 编码（pbkdf2_sha256$迭代次数$盐$哈希，约 90 字符），放宽长度以便今后更换算法；
+-- 存量 MD5 密码无需迁移，用户下次登录成功时自动重新哈希
+ALTER TABLE `user` MODIFY `password` varchar(255) NOT NULL COMMENT '密码哈希';
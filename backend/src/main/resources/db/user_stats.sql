@@ -0,0 +1,29 @@
+-- 用户统计表：关注数、粉丝数随关注和取消关注增量维护，资料页按主键读取，不再实时 COUNT
+CREATE TABLE IF NOT EXISTS `user_stats` (
+  `user_id` bigint(20) NOT NULL COMMENT '用户ID',
+  `following_count` int(11) NOT NULL DEFAULT 0 COMMENT '关注数',
+  `follower_count` int(11) NOT NULL DEFAULT 0 COMMENT '粉丝数',
+  `update_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+  PRIMARY KEY (`user_id`),
+  KEY `idx_follower_count` (`follower_count`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='用户统计表';
+
+-- 上线前按关注表统计一次（口径与原先的实时统计一致：状态为已关注且未删除的关注关系）
+INSERT INTO `user_stats` (`user_id`, `following_count`, `follower_count`)
+SELECT u.id, IFNULL(f1.cnt, 0), IFNULL(f2.cnt, 0)
+FROM `user` u
+LEFT JOIN (
+  SELECT follower_id AS user_id, COUNT(*) AS cnt
+  FROM `user_follow`
+  WHERE status = 0 AND deleted = 0
+  GROUP BY follower_id
+) f1 ON f1.user_id = u.id
+LEFT JOIN (
+  SELECT following_id AS user_id, COUNT(*) AS cnt
+  FROM `user_follow`
+  WHERE status = 0 AND deleted = 0
+  GROUP BY following_id
+) f2 ON f2.user_id = u.id
+ON DUPLICATE KEY UPDATE
+  `following_count` = VALUES(`following_count`),
+  `follower_count` = VALUES(`follower_count`);
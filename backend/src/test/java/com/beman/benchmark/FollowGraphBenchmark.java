@@ -0,0 +1,109 @@
+package com.beman.benchmark;
+
+import com.beman.util.FollowGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 关注关系图基准测试：100 万用户、5000 万条关注关系，被关注者按 u^3 倾斜，
+ * 互关、共同粉丝、二度推荐在压缩邻接表上的耗时
+ * 运行方式：mvn test-compile 后执行本类 main 方法
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xmx3g"})
+public class FollowGraphBenchmark {
+
+    private static final int USERS = 1_000_000;
+    private static final int FOLLOWS_PER_USER = 50;
+    private static final int SUGGEST_LIMIT = 20;
+    private static final int MAX_FANOUT = 200;
+
+    private FollowGraph graph;
+    private long[] userStream;
+    private long[] otherStream;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        long[] ids = new long[USERS];
+        for (int i = 0; i < USERS; i++) {
+            ids[i] = i + 1;
+        }
+
+        // 每个用户关注 50 人，被关注者集中在少数账号上；同一用户的关注按ID升序加入
+        FollowGraph.Builder builder = new FollowGraph.Builder(ids, USERS * FOLLOWS_PER_USER);
+        long[] targets = new long[FOLLOWS_PER_USER];
+        for (int user = 1; user <= USERS; user++) {
+            for (int i = 0; i < FOLLOWS_PER_USER; i++) {
+                double u = random.nextDouble();
+                targets[i] = 1 + (long) (USERS * u * u * u);
+            }
+            Arrays.sort(targets);
+            for (long target : targets) {
+                builder.add(user, target);
+            }
+        }
+        graph = builder.build();
+
+        userStream = new long[1 << 16];
+        otherStream = new long[1 << 16];
+        for (int i = 0; i < userStream.length; i++) {
+            userStream[i] = 1 + random.nextInt(USERS);
+            otherStream[i] = 1 + random.nextInt(USERS);
+        }
+    }
+
+    @Benchmark
+    public boolean follows() {
+        int i = cursor++ & (userStream.length - 1);
+        return graph.follows(userStream[i], otherStream[i]);
+    }
+
+    @Benchmark
+    public long[] mutual() {
+        return graph.mutual(userStream[cursor++ & (userStream.length - 1)]);
+    }
+
+    /**
+     * 随机两个用户的共同粉丝，粉丝数倾斜时包含大V之间的长列表归并
+     */
+    @Benchmark
+    public int commonFollowers() {
+        int i = cursor++ & (userStream.length - 1);
+        return graph.countCommonFollowers(userStream[i], otherStream[i]);
+    }
+
+    @Benchmark
+    public long[] suggest() {
+        return graph.suggest(userStream[cursor++ & (userStream.length - 1)], SUGGEST_LIMIT, MAX_FANOUT);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(FollowGraphBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
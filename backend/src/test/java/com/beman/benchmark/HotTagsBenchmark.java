@@ -0,0 +1,79 @@
+package com.beman.benchmark;
+
+import com.beman.util.TrendingCounter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 热门标签基准测试：计数器写入和前 K 查询耗时
+ * 运行方式：mvn test-compile 后执行本类 main 方法
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HotTagsBenchmark {
+
+    /**
+     * 标签种类远多于容量，按近似齐夫分布抽取，模拟少数热门标签加大量长尾标签
+     */
+    private static final int TAG_SPACE = 100000;
+
+    @Param({"1000"})
+    private int capacity;
+
+    private TrendingCounter counter;
+    private String[] stream;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        stream = new String[1 << 16];
+        for (int i = 0; i < stream.length; i++) {
+            double u = random.nextDouble();
+            stream[i] = "标签" + (int) (TAG_SPACE * u * u * u * u);
+        }
+        counter = new TrendingCounter(capacity, TimeUnit.HOURS.toMillis(1), System.currentTimeMillis());
+        for (String tag : stream) {
+            counter.add(tag, 1, System.currentTimeMillis());
+        }
+    }
+
+    @Benchmark
+    public void record() {
+        counter.add(stream[cursor++ & (stream.length - 1)], 1, System.currentTimeMillis());
+    }
+
+    @Benchmark
+    public List<TrendingCounter.Entry> top10() {
+        return counter.top(10, System.currentTimeMillis());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(HotTagsBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,111 @@
+package com.beman.benchmark;
+
+import com.beman.util.KeywordMatcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 关键词匹配基准测试：原逐词 contains 循环 vs Aho-Corasick 自动机
+ * 运行方式：mvn test-compile 后执行本类 main 方法
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KeywordMatcherBenchmark {
+
+    /**
+     * 常用汉字区间，用于生成随机关键词和正文
+     */
+    private static final int CJK_START = 0x4E00;
+    private static final int CJK_RANGE = 3000;
+
+    @Param({"20", "2000", "50000"})
+    private int keywordCount;
+
+    @Param({"2000"})
+    private int textLength;
+
+    private Set<String> keywords;
+    private KeywordMatcher matcher;
+    private String text;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        keywords = new HashSet<>();
+        while (keywords.size() < keywordCount) {
+            keywords.add(randomText(random, 2 + random.nextInt(3)));
+        }
+        matcher = KeywordMatcher.compile(keywords);
+
+        // 正文随机生成，并穿插少量真实关键词
+        List<String> sample = new ArrayList<>(keywords);
+        StringBuilder builder = new StringBuilder(textLength);
+        while (builder.length() < textLength) {
+            builder.append(randomText(random, 20));
+            builder.append(sample.get(random.nextInt(sample.size())));
+        }
+        text = builder.toString();
+    }
+
+    private static String randomText(Random random, int length) {
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append((char) (CJK_START + random.nextInt(CJK_RANGE)));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 原实现：对每个关键词调用一次 contains
+     */
+    @Benchmark
+    public int containsLoop() {
+        String lowerContent = text.toLowerCase();
+        int count = 0;
+        for (String keyword : keywords) {
+            if (lowerContent.contains(keyword.toLowerCase())) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 自动机：一次扫描得到全部命中
+     */
+    @Benchmark
+    public int automaton() {
+        return matcher.match(text).getCounts().size();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(KeywordMatcherBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,88 @@
+package com.beman.benchmark;
+
+import com.beman.util.InvertedIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Collections;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 帖子搜索基准测试：倒排索引在百万级帖子下的关键词检索耗时
+ * 运行方式：mvn test-compile 后执行本类 main 方法（百万文档需要约 4G 堆）
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class PostSearchBenchmark {
+
+    /**
+     * 常用汉字区间，按近似齐夫分布抽字，使高频字与低频字并存
+     */
+    private static final int CJK_START = 0x4E00;
+    private static final int CJK_RANGE = 3000;
+
+    private static final String[] QUERIES = {"冷战", "主动沟通", "分手以后", "情绪管理技巧"};
+
+    @Param({"100000", "1000000"})
+    private int postCount;
+
+    @Param({"120"})
+    private int contentLength;
+
+    private InvertedIndex index;
+    private int queryIndex;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        index = new InvertedIndex();
+        for (long id = 1; id <= postCount; id++) {
+            StringBuilder content = new StringBuilder(contentLength + 8);
+            while (content.length() < contentLength) {
+                content.append(randomChar(random));
+            }
+            // 约 2% 的帖子包含查询词
+            if (random.nextInt(50) == 0) {
+                content.insert(random.nextInt(contentLength), QUERIES[random.nextInt(QUERIES.length)]);
+            }
+            index.put(id, content.substring(0, 12), content.toString(), Collections.emptyList(), 1);
+        }
+    }
+
+    private static char randomChar(Random random) {
+        double u = random.nextDouble();
+        return (char) (CJK_START + (int) (CJK_RANGE * u * u * u));
+    }
+
+    @Benchmark
+    public int search() {
+        String query = QUERIES[queryIndex++ & (QUERIES.length - 1)];
+        return index.search(query, null, null, 0, 20).getTotal();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(PostSearchBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,80 @@
+package com.beman.benchmark;
+
+import com.beman.model.AuditDictionary;
+import com.beman.util.KeywordMatcher;
+import com.beman.util.TextNormalizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 文本归一化开销基准测试：直接匹配原文 vs 归一化后匹配
+ * 运行方式：mvn test-compile 后执行本类 main 方法
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TextNormalizerBenchmark {
+
+    private static final String FRAGMENTS = "今天和他又吵架了，冷战三天，我真的很失望。 He said: \"OK\"! ＰＵＡ 分 手？";
+
+    @Param({"200", "2000"})
+    private int textLength;
+
+    private KeywordMatcher matcher;
+    private String text;
+
+    @Setup
+    public void setUp() {
+        matcher = AuditDictionary.defaults().getMatcher();
+        Random random = new Random(42);
+        StringBuilder builder = new StringBuilder(textLength);
+        while (builder.length() < textLength) {
+            int from = random.nextInt(FRAGMENTS.length() - 10);
+            builder.append(FRAGMENTS, from, from + 10);
+        }
+        text = builder.substring(0, textLength);
+    }
+
+    /**
+     * 直接匹配原文
+     */
+    @Benchmark
+    public int matchRaw() {
+        return matcher.match(text).getHits().size();
+    }
+
+    /**
+     * 归一化后匹配
+     */
+    @Benchmark
+    public int matchNormalized() {
+        TextNormalizer.Buffer buffer = TextNormalizer.normalize(text);
+        return matcher.match(buffer.getChars(), buffer.getLength(), buffer.getOffsets()).getHits().size();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(TextNormalizerBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
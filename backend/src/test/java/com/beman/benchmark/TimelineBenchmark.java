@@ -0,0 +1,236 @@
+package com.beman.benchmark;
+
+import com.beman.util.TimelineMerger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * 关注时间线基准测试：粉丝数高度倾斜时，混合扇出与全量写扩散、全量读扩散的发帖和读取耗时
+ * 时间线和发帖记录用内存环形数组模拟数据库中的表，写入条数与真实扇出一致，读取走同一个归并实现
+ * 运行方式：mvn test-compile 后执行本类 main 方法
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+public class TimelineBenchmark {
+
+    private static final int USERS = 50000;
+    private static final int FOLLOWS_PER_USER = 50;
+    private static final int SEED_POSTS = 200000;
+    private static final int TIMELINE_CAPACITY = 200;
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"5000"})
+    private int celebrityThreshold;
+
+    private int[][] followers;
+    private int[][] followees;
+    private int[][] followedCelebrities;
+    private boolean[] celebrity;
+    private Ring[] timelines;
+    private Ring[] outboxes;
+    private int[] authorStream;
+    private int[] celebrityStream;
+    private int[] readerStream;
+    private long nextPostId;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+
+        // 被关注者按 u^4 抽取，少数账号拥有绝大多数粉丝，长尾账号只有几个粉丝
+        List<List<Integer>> followerLists = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            followerLists.add(new ArrayList<>());
+        }
+        followees = new int[USERS][];
+        for (int user = 0; user < USERS; user++) {
+            Set<Integer> chosen = new LinkedHashSet<>();
+            while (chosen.size() < FOLLOWS_PER_USER) {
+                double u = random.nextDouble();
+                int target = (int) (USERS * u * u * u * u);
+                if (target != user) {
+                    chosen.add(target);
+                }
+            }
+            followees[user] = chosen.stream().mapToInt(Integer::intValue).toArray();
+            for (int target : chosen) {
+                followerLists.get(target).add(user);
+            }
+        }
+        followers = new int[USERS][];
+        celebrity = new boolean[USERS];
+        for (int i = 0; i < USERS; i++) {
+            followers[i] = followerLists.get(i).stream().mapToInt(Integer::intValue).toArray();
+            celebrity[i] = followers[i].length >= celebrityThreshold;
+        }
+        followedCelebrities = new int[USERS][];
+        for (int user = 0; user < USERS; user++) {
+            followedCelebrities[user] = Arrays.stream(followees[user]).filter(id -> celebrity[id]).toArray();
+        }
+
+        timelines = new Ring[USERS];
+        outboxes = new Ring[USERS];
+        for (int i = 0; i < USERS; i++) {
+            timelines[i] = new Ring(TIMELINE_CAPACITY);
+            outboxes[i] = new Ring(TIMELINE_CAPACITY);
+        }
+
+        authorStream = new int[1 << 16];
+        readerStream = new int[1 << 16];
+        for (int i = 0; i < authorStream.length; i++) {
+            authorStream[i] = random.nextInt(USERS);
+            readerStream[i] = random.nextInt(USERS);
+        }
+        int[] celebrities = IntStream.range(0, USERS).filter(id -> celebrity[id]).toArray();
+        celebrityStream = new int[1 << 10];
+        for (int i = 0; i < celebrityStream.length; i++) {
+            celebrityStream[i] = celebrities[random.nextInt(celebrities.length)];
+        }
+        for (int i = 0; i < SEED_POSTS; i++) {
+            publish(authorStream[i & (authorStream.length - 1)], true);
+        }
+    }
+
+    /**
+     * 混合扇出发帖：大V只写自己的发帖记录
+     */
+    @Benchmark
+    public int publishHybrid() {
+        return publish(authorStream[cursor++ & (authorStream.length - 1)], true);
+    }
+
+    /**
+     * 全量写扩散发帖：大V也写入每个粉丝的时间线
+     */
+    @Benchmark
+    public int publishPushAll() {
+        return publish(authorStream[cursor++ & (authorStream.length - 1)], false);
+    }
+
+    /**
+     * 只看大V发帖：混合扇出
+     */
+    @Benchmark
+    public int publishCelebrityHybrid() {
+        return publish(celebrityStream[cursor++ & (celebrityStream.length - 1)], true);
+    }
+
+    /**
+     * 只看大V发帖：全量写扩散
+     */
+    @Benchmark
+    public int publishCelebrityPushAll() {
+        return publish(celebrityStream[cursor++ & (celebrityStream.length - 1)], false);
+    }
+
+    /**
+     * @return 写入条数
+     */
+    private int publish(int author, boolean hybrid) {
+        long postId = ++nextPostId;
+        outboxes[author].append(postId);
+        if (hybrid && celebrity[author]) {
+            return 1;
+        }
+        for (int follower : followers[author]) {
+            timelines[follower].append(postId);
+        }
+        return followers[author].length + 1;
+    }
+
+    /**
+     * 混合扇出读取：自己的时间线加上关注的大V
+     */
+    @Benchmark
+    public long[] readHybrid() {
+        int reader = readerStream[cursor++ & (readerStream.length - 1)];
+        List<long[]> sources = new ArrayList<>(followedCelebrities[reader].length + 1);
+        sources.add(timelines[reader].latest(PAGE_SIZE + 1));
+        for (int id : followedCelebrities[reader]) {
+            sources.add(outboxes[id].latest(PAGE_SIZE + 1));
+        }
+        return TimelineMerger.merge(sources, null, PAGE_SIZE + 1);
+    }
+
+    /**
+     * 全量读扩散读取：每次合并所有关注者的发帖记录
+     */
+    @Benchmark
+    public long[] readPullAll() {
+        int reader = readerStream[cursor++ & (readerStream.length - 1)];
+        List<long[]> sources = new ArrayList<>(followees[reader].length);
+        for (int id : followees[reader]) {
+            sources.add(outboxes[id].latest(PAGE_SIZE + 1));
+        }
+        return TimelineMerger.merge(sources, null, PAGE_SIZE + 1);
+    }
+
+    /**
+     * 定长环形数组，模拟按容量裁剪的时间线
+     */
+    private static final class Ring {
+
+        private final long[] ids;
+        private int size;
+        private int head;
+
+        private Ring(int capacity) {
+            this.ids = new long[capacity];
+        }
+
+        private void append(long id) {
+            ids[head] = id;
+            head = (head + 1) % ids.length;
+            if (size < ids.length) {
+                size++;
+            }
+        }
+
+        /**
+         * 最新的若干条，按ID倒序
+         */
+        private long[] latest(int limit) {
+            int count = Math.min(limit, size);
+            long[] result = new long[count];
+            for (int i = 0; i < count; i++) {
+                result[i] = ids[(head - 1 - i + ids.length) % ids.length];
+            }
+            return result;
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(TimelineBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,201 @@
+package com.beman.config;
+
+import cn.dev33.satoken.dao.SaTokenDao;
+import cn.dev33.satoken.session.SaSession;
+import com.beman.support.LocalRedisServer;
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.protocol.ProtocolVersion;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * sa-token Redis 会话持久层测试：两个节点连接同一个本地 Redis 替身，验证登录状态共享和 token 近缓存
+ */
+@DisplayName("sa-token Redis会话持久层测试")
+class SaTokenRedisDaoTest {
+
+    private static final String TOKEN_KEY = "beman-token:login:token:abc";
+    private static final String SESSION_KEY = "beman-token:login:session:1001";
+
+    private LocalRedisServer server;
+    private LettuceConnectionFactory factoryA;
+    private LettuceConnectionFactory factoryB;
+    private RedisMessageListenerContainer containerB;
+    private StringRedisTemplate redisTemplate;
+    private SaTokenRedisDao nodeA;
+    private SaTokenRedisDao nodeB;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new LocalRedisServer();
+        factoryA = connect();
+        factoryB = connect();
+        redisTemplate = new StringRedisTemplate(factoryA);
+        nodeA = new SaTokenRedisDao(redisTemplate, 1000, 5000);
+        nodeB = new SaTokenRedisDao(new StringRedisTemplate(factoryB), 1000, 5000);
+        containerB = new RedisConfig().saTokenInvalidationContainer(factoryB, nodeB);
+        containerB.afterPropertiesSet();
+        containerB.start();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        containerB.destroy();
+        factoryA.destroy();
+        factoryB.destroy();
+        server.close();
+    }
+
+    @Test
+    @DisplayName("测试一个节点登录后另一个节点可读取token和会话")
+    void testSessionSharedAcrossNodes() {
+        SaSession session = new SaSession(SESSION_KEY);
+        session.getDataMap().put("nickname", "alice");
+        nodeA.set(TOKEN_KEY, "1001", 3600);
+        nodeA.setObject(SESSION_KEY, session, 3600);
+
+        assertEquals("1001", nodeB.get(TOKEN_KEY));
+        SaSession shared = (SaSession) nodeB.getObject(SESSION_KEY);
+        assertEquals(SESSION_KEY, shared.getId());
+        assertEquals("alice", shared.get("nickname"));
+        assertTrue(nodeB.getTimeout(TOKEN_KEY) > 3590 && nodeB.getTimeout(TOKEN_KEY) <= 3600);
+        assertTrue(nodeB.getObjectTimeout(SESSION_KEY) > 3590);
+    }
+
+    @Test
+    @DisplayName("测试token命中近缓存时不访问Redis")
+    void testNearCacheHit() {
+        // 节点A没有订阅失效通知，自己写入时异步发出的通知不会清掉随后加载的近缓存
+        nodeA.set(TOKEN_KEY, "1001", 3600);
+        assertEquals("1001", nodeA.get(TOKEN_KEY));
+
+        // 绕过持久层直接删除，近缓存仍然命中
+        redisTemplate.delete(TOKEN_KEY);
+
+        assertEquals("1001", nodeA.get(TOKEN_KEY));
+        assertNull(new SaTokenRedisDao(redisTemplate, 1000, 0).get(TOKEN_KEY), "关闭近缓存时直接读Redis");
+    }
+
+    @Test
+    @DisplayName("测试一个节点注销后另一个节点的近缓存随之失效")
+    void testLogoutInvalidatesOtherNode() throws Exception {
+        nodeA.set(TOKEN_KEY, "1001", 3600);
+        assertEquals("1001", nodeB.get(TOKEN_KEY));
+
+        nodeA.delete(TOKEN_KEY);
+
+        assertNull(nodeA.get(TOKEN_KEY));
+        assertTrue(awaitNull(nodeB, TOKEN_KEY), "失效通知应在近缓存过期前到达");
+    }
+
+    @Test
+    @DisplayName("测试近缓存不超过token剩余有效期")
+    void testNearCacheBoundedByTtl() throws Exception {
+        nodeA.set(TOKEN_KEY, "1001", 1);
+        assertEquals("1001", nodeB.get(TOKEN_KEY));
+
+        Thread.sleep(1100);
+
+        assertNull(nodeB.get(TOKEN_KEY));
+    }
+
+    @Test
+    @DisplayName("测试一个节点修改有效期后另一个节点的近缓存随之失效")
+    void testUpdateTimeoutInvalidatesOtherNode() throws Exception {
+        // 直接写入 Redis，不产生失效通知，节点B随后加载的近缓存只会被修改有效期的通知清掉
+        redisTemplate.opsForValue().set(TOKEN_KEY, "1001");
+        assertEquals("1001", nodeB.get(TOKEN_KEY));
+
+        // 强制在 1 秒后过期，节点B的近缓存按永不过期可保留 5 秒
+        nodeA.updateTimeout(TOKEN_KEY, 1);
+        Thread.sleep(1100);
+
+        assertNull(nodeB.get(TOKEN_KEY));
+    }
+
+    @Test
+    @DisplayName("测试修改值保留有效期，键不存在时不写入")
+    void testUpdateKeepsTtl() throws Exception {
+        nodeA.set(TOKEN_KEY, "1001", 100);
+        assertEquals("1001", nodeB.get(TOKEN_KEY));
+
+        // 被顶下线
+        nodeA.update(TOKEN_KEY, "-4");
+        nodeA.update("beman-token:login:token:missing", "-4");
+
+        assertEquals("-4", nodeA.get(TOKEN_KEY));
+        assertTrue(nodeA.getTimeout(TOKEN_KEY) > 90 && nodeA.getTimeout(TOKEN_KEY) <= 100);
+        assertEquals(SaTokenDao.NOT_VALUE_EXPIRE, nodeA.getTimeout("beman-token:login:token:missing"));
+        assertTrue(awaitValue(nodeB, TOKEN_KEY, "-4"));
+    }
+
+    @Test
+    @DisplayName("测试永不过期和修改有效期")
+    void testTimeouts() {
+        nodeA.set(TOKEN_KEY, "1001", SaTokenDao.NEVER_EXPIRE);
+        assertEquals(SaTokenDao.NEVER_EXPIRE, nodeA.getTimeout(TOKEN_KEY));
+
+        nodeA.updateTimeout(TOKEN_KEY, 50);
+        assertTrue(nodeA.getTimeout(TOKEN_KEY) > 45 && nodeA.getTimeout(TOKEN_KEY) <= 50);
+
+        nodeA.updateTimeout(TOKEN_KEY, SaTokenDao.NEVER_EXPIRE);
+        assertEquals(SaTokenDao.NEVER_EXPIRE, nodeA.getTimeout(TOKEN_KEY));
+
+        // 有效期为 0 时不写入
+        nodeA.set("beman-token:login:token:zero", "1002", 0);
+        assertNull(nodeA.get("beman-token:login:token:zero"));
+    }
+
+    @Test
+    @DisplayName("测试按前缀和关键字分页查询")
+    void testSearchData() {
+        for (String token : Arrays.asList("a1", "a2", "b1", "a3")) {
+            nodeA.set("beman-token:login:token:" + token, "1001", 3600);
+        }
+
+        assertEquals(Arrays.asList("beman-token:login:token:a1", "beman-token:login:token:a2"),
+                nodeB.searchData("beman-token:login:token:", "a", 0, 2, true));
+        assertEquals(Collections.singletonList("beman-token:login:token:a3"),
+                nodeB.searchData("beman-token:login:token:", "a", 2, 2, true));
+        assertEquals(Collections.singletonList("beman-token:login:token:b1"),
+                nodeB.searchData("beman-token:login:token:", "b", 0, 10, false));
+    }
+
+    private LettuceConnectionFactory connect() {
+        LettuceClientConfiguration clientConfiguration = LettuceClientConfiguration.builder()
+                .clientOptions(ClientOptions.builder().protocolVersion(ProtocolVersion.RESP2).build())
+                .build();
+        LettuceConnectionFactory factory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration("localhost", server.getPort()), clientConfiguration);
+        factory.afterPropertiesSet();
+        return factory;
+    }
+
+    private boolean awaitNull(SaTokenRedisDao dao, String key) throws InterruptedException {
+        return awaitValue(dao, key, null);
+    }
+
+    private boolean awaitValue(SaTokenRedisDao dao, String key, String expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 2000;
+        while (System.currentTimeMillis() < deadline) {
+            String value = dao.get(key);
+            if (expected == null ? value == null : expected.equals(value)) {
+                return true;
+            }
+            Thread.sleep(10);
+        }
+        return false;
+    }
+}
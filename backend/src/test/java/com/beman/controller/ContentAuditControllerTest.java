@@ -1,6 +1,8 @@
 package com.beman.controller;
 
 import com.beman.model.AuditResult;
+import com.beman.service.AuditCacheService;
+import com.beman.service.AuditDictionaryService;
 import com.beman.service.ContentAuditService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -30,6 +32,12 @@ class ContentAuditControllerTest {
     @MockBean
     private ContentAuditService contentAuditService;
 
+    @MockBean
+    private AuditDictionaryService auditDictionaryService;
+
+    @MockBean
+    private AuditCacheService auditCacheService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
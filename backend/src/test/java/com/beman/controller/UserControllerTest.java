@@ -0,0 +1,96 @@
+package com.beman.controller;
+
+import com.beman.model.dto.UserLoginDTO;
+import com.beman.service.UserService;
+import org.apache.catalina.filters.RemoteIpFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.config.YamlPropertiesFactoryBean;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockFilterConfig;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 用户控制器登录取客户端IP测试
+ * 按 application.yml 中的受信任代理配置构造与 Tomcat RemoteIpValve 同一实现的过滤器，验证部署在负载均衡后时按真实IP限流
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("用户控制器测试")
+class UserControllerTest {
+
+    private static final String LOGIN_BODY = "{\"username\":\"alice\",\"password\":\"123456\"}";
+
+    @Mock
+    private UserService userService;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        YamlPropertiesFactoryBean yaml = new YamlPropertiesFactoryBean();
+        yaml.setResources(new ClassPathResource("application.yml"));
+        Properties properties = yaml.getObject();
+        assertEquals("native", properties.getProperty("server.forward-headers-strategy"));
+
+        MockFilterConfig filterConfig = new MockFilterConfig();
+        filterConfig.addInitParameter("internalProxies", properties.getProperty("server.tomcat.remoteip.internal-proxies"));
+        filterConfig.addInitParameter("remoteIpHeader", properties.getProperty("server.tomcat.remoteip.remote-ip-header"));
+        RemoteIpFilter remoteIpFilter = new RemoteIpFilter();
+        remoteIpFilter.init(filterConfig);
+
+        mockMvc = MockMvcBuilders.standaloneSetup(new UserController(userService))
+                .addFilters(remoteIpFilter)
+                .build();
+        when(userService.login(any(UserLoginDTO.class), any())).thenReturn("token");
+    }
+
+    @Test
+    @DisplayName("测试经负载均衡转发时按X-Forwarded-For中的客户端IP登录")
+    void testLoginBehindProxy() throws Exception {
+        mockMvc.perform(post("/api/user/login")
+                        .with(request -> {
+                            request.setRemoteAddr("100.64.3.2");
+                            return request;
+                        })
+                        .header("X-Forwarded-For", "203.0.113.7")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(LOGIN_BODY))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.token").value("token"));
+
+        verify(userService).login(any(UserLoginDTO.class), eq("203.0.113.7"));
+    }
+
+    @Test
+    @DisplayName("测试非受信任来源伪造的X-Forwarded-For不生效")
+    void testForgedHeaderIgnored() throws Exception {
+        mockMvc.perform(post("/api/user/login")
+                        .with(request -> {
+                            request.setRemoteAddr("198.51.100.9");
+                            return request;
+                        })
+                        .header("X-Forwarded-For", "203.0.113.7")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(LOGIN_BODY))
+                .andExpect(status().isOk());
+
+        verify(userService).login(any(UserLoginDTO.class), eq("198.51.100.9"));
+    }
+}
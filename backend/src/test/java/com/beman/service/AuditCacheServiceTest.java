@@ -0,0 +1,138 @@
+package com.beman.service;
+
+import com.beman.model.AuditResult;
+import com.beman.service.impl.AuditCacheServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+/**
+ * 审核结果缓存服务单元测试
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("审核结果缓存服务测试")
+class AuditCacheServiceTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("测试相同内容命中本地缓存")
+    void testLocalHit() {
+        AuditCacheService cacheService = new AuditCacheServiceImpl(null, objectMapper, 100, 60, false, 60);
+        AtomicInteger loads = new AtomicInteger();
+
+        AuditResult first = cacheService.get("v1", "我想分手", text -> {
+            loads.incrementAndGet();
+            return new AuditResult(true, "建议");
+        });
+        AuditResult second = cacheService.get("v1", "我想分手", text -> {
+            loads.incrementAndGet();
+            return new AuditResult(true, "建议");
+        });
+
+        assertEquals(1, loads.get(), "相同内容只应该计算一次");
+        assertTrue(second.isExtreme());
+        assertNotSame(first, second, "应该返回副本");
+
+        Map<String, Object> stats = cacheService.getStats();
+        assertEquals(1L, stats.get("hitCount"));
+        assertEquals(1L, stats.get("missCount"));
+    }
+
+    @Test
+    @DisplayName("测试词库版本变化时重新计算")
+    void testVersionInKey() {
+        AuditCacheService cacheService = new AuditCacheServiceImpl(null, objectMapper, 100, 60, false, 60);
+        AtomicInteger loads = new AtomicInteger();
+
+        cacheService.get("v1", "今天很开心", text -> new AuditResult(false, null));
+        cacheService.get("v2", "今天很开心", text -> {
+            loads.incrementAndGet();
+            return new AuditResult(false, null);
+        });
+
+        assertEquals(1, loads.get(), "不同词库版本不应该共用缓存");
+    }
+
+    @Test
+    @DisplayName("测试容量超限时淘汰并计数")
+    void testEviction() {
+        AuditCacheService cacheService = new AuditCacheServiceImpl(null, objectMapper, 10, 60, false, 60);
+
+        for (int i = 0; i < 200; i++) {
+            cacheService.get("v1", "内容" + i, text -> new AuditResult(false, null));
+        }
+        // Caffeine 异步维护淘汰，读取统计前先触发清理
+        cacheService.get("v1", "内容0", text -> new AuditResult(false, null));
+
+        Map<String, Object> stats = cacheService.getStats();
+        assertTrue((Long) stats.get("evictionCount") > 0, "应该发生淘汰");
+        assertTrue((Long) stats.get("size") <= 200);
+    }
+
+    @Test
+    @DisplayName("测试Redis二级缓存命中")
+    void testRedisHit() throws Exception {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get(startsWith("beman:audit:result:v1:")))
+                .thenReturn(objectMapper.writeValueAsString(new AuditResult(true, "来自Redis")));
+        AuditCacheService cacheService = new AuditCacheServiceImpl(redisTemplate, objectMapper, 100, 60, true, 60);
+
+        AuditResult result = cacheService.get("v1", "我想分手", text -> {
+            throw new AssertionError("Redis命中时不应该计算");
+        });
+
+        assertEquals("来自Redis", result.getSuggestion());
+        assertTrue(result.isExtreme());
+        assertEquals(1L, cacheService.getStats().get("redisHitCount"));
+    }
+
+    @Test
+    @DisplayName("测试Redis未命中时计算并回写")
+    void testRedisMissWritesBack() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get(anyString())).thenReturn(null);
+        AuditCacheService cacheService = new AuditCacheServiceImpl(redisTemplate, objectMapper, 100, 60, true, 120);
+
+        AuditResult result = cacheService.get("v1", "今天很开心", text -> new AuditResult(false, null));
+
+        assertFalse(result.isExtreme());
+        verify(valueOperations).set(startsWith("beman:audit:result:v1:"), anyString(), eq(120L), eq(TimeUnit.SECONDS));
+        assertEquals(1L, cacheService.getStats().get("redisMissCount"));
+    }
+
+    @Test
+    @DisplayName("测试Redis异常时降级为直接计算")
+    void testRedisFailure() {
+        when(redisTemplate.opsForValue()).thenThrow(new RuntimeException("connection refused"));
+        AuditCacheService cacheService = new AuditCacheServiceImpl(redisTemplate, objectMapper, 100, 60, true, 60);
+
+        AuditResult result = cacheService.get("v1", "我想分手", text -> new AuditResult(true, "建议"));
+
+        assertTrue(result.isExtreme());
+        assertEquals(2L, cacheService.getStats().get("redisErrorCount"));
+        verify(valueOperations, never()).set(anyString(), anyString(), anyLong(), any(TimeUnit.class));
+    }
+}
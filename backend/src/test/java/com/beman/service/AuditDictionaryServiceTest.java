@@ -0,0 +1,145 @@
+package com.beman.service;
+
+import com.beman.mapper.AuditKeywordMapper;
+import com.beman.mapper.AuditSuggestionTemplateMapper;
+import com.beman.model.AuditDictionary;
+import com.beman.model.AuditKeyword;
+import com.beman.model.AuditSuggestionTemplate;
+import com.beman.service.impl.AuditDictionaryServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * 审核词库服务单元测试
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("审核词库服务测试")
+class AuditDictionaryServiceTest {
+
+    @Mock
+    private AuditKeywordMapper auditKeywordMapper;
+
+    @Mock
+    private AuditSuggestionTemplateMapper auditSuggestionTemplateMapper;
+
+    private AuditDictionaryService auditDictionaryService;
+
+    @BeforeEach
+    void setUp() {
+        auditDictionaryService = new AuditDictionaryServiceImpl(auditKeywordMapper, auditSuggestionTemplateMapper);
+    }
+
+    @Test
+    @DisplayName("测试未加载时使用内置词库")
+    void testDefaultDictionary() {
+        AuditDictionary dictionary = auditDictionaryService.current();
+
+        assertSame(AuditDictionary.defaults(), dictionary, "未加载时应该使用内置词库");
+        assertTrue(dictionary.getExtremeKeywords().contains("分手"));
+        assertTrue(dictionary.getMatcher().match("我想分手").contains("分手"));
+    }
+
+    @Test
+    @DisplayName("测试加载新词库并切换版本")
+    void testReloadSwapsDictionary() {
+        when(auditKeywordMapper.selectList(any())).thenReturn(Arrays.asList(
+                keyword("摆烂", 1, 1), keyword("emo", 2, 2)));
+        when(auditSuggestionTemplateMapper.selectList(any())).thenReturn(Collections.singletonList(
+                template("摆烂", "先休息一下，再想想下一步？", 1)));
+        String previousVersion = auditDictionaryService.current().getVersion();
+
+        boolean changed = auditDictionaryService.reload();
+
+        AuditDictionary dictionary = auditDictionaryService.current();
+        assertTrue(changed, "词库内容变化时应该切换");
+        assertNotEquals(previousVersion, dictionary.getVersion(), "版本应该变化");
+        assertTrue(dictionary.getMatcher().match("最近很EMO").contains("emo"), "新敏感词应该生效且不区分大小写");
+        assertEquals(2, dictionary.getSensitiveWeights().get("emo"), "权重应该被加载");
+        assertArrayEquals(new String[]{"先休息一下，再想想下一步？"}, dictionary.getSuggestionTemplates().get("摆烂"));
+        assertFalse(dictionary.getMatcher().match("我想分手").contains("分手"), "旧词库中的词不应该再命中");
+        assertTrue(dictionary.getMemoryBytes() > 0, "应该记录内存估算");
+    }
+
+    @Test
+    @DisplayName("测试跳过未填写场景或内容的建议模板")
+    void testReloadSkipsBlankTemplates() {
+        when(auditKeywordMapper.selectList(any())).thenReturn(Collections.singletonList(keyword("摆烂", 1, 1)));
+        when(auditSuggestionTemplateMapper.selectList(any())).thenReturn(Arrays.asList(
+                template(null, "先休息一下", 1),
+                template("  ", "先休息一下", 2),
+                template("摆烂", null, 3),
+                template(" 摆烂 ", "再想想下一步？", 4)));
+
+        assertTrue(assertDoesNotThrow(() -> auditDictionaryService.reload()));
+
+        AuditDictionary dictionary = auditDictionaryService.current();
+        assertEquals(Collections.singleton("摆烂"), dictionary.getSuggestionTemplates().keySet());
+        assertArrayEquals(new String[]{"再想想下一步？"}, dictionary.getSuggestionTemplates().get("摆烂"));
+    }
+
+    @Test
+    @DisplayName("测试版本未变化时不切换")
+    void testReloadSameVersion() {
+        when(auditKeywordMapper.selectList(any())).thenReturn(Collections.singletonList(keyword("摆烂", 1, 1)));
+        when(auditSuggestionTemplateMapper.selectList(any())).thenReturn(Collections.emptyList());
+
+        assertTrue(auditDictionaryService.reload());
+        AuditDictionary loaded = auditDictionaryService.current();
+
+        assertFalse(auditDictionaryService.reload(), "版本未变化时不应该切换");
+        assertSame(loaded, auditDictionaryService.current(), "应该保留原快照");
+    }
+
+    @Test
+    @DisplayName("测试归一化后才相同的词库不重复切换")
+    void testReloadSameVersionAfterNormalize() {
+        when(auditKeywordMapper.selectList(any())).thenReturn(Arrays.asList(
+                keyword("離 婚", 1, 1), keyword("ＥＭＯ", 2, 2), keyword("emo", 2, 2)));
+        when(auditSuggestionTemplateMapper.selectList(any())).thenReturn(Collections.singletonList(
+                template("離婚", "先冷静一下", 1)));
+
+        assertTrue(auditDictionaryService.reload());
+        AuditDictionary loaded = auditDictionaryService.current();
+
+        assertFalse(auditDictionaryService.reload(), "归一化后内容相同，不应该重建");
+        assertSame(loaded, auditDictionaryService.current());
+    }
+
+    @Test
+    @DisplayName("测试数据库词库为空时保留当前词库")
+    void testReloadEmptyKeepsCurrent() {
+        when(auditKeywordMapper.selectList(any())).thenReturn(Collections.emptyList());
+
+        assertFalse(auditDictionaryService.reload());
+        assertSame(AuditDictionary.defaults(), auditDictionaryService.current());
+    }
+
+    private AuditKeyword keyword(String word, int type, int weight) {
+        AuditKeyword keyword = new AuditKeyword();
+        keyword.setWord(word);
+        keyword.setType(type);
+        keyword.setWeight(weight);
+        keyword.setStatus(1);
+        return keyword;
+    }
+
+    private AuditSuggestionTemplate template(String scene, String content, int priority) {
+        AuditSuggestionTemplate template = new AuditSuggestionTemplate();
+        template.setScene(scene);
+        template.setContent(content);
+        template.setPriority(priority);
+        template.setStatus(1);
+        return template;
+    }
+}
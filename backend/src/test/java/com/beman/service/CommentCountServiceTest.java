@@ -0,0 +1,127 @@
+package com.beman.service;
+
+import com.beman.event.CommentEvent;
+import com.beman.mapper.PostMapper;
+import com.beman.model.Post;
+import com.beman.service.impl.CommentCountServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 帖子评论数服务单元测试
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("帖子评论数服务测试")
+class CommentCountServiceTest {
+
+    @Mock
+    private PostMapper postMapper;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private CommentCountService commentCountService;
+
+    @BeforeEach
+    void setUp() {
+        commentCountService = new CommentCountServiceImpl(postMapper, null, 500, 100, 300, 60000, false);
+    }
+
+    @Test
+    @DisplayName("测试评论事件合并为一次批量更新")
+    void testCoalescedFlush() {
+        for (long i = 1; i <= 10; i++) {
+            commentCountService.onCommentEvent(CommentEvent.created(i, 1L));
+        }
+        commentCountService.onCommentEvent(CommentEvent.deleted(1L, 1L));
+        commentCountService.onCommentEvent(CommentEvent.created(11L, 2L));
+        commentCountService.onCommentEvent(CommentEvent.deleted(11L, 2L));
+        commentCountService.onCommentEvent(CommentEvent.created(12L, 3L));
+        verifyNoInteractions(postMapper);
+
+        assertEquals(2, commentCountService.flush());
+
+        Map<Long, Long> expected = new HashMap<>();
+        expected.put(1L, 9L);
+        expected.put(3L, 1L);
+        verify(postMapper).increaseCommentCounts(expected);
+        assertEquals(0, commentCountService.flush(), "增量已写回，且互相抵消的帖子不写");
+        verify(postMapper, times(1)).increaseCommentCounts(anyMap());
+    }
+
+    @Test
+    @DisplayName("测试读取评论数不再实时统计，并包含待写回增量")
+    void testReadDenormalizedCount() {
+        Post post = new Post();
+        post.setId(1L);
+        post.setCommentCount(5);
+        when(postMapper.selectCounters(1L)).thenReturn(post);
+        commentCountService.onCommentEvent(CommentEvent.created(100L, 1L));
+
+        assertEquals(6, commentCountService.getCommentCount(1L));
+        assertEquals(0, commentCountService.getCommentCount(2L), "不存在的帖子评论数为0");
+    }
+
+    @Test
+    @DisplayName("测试对账前先写回本节点增量，再分段只修正静默期内无变化的帖子")
+    void testReconcileInChunks() {
+        when(postMapper.selectMaxId()).thenReturn(250L);
+        when(postMapper.reconcileCommentCounts(anyLong(), anyLong(), anyInt())).thenReturn(1);
+        commentCountService.onCommentEvent(CommentEvent.created(1L, 50L));
+
+        assertEquals(3, commentCountService.reconcile());
+
+        verify(postMapper).increaseCommentCounts(Collections.singletonMap(50L, 1L));
+        verify(postMapper).reconcileCommentCounts(1, 100, 300);
+        verify(postMapper).reconcileCommentCounts(101, 200, 300);
+        verify(postMapper).reconcileCommentCounts(201, 300, 300);
+        assertEquals(0, commentCountService.flush(), "增量已在对账前写回");
+    }
+
+    @Test
+    @DisplayName("测试集群锁被其他节点持有时跳过对账，执行完后按令牌释放")
+    void testReconcileUnderClusterLock() {
+        commentCountService = new CommentCountServiceImpl(postMapper, redisTemplate, 500, 100, 300, 60000, true);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(eq("beman:comment:count:reconcile-lock"), anyString(), eq(60000L), eq(TimeUnit.MILLISECONDS)))
+                .thenReturn(false, true);
+        when(postMapper.selectMaxId()).thenReturn(100L);
+
+        assertEquals(0, commentCountService.reconcile());
+        verifyNoInteractions(postMapper);
+        verify(redisTemplate, never()).execute(any(), anyList(), any());
+
+        commentCountService.reconcile();
+        verify(postMapper).reconcileCommentCounts(1, 100, 300);
+        verify(redisTemplate).execute(any(), eq(Collections.singletonList("beman:comment:count:reconcile-lock")), anyString());
+    }
+
+    @Test
+    @DisplayName("测试写回失败时增量保留到下次")
+    void testRetryAfterFailure() {
+        doThrow(new RuntimeException("数据库不可用")).doReturn(1).when(postMapper).increaseCommentCounts(anyMap());
+        commentCountService.onCommentEvent(CommentEvent.created(1L, 1L));
+
+        assertEquals(0, commentCountService.flush());
+        assertEquals(1, commentCountService.flush());
+        verify(postMapper, times(2)).increaseCommentCounts(anyMap());
+    }
+}
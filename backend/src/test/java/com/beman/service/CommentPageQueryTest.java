@@ -0,0 +1,218 @@
+package com.beman.service;
+
+import cn.dev33.satoken.stp.StpLogic;
+import cn.dev33.satoken.stp.StpUtil;
+import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.beman.mapper.CommentMapper;
+import com.beman.model.dto.CommentQueryDTO;
+import com.beman.model.vo.CommentChildrenCountVO;
+import com.beman.model.vo.CommentVO;
+import com.beman.model.vo.CursorPageVO;
+import com.beman.service.impl.CommentServiceImpl;
+import com.beman.util.ReplyCursor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 评论列表查询次数测试
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("评论列表查询次数测试")
+class CommentPageQueryTest {
+
+    private static final long USER_ID = 7L;
+    private static final int REPLIES_PER_COMMENT = 5;
+
+    @Mock
+    private CommentMapper commentMapper;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private ContentModerationService contentModerationService;
+
+    @Mock
+    private CommentCountService commentCountService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private StpLogic stpLogic;
+
+    private CommentService commentService;
+
+    private StpLogic originalStpLogic;
+
+    @BeforeEach
+    void setUp() {
+        // 已登录的请求上下文
+        originalStpLogic = StpUtil.stpLogic;
+        StpUtil.stpLogic = stpLogic;
+        lenient().when(stpLogic.isLogin()).thenReturn(true);
+        lenient().when(stpLogic.getLoginIdAsLong()).thenReturn(USER_ID);
+
+        commentService = new CommentServiceImpl(commentMapper, userService, contentModerationService,
+                commentCountService, eventPublisher);
+
+        // 每条顶级评论 5 条回复；用户点赞了ID为偶数的评论
+        lenient().when(commentMapper.selectChildrenCounts(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> parentIds = invocation.getArgument(0);
+            return parentIds.stream().map(id -> {
+                CommentChildrenCountVO count = new CommentChildrenCountVO();
+                count.setParentId(id);
+                count.setChildrenCount(REPLIES_PER_COMMENT);
+                return count;
+            }).collect(Collectors.toList());
+        });
+        lenient().when(commentMapper.selectChildrenWindow(anyCollection(), anyInt())).thenAnswer(invocation -> {
+            Collection<Long> parentIds = invocation.getArgument(0);
+            int limit = invocation.getArgument(1);
+            List<CommentVO> children = new ArrayList<>();
+            for (Long parentId : parentIds) {
+                for (int i = 1; i <= Math.min(REPLIES_PER_COMMENT, limit); i++) {
+                    children.add(comment(parentId * 100 + i, parentId));
+                }
+            }
+            return children;
+        });
+        lenient().when(commentMapper.selectLikedCommentIds(eq(USER_ID), anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(1);
+            return ids.stream().filter(id -> id % 2 == 0).collect(Collectors.toList());
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        StpUtil.stpLogic = originalStpLogic;
+    }
+
+    @Test
+    @DisplayName("测试每页查询次数固定，与评论条数无关")
+    void testConstantQueries() {
+        for (int pageSize : new int[]{1, 20, 100}) {
+            clearInvocations(commentMapper);
+            stubPage(pageSize);
+
+            IPage<CommentVO> page = commentService.getCommentPage(query(pageSize));
+
+            assertEquals(pageSize, page.getRecords().size());
+            assertEquals(4, mockingDetails(commentMapper).getInvocations().size(),
+                    "每页" + pageSize + "条时也应该只有列表、回复数、回复、点赞状态各一次查询");
+        }
+        verify(commentMapper, never()).selectIsLiked(any(), any());
+    }
+
+    @Test
+    @DisplayName("测试回复数、回复和点赞状态正确回填")
+    void testAssembledValues() {
+        stubPage(20);
+
+        CommentVO comment = commentService.getCommentPage(query(20)).getRecords().get(1);
+
+        assertEquals(2L, comment.getId());
+        assertEquals(REPLIES_PER_COMMENT, comment.getChildrenCount());
+        assertTrue(comment.getIsLiked());
+        assertEquals(3, comment.getChildren().size(), "只内嵌前几条回复");
+        assertNotNull(comment.getChildrenCursor(), "还有更多回复时返回继续加载的游标");
+        assertTrue(comment.getChildren().stream().allMatch(child -> child.getParentId().equals(2L)));
+        assertFalse(comment.getChildren().get(0).getIsLiked());
+        assertTrue(comment.getChildren().get(1).getIsLiked());
+    }
+
+    @Test
+    @DisplayName("测试游标分页加载更多回复")
+    void testReplyPaging() {
+        when(commentMapper.selectReplies(eq(1L), any(), eq(3))).thenAnswer(invocation -> {
+            ReplyCursor cursor = invocation.getArgument(1);
+            long start = cursor == null ? 101 : cursor.getId() + 1;
+            List<CommentVO> replies = new ArrayList<>();
+            for (long id = start; id < start + 3 && id <= 105; id++) {
+                CommentVO reply = comment(id, 1L);
+                reply.setCreateTime(LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(id));
+                replies.add(reply);
+            }
+            return replies;
+        });
+
+        CursorPageVO<CommentVO> first = commentService.getReplies(1L, null, 2);
+        assertEquals(Arrays.asList(101L, 102L), ids(first.getRecords()));
+        assertTrue(first.getHasMore());
+        assertTrue(first.getRecords().get(1).getIsLiked());
+
+        CursorPageVO<CommentVO> second = commentService.getReplies(1L, first.getNextCursor(), 2);
+        assertEquals(Arrays.asList(103L, 104L), ids(second.getRecords()));
+
+        CursorPageVO<CommentVO> last = commentService.getReplies(1L, second.getNextCursor(), 2);
+        assertEquals(Collections.singletonList(105L), ids(last.getRecords()));
+        assertFalse(last.getHasMore());
+        assertNull(last.getNextCursor());
+
+        assertThrows(IllegalArgumentException.class, () -> commentService.getReplies(1L, "bad-cursor", 2));
+    }
+
+    private static List<Long> ids(List<CommentVO> comments) {
+        return comments.stream().map(CommentVO::getId).collect(Collectors.toList());
+    }
+
+    @Test
+    @DisplayName("测试未登录时不查询点赞状态")
+    void testAnonymous() {
+        when(stpLogic.isLogin()).thenReturn(false);
+        stubPage(20);
+
+        CommentVO comment = commentService.getCommentPage(query(20)).getRecords().get(0);
+
+        assertNull(comment.getIsLiked());
+        assertEquals(3, mockingDetails(commentMapper).getInvocations().size());
+        verify(commentMapper, never()).selectLikedCommentIds(any(), any());
+    }
+
+    private void stubPage(int size) {
+        doAnswer(invocation -> {
+            Page<CommentVO> page = invocation.getArgument(0);
+            List<CommentVO> records = new ArrayList<>();
+            for (long id = 1; id <= size; id++) {
+                records.add(comment(id, null));
+            }
+            page.setRecords(records);
+            return page;
+        }).when(commentMapper).selectCommentPage(any(), any(), any(), any());
+    }
+
+    private CommentQueryDTO query(int size) {
+        CommentQueryDTO query = new CommentQueryDTO();
+        query.setPostId(1L);
+        query.setSize(size);
+        return query;
+    }
+
+    private CommentVO comment(Long id, Long parentId) {
+        CommentVO comment = new CommentVO();
+        comment.setId(id);
+        comment.setPostId(1L);
+        comment.setParentId(parentId);
+        comment.setContent("评论" + id);
+        return comment;
+    }
+}
@@ -0,0 +1,77 @@
+package com.beman.service;
+
+import com.beman.model.AuditResult;
+import com.beman.service.impl.ContentAuditServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 批量内容审核单元测试
+ */
+@DisplayName("批量内容审核测试")
+class ContentAuditBatchTest {
+
+    private ContentAuditServiceImpl contentAuditService;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+        contentAuditService = new ContentAuditServiceImpl();
+        ReflectionTestUtils.setField(contentAuditService, "auditExecutor", executor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("测试批量结果与逐条审核一致且保持输入顺序")
+    void testBatchKeepsOrder() {
+        List<String> samples = Arrays.asList(
+                "我要和她分手，永远不再见面！",
+                "今天和女朋友一起看了电影，感觉很开心",
+                "今天吵架了，很生气",
+                "最近吵架了，感觉很生气，也很失望，想不开",
+                "");
+        List<String> contents = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            contents.add(samples.get(i % samples.size()) + (i % 7 == 0 ? "" : " #" + i));
+        }
+
+        List<AuditResult> results = contentAuditService.auditBatch(contents);
+
+        assertEquals(contents.size(), results.size(), "结果数量应该与输入一致");
+        for (int i = 0; i < contents.size(); i++) {
+            AuditResult expected = contentAuditService.auditContent(contents.get(i));
+            AuditResult actual = results.get(i);
+            assertEquals(expected.isExtreme(), actual.isExtreme(), "第" + i + "条极端判定应该一致");
+            assertEquals(expected.getRiskLevel(), actual.getRiskLevel(), "第" + i + "条风险等级应该一致");
+            assertEquals(expected.getSuggestion(), actual.getSuggestion(), "第" + i + "条建议应该一致");
+        }
+    }
+
+    @Test
+    @DisplayName("测试未配置线程池时顺序执行")
+    void testBatchWithoutExecutor() {
+        ContentAuditService service = new ContentAuditServiceImpl();
+
+        List<AuditResult> results = service.auditBatch(Arrays.asList("我想分手", "今天很开心"));
+
+        assertEquals(2, results.size());
+        assertTrue(results.get(0).isExtreme());
+        assertFalse(results.get(1).isExtreme());
+    }
+}
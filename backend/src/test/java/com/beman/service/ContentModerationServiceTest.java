@@ -0,0 +1,153 @@
+package com.beman.service;
+
+import com.beman.event.PostChangedEvent;
+import com.beman.event.PostPublishedEvent;
+import com.beman.mapper.CommentMapper;
+import com.beman.mapper.PostMapper;
+import com.beman.model.AuditDictionary;
+import com.beman.model.AuditResult;
+import com.beman.service.impl.ContentModerationServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 发布内容审核流水线单元测试
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("发布内容审核流水线测试")
+class ContentModerationServiceTest {
+
+    @Mock
+    private AuditDictionaryService auditDictionaryService;
+
+    @Mock
+    private ContentAuditService contentAuditService;
+
+    @Mock
+    private PostMapper postMapper;
+
+    @Mock
+    private CommentMapper commentMapper;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private ContentModerationService contentModerationService;
+
+    @BeforeEach
+    void setUp() {
+        when(auditDictionaryService.current()).thenReturn(AuditDictionary.defaults());
+        when(contentAuditService.auditContent(anyString())).thenReturn(result(1, 0));
+        // 同步执行，便于断言
+        contentModerationService = new ContentModerationServiceImpl(auditDictionaryService, contentAuditService,
+                postMapper, commentMapper, Runnable::run, eventPublisher, 2);
+    }
+
+    @Test
+    @DisplayName("测试预检只拦截极端关键词")
+    void testPrecheck() {
+        assertTrue(contentModerationService.precheck("我们分手吧"));
+        assertTrue(contentModerationService.precheck("我们分 手吧"), "规避写法也应该被拦截");
+        assertFalse(contentModerationService.precheck("今天有点生气"), "单个敏感词不应该拦截");
+        assertFalse(contentModerationService.precheck(""));
+        verifyNoInteractions(contentAuditService);
+    }
+
+    @Test
+    @DisplayName("测试攒满一批后合并回写")
+    void testBatchWrite() {
+        contentModerationService.submitPost(1L, "今天天气不错", false);
+        verifyNoInteractions(postMapper);
+
+        contentModerationService.submitPost(2L, "一起去散步", false);
+
+        verify(postMapper).updateAuditResult(Arrays.asList(1L, 2L), 1, 0);
+        verifyNoMoreInteractions(postMapper);
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof PostChangedEvent
+                && ((PostChangedEvent) event).getPostIds().equals(Arrays.asList(1L, 2L))));
+    }
+
+    @Test
+    @DisplayName("测试预检扣留的帖子审核通过后发布")
+    void testHeldPostPublishedAfterApproval() {
+        contentModerationService.submitPost(1L, "今天天气不错", true);
+        contentModerationService.submitPost(2L, "一起去散步", false);
+
+        verify(postMapper).updateAuditResult(Collections.singletonList(1L), 1, 0);
+        verify(postMapper).updateAuditResult(Collections.singletonList(2L), 1, 0);
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof PostPublishedEvent
+                && ((PostPublishedEvent) event).getPostIds().equals(Collections.singletonList(1L))));
+        verify(eventPublisher, times(1)).publishEvent(any(PostPublishedEvent.class));
+    }
+
+    @Test
+    @DisplayName("测试按对象和结论分组回写")
+    void testFlushGroupsOutcomes() {
+        when(contentAuditService.auditContent("我们分手吧")).thenReturn(result(2, 2));
+
+        contentModerationService.submitPost(1L, "我们分手吧", false);
+        contentModerationService.submitComment(5L, "我们分手吧");
+        contentModerationService.submitComment(6L, "说得对");
+
+        assertEquals(1, contentModerationService.flush(), "前两条已在攒满时回写");
+        verify(postMapper).updateAuditResult(Collections.singletonList(1L), 0, 2);
+        verify(commentMapper).updateAuditResult(Collections.singletonList(5L), 2, 2);
+        verify(commentMapper).updateAuditResult(Collections.singletonList(6L), 0, 0);
+        assertEquals(0, contentModerationService.flush(), "没有待回写结果");
+    }
+
+    @Test
+    @DisplayName("测试事务提交后才执行审核")
+    void testSubmitAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            contentModerationService.submitComment(5L, "说得对");
+            verifyNoInteractions(contentAuditService);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(contentAuditService).auditContent("说得对");
+        assertEquals(1, contentModerationService.flush());
+    }
+
+    @Test
+    @DisplayName("测试队列满时不影响写入")
+    void testRejectedDoesNotThrow() {
+        contentModerationService = new ContentModerationServiceImpl(auditDictionaryService, contentAuditService,
+                postMapper, commentMapper, task -> {
+                    throw new RejectedExecutionException();
+                }, eventPublisher, 2);
+
+        assertDoesNotThrow(() -> contentModerationService.submitPost(1L, "今天天气不错", false));
+        verifyNoInteractions(contentAuditService);
+        assertEquals(0, contentModerationService.flush());
+    }
+
+    private AuditResult result(int auditStatus, int riskLevel) {
+        AuditResult result = new AuditResult(auditStatus == 2, null);
+        result.setAuditStatus(auditStatus);
+        result.setRiskLevel(riskLevel);
+        return result;
+    }
+}
@@ -0,0 +1,193 @@
+package com.beman.service;
+
+import com.beman.mapper.UserFollowMapper;
+import com.beman.mapper.UserMapper;
+import com.beman.model.UserFollow;
+import com.beman.service.impl.FollowGraphServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 关注关系图服务单元测试
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("关注关系图服务测试")
+class FollowGraphServiceTest {
+
+    @Mock
+    private UserFollowMapper userFollowMapper;
+
+    @Mock
+    private UserMapper userMapper;
+
+    private FollowGraphService followGraphService;
+
+    @BeforeEach
+    void setUp() {
+        // 每批读取 2 行，累积 3 条变化后合并
+        followGraphService = new FollowGraphServiceImpl(userFollowMapper, userMapper, null, false, true, 2, 100, 3);
+    }
+
+    @Test
+    @DisplayName("测试首次加载前未就绪")
+    void testNotReadyBeforeRebuild() {
+        assertFalse(followGraphService.isReady());
+        assertTrue(followGraphService.getMutualFollowIds(1L).isEmpty());
+        assertTrue(followGraphService.suggest(1L, 10).isEmpty());
+        followGraphService.onFollow(1L, 2L);
+        verifyNoInteractions(userFollowMapper, userMapper);
+    }
+
+    @Test
+    @DisplayName("测试分批加载用户和关注关系")
+    void testRebuildInBatches() {
+        loadGraph();
+
+        assertTrue(followGraphService.isReady());
+        verify(userMapper).selectIdsAfter(2L, 2);
+        verify(userFollowMapper).selectEdges(0L, 0L, 2);
+        verify(userFollowMapper).selectEdges(1L, 3L, 2);
+        verify(userFollowMapper).selectEdges(2L, 3L, 2);
+        verify(userFollowMapper).selectEdges(3L, 4L, 2);
+        assertEquals(Arrays.asList(2L, 3L), followGraphService.getMutualFollowIds(1L));
+        assertEquals(Collections.singletonList(4L), followGraphService.suggest(1L, 10));
+    }
+
+    @Test
+    @DisplayName("测试增量叠加后互关和共同粉丝精确")
+    void testDeltaApplied() {
+        loadGraph();
+
+        followGraphService.onUnfollow(3L, 1L);
+        followGraphService.onFollow(4L, 1L);
+        followGraphService.onFollow(1L, 4L);
+
+        assertEquals(Arrays.asList(2L, 4L), followGraphService.getMutualFollowIds(1L));
+        // 粉丝：1 ← 2、4；2 ← 1；3 ← 1、2
+        assertEquals(0, followGraphService.countCommonFollowers(1L, 2L));
+        assertEquals(1, followGraphService.countCommonFollowers(2L, 3L));
+        assertEquals(1, followGraphService.countCommonFollowers(1L, 3L), "2 同时关注了 1 和 3");
+        assertTrue(followGraphService.suggest(1L, 10).isEmpty(), "已关注的人不再推荐");
+    }
+
+    @Test
+    @DisplayName("测试重新加载后增量合并")
+    void testRebuildMergesDelta() {
+        loadGraph();
+        followGraphService.onFollow(1L, 4L);
+
+        // 数据库中已经包含新的关注关系
+        when(userMapper.selectIdsAfter(anyLong(), anyInt()))
+                .thenReturn(Arrays.asList(1L, 2L, 3L, 4L))
+                .thenReturn(Collections.emptyList());
+        when(userFollowMapper.selectEdges(anyLong(), anyLong(), anyInt()))
+                .thenReturn(edges(1, 2, 1, 3, 1, 4))
+                .thenReturn(Collections.emptyList());
+        assertEquals(3, followGraphService.rebuild());
+
+        assertEquals(Collections.emptyList(), followGraphService.getMutualFollowIds(1L));
+        assertTrue(followGraphService.suggest(1L, 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("测试增量达到阈值后在内存中合并，不重新读数据库")
+    void testCompactFoldsDelta() {
+        loadGraph();
+        followGraphService.onUnfollow(3L, 1L);
+        followGraphService.onFollow(4L, 1L);
+        assertEquals(0, followGraphService.compact(), "未达到阈值不合并");
+
+        // 5 是加载后注册的用户
+        followGraphService.onFollow(5L, 1L);
+        followGraphService.onFollow(1L, 5L);
+        assertEquals(8, followGraphService.compact());
+
+        assertEquals(Arrays.asList(2L, 5L), followGraphService.getMutualFollowIds(1L));
+        assertEquals(1, followGraphService.countCommonFollowers(1L, 3L), "2 同时关注了 1 和 3");
+        assertEquals(0, followGraphService.compact(), "合并后增量清空");
+        verify(userFollowMapper, times(4)).selectEdges(anyLong(), anyLong(), anyInt());
+
+        followGraphService.onUnfollow(5L, 1L);
+        assertEquals(Collections.singletonList(2L), followGraphService.getMutualFollowIds(1L));
+    }
+
+    @Test
+    @DisplayName("测试关注增量广播给其他节点")
+    void testDeltaBroadcastAcrossNodes() {
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        followGraphService = new FollowGraphServiceImpl(userFollowMapper, userMapper, redisTemplate, true, true, 2, 100, 3);
+        FollowGraphService otherNode = new FollowGraphServiceImpl(userFollowMapper, userMapper, redisTemplate, true, true, 2, 100, 3);
+        loadGraph();
+
+        followGraphService.onFollow(4L, 1L);
+        followGraphService.onFollow(1L, 4L);
+
+        ArgumentCaptor<String> messages = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate, times(2)).convertAndSend(eq(FollowGraphServiceImpl.DELTA_CHANNEL), messages.capture());
+        // 自己广播的增量已在本地计入，收到后跳过
+        messages.getAllValues().forEach(followGraphService::onRemoteDelta);
+        assertEquals(Arrays.asList(2L, 3L, 4L), followGraphService.getMutualFollowIds(1L));
+
+        // 另一个节点加载的图中没有这两条关注关系，收到广播后可见
+        followGraphService = otherNode;
+        loadGraph();
+        assertEquals(Arrays.asList(2L, 3L), otherNode.getMutualFollowIds(1L));
+        messages.getAllValues().forEach(otherNode::onRemoteDelta);
+        assertEquals(Arrays.asList(2L, 3L, 4L), otherNode.getMutualFollowIds(1L));
+
+        otherNode.onRemoteDelta("broken");
+        assertEquals(Arrays.asList(2L, 3L, 4L), otherNode.getMutualFollowIds(1L));
+    }
+
+    @Test
+    @DisplayName("测试关闭后不加载")
+    void testDisabled() {
+        followGraphService = new FollowGraphServiceImpl(userFollowMapper, userMapper, null, false, false, 2, 100, 3);
+
+        assertEquals(0, followGraphService.rebuild());
+        assertFalse(followGraphService.isReady());
+        verifyNoInteractions(userFollowMapper, userMapper);
+    }
+
+    /**
+     * 1 ↔ 2，1 ↔ 3，2 → 3，3 → 4
+     */
+    private void loadGraph() {
+        when(userMapper.selectIdsAfter(anyLong(), anyInt()))
+                .thenReturn(Arrays.asList(1L, 2L))
+                .thenReturn(Arrays.asList(3L, 4L))
+                .thenReturn(Collections.emptyList());
+        when(userFollowMapper.selectEdges(anyLong(), anyLong(), anyInt()))
+                .thenReturn(edges(1, 2, 1, 3))
+                .thenReturn(edges(2, 1, 2, 3))
+                .thenReturn(edges(3, 1, 3, 4))
+                .thenReturn(Collections.emptyList());
+        assertEquals(6, followGraphService.rebuild());
+    }
+
+    private List<UserFollow> edges(long... pairs) {
+        List<UserFollow> edges = new ArrayList<>();
+        for (int i = 0; i < pairs.length; i += 2) {
+            UserFollow edge = new UserFollow();
+            edge.setFollowerId(pairs[i]);
+            edge.setFollowingId(pairs[i + 1]);
+            edges.add(edge);
+        }
+        return edges;
+    }
+}
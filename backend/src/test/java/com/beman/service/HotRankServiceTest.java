@@ -0,0 +1,207 @@
+package com.beman.service;
+
+import com.beman.event.CommentEvent;
+import com.beman.event.PostChangedEvent;
+import com.beman.mapper.PostMapper;
+import com.beman.model.Post;
+import com.beman.service.impl.HotRankServiceImpl;
+import com.beman.util.RankCursor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 帖子热度榜服务单元测试
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("帖子热度榜服务测试")
+class HotRankServiceTest {
+
+    @Mock
+    private PostMapper postMapper;
+
+    @Mock
+    private ViewCountService viewCountService;
+
+    private HotRankService hotRankService;
+
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        hotRankService = new HotRankServiceImpl(postMapper, viewCountService, new ObjectMapper(), 3, 100, 7, 1.8, 2);
+        now = LocalDateTime.now();
+    }
+
+    @Test
+    @DisplayName("测试首次构建前未就绪")
+    void testNotReadyBeforeRebuild() {
+        assertFalse(hotRankService.isReady());
+        assertTrue(hotRankService.next(null, null, null, 10).isEmpty());
+        assertEquals(0, hotRankService.refresh());
+        verifyNoInteractions(postMapper);
+    }
+
+    @Test
+    @DisplayName("测试互动越多越靠前，发布越久越靠后")
+    void testRankingByPointsAndAge() {
+        when(postMapper.selectHotCandidates(any(), eq(100))).thenReturn(Arrays.asList(
+                post(1L, 2, 10, 0),
+                post(2L, 2, 50, 0),
+                post(3L, 48, 50, 0)));
+
+        assertEquals(3, hotRankService.rebuild());
+
+        assertEquals(Arrays.asList(2L, 1L, 3L), ids(hotRankService.next(null, null, null, 10)),
+                "同龄帖子按互动排序，两天前的帖子互动相同也应该靠后");
+    }
+
+    @Test
+    @DisplayName("测试游标翻页不重复不遗漏")
+    void testCursorPaging() {
+        when(postMapper.selectHotCandidates(any(), anyInt())).thenReturn(Arrays.asList(
+                post(1L, 1, 5, 0), post(2L, 1, 5, 0), post(3L, 1, 1, 0)));
+        hotRankService.rebuild();
+
+        List<RankCursor> first = hotRankService.next(null, null, null, 2);
+        List<RankCursor> second = hotRankService.next(first.get(1), null, null, 2);
+
+        assertEquals(Arrays.asList(2L, 1L), ids(first), "热度相同按ID倒序");
+        assertEquals(Collections.singletonList(3L), ids(second));
+    }
+
+    @Test
+    @DisplayName("测试翻页期间刷新名次变化时仍在同一代榜单中继续")
+    void testCursorStableAcrossRefresh() {
+        when(postMapper.selectHotCandidates(any(), anyInt())).thenReturn(Arrays.asList(
+                post(1L, 1, 9, 0), post(2L, 1, 5, 0), post(3L, 1, 1, 0)));
+        hotRankService.rebuild();
+        List<RankCursor> first = hotRankService.next(null, null, null, 1);
+
+        // 3 号升到榜首，1 号掉到末尾
+        when(postMapper.selectRankFieldsByIds(anyList())).thenReturn(Arrays.asList(
+                post(1L, 1, 0, 0), post(3L, 1, 20, 0)));
+        hotRankService.markDirty(1L);
+        hotRankService.markDirty(3L);
+        hotRankService.refresh();
+
+        assertEquals(Collections.singletonList(1L), ids(first));
+        assertEquals(Arrays.asList(2L, 3L), ids(hotRankService.next(first.get(0), null, null, 10)),
+                "同一代内翻页不应该重复也不应该遗漏");
+        assertEquals(Arrays.asList(3L, 2L, 1L), ids(hotRankService.next(null, null, null, 10)),
+                "新的首页读取最新一代");
+    }
+
+    @Test
+    @DisplayName("测试游标所在代已淘汰时按排序键在当前代继续")
+    void testExpiredGenerationFallsBack() {
+        when(postMapper.selectHotCandidates(any(), anyInt())).thenReturn(Arrays.asList(
+                post(1L, 1, 9, 0), post(2L, 1, 5, 0), post(3L, 1, 1, 0)));
+        hotRankService.rebuild();
+        RankCursor cursor = hotRankService.next(null, null, null, 1).get(0);
+
+        // 保留两代，再刷新两次后第一代被淘汰
+        when(postMapper.selectRankFieldsByIds(anyList())).thenReturn(Collections.singletonList(post(2L, 1, 5, 0)));
+        for (int i = 0; i < 2; i++) {
+            hotRankService.markDirty(2L);
+            hotRankService.refresh();
+        }
+
+        List<RankCursor> next = hotRankService.next(cursor, null, null, 10);
+        assertEquals(Arrays.asList(2L, 3L), ids(next));
+        assertEquals(cursor.getGeneration() + 2, next.get(0).getGeneration());
+    }
+
+    @Test
+    @DisplayName("测试按内容类型和标签过滤")
+    void testFilters() {
+        Post voice = post(1L, 1, 9, 0);
+        voice.setContentType(2);
+        Post tagged = post(2L, 1, 5, 0);
+        tagged.setTags("[\"沟通技巧\",\"冷战化解\"]");
+        when(postMapper.selectHotCandidates(any(), anyInt())).thenReturn(Arrays.asList(voice, tagged, post(3L, 1, 1, 0)));
+        hotRankService.rebuild();
+
+        assertEquals(Collections.singletonList(1L), ids(hotRankService.next(null, 2, null, 10)));
+        assertEquals(Collections.singletonList(2L),
+                ids(hotRankService.next(null, null, Arrays.asList("冷战化解", "不存在"), 10)));
+    }
+
+    @Test
+    @DisplayName("测试增量刷新更新名次并移出不可见帖子")
+    void testRefreshDirtyPosts() {
+        when(postMapper.selectHotCandidates(any(), anyInt())).thenReturn(Arrays.asList(
+                post(1L, 1, 5, 0), post(2L, 1, 3, 0)));
+        hotRankService.rebuild();
+
+        Post hidden = post(1L, 1, 5, 0);
+        hidden.setStatus(0);
+        Post fresh = post(4L, 0, 0, 0);
+        when(postMapper.selectRankFieldsByIds(anyList())).thenReturn(Arrays.asList(
+                hidden, post(2L, 1, 3, 20), fresh));
+
+        hotRankService.onPostChanged(PostChangedEvent.of(1L));
+        hotRankService.onCommentEvent(CommentEvent.created(100L, 2L));
+        hotRankService.markDirty(4L);
+        assertEquals(3, hotRankService.refresh());
+
+        assertEquals(Arrays.asList(2L, 4L), ids(hotRankService.next(null, null, null, 10)));
+        assertEquals(0, hotRankService.refresh(), "已处理的帖子不应该重复刷新");
+    }
+
+    @Test
+    @DisplayName("测试超出容量时保留热度最高的帖子")
+    void testCapacity() {
+        List<Post> posts = new ArrayList<>();
+        for (long id = 1; id <= 5; id++) {
+            posts.add(post(id, 1, (int) id, 0));
+        }
+        when(postMapper.selectHotCandidates(any(), anyInt())).thenReturn(posts);
+
+        assertEquals(3, hotRankService.rebuild());
+        assertEquals(Arrays.asList(5L, 4L, 3L), ids(hotRankService.next(null, null, null, 10)));
+    }
+
+    @Test
+    @DisplayName("测试浏览次数包含待写回的增量")
+    void testPendingViewsCounted() {
+        when(postMapper.selectHotCandidates(any(), anyInt())).thenReturn(Arrays.asList(
+                post(1L, 1, 0, 0), post(2L, 1, 0, 0)));
+        when(viewCountService.getPending(anyLong())).thenAnswer(invocation ->
+                invocation.<Long>getArgument(0) == 1L ? 100L : 0L);
+        hotRankService.rebuild();
+
+        assertEquals(1L, hotRankService.next(null, null, null, 1).get(0).getId());
+    }
+
+    private Post post(Long id, int ageHours, int likes, int comments) {
+        Post post = new Post();
+        post.setId(id);
+        post.setStatus(1);
+        post.setContentType(1);
+        post.setLikeCount(likes);
+        post.setCommentCount(comments);
+        post.setViewCount(0);
+        post.setCreateTime(now.minusHours(ageHours));
+        return post;
+    }
+
+    private List<Long> ids(List<RankCursor> positions) {
+        return positions.stream().map(RankCursor::getId).collect(Collectors.toList());
+    }
+}
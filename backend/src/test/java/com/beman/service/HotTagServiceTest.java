@@ -0,0 +1,107 @@
+package com.beman.service;
+
+import com.beman.mapper.TagMapper;
+import com.beman.model.Post;
+import com.beman.model.Tag;
+import com.beman.service.impl.HotTagServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * 热门标签服务单元测试
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("热门标签服务测试")
+class HotTagServiceTest {
+
+    @Mock
+    private TagMapper tagMapper;
+
+    @TempDir
+    Path tempDir;
+
+    private HotTagService hotTagService;
+
+    @BeforeEach
+    void setUp() {
+        hotTagService = newService();
+    }
+
+    @Test
+    @DisplayName("测试发帖、浏览、点赞按权重累加热度")
+    void testRecordAndRank() {
+        hotTagService.recordPublish(Collections.singletonList("冷战化解"));
+        for (int i = 0; i < 3; i++) {
+            hotTagService.recordLike(post("[\"沟通技巧\"]"));
+        }
+        hotTagService.recordView(post("[\"沟通技巧\",\"情绪管理\"]"));
+
+        assertEquals(Arrays.asList("沟通技巧", "冷战化解", "情绪管理"), hotTagService.getHotTags("hour", 3));
+        assertEquals(Arrays.asList("沟通技巧", "冷战化解"), hotTagService.getHotTags("week", 2));
+        verify(tagMapper, never()).selectList(any());
+    }
+
+    @Test
+    @DisplayName("测试热度不足时用标签字典补足")
+    void testFallbackToDictionary() {
+        when(tagMapper.selectList(any())).thenReturn(Arrays.asList(tag("关系经营"), tag("冷战化解")));
+        hotTagService.recordPublish(Collections.singletonList("冷战化解"));
+
+        assertEquals(Arrays.asList("冷战化解", "关系经营"), hotTagService.getHotTags("day", 5));
+        hotTagService.getHotTags("day", 5);
+        verify(tagMapper, times(1)).selectList(any());
+    }
+
+    @Test
+    @DisplayName("测试快照恢复后热度保留")
+    void testSnapshotRestore() {
+        lenient().when(tagMapper.selectList(any())).thenReturn(Collections.emptyList());
+        hotTagService.recordPublish(Arrays.asList("自我提升", "挽回经验"));
+        hotTagService.recordLike(post("[\"挽回经验\"]"));
+        hotTagService.snapshot();
+
+        HotTagServiceImpl restarted = newService();
+        restarted.restore();
+
+        List<String> hotTags = restarted.getHotTags("week", 2);
+        assertEquals(Arrays.asList("挽回经验", "自我提升"), hotTags);
+    }
+
+    @Test
+    @DisplayName("测试无效时间窗口")
+    void testInvalidWindow() {
+        assertThrows(IllegalArgumentException.class, () -> hotTagService.getHotTags("month", 10));
+    }
+
+    private HotTagServiceImpl newService() {
+        return new HotTagServiceImpl(tagMapper, new ObjectMapper(), 100,
+                tempDir.resolve("hot-tags.json").toString());
+    }
+
+    private Post post(String tags) {
+        Post post = new Post();
+        post.setTags(tags);
+        return post;
+    }
+
+    private Tag tag(String name) {
+        Tag tag = new Tag();
+        tag.setName(name);
+        return tag;
+    }
+}
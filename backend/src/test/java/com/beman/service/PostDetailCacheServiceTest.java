@@ -0,0 +1,222 @@
+package com.beman.service;
+
+import com.beman.event.PostChangedEvent;
+import com.beman.mapper.PostMapper;
+import com.beman.model.Post;
+import com.beman.service.impl.PostDetailCacheServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * 帖子详情缓存服务单元测试
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("帖子详情缓存服务测试")
+class PostDetailCacheServiceTest {
+
+    @Mock
+    private PostMapper postMapper;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Test
+    @DisplayName("测试并发未命中只回源一次")
+    void testConcurrentMissesCoalesced() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        when(postMapper.selectById(1L)).thenAnswer(invocation -> {
+            loading.await(1, TimeUnit.SECONDS);
+            return post(1L, 1);
+        });
+        when(postMapper.selectCounters(1L)).thenReturn(counters(1L, 10, 2, 3));
+        PostDetailCacheService cacheService = localOnly();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Post>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(executor.submit(() -> cacheService.get(1L)));
+            }
+            loading.countDown();
+            for (Future<Post> future : futures) {
+                assertEquals("标题1", future.get(5, TimeUnit.SECONDS).getTitle());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verify(postMapper, times(1)).selectById(1L);
+    }
+
+    @Test
+    @DisplayName("测试正文叠加计数并返回副本")
+    void testCountersOverlaidOnCopy() {
+        when(postMapper.selectById(1L)).thenReturn(post(1L, 1));
+        when(postMapper.selectCounters(1L)).thenReturn(counters(1L, 10, 2, 3));
+        PostDetailCacheService cacheService = localOnly();
+
+        Post first = cacheService.get(1L);
+        assertEquals(10, first.getViewCount());
+        assertEquals(2, first.getLikeCount());
+        assertEquals(3, first.getCommentCount());
+        assertNull(first.getAuthorName(), "正文缓存不包含作者资料");
+
+        first.setTitle("被调用方修改");
+        assertEquals("标题1", cacheService.get(1L).getTitle(), "调用方修改不应该影响缓存");
+        verify(postMapper, times(1)).selectById(1L);
+        verify(postMapper, times(1)).selectCounters(1L);
+    }
+
+    @Test
+    @DisplayName("测试计数失效不重新加载正文")
+    void testInvalidateCountersKeepsBody() {
+        when(postMapper.selectById(1L)).thenReturn(post(1L, 1));
+        when(postMapper.selectCounters(1L)).thenReturn(counters(1L, 10, 2, 3), counters(1L, 10, 3, 3));
+        PostDetailCacheService cacheService = localOnly();
+
+        cacheService.get(1L);
+        cacheService.invalidateCounters(1L);
+
+        assertEquals(3, cacheService.get(1L).getLikeCount());
+        verify(postMapper, times(1)).selectById(1L);
+        verify(postMapper, times(2)).selectCounters(1L);
+    }
+
+    @Test
+    @DisplayName("测试不可见帖子返回空并缓存空值，变更事件后重新加载")
+    void testHiddenPostCachedUntilChanged() {
+        when(postMapper.selectById(1L)).thenReturn(post(1L, 0), post(1L, 1));
+        lenient().when(postMapper.selectCounters(1L)).thenReturn(counters(1L, 0, 0, 0));
+        PostDetailCacheService cacheService = localOnly();
+
+        assertNull(cacheService.get(1L), "审核中的帖子不应该返回");
+        assertNull(cacheService.get(1L));
+        verify(postMapper, times(1)).selectById(1L);
+
+        cacheService.onPostChanged(PostChangedEvent.of(1L));
+
+        assertNotNull(cacheService.get(1L), "审核通过后应该可见");
+        verify(postMapper, times(2)).selectById(1L);
+    }
+
+    @Test
+    @DisplayName("测试Redis二级缓存命中不查询数据库")
+    void testRedisHit() throws Exception {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get("beman:post:detail:1")).thenReturn(objectMapper.writeValueAsString(post(1L, 1)));
+        when(postMapper.selectCounters(1L)).thenReturn(counters(1L, 10, 2, 3));
+        PostDetailCacheService cacheService = withRedis();
+
+        assertEquals("标题1", cacheService.get(1L).getTitle());
+        verify(postMapper, never()).selectById(anyLong());
+    }
+
+    @Test
+    @DisplayName("测试Redis未命中时回写，失效时删除并广播")
+    void testRedisWriteAndInvalidate() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(postMapper.selectById(1L)).thenReturn(post(1L, 1));
+        when(postMapper.selectCounters(1L)).thenReturn(counters(1L, 10, 2, 3));
+        PostDetailCacheService cacheService = withRedis();
+
+        cacheService.get(1L);
+        verify(valueOperations).set(eq("beman:post:detail:1"), anyString(), eq(60L), eq(TimeUnit.SECONDS));
+
+        cacheService.invalidate(1L);
+        verify(redisTemplate).delete("beman:post:detail:1");
+        verify(redisTemplate).convertAndSend(PostDetailCacheServiceImpl.INVALIDATION_CHANNEL, "1");
+
+        cacheService.get(1L);
+        verify(postMapper, times(2)).selectById(1L);
+    }
+
+    @Test
+    @DisplayName("测试Redis异常时降级为本地缓存")
+    void testRedisFailureFallsBack() {
+        when(redisTemplate.opsForValue()).thenThrow(new IllegalStateException("连接失败"));
+        when(postMapper.selectById(1L)).thenReturn(post(1L, 1));
+        when(postMapper.selectCounters(1L)).thenReturn(counters(1L, 10, 2, 3));
+        PostDetailCacheService cacheService = withRedis();
+
+        assertEquals("标题1", cacheService.get(1L).getTitle());
+        assertEquals("标题1", cacheService.get(1L).getTitle());
+        verify(postMapper, times(1)).selectById(1L);
+    }
+
+    @Test
+    @DisplayName("测试不存在或不可见的帖子只短暂缓存")
+    void testNegativeEntryExpiresSooner() throws Exception {
+        when(postMapper.selectById(1L)).thenReturn(post(1L, 0));
+        when(postMapper.selectById(2L)).thenReturn(post(2L, 1));
+        when(postMapper.selectCounters(2L)).thenReturn(counters(2L, 10, 2, 3));
+        PostDetailCacheService cacheService = new PostDetailCacheServiceImpl(postMapper, null, objectMapper,
+                100, 60, 1, 60, false, 60);
+
+        assertNull(cacheService.get(1L));
+        assertNull(cacheService.get(1L));
+        assertNotNull(cacheService.get(2L));
+        verify(postMapper, times(1)).selectById(1L);
+
+        Thread.sleep(1100);
+
+        assertNull(cacheService.get(1L));
+        assertNotNull(cacheService.get(2L));
+        verify(postMapper, times(2)).selectById(1L);
+        verify(postMapper, times(1)).selectById(2L);
+    }
+
+    private PostDetailCacheService localOnly() {
+        return new PostDetailCacheServiceImpl(postMapper, null, objectMapper, 100, 60, 60, 60, false, 60);
+    }
+
+    private PostDetailCacheService withRedis() {
+        return new PostDetailCacheServiceImpl(postMapper, redisTemplate, objectMapper, 100, 60, 60, 60, true, 60);
+    }
+
+    private Post post(Long id, int status) {
+        Post post = new Post();
+        post.setId(id);
+        post.setUserId(100L);
+        post.setTitle("标题" + id);
+        post.setContent("内容" + id);
+        post.setStatus(status);
+        post.setViewCount(99);
+        post.setCreateTime(LocalDateTime.of(2024, 1, 1, 12, 0));
+        return post;
+    }
+
+    private Post counters(Long id, int views, int likes, int comments) {
+        Post post = new Post();
+        post.setId(id);
+        post.setViewCount(views);
+        post.setLikeCount(likes);
+        post.setCommentCount(comments);
+        return post;
+    }
+}
@@ -0,0 +1,231 @@
+package com.beman.service;
+
+import cn.dev33.satoken.SaManager;
+import cn.dev33.satoken.context.SaTokenContext;
+import com.beman.mapper.PostMapper;
+import com.beman.model.Post;
+import com.beman.model.dto.PostQueryDTO;
+import com.beman.model.vo.CursorPageVO;
+import com.beman.service.impl.PostServiceImpl;
+import com.beman.util.PostCursor;
+import com.beman.util.RankCursor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 帖子流游标分页测试
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("帖子流游标分页测试")
+class PostFeedTest {
+
+    @Mock
+    private PostMapper postMapper;
+
+    @Mock
+    private ContentModerationService contentModerationService;
+
+    @Mock
+    private PostSearchService postSearchService;
+
+    @Mock
+    private TagService tagService;
+
+    @Mock
+    private HotTagService hotTagService;
+
+    @Mock
+    private ViewCountService viewCountService;
+
+    @Mock
+    private PostLikeService postLikeService;
+
+    @Mock
+    private PostDetailCacheService postDetailCacheService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private HotRankService hotRankService;
+
+    @Mock
+    private TimelineService timelineService;
+
+    @Mock
+    private UserCacheService userCacheService;
+
+    private PostService postService;
+
+    private SaTokenContext originalContext;
+
+    @BeforeEach
+    void setUp() {
+        // 未登录的请求上下文
+        originalContext = SaManager.getSaTokenContext();
+        SaManager.setSaTokenContext(mock(SaTokenContext.class, RETURNS_DEEP_STUBS));
+
+        postService = new PostServiceImpl(postMapper, new ObjectMapper(),
+                contentModerationService, userCacheService, postSearchService, tagService, hotTagService, viewCountService, postLikeService,
+                postDetailCacheService, eventPublisher, hotRankService, timelineService);
+        lenient().when(userCacheService.getAll(anyCollection())).thenReturn(Collections.emptyMap());
+    }
+
+    @AfterEach
+    void tearDown() {
+        SaManager.setSaTokenContext(originalContext);
+    }
+
+    @Test
+    @DisplayName("测试首页多取一条判断是否有下一页")
+    void testFirstPage() {
+        when(postMapper.selectPostFeed(any(), any(), any(), isNull(), eq(11))).thenReturn(posts(1, 11));
+
+        CursorPageVO<Post> feed = postService.getPostFeed(query(null));
+
+        assertEquals(10, feed.getRecords().size());
+        assertTrue(feed.getHasMore());
+        assertNotNull(feed.getNextCursor());
+        verify(postMapper, never()).selectPostPage(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("测试游标携带上一页最后一条的排序键")
+    void testNextPageUsesCursor() {
+        when(postMapper.selectPostFeed(any(), any(), any(), any(), anyInt()))
+                .thenReturn(posts(1, 11))
+                .thenReturn(posts(11, 3));
+
+        CursorPageVO<Post> first = postService.getPostFeed(query(null));
+        CursorPageVO<Post> second = postService.getPostFeed(query(first.getNextCursor()));
+
+        ArgumentCaptor<PostCursor> captor = ArgumentCaptor.forClass(PostCursor.class);
+        verify(postMapper, times(2)).selectPostFeed(any(), any(), any(), captor.capture(), anyInt());
+        PostCursor cursor = captor.getAllValues().get(1);
+        Post last = first.getRecords().get(9);
+        assertEquals(last.getId(), cursor.getId());
+        assertEquals(last.getCreateTime(), cursor.getCreateTime());
+        assertEquals(last.getIsTop(), cursor.getIsTop());
+
+        assertEquals(3, second.getRecords().size());
+        assertFalse(second.getHasMore());
+        assertNull(second.getNextCursor(), "最后一页不应该返回游标");
+    }
+
+    @Test
+    @DisplayName("测试无效游标")
+    void testInvalidCursor() {
+        assertThrows(IllegalArgumentException.class, () -> postService.getPostFeed(query("not-a-cursor")));
+        verifyNoInteractions(postMapper);
+    }
+
+    @Test
+    @DisplayName("测试标签过滤前先规范化，空元素不传给字典")
+    void testTagsNormalizedBeforeResolve() {
+        List<String> raw = Arrays.asList(" 散步 ", null, "");
+        when(tagService.normalize(raw)).thenReturn(Collections.singletonList("散步"));
+        when(tagService.resolveIds(Collections.singletonList("散步"))).thenReturn(Collections.singletonList(7L));
+        when(postMapper.selectPostFeed(eq(Collections.singletonList(7L)), any(), any(), isNull(), eq(11)))
+                .thenReturn(posts(1, 2));
+
+        PostQueryDTO query = query(null);
+        query.setTags(raw);
+
+        assertEquals(2, postService.getPostFeed(query).getRecords().size());
+        verify(tagService, never()).resolveIds(raw);
+    }
+
+    @Test
+    @DisplayName("测试最热排序按热度榜顺序返回并携带榜单游标")
+    void testHotFeed() {
+        when(hotRankService.isReady()).thenReturn(true);
+        when(tagService.normalize(any())).thenReturn(Collections.emptyList());
+        when(hotRankService.next(any(), isNull(), anyList(), eq(3))).thenReturn(Arrays.asList(
+                new RankCursor(1, 9.0, 7L), new RankCursor(1, 5.0, 3L), new RankCursor(1, 1.0, 5L)), Collections.emptyList());
+        // 批量查询不保证顺序，7号已被隐藏
+        when(postMapper.selectBatchIds(anyCollection())).thenReturn(Arrays.asList(
+                post(3L, 1), post(7L, 0), post(9L, 1)));
+
+        PostQueryDTO query = query(null);
+        query.setSortType(2);
+        query.setSize(2);
+        CursorPageVO<Post> feed = postService.getPostFeed(query);
+
+        assertEquals(1, feed.getRecords().size(), "不可见的帖子应该被过滤");
+        assertEquals(3L, feed.getRecords().get(0).getId());
+        assertTrue(feed.getHasMore());
+        RankCursor next = RankCursor.decode(feed.getNextCursor());
+        assertEquals(3L, next.getId(), "游标应该指向本页最后一条在榜单中的位置");
+        assertEquals(5.0, next.getScore());
+        assertEquals(1, next.getGeneration());
+        verify(postMapper, never()).selectPostFeed(any(), any(), any(), any(), anyInt());
+
+        query.setCursor(feed.getNextCursor());
+        postService.getPostFeed(query);
+        ArgumentCaptor<RankCursor> captor = ArgumentCaptor.forClass(RankCursor.class);
+        verify(hotRankService, times(2)).next(captor.capture(), isNull(), anyList(), eq(3));
+        assertEquals(3L, captor.getAllValues().get(1).getId());
+    }
+
+    @Test
+    @DisplayName("测试热度榜未就绪时按时间排序")
+    void testHotFeedFallsBackBeforeReady() {
+        when(hotRankService.isReady()).thenReturn(false);
+        when(postMapper.selectPostFeed(any(), any(), any(), isNull(), eq(11))).thenReturn(posts(1, 3));
+
+        PostQueryDTO query = query(null);
+        query.setSortType(2);
+
+        assertEquals(3, postService.getPostFeed(query).getRecords().size());
+        verify(hotRankService, never()).next(any(), any(), any(), anyInt());
+    }
+
+    private Post post(Long id, int status) {
+        Post post = new Post();
+        post.setId(id);
+        post.setUserId(1L);
+        post.setStatus(status);
+        return post;
+    }
+
+    private PostQueryDTO query(String cursor) {
+        PostQueryDTO query = new PostQueryDTO();
+        query.setCursor(cursor);
+        return query;
+    }
+
+    /**
+     * 按排序键倒序生成帖子，第一条置顶
+     */
+    private List<Post> posts(int from, int count) {
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 12, 0, 0);
+        List<Post> posts = new ArrayList<>();
+        for (int i = from; i < from + count; i++) {
+            Post post = new Post();
+            post.setId(1000L - i);
+            post.setUserId(1L);
+            post.setIsTop(i == 1 ? 1 : 0);
+            post.setCreateTime(base.minusMinutes(i / 2));
+            posts.add(post);
+        }
+        return posts;
+    }
+}
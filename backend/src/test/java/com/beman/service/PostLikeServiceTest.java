@@ -0,0 +1,126 @@
+package com.beman.service;
+
+import com.beman.mapper.PostLikeMapper;
+import com.beman.mapper.PostMapper;
+import com.beman.service.impl.PostLikeServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 帖子点赞服务单元测试
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("帖子点赞服务测试")
+class PostLikeServiceTest {
+
+    private static final int MAX_PER_USER = 3;
+
+    @Mock
+    private PostLikeMapper postLikeMapper;
+
+    @Mock
+    private PostMapper postMapper;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    private PostLikeService postLikeService;
+
+    @BeforeEach
+    void setUp() {
+        postLikeService = new PostLikeServiceImpl(postLikeMapper, postMapper, redisTemplate, true, 10000, MAX_PER_USER, 600);
+    }
+
+    @Test
+    @DisplayName("测试重复点赞和重复取消不改变点赞数")
+    void testIdempotentLike() {
+        when(postLikeMapper.insertIgnore(1L, 7L)).thenReturn(1, 0);
+        when(postLikeMapper.deleteLike(1L, 7L)).thenReturn(1, 0);
+
+        assertTrue(postLikeService.like(1L, 7L));
+        assertFalse(postLikeService.like(1L, 7L));
+        assertTrue(postLikeService.unlike(1L, 7L));
+        assertFalse(postLikeService.unlike(1L, 7L));
+
+        verify(postMapper, times(1)).updateLikeCount(1L, 1);
+        verify(postMapper, times(1)).updateLikeCount(1L, -1);
+    }
+
+    @Test
+    @DisplayName("测试整页点赞状态只查询一次并缓存")
+    void testBatchMembership() {
+        when(postLikeMapper.selectPostIdsByUserId(7L, MAX_PER_USER + 1)).thenReturn(Arrays.asList(3L, 10L, 42L));
+        List<Long> page = LongStream.rangeClosed(1, 50).boxed().collect(Collectors.toList());
+
+        assertEquals(new HashSet<>(Arrays.asList(3L, 10L, 42L)), postLikeService.getLikedPostIds(7L, page));
+        assertTrue(postLikeService.isLiked(7L, 42L));
+        assertFalse(postLikeService.isLiked(7L, 43L));
+
+        verify(postLikeMapper, times(1)).selectPostIdsByUserId(anyLong(), anyInt());
+        verify(postLikeMapper, never()).selectLikedPostIds(any(), any());
+    }
+
+    @Test
+    @DisplayName("测试点赞后失效缓存")
+    void testInvalidateOnLike() {
+        when(postLikeMapper.selectPostIdsByUserId(7L, MAX_PER_USER + 1))
+                .thenReturn(Collections.emptyList(), Collections.singletonList(5L));
+        when(postLikeMapper.insertIgnore(5L, 7L)).thenReturn(1);
+
+        assertFalse(postLikeService.isLiked(7L, 5L));
+        postLikeService.like(5L, 7L);
+        assertTrue(postLikeService.isLiked(7L, 5L));
+        verify(redisTemplate).convertAndSend(PostLikeServiceImpl.INVALIDATION_CHANNEL, "7");
+    }
+
+    @Test
+    @DisplayName("测试收到其他节点的失效通知后重新加载")
+    void testEvictLocal() {
+        when(postLikeMapper.selectPostIdsByUserId(7L, MAX_PER_USER + 1))
+                .thenReturn(Collections.emptyList(), Collections.singletonList(5L));
+
+        assertFalse(postLikeService.isLiked(7L, 5L));
+        postLikeService.evictLocal(7L);
+        assertTrue(postLikeService.isLiked(7L, 5L));
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    @DisplayName("测试点赞过多的用户按页查询")
+    void testHeavyLikerFallsBackToQuery() {
+        when(postLikeMapper.selectPostIdsByUserId(7L, MAX_PER_USER + 1)).thenReturn(Arrays.asList(1L, 2L, 3L, 4L));
+        when(postLikeMapper.selectLikedPostIds(eq(7L), anyCollection())).thenReturn(Collections.singletonList(2L));
+
+        Set<Long> liked = postLikeService.getLikedPostIds(7L, Arrays.asList(2L, 9L));
+        postLikeService.getLikedPostIds(7L, Arrays.asList(2L, 9L));
+
+        assertEquals(Collections.singleton(2L), liked);
+        verify(postLikeMapper, times(1)).selectPostIdsByUserId(anyLong(), anyInt());
+        verify(postLikeMapper, times(2)).selectLikedPostIds(eq(7L), anyCollection());
+    }
+
+    @Test
+    @DisplayName("测试未登录时不查询")
+    void testAnonymous() {
+        assertTrue(postLikeService.getLikedPostIds(null, Arrays.asList(1L, 2L)).isEmpty());
+        assertFalse(postLikeService.isLiked(null, 1L));
+        verifyNoInteractions(postLikeMapper);
+    }
+}
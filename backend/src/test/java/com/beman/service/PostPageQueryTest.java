@@ -0,0 +1,173 @@
+package com.beman.service;
+
+import cn.dev33.satoken.SaManager;
+import cn.dev33.satoken.context.SaTokenContext;
+import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.beman.mapper.PostMapper;
+import com.beman.mapper.UserMapper;
+import com.beman.model.Post;
+import com.beman.model.User;
+import com.beman.model.dto.PostQueryDTO;
+import com.beman.service.impl.PostServiceImpl;
+import com.beman.service.impl.UserCacheServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 帖子列表查询次数测试
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("帖子列表查询次数测试")
+class PostPageQueryTest {
+
+    private static final int PAGE_SIZE = 50;
+    private static final int AUTHOR_COUNT = 10;
+
+    @Mock
+    private PostMapper postMapper;
+
+    @Mock
+    private UserMapper userMapper;
+
+    @Mock
+    private ContentModerationService contentModerationService;
+
+    @Mock
+    private PostSearchService postSearchService;
+
+    @Mock
+    private TagService tagService;
+
+    @Mock
+    private HotTagService hotTagService;
+
+    @Mock
+    private ViewCountService viewCountService;
+
+    @Mock
+    private PostLikeService postLikeService;
+
+    @Mock
+    private PostDetailCacheService postDetailCacheService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private HotRankService hotRankService;
+
+    @Mock
+    private TimelineService timelineService;
+
+    private PostService postService;
+
+    private SaTokenContext originalContext;
+
+    @BeforeEach
+    void setUp() {
+        // 未登录的请求上下文
+        originalContext = SaManager.getSaTokenContext();
+        SaManager.setSaTokenContext(mock(SaTokenContext.class, RETURNS_DEEP_STUBS));
+
+        UserCacheService userCacheService = new UserCacheServiceImpl(userMapper, 1000, 60);
+        postService = new PostServiceImpl(postMapper, new ObjectMapper(),
+                contentModerationService, userCacheService, postSearchService, tagService, hotTagService, viewCountService, postLikeService,
+                postDetailCacheService, eventPublisher, hotRankService, timelineService);
+
+        when(postMapper.selectPostPage(any(), any(), any(), any())).thenAnswer(invocation -> {
+            Page<Post> page = invocation.getArgument(0);
+            List<Post> records = new ArrayList<>();
+            for (long i = 1; i <= PAGE_SIZE; i++) {
+                records.add(post(i, i % AUTHOR_COUNT + 1, i == 1 ? "anon-1" : null));
+            }
+            page.setRecords(records);
+            return page;
+        });
+        lenient().when(userMapper.selectBatchIds(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return ids.stream().map(this::user).collect(Collectors.toList());
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        SaManager.setSaTokenContext(originalContext);
+    }
+
+    @Test
+    @DisplayName("测试一页帖子只查询一次作者")
+    void testAuthorsLoadedInOneQuery() {
+        IPage<Post> page = postService.getPostPage(query());
+
+        assertEquals(PAGE_SIZE, page.getRecords().size());
+        verify(postMapper, times(1)).selectPostPage(any(), any(), any(), any());
+        verify(userMapper, times(1)).selectBatchIds(anyCollection());
+        verify(userMapper, never()).selectById(any());
+        assertEquals(2, mockingDetails(postMapper).getInvocations().size()
+                + mockingDetails(userMapper).getInvocations().size(), "每页应该只有列表查询和一次作者批量查询");
+
+        Post post = page.getRecords().get(1);
+        assertEquals("用户" + post.getUserId(), post.getAuthorName());
+        assertEquals("avatar-" + post.getUserId(), post.getAuthorAvatar());
+    }
+
+    @Test
+    @DisplayName("测试作者命中缓存时不再查询")
+    void testAuthorsServedFromCache() {
+        postService.getPostPage(query());
+        postService.getPostPage(query());
+
+        verify(postMapper, times(2)).selectPostPage(any(), any(), any(), any());
+        verify(userMapper, times(1)).selectBatchIds(anyCollection());
+    }
+
+    @Test
+    @DisplayName("测试匿名帖子不查询也不暴露作者")
+    void testAnonymousAuthorHidden() {
+        Post anonymous = postService.getPostPage(query()).getRecords().get(0);
+
+        assertEquals("匿名用户", anonymous.getAuthorName());
+        assertNull(anonymous.getAuthorAvatar());
+    }
+
+    private PostQueryDTO query() {
+        PostQueryDTO query = new PostQueryDTO();
+        query.setSize(PAGE_SIZE);
+        return query;
+    }
+
+    private Post post(Long id, Long userId, String anonymousId) {
+        Post post = new Post();
+        post.setId(id);
+        post.setUserId(userId);
+        post.setAnonymousId(anonymousId);
+        post.setTitle("标题" + id);
+        post.setContent("内容" + id);
+        return post;
+    }
+
+    private User user(Long id) {
+        User user = new User();
+        user.setId(id);
+        user.setNickname("用户" + id);
+        user.setAvatar("avatar-" + id);
+        return user;
+    }
+}
@@ -0,0 +1,158 @@
+package com.beman.service;
+
+import cn.dev33.satoken.stp.StpLogic;
+import cn.dev33.satoken.stp.StpUtil;
+import com.beman.event.PostPublishedEvent;
+import com.beman.mapper.PostMapper;
+import com.beman.model.Post;
+import com.beman.model.User;
+import com.beman.model.dto.PostCreateDTO;
+import com.beman.service.impl.PostServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 预检扣留的帖子审核通过后才发布的测试
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("帖子审核后发布测试")
+class PostPublishTest {
+
+    private static final Long USER_ID = 1L;
+
+    @Mock
+    private PostMapper postMapper;
+
+    @Mock
+    private ContentModerationService contentModerationService;
+
+    @Mock
+    private PostSearchService postSearchService;
+
+    @Mock
+    private TagService tagService;
+
+    @Mock
+    private HotTagService hotTagService;
+
+    @Mock
+    private ViewCountService viewCountService;
+
+    @Mock
+    private PostLikeService postLikeService;
+
+    @Mock
+    private PostDetailCacheService postDetailCacheService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private HotRankService hotRankService;
+
+    @Mock
+    private TimelineService timelineService;
+
+    @Mock
+    private UserCacheService userCacheService;
+
+    @Mock
+    private StpLogic stpLogic;
+
+    private StpLogic originalStpLogic;
+
+    private PostService postService;
+
+    @BeforeEach
+    void setUp() {
+        originalStpLogic = StpUtil.stpLogic;
+        StpUtil.stpLogic = stpLogic;
+        postService = new PostServiceImpl(postMapper, new ObjectMapper(),
+                contentModerationService, userCacheService, postSearchService, tagService, hotTagService, viewCountService, postLikeService,
+                postDetailCacheService, eventPublisher, hotRankService, timelineService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        StpUtil.stpLogic = originalStpLogic;
+    }
+
+    @Test
+    @DisplayName("测试预检扣留的帖子不扇出、不索引、不计热度")
+    void testHeldPostSkipsSideEffects() {
+        when(stpLogic.getLoginIdAsLong()).thenReturn(USER_ID);
+        when(userCacheService.get(USER_ID)).thenReturn(new User());
+        when(contentModerationService.precheck(anyString())).thenReturn(true);
+
+        Post post = postService.createPost(createDTO());
+
+        assertEquals(0, post.getStatus());
+        verify(contentModerationService).submitPost(any(), anyString(), eq(true));
+        verifyNoInteractions(timelineService, postSearchService, hotTagService, hotRankService);
+    }
+
+    @Test
+    @DisplayName("测试正常帖子发帖时立即扇出、索引和计热度")
+    void testNormalPostPublishedImmediately() {
+        when(stpLogic.getLoginIdAsLong()).thenReturn(USER_ID);
+        when(userCacheService.get(USER_ID)).thenReturn(new User());
+        when(tagService.normalize(any())).thenReturn(Collections.singletonList("散步"));
+
+        Post post = postService.createPost(createDTO());
+
+        assertEquals(1, post.getStatus());
+        verify(contentModerationService).submitPost(any(), anyString(), eq(false));
+        verify(timelineService).onPostPublished(post);
+        verify(postSearchService).index(post);
+        verify(hotTagService).recordPublish(Collections.singletonList("散步"));
+        verify(hotRankService).markDirty(post.getId());
+    }
+
+    @Test
+    @DisplayName("测试审核通过后补做扇出和标签热度，期间被隐藏的帖子跳过")
+    void testPublishedAfterApproval() {
+        Post approved = post(1L, 1, "[\"散步\"]");
+        Post hidden = post(2L, 2, "[\"冷战化解\"]");
+        List<Long> ids = Arrays.asList(1L, 2L);
+        when(postMapper.selectBatchIds(ids)).thenReturn(Arrays.asList(approved, hidden));
+
+        postService.onPostPublished(new PostPublishedEvent(ids));
+
+        verify(timelineService).onPostPublished(approved);
+        verify(timelineService, never()).onPostPublished(hidden);
+        verify(hotTagService).recordPublish(Collections.singletonList("散步"));
+        verifyNoMoreInteractions(hotTagService);
+    }
+
+    private PostCreateDTO createDTO() {
+        PostCreateDTO createDTO = new PostCreateDTO();
+        createDTO.setTitle("周末");
+        createDTO.setContent("一起去公园散步");
+        createDTO.setTags(Collections.singletonList("散步"));
+        return createDTO;
+    }
+
+    private Post post(Long id, int status, String tags) {
+        Post post = new Post();
+        post.setId(id);
+        post.setUserId(USER_ID);
+        post.setStatus(status);
+        post.setTags(tags);
+        return post;
+    }
+}
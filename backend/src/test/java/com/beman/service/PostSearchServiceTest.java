@@ -0,0 +1,132 @@
+package com.beman.service;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.beman.event.PostChangedEvent;
+import com.beman.mapper.PostMapper;
+import com.beman.model.Post;
+import com.beman.service.impl.PostSearchServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.ibatis.builder.MapperBuilderAssistant;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * 帖子搜索索引维护测试
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("帖子搜索索引维护测试")
+class PostSearchServiceTest {
+
+    @Mock
+    private PostMapper postMapper;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    private PostSearchService postSearchService;
+
+    @BeforeAll
+    static void initTableInfo() {
+        // 索引服务用 Lambda 条件查询，需要实体的表信息
+        TableInfoHelper.initTableInfo(new MapperBuilderAssistant(new MybatisConfiguration(), ""), Post.class);
+    }
+
+    @BeforeEach
+    void setUp() {
+        postSearchService = new PostSearchServiceImpl(postMapper, new ObjectMapper(), redisTemplate, true);
+    }
+
+    @Test
+    @DisplayName("测试全量构建只读取正常状态的帖子")
+    void testRebuildOnlyNormalPosts() {
+        when(postMapper.selectList(any())).thenReturn(Collections.singletonList(post(1L, 1)));
+
+        assertEquals(1, postSearchService.rebuild());
+
+        assertTrue(postSearchService.isReady());
+        assertEquals(Collections.singletonList(1L), search());
+    }
+
+    @Test
+    @DisplayName("测试构建期间被删除的帖子不会以旧文档写回索引")
+    void testRebuildSkipsPostsRemovedMeanwhile() {
+        // 第一批读出 1、2 后，返回前 2 被删除并同步移出索引
+        when(postMapper.selectList(any()))
+                .thenAnswer(invocation -> {
+                    postSearchService.onPostChanged(new PostChangedEvent(Collections.singletonList(2L)));
+                    return Arrays.asList(post(1L, 1), post(2L, 1));
+                })
+                .thenReturn(Collections.emptyList());
+
+        assertEquals(2, postSearchService.rebuild());
+
+        assertEquals(Collections.singletonList(1L), search());
+        verify(postMapper, times(3)).selectList(any());
+    }
+
+    @Test
+    @DisplayName("测试审核中的帖子不进入索引")
+    void testHeldPostNotIndexed() {
+        postSearchService.index(post(1L, 0));
+        postSearchService.index(post(2L, 1));
+
+        assertEquals(Collections.singletonList(2L), search());
+        verify(redisTemplate).convertAndSend(PostSearchServiceImpl.SYNC_CHANNEL, "2");
+    }
+
+    @Test
+    @DisplayName("测试审核状态变化和删除后按数据库最新状态同步并广播")
+    void testSyncOnPostChanged() {
+        postSearchService.index(post(1L, 1));
+        postSearchService.index(post(2L, 1));
+
+        // 1 被隐藏，2 已删除，3 审核通过
+        when(postMapper.selectList(any())).thenReturn(Arrays.asList(post(1L, 0), post(3L, 1)));
+        postSearchService.onPostChanged(new PostChangedEvent(Arrays.asList(1L, 2L, 3L)));
+
+        assertEquals(Collections.singletonList(3L), search());
+        verify(redisTemplate).convertAndSend(PostSearchServiceImpl.SYNC_CHANNEL, "1,2,3");
+    }
+
+    @Test
+    @DisplayName("测试收到其他节点的同步通知后从数据库同步")
+    void testRemoteSync() {
+        when(postMapper.selectList(any())).thenReturn(Collections.singletonList(post(5L, 1)));
+
+        postSearchService.onRemoteSync("5");
+        postSearchService.onRemoteSync("broken");
+
+        assertEquals(Collections.singletonList(5L), search());
+        verify(postMapper, times(1)).selectList(any());
+        verify(redisTemplate, never()).convertAndSend(any(), any());
+    }
+
+    private List<Long> search() {
+        return postSearchService.search("散步", null, null, 0, 10).getIds();
+    }
+
+    private Post post(Long id, int status) {
+        Post post = new Post();
+        post.setId(id);
+        post.setTitle("周末散步");
+        post.setContent("一起去公园散步");
+        post.setContentType(1);
+        post.setStatus(status);
+        return post;
+    }
+}
@@ -0,0 +1,87 @@
+package com.beman.service;
+
+import com.beman.mapper.PostTagMapper;
+import com.beman.mapper.TagMapper;
+import com.beman.model.Tag;
+import com.beman.service.impl.TagServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 标签服务单元测试
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("标签服务测试")
+class TagServiceTest {
+
+    @Mock
+    private TagMapper tagMapper;
+
+    @Mock
+    private PostTagMapper postTagMapper;
+
+    private TagService tagService;
+
+    @BeforeEach
+    void setUp() {
+        tagService = new TagServiceImpl(tagMapper, postTagMapper);
+    }
+
+    @Test
+    @DisplayName("测试标签规范化")
+    void testNormalize() {
+        List<String> tags = tagService.normalize(Arrays.asList(" 挽回经验 ", "沟通技巧", "", null, "挽回经验", "   "));
+
+        assertEquals(Arrays.asList("挽回经验", "沟通技巧"), tags);
+        assertTrue(tagService.normalize(null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("测试绑定标签时登记字典并写入关联")
+    void testBindPostTags() {
+        when(tagMapper.selectList(any())).thenReturn(Arrays.asList(tag(1L, "挽回经验"), tag(2L, "沟通技巧")));
+
+        tagService.bindPostTags(10L, Arrays.asList("挽回经验", "沟通技巧"));
+
+        verify(tagMapper).upsertUsage(Arrays.asList("挽回经验", "沟通技巧"));
+        verify(postTagMapper).insertBatch(10L, Arrays.asList(1L, 2L));
+    }
+
+    @Test
+    @DisplayName("测试没有标签时不访问数据库")
+    void testBindEmptyTags() {
+        tagService.bindPostTags(10L, Collections.emptyList());
+
+        verifyNoInteractions(tagMapper, postTagMapper);
+    }
+
+    @Test
+    @DisplayName("测试标签ID解析结果被缓存")
+    void testResolveIdsCached() {
+        when(tagMapper.selectList(any())).thenReturn(Collections.singletonList(tag(1L, "挽回经验")));
+
+        assertEquals(Collections.singletonList(1L), tagService.resolveIds(Arrays.asList("挽回经验", "不存在")));
+        assertEquals(Collections.singletonList(1L), tagService.resolveIds(Collections.singletonList("挽回经验")));
+
+        verify(tagMapper, times(1)).selectList(any());
+    }
+
+    private Tag tag(Long id, String name) {
+        Tag tag = new Tag();
+        tag.setId(id);
+        tag.setName(name);
+        return tag;
+    }
+}
@@ -0,0 +1,159 @@
+package com.beman.service;
+
+import com.beman.mapper.FeedTimelineMapper;
+import com.beman.mapper.PostMapper;
+import com.beman.mapper.UserFollowMapper;
+import com.beman.mapper.UserStatsMapper;
+import com.beman.model.Post;
+import com.beman.service.impl.TimelineServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 关注时间线服务单元测试
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("关注时间线服务测试")
+class TimelineServiceTest {
+
+    private static final long CELEBRITY = 100L;
+
+    @Mock
+    private FeedTimelineMapper feedTimelineMapper;
+
+    @Mock
+    private UserFollowMapper userFollowMapper;
+
+    @Mock
+    private UserStatsMapper userStatsMapper;
+
+    @Mock
+    private PostMapper postMapper;
+
+    private TimelineService timelineService;
+
+    @BeforeEach
+    void setUp() {
+        // 同步执行扇出，扇出每批2人，大V缓存最近3条
+        timelineService = new TimelineServiceImpl(feedTimelineMapper, userFollowMapper, userStatsMapper, postMapper, Runnable::run,
+                1000, 2, 20, 3, 30, 800, 1000);
+    }
+
+    @Test
+    @DisplayName("测试普通作者发帖按粉丝分批写入时间线")
+    void testFanOutInBatches() {
+        when(userFollowMapper.selectFollowerIds(7L, 0L, 2)).thenReturn(Arrays.asList(1L, 2L));
+        when(userFollowMapper.selectFollowerIds(7L, 2L, 2)).thenReturn(Collections.singletonList(3L));
+
+        timelineService.onPostPublished(post(50L, 7L, null));
+
+        verify(feedTimelineMapper).insertBatch(50L, 7L, Arrays.asList(1L, 2L));
+        verify(feedTimelineMapper).insertBatch(50L, 7L, Collections.singletonList(3L));
+        verifyNoMoreInteractions(feedTimelineMapper);
+    }
+
+    @Test
+    @DisplayName("测试匿名帖子不进入时间线")
+    void testAnonymousPostNotFannedOut() {
+        timelineService.onPostPublished(post(50L, 7L, "anon-7"));
+
+        verifyNoInteractions(userFollowMapper, feedTimelineMapper);
+    }
+
+    @Test
+    @DisplayName("测试大V发帖不扇出，读取时合并")
+    void testCelebrityPulledAtRead() {
+        becomeCelebrity();
+        when(userFollowMapper.selectFollowingIdsIn(eq(1L), anyCollection()))
+                .thenReturn(Collections.singletonList(CELEBRITY));
+        when(feedTimelineMapper.selectPostIds(1L, null, 4)).thenReturn(Arrays.asList(90L, 40L));
+        when(postMapper.selectRecentIdsByUser(CELEBRITY, null, 3)).thenReturn(Arrays.asList(95L, 50L));
+
+        timelineService.onPostPublished(post(95L, CELEBRITY, null));
+        verify(userFollowMapper, never()).selectFollowerIds(anyLong(), anyLong(), anyInt());
+
+        assertEquals(Arrays.asList(95L, 90L, 50L, 40L), timelineService.getTimeline(1L, null, 4));
+        assertEquals(Arrays.asList(95L, 90L, 50L, 40L), timelineService.getTimeline(1L, null, 4));
+        verify(userFollowMapper, times(1)).selectFollowingIdsIn(eq(1L), anyCollection());
+        verify(postMapper, times(1)).selectRecentIdsByUser(CELEBRITY, null, 3);
+    }
+
+    @Test
+    @DisplayName("测试翻过大V缓存的帖子后直接查询")
+    void testDeepPageQueriesOutbox() {
+        becomeCelebrity();
+        when(userFollowMapper.selectFollowingIdsIn(eq(1L), anyCollection()))
+                .thenReturn(Collections.singletonList(CELEBRITY));
+        when(feedTimelineMapper.selectPostIds(1L, 60L, 2)).thenReturn(Collections.emptyList());
+        when(postMapper.selectRecentIdsByUser(CELEBRITY, null, 3)).thenReturn(Arrays.asList(90L, 80L, 70L));
+        when(postMapper.selectRecentIdsByUser(CELEBRITY, 60L, 2)).thenReturn(Arrays.asList(30L, 20L));
+
+        assertEquals(Arrays.asList(30L, 20L), timelineService.getTimeline(1L, 60L, 2));
+    }
+
+    @Test
+    @DisplayName("测试关注补入最近帖子，取消关注移除")
+    void testFollowAndUnfollow() {
+        becomeCelebrity();
+
+        timelineService.onFollow(1L, 7L);
+        timelineService.onFollow(1L, CELEBRITY);
+        timelineService.onUnfollow(1L, 7L);
+
+        verify(feedTimelineMapper).insertRecentPosts(1L, 7L, 20);
+        verify(feedTimelineMapper, never()).insertRecentPosts(1L, CELEBRITY, 20);
+        verify(feedTimelineMapper).deleteByAuthor(1L, 7L);
+    }
+
+    @Test
+    @DisplayName("测试按用户分段裁剪")
+    void testTrimInChunks() {
+        when(feedTimelineMapper.selectMaxUserId()).thenReturn(2500L);
+        when(feedTimelineMapper.trim(anyLong(), anyLong(), eq(800))).thenReturn(5);
+
+        assertEquals(15, timelineService.trim());
+        verify(feedTimelineMapper).trim(1L, 1000L, 800);
+        verify(feedTimelineMapper).trim(1001L, 2000L, 800);
+        verify(feedTimelineMapper).trim(2001L, 3000L, 800);
+    }
+
+    @Test
+    @DisplayName("测试大V跌出名单时把最近发帖补入粉丝时间线")
+    void testBackfillOnDemotion() {
+        becomeCelebrity();
+        when(userStatsMapper.selectUserIdsWithFollowersAtLeast(1000)).thenReturn(Collections.emptyList());
+        when(postMapper.selectRecentIdsByUser(CELEBRITY, null, 20)).thenReturn(Arrays.asList(90L, 80L));
+        when(userFollowMapper.selectFollowerIds(CELEBRITY, 0L, 2)).thenReturn(Collections.singletonList(1L));
+
+        assertEquals(0, timelineService.refreshCelebrities());
+
+        verify(feedTimelineMapper).insertBatch(90L, CELEBRITY, Collections.singletonList(1L));
+        verify(feedTimelineMapper).insertBatch(80L, CELEBRITY, Collections.singletonList(1L));
+        assertEquals(0, timelineService.refreshCelebrities(), "名单未变化时不重复补入");
+        verify(postMapper, times(1)).selectRecentIdsByUser(CELEBRITY, null, 20);
+    }
+
+    private void becomeCelebrity() {
+        when(userStatsMapper.selectUserIdsWithFollowersAtLeast(1000)).thenReturn(Collections.singletonList(CELEBRITY));
+        assertEquals(1, timelineService.refreshCelebrities());
+    }
+
+    private Post post(Long id, Long userId, String anonymousId) {
+        Post post = new Post();
+        post.setId(id);
+        post.setUserId(userId);
+        post.setAnonymousId(anonymousId);
+        return post;
+    }
+}
@@ -0,0 +1,152 @@
+package com.beman.service;
+
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.beman.mapper.UserFollowMapper;
+import com.beman.model.User;
+import com.beman.model.dto.UserFollowQueryDTO;
+import com.beman.model.vo.UserFollowVO;
+import com.beman.service.impl.UserFollowServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 关注列表批量查询关注状态和用户资料的测试
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("关注列表批量查询测试")
+class UserFollowBatchTest {
+
+    @Mock
+    private UserFollowMapper userFollowMapper;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private TimelineService timelineService;
+
+    @Mock
+    private UserCacheService userCacheService;
+
+    @Mock
+    private UserStatsService userStatsService;
+
+    @Mock
+    private FollowGraphService followGraphService;
+
+    private UserFollowService userFollowService;
+
+    private UserFollowQueryDTO queryDTO;
+
+    @BeforeEach
+    void setUp() {
+        userFollowService = new UserFollowServiceImpl(userFollowMapper, userService, timelineService, userCacheService,
+                userStatsService, followGraphService);
+        queryDTO = new UserFollowQueryDTO();
+        queryDTO.setUserId(1L);
+        queryDTO.setPage(1);
+        queryDTO.setSize(10);
+    }
+
+    @Test
+    @DisplayName("测试关注列表一次查询互关状态")
+    void testFollowingPageMutualInOneQuery() {
+        when(userFollowMapper.selectFollowingPage(any(), eq(1L), any(), any())).thenReturn(page(2L, 3L, 4L));
+        when(userFollowMapper.selectFollowerIdsIn(eq(1L), anyCollection())).thenReturn(Arrays.asList(2L, 4L));
+
+        List<UserFollowVO> records = userFollowService.getFollowingPage(queryDTO).getRecords();
+
+        assertEquals(Arrays.asList(true, false, true), mutualFlags(records));
+        verify(userFollowMapper).selectFollowerIdsIn(1L, Arrays.asList(2L, 3L, 4L));
+        verify(userFollowMapper, never()).selectIsFollowing(anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("测试粉丝列表一次查询互关状态")
+    void testFollowersPageMutualInOneQuery() {
+        when(userFollowMapper.selectFollowersPage(any(), eq(1L), any(), any())).thenReturn(page(5L, 6L));
+        when(userFollowMapper.selectFollowingIdsIn(eq(1L), anyCollection())).thenReturn(Collections.singletonList(6L));
+
+        List<UserFollowVO> records = userFollowService.getFollowersPage(queryDTO).getRecords();
+
+        assertEquals(Arrays.asList(false, true), mutualFlags(records));
+        verify(userFollowMapper).selectFollowingIdsIn(1L, Arrays.asList(5L, 6L));
+        verify(userFollowMapper, never()).selectIsFollowing(anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("测试空页不查询关注状态")
+    void testEmptyPageSkipsQuery() {
+        when(userFollowMapper.selectFollowersPage(any(), eq(1L), any(), any())).thenReturn(page());
+
+        assertTrue(userFollowService.getFollowersPage(queryDTO).getRecords().isEmpty());
+        verify(userFollowMapper, never()).selectFollowingIdsIn(anyLong(), anyCollection());
+    }
+
+    @Test
+    @DisplayName("测试互关用户资料批量获取，已不存在的用户被跳过")
+    void testMutualUsersHydratedInBatch() {
+        when(userFollowMapper.selectMutualFollowUserIds(1L)).thenReturn(Arrays.asList(2L, 3L, 4L));
+        Map<Long, User> users = new HashMap<>();
+        users.put(2L, user(2L));
+        users.put(4L, user(4L));
+        when(userCacheService.getAll(anyCollection())).thenReturn(users);
+
+        List<UserFollowVO> result = userFollowService.getMutualFollowUsers(1L);
+
+        assertEquals(Arrays.asList(2L, 4L), result.stream().map(UserFollowVO::getUserId).collect(Collectors.toList()));
+        assertTrue(result.stream().allMatch(UserFollowVO::getIsMutualFollow));
+        verify(userCacheService, times(1)).getAll(Arrays.asList(2L, 3L, 4L));
+        verifyNoInteractions(userService);
+    }
+
+    @Test
+    @DisplayName("测试关注关系图就绪后互关列表不再查询数据库")
+    void testMutualUsersFromGraph() {
+        when(followGraphService.isReady()).thenReturn(true);
+        when(followGraphService.getMutualFollowIds(1L)).thenReturn(Collections.singletonList(2L));
+        when(userCacheService.getAll(anyCollection())).thenReturn(Collections.singletonMap(2L, user(2L)));
+
+        List<UserFollowVO> result = userFollowService.getMutualFollowUsers(1L);
+
+        assertEquals(1, result.size());
+        assertEquals(2L, result.get(0).getUserId());
+        verify(userFollowMapper, never()).selectMutualFollowUserIds(anyLong());
+    }
+
+    private Page<UserFollowVO> page(Long... userIds) {
+        Page<UserFollowVO> page = new Page<>(1, 10);
+        page.setRecords(Arrays.stream(userIds).map(id -> {
+            UserFollowVO vo = new UserFollowVO();
+            vo.setUserId(id);
+            return vo;
+        }).collect(Collectors.toList()));
+        return page;
+    }
+
+    private List<Boolean> mutualFlags(List<UserFollowVO> records) {
+        return records.stream().map(UserFollowVO::getIsMutualFollow).collect(Collectors.toList());
+    }
+
+    private User user(Long id) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername("user" + id);
+        return user;
+    }
+}
@@ -0,0 +1,133 @@
+package com.beman.service;
+
+import cn.dev33.satoken.stp.StpLogic;
+import cn.dev33.satoken.stp.StpUtil;
+import com.beman.mapper.UserFollowMapper;
+import com.beman.model.User;
+import com.beman.model.UserFollow;
+import com.beman.model.dto.UserFollowDTO;
+import com.beman.service.impl.UserFollowServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 重复点击时并发的关注和取消关注请求只生效一次的测试
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("重复关注和取消关注测试")
+class UserFollowIdempotencyTest {
+
+    private static final Long USER_ID = 1L;
+    private static final Long TARGET_ID = 2L;
+
+    @Mock
+    private UserFollowMapper userFollowMapper;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private TimelineService timelineService;
+
+    @Mock
+    private UserCacheService userCacheService;
+
+    @Mock
+    private UserStatsService userStatsService;
+
+    @Mock
+    private FollowGraphService followGraphService;
+
+    @Mock
+    private StpLogic stpLogic;
+
+    private StpLogic originalStpLogic;
+
+    private UserFollowService userFollowService;
+
+    @BeforeEach
+    void setUp() {
+        originalStpLogic = StpUtil.stpLogic;
+        StpUtil.stpLogic = stpLogic;
+        when(stpLogic.getLoginIdAsLong()).thenReturn(USER_ID);
+        userFollowService = new UserFollowServiceImpl(userFollowMapper, userService, timelineService, userCacheService,
+                userStatsService, followGraphService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        StpUtil.stpLogic = originalStpLogic;
+    }
+
+    @Test
+    @DisplayName("测试重新关注只在状态仍为已取消时生效")
+    void testRefollowOnce() {
+        when(userService.findById(TARGET_ID)).thenReturn(new User());
+        when(userFollowMapper.selectFollowRelation(USER_ID, TARGET_ID)).thenAnswer(invocation -> relation(1));
+        when(userFollowMapper.updateStatusIfMatch(any(UserFollow.class), eq(1))).thenReturn(1, 0);
+
+        userFollowService.followUser(followDTO());
+        RuntimeException e = assertThrows(RuntimeException.class, () -> userFollowService.followUser(followDTO()));
+
+        assertEquals("已经关注该用户", e.getMessage());
+        verify(userStatsService, times(1)).onFollow(USER_ID, TARGET_ID);
+        verify(followGraphService, times(1)).onFollow(USER_ID, TARGET_ID);
+        verify(timelineService, times(1)).onFollow(USER_ID, TARGET_ID);
+    }
+
+    @Test
+    @DisplayName("测试并发插入同一关注关系时后到的请求不计数")
+    void testDuplicateInsert() {
+        when(userService.findById(TARGET_ID)).thenReturn(new User());
+        when(userFollowMapper.insert(any(UserFollow.class))).thenThrow(new DuplicateKeyException("uk_follower_following"));
+
+        RuntimeException e = assertThrows(RuntimeException.class, () -> userFollowService.followUser(followDTO()));
+
+        assertEquals("已经关注该用户", e.getMessage());
+        verifyNoInteractions(userStatsService, followGraphService, timelineService);
+    }
+
+    @Test
+    @DisplayName("测试取消关注只在状态仍为已关注时生效")
+    void testUnfollowOnce() {
+        when(userFollowMapper.selectFollowRelation(USER_ID, TARGET_ID)).thenAnswer(invocation -> relation(0));
+        when(userFollowMapper.updateStatusIfMatch(any(UserFollow.class), eq(0))).thenReturn(1, 0);
+
+        userFollowService.unfollowUser(TARGET_ID);
+        RuntimeException e = assertThrows(RuntimeException.class, () -> userFollowService.unfollowUser(TARGET_ID));
+
+        assertEquals("未关注该用户", e.getMessage());
+        verify(userStatsService, times(1)).onUnfollow(USER_ID, TARGET_ID);
+        verify(followGraphService, times(1)).onUnfollow(USER_ID, TARGET_ID);
+        verify(timelineService, times(1)).onUnfollow(USER_ID, TARGET_ID);
+    }
+
+    private UserFollowDTO followDTO() {
+        UserFollowDTO followDTO = new UserFollowDTO();
+        followDTO.setFollowingId(TARGET_ID);
+        followDTO.setFollowType(1);
+        return followDTO;
+    }
+
+    /**
+     * 每次查询都返回新的对象，模拟两个请求各自读到同一状态
+     */
+    private UserFollow relation(int status) {
+        UserFollow userFollow = new UserFollow();
+        userFollow.setId(10L);
+        userFollow.setFollowerId(USER_ID);
+        userFollow.setFollowingId(TARGET_ID);
+        userFollow.setStatus(status);
+        return userFollow;
+    }
+}
@@ -148,7 +148,7 @@ class UserFollowServiceTest {
         // 准备测试数据
         testUserFollow.setStatus(0);
         when(userFollowMapper.selectFollowRelation(1L, 2L)).thenReturn(testUserFollow);
-        when(userFollowMapper.updateById(any(UserFollow.class))).thenReturn(1);
+        when(userFollowMapper.updateStatusIfMatch(any(UserFollow.class), eq(0))).thenReturn(1);
 
         // 执行测试
         assertDoesNotThrow(() -> {
@@ -157,7 +157,7 @@ class UserFollowServiceTest {
 
         // 验证方法调用
         verify(userFollowMapper).selectFollowRelation(1L, 2L);
-        verify(userFollowMapper).updateById(any(UserFollow.class));
+        verify(userFollowMapper).updateStatusIfMatch(any(UserFollow.class), eq(0));
     }
 
     @Test
@@ -172,7 +172,7 @@ class UserFollowServiceTest {
 
         // 验证方法调用
         verify(userFollowMapper).selectFollowRelation(1L, 2L);
-        verify(userFollowMapper, never()).updateById(any(UserFollow.class));
+        verify(userFollowMapper, never()).updateStatusIfMatch(any(UserFollow.class), anyInt());
     }
 
     @Test
@@ -0,0 +1,181 @@
+package com.beman.service;
+
+import cn.dev33.satoken.SaManager;
+import cn.dev33.satoken.context.SaTokenContext;
+import cn.dev33.satoken.spring.SaTokenContextForSpring;
+import com.beman.mapper.UserMapper;
+import com.beman.model.User;
+import com.beman.model.dto.UserLoginDTO;
+import com.beman.model.dto.UserRegisterDTO;
+import com.beman.service.impl.LoginThrottleServiceImpl;
+import com.beman.service.impl.PasswordServiceImpl;
+import com.beman.service.impl.UserServiceImpl;
+import com.beman.util.Pbkdf2PasswordHasher;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * 登录密码哈希和限流测试
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("登录密码哈希和限流测试")
+class UserLoginTest {
+
+    @Mock
+    private UserMapper userMapper;
+
+    @Mock
+    private UserCacheService userCacheService;
+
+    private final Pbkdf2PasswordHasher hasher = new Pbkdf2PasswordHasher(1000);
+
+    private SaTokenContext previousContext;
+
+    private UserService userService;
+
+    @BeforeEach
+    void setUp() {
+        // 用户名每 3 次、IP 每 5 次尝试，不补充
+        userService = newService(new PasswordServiceImpl(hasher, Runnable::run, 1000));
+        previousContext = SaManager.getSaTokenContext();
+        SaManager.setSaTokenContext(new SaTokenContextForSpring());
+        RequestContextHolder.setRequestAttributes(
+                new ServletRequestAttributes(new MockHttpServletRequest(), new MockHttpServletResponse()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        SaManager.setSaTokenContext(previousContext);
+    }
+
+    @Test
+    @DisplayName("测试注册时按当前算法加盐哈希")
+    void testRegisterHashesPassword() {
+        UserRegisterDTO registerDTO = new UserRegisterDTO();
+        registerDTO.setUsername("alice");
+        registerDTO.setPassword("secret123");
+        registerDTO.setConfirmPassword("secret123");
+
+        userService.register(registerDTO);
+
+        ArgumentCaptor<User> captor = ArgumentCaptor.forClass(User.class);
+        verify(userMapper).insert(captor.capture());
+        String encoded = captor.getValue().getPassword();
+        assertTrue(encoded.startsWith("pbkdf2_sha256$1000$"));
+        assertTrue(hasher.matches("secret123", encoded));
+    }
+
+    @Test
+    @DisplayName("测试旧版MD5密码登录成功后升级")
+    void testLegacyPasswordUpgradedOnLogin() {
+        when(userMapper.selectOne(any())).thenReturn(user(DigestUtils.md5DigestAsHex("123456".getBytes(StandardCharsets.UTF_8))));
+
+        assertNotNull(userService.login(login("alice", "123456"), "10.0.0.1"));
+
+        ArgumentCaptor<User> captor = ArgumentCaptor.forClass(User.class);
+        verify(userMapper).updateById(captor.capture());
+        assertTrue(captor.getValue().getPassword().startsWith("pbkdf2_sha256$1000$"));
+        assertTrue(hasher.matches("123456", captor.getValue().getPassword()));
+        verify(userCacheService).invalidate(1L);
+    }
+
+    @Test
+    @DisplayName("测试当前算法的密码登录时不重新哈希")
+    void testCurrentPasswordKept() {
+        String encoded = hasher.hash("123456");
+        when(userMapper.selectOne(any())).thenReturn(user(encoded));
+
+        userService.login(login("alice", "123456"), "10.0.0.1");
+
+        verify(userMapper).updateById(argThat((User user) -> encoded.equals(user.getPassword())));
+    }
+
+    @Test
+    @DisplayName("测试密码错误")
+    void testWrongPassword() {
+        when(userMapper.selectOne(any())).thenReturn(user(hasher.hash("123456")));
+
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> userService.login(login("alice", "654321"), "10.0.0.1"));
+
+        assertEquals("密码错误", e.getMessage());
+        verify(userMapper, never()).updateById(any(User.class));
+    }
+
+    @Test
+    @DisplayName("测试同一用户名和同一IP超过限额后在查库前拒绝")
+    void testThrottle() {
+        when(userMapper.selectOne(any())).thenReturn(user(hasher.hash("123456")));
+        for (int i = 0; i < 3; i++) {
+            assertThrows(RuntimeException.class, () -> userService.login(login("alice", "wrong"), "10.0.0.10"));
+        }
+
+        RuntimeException byUsername = assertThrows(RuntimeException.class,
+                () -> userService.login(login("alice", "123456"), "10.0.0.11"));
+        assertTrue(byUsername.getMessage().contains("频繁"));
+
+        // 同一IP轮换用户名：前面已用掉 3 次，再有 2 次后IP令牌耗尽
+        assertThrows(RuntimeException.class, () -> userService.login(login("bob", "wrong"), "10.0.0.10"));
+        assertThrows(RuntimeException.class, () -> userService.login(login("carol", "wrong"), "10.0.0.10"));
+        RuntimeException byIp = assertThrows(RuntimeException.class,
+                () -> userService.login(login("dave", "wrong"), "10.0.0.10"));
+        assertTrue(byIp.getMessage().contains("频繁"));
+
+        verify(userMapper, times(5)).selectOne(any());
+    }
+
+    @Test
+    @DisplayName("测试哈希线程池已满时拒绝登录")
+    void testExecutorFull() {
+        userService = newService(new PasswordServiceImpl(hasher, task -> {
+            throw new RejectedExecutionException();
+        }, 1000));
+        when(userMapper.selectOne(any())).thenReturn(user(hasher.hash("123456")));
+
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> userService.login(login("alice", "123456"), "10.0.0.1"));
+
+        assertTrue(e.getMessage().contains("稍后再试"));
+        verify(userMapper, never()).updateById(any(User.class));
+    }
+
+    private UserService newService(PasswordService passwordService) {
+        return new UserServiceImpl(userMapper, userCacheService, passwordService,
+                new LoginThrottleServiceImpl(3, 0, 5, 0, 1000));
+    }
+
+    private User user(String password) {
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("alice");
+        user.setPassword(password);
+        user.setStatus(1);
+        return user;
+    }
+
+    private UserLoginDTO login(String username, String password) {
+        UserLoginDTO loginDTO = new UserLoginDTO();
+        loginDTO.setUsername(username);
+        loginDTO.setPassword(password);
+        return loginDTO;
+    }
+}
@@ -0,0 +1,121 @@
+package com.beman.service;
+
+import com.beman.mapper.UserMapper;
+import com.beman.model.User;
+import com.beman.service.impl.UserCacheServiceImpl;
+import com.beman.service.impl.UserServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 用户资料缓存测试：按ID查询走本地缓存和请求级缓存，修改资料后失效
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("用户资料缓存测试")
+class UserProfileCacheTest {
+
+    @Mock
+    private UserMapper userMapper;
+
+    @Mock
+    private PasswordService passwordService;
+
+    @Mock
+    private LoginThrottleService loginThrottleService;
+
+    private UserCacheService userCacheService;
+
+    private UserService userService;
+
+    @BeforeEach
+    void setUp() {
+        userCacheService = new UserCacheServiceImpl(userMapper, 100, 60);
+        userService = new UserServiceImpl(userMapper, userCacheService, passwordService, loginThrottleService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @DisplayName("测试重复按ID查询只访问一次数据库")
+    void testFindByIdCached() {
+        when(userMapper.selectById(1L)).thenReturn(user(1L, "alice"));
+
+        assertEquals("alice", userService.findById(1L).getNickname());
+        assertSame(userService.findById(1L), userService.findById(1L));
+        verify(userMapper, times(1)).selectById(1L);
+    }
+
+    @Test
+    @DisplayName("测试修改资料后重新加载")
+    void testUpdateUserInvalidates() {
+        when(userMapper.selectById(1L)).thenReturn(user(1L, "alice"), user(1L, "bob"));
+        when(userMapper.updateById(any(User.class))).thenReturn(1);
+        userService.findById(1L);
+
+        assertTrue(userService.updateUser(user(1L, "bob")));
+
+        assertEquals("bob", userService.findById(1L).getNickname());
+        verify(userMapper, times(2)).selectById(1L);
+    }
+
+    @Test
+    @DisplayName("测试批量查询合并为一次查询并复用已缓存的用户")
+    void testGetByIds() {
+        when(userMapper.selectById(1L)).thenReturn(user(1L, "alice"));
+        when(userMapper.selectBatchIds(anyCollection())).thenReturn(Arrays.asList(user(2L, "bob"), user(3L, "carol")));
+        userService.findById(1L);
+
+        Map<Long, User> users = userService.getByIds(Arrays.asList(1L, 2L, 3L, 4L, null));
+
+        assertEquals(3, users.size());
+        verify(userMapper).selectBatchIds(argThat(ids -> ids.size() == 3 && !ids.contains(1L)));
+    }
+
+    @Test
+    @DisplayName("测试同一请求内本地缓存过期后仍读到同一份资料")
+    void testRequestScopedCache() {
+        // 本地缓存写入即过期，只剩请求级缓存
+        userService = new UserServiceImpl(userMapper, new UserCacheServiceImpl(userMapper, 100, 0),
+                passwordService, loginThrottleService);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        when(userMapper.selectById(1L)).thenReturn(user(1L, "alice"));
+
+        User first = userService.findById(1L);
+
+        assertSame(first, userService.findById(1L));
+        assertSame(first, userService.getByIds(Collections.singletonList(1L)).get(1L));
+        verify(userMapper, times(1)).selectById(1L);
+        verify(userMapper, never()).selectBatchIds(anyCollection());
+
+        // 新请求重新读取
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        userService.findById(1L);
+        verify(userMapper, times(2)).selectById(1L);
+    }
+
+    private User user(Long id, String nickname) {
+        User user = new User();
+        user.setId(id);
+        user.setNickname(nickname);
+        return user;
+    }
+}
@@ -0,0 +1,154 @@
+package com.beman.service;
+
+import com.beman.mapper.UserStatsMapper;
+import com.beman.model.UserStats;
+import com.beman.service.impl.UserStatsServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 用户统计服务单元测试
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("用户统计服务测试")
+class UserStatsServiceTest {
+
+    private static final long CELEBRITY = 100L;
+
+    @Mock
+    private UserStatsMapper userStatsMapper;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private UserStatsService userStatsService;
+
+    @BeforeEach
+    void setUp() {
+        userStatsService = new UserStatsServiceImpl(userStatsMapper, null, 2, 100, 300, 60000, false);
+    }
+
+    @Test
+    @DisplayName("测试大V涨粉合并为一行增量")
+    void testCelebrityFollowsCoalesced() {
+        for (long follower = 1001; follower <= 2000; follower++) {
+            userStatsService.onFollow(follower, CELEBRITY);
+        }
+        userStatsService.onUnfollow(1001L, CELEBRITY);
+        verifyNoInteractions(userStatsMapper);
+
+        List<List<UserStats>> batches = captureBatches();
+        // 关注者 1002..2000 各 +1 关注数，1001 号抵消为 0，大V +999 粉丝数；每批 2 行
+        assertEquals(999 + 1, batches.stream().mapToInt(List::size).sum());
+        assertTrue(batches.stream().allMatch(batch -> batch.size() <= 2));
+        UserStats celebrity = batches.stream().flatMap(List::stream)
+                .filter(stats -> stats.getUserId() == CELEBRITY).findFirst().orElseThrow(AssertionError::new);
+        assertEquals(999, celebrity.getFollowerCount());
+        assertEquals(0, celebrity.getFollowingCount());
+        assertTrue(batches.stream().flatMap(List::stream).noneMatch(stats -> stats.getUserId() == 1001L),
+                "互相抵消的用户不写");
+    }
+
+    @Test
+    @DisplayName("测试同一用户的关注数和粉丝数合并到一行")
+    void testBothCountersInOneRow() {
+        userStatsService.onFollow(1L, 2L);
+        userStatsService.onFollow(2L, 1L);
+
+        List<UserStats> rows = captureBatches().stream().flatMap(List::stream).collect(Collectors.toList());
+
+        assertEquals(Arrays.asList(1L, 2L), rows.stream().map(UserStats::getUserId).collect(Collectors.toList()),
+                "按用户ID升序写回");
+        assertTrue(rows.stream().allMatch(stats -> stats.getFollowingCount() == 1 && stats.getFollowerCount() == 1));
+    }
+
+    @Test
+    @DisplayName("测试读取包含待写回的增量")
+    void testCountIncludesPending() {
+        UserStats stored = new UserStats();
+        stored.setUserId(CELEBRITY);
+        stored.setFollowingCount(3);
+        stored.setFollowerCount(10);
+        when(userStatsMapper.selectById(CELEBRITY)).thenReturn(stored);
+
+        userStatsService.onFollow(1L, CELEBRITY);
+        userStatsService.onFollow(2L, CELEBRITY);
+
+        assertEquals(12, userStatsService.getFollowerCount(CELEBRITY));
+        assertEquals(3, userStatsService.getFollowingCount(CELEBRITY));
+    }
+
+    @Test
+    @DisplayName("测试写回失败时增量保留到下一轮")
+    void testFailedFlushRetried() {
+        when(userStatsMapper.increaseCounts(anyCollection()))
+                .thenThrow(new RuntimeException("db down"))
+                .thenReturn(2);
+
+        userStatsService.onFollow(1L, 2L);
+        assertEquals(0, userStatsService.flush());
+        assertEquals(2, userStatsService.flush());
+        assertEquals(0, userStatsService.flush());
+    }
+
+    @Test
+    @DisplayName("测试对账前先写回本节点增量，再分段只修正静默期内无变化的用户")
+    void testReconcileFlushesFirst() {
+        when(userStatsMapper.selectMaxUserId()).thenReturn(250L);
+        when(userStatsMapper.reconcile(anyLong(), anyLong(), anyInt())).thenReturn(1);
+        userStatsService.onFollow(1L, 2L);
+
+        assertEquals(3, userStatsService.reconcile());
+        verify(userStatsMapper).increaseCounts(anyCollection());
+        verify(userStatsMapper).reconcile(1L, 100L, 300);
+        verify(userStatsMapper).reconcile(101L, 200L, 300);
+        verify(userStatsMapper).reconcile(201L, 300L, 300);
+        assertEquals(0, userStatsService.flush(), "增量已在对账前写回");
+    }
+
+    @Test
+    @DisplayName("测试集群锁被其他节点持有时跳过对账")
+    void testReconcileSkippedWithoutLock() {
+        userStatsService = new UserStatsServiceImpl(userStatsMapper, redisTemplate, 2, 100, 300, 60000, true);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(eq("beman:user:stats:reconcile-lock"), anyString(), eq(60000L), eq(TimeUnit.MILLISECONDS)))
+                .thenReturn(false);
+
+        assertEquals(0, userStatsService.reconcile());
+        verifyNoInteractions(userStatsMapper);
+    }
+
+    /**
+     * 执行一次写回并记录每批写入的行
+     */
+    private List<List<UserStats>> captureBatches() {
+        List<List<UserStats>> batches = new ArrayList<>();
+        when(userStatsMapper.increaseCounts(anyCollection())).thenAnswer(invocation -> {
+            Collection<UserStats> batch = invocation.getArgument(0);
+            batches.add(new ArrayList<>(batch));
+            return batch.size();
+        });
+        userStatsService.flush();
+        return batches;
+    }
+}
@@ -0,0 +1,140 @@
+package com.beman.service;
+
+import com.beman.mapper.PostMapper;
+import com.beman.service.impl.ViewCountServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+/**
+ * 帖子浏览计数单元测试
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("帖子浏览计数测试")
+class ViewCountServiceTest {
+
+    @Mock
+    private PostMapper postMapper;
+
+    private ViewCountServiceImpl viewCountService;
+
+    @BeforeEach
+    void setUp() {
+        viewCountService = new ViewCountServiceImpl(postMapper, 2);
+    }
+
+    @Test
+    @DisplayName("测试多次浏览合并为批量更新")
+    void testCoalescedFlush() {
+        for (int i = 0; i < 5; i++) {
+            viewCountService.increment(1L);
+        }
+        viewCountService.increment(2L);
+        viewCountService.increment(3L);
+        assertEquals(5, viewCountService.getPending(1L));
+        verifyNoInteractions(postMapper);
+
+        List<Map<Long, Long>> batches = captureFlush(2);
+
+        assertEquals(mapOf(1L, 5L, 2L, 1L), batches.get(0), "按帖子ID排序，每批不超过批大小");
+        assertEquals(mapOf(3L, 1L), batches.get(1));
+        assertEquals(0, viewCountService.getPending(1L));
+    }
+
+    @Test
+    @DisplayName("测试没有新浏览时不写数据库")
+    void testIdleFlush() {
+        viewCountService.increment(1L);
+        viewCountService.flush();
+        viewCountService.flush();
+        viewCountService.flush();
+
+        verify(postMapper, times(1)).increaseViewCounts(anyMap());
+    }
+
+    @Test
+    @DisplayName("测试写回失败时增量保留到下次")
+    void testRetryAfterFailure() {
+        doThrow(new RuntimeException("数据库不可用")).doReturn(1).when(postMapper).increaseViewCounts(anyMap());
+        viewCountService.increment(1L);
+        viewCountService.increment(1L);
+
+        assertEquals(0, viewCountService.flush());
+        assertEquals(2, viewCountService.getPending(1L));
+
+        viewCountService.increment(1L);
+        assertEquals(1, viewCountService.flush());
+        verify(postMapper).increaseViewCounts(mapOf(1L, 2L));
+        verify(postMapper).increaseViewCounts(mapOf(1L, 3L));
+    }
+
+    @Test
+    @DisplayName("测试并发浏览在停机时全部写回")
+    void testNoViewsLostOnShutdown() throws InterruptedException {
+        Map<Long, Long> written = new HashMap<>();
+        doAnswer(invocation -> {
+            Map<Long, Long> batch = invocation.getArgument(0);
+            batch.forEach((id, delta) -> written.merge(id, delta, Long::sum));
+            return batch.size();
+        }).when(postMapper).increaseViewCounts(anyMap());
+
+        int threads = 4;
+        int perThread = 10000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            executor.execute(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    viewCountService.increment((long) (i % 3));
+                    if (i % 1000 == 0) {
+                        viewCountService.flush();
+                    }
+                }
+                done.countDown();
+            });
+        }
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        executor.shutdown();
+        viewCountService.shutdown();
+
+        assertEquals((long) threads * perThread, written.values().stream().mapToLong(Long::longValue).sum());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Map<Long, Long>> captureFlush(int expectedBatches) {
+        List<Map<Long, Long>> batches = new ArrayList<>();
+        // 写回后批次对象不再复用，捕获前先复制
+        doAnswer(invocation -> {
+            batches.add(new HashMap<>((Map<Long, Long>) invocation.getArgument(0)));
+            return 0;
+        }).when(postMapper).increaseViewCounts(anyMap());
+        viewCountService.flush();
+        assertEquals(expectedBatches, batches.size());
+        return batches;
+    }
+
+    private static Map<Long, Long> mapOf(Long... keyValues) {
+        Map<Long, Long> map = new HashMap<>();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            map.put(keyValues[i], keyValues[i + 1]);
+        }
+        return map;
+    }
+}
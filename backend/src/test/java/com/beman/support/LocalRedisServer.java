@@ -0,0 +1,237 @@
+package com.beman.support;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Pattern;
+
+/**
+ * 测试用的本地 Redis 替身，只实现会话持久层用到的 RESP2 命令：
+ * PING、GET、SET（EX/KEEPTTL/XX）、DEL、TTL、PTTL、EXPIRE、PERSIST、SCAN（MATCH）、PUBLISH、SUBSCRIBE、UNSUBSCRIBE。
+ * 多个连接工厂连到同一个实例即可模拟多个节点共享 Redis
+ */
+public class LocalRedisServer implements Closeable {
+
+    private final ServerSocket serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+    private final ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "local-redis");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Map<String, byte[]> values = new HashMap<>();
+
+    /**
+     * 键的过期时间戳，没有记录表示永不过期
+     */
+    private final Map<String, Long> expireAt = new HashMap<>();
+    private final Set<Connection> connections = ConcurrentHashMap.newKeySet();
+
+    public LocalRedisServer() throws IOException {
+        executor.execute(() -> {
+            while (!serverSocket.isClosed()) {
+                try {
+                    Connection connection = new Connection(serverSocket.accept());
+                    connections.add(connection);
+                    executor.execute(connection::serve);
+                } catch (IOException e) {
+                    return;
+                }
+            }
+        });
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        for (Connection connection : connections) {
+            connection.socket.close();
+        }
+        executor.shutdownNow();
+    }
+
+    private synchronized Object execute(Connection connection, List<String> args, byte[] value) {
+        String key = args.size() > 1 ? args.get(1) : null;
+        if (key != null && expireAt.getOrDefault(key, Long.MAX_VALUE) <= System.currentTimeMillis()) {
+            values.remove(key);
+            expireAt.remove(key);
+        }
+        switch (args.get(0).toUpperCase()) {
+            case "PING":
+                return "+PONG";
+            case "GET":
+                return values.get(key);
+            case "SET":
+                if (args.contains("XX") && !values.containsKey(key)) {
+                    return null;
+                }
+                values.put(key, value);
+                int ex = args.indexOf("EX");
+                if (ex > 0) {
+                    expireAt.put(key, System.currentTimeMillis() + Long.parseLong(args.get(ex + 1)) * 1000);
+                } else if (!args.contains("KEEPTTL")) {
+                    expireAt.remove(key);
+                }
+                return "+OK";
+            case "DEL":
+                expireAt.remove(key);
+                return values.remove(key) == null ? 0L : 1L;
+            case "TTL":
+            case "PTTL":
+                if (!values.containsKey(key)) {
+                    return -2L;
+                }
+                Long at = expireAt.get(key);
+                long ttl = at == null ? -1 : at - System.currentTimeMillis();
+                return at != null && args.get(0).equalsIgnoreCase("TTL") ? (ttl + 999) / 1000 : ttl;
+            case "EXPIRE":
+                if (!values.containsKey(key)) {
+                    return 0L;
+                }
+                expireAt.put(key, System.currentTimeMillis() + Long.parseLong(args.get(2)) * 1000);
+                return 1L;
+            case "PERSIST":
+                return expireAt.remove(key) == null ? 0L : 1L;
+            case "SCAN":
+                // 一次返回全部匹配的键，游标总是 0；只支持 * 通配符
+                Pattern pattern = Pattern.compile(("\\Q" + args.get(args.indexOf("MATCH") + 1) + "\\E").replace("*", "\\E.*\\Q"));
+                List<Object> keys = new ArrayList<>();
+                for (String candidate : values.keySet()) {
+                    if (pattern.matcher(candidate).matches()
+                            && expireAt.getOrDefault(candidate, Long.MAX_VALUE) > System.currentTimeMillis()) {
+                        keys.add(candidate);
+                    }
+                }
+                return Arrays.asList("0", keys);
+            case "PUBLISH":
+                long receivers = 0;
+                for (Connection subscriber : connections) {
+                    if (subscriber.channels.contains(key)) {
+                        subscriber.push(Arrays.asList("message", key, value));
+                        receivers++;
+                    }
+                }
+                return receivers;
+            case "SUBSCRIBE":
+                connection.channels.addAll(args.subList(1, args.size()));
+                return Arrays.asList("subscribe", key, (long) connection.channels.size());
+            case "UNSUBSCRIBE":
+                connection.channels.clear();
+                return Arrays.asList("unsubscribe", key, 0L);
+            default:
+                return new IllegalArgumentException("ERR unknown command '" + args.get(0) + "'");
+        }
+    }
+
+    private final class Connection {
+
+        private final Socket socket;
+        private final OutputStream out;
+        private final Set<String> channels = ConcurrentHashMap.newKeySet();
+
+        private Connection(Socket socket) throws IOException {
+            this.socket = socket;
+            // 与 Redis 一样关闭 Nagle 算法，否则流水线的第二条响应要等对端确认
+            socket.setTcpNoDelay(true);
+            this.out = new BufferedOutputStream(socket.getOutputStream());
+        }
+
+        private void serve() {
+            try (Socket ignored = socket) {
+                DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+                String header;
+                while ((header = readLine(in)) != null) {
+                    // 命令名和选项按文本处理，第三个参数（SET 的值、PUBLISH 的消息）保留原始字节
+                    List<String> args = new ArrayList<>();
+                    byte[] value = null;
+                    for (int i = Integer.parseInt(header.substring(1)); i > 0; i--) {
+                        byte[] arg = new byte[Integer.parseInt(readLine(in).substring(1)) + 2];
+                        in.readFully(arg);
+                        arg = Arrays.copyOf(arg, arg.length - 2);
+                        value = args.size() == 2 ? arg : value;
+                        args.add(new String(arg, StandardCharsets.UTF_8));
+                    }
+                    Object reply = execute(this, args, value);
+                    synchronized (out) {
+                        write(reply);
+                        // 流水线中后续命令已到达时合并响应
+                        if (in.available() == 0) {
+                            out.flush();
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                // 连接关闭
+            } finally {
+                connections.remove(this);
+            }
+        }
+
+        private void push(Object message) {
+            synchronized (out) {
+                try {
+                    write(message);
+                    out.flush();
+                } catch (IOException ignored) {
+                    // 订阅连接已断开
+                }
+            }
+        }
+
+        private void write(Object reply) throws IOException {
+            if (reply == null) {
+                out.write("$-1\r\n".getBytes(StandardCharsets.UTF_8));
+            } else if (reply instanceof Long) {
+                out.write((":" + reply + "\r\n").getBytes(StandardCharsets.UTF_8));
+            } else if (reply instanceof Exception) {
+                out.write(("-" + ((Exception) reply).getMessage() + "\r\n").getBytes(StandardCharsets.UTF_8));
+            } else if (reply instanceof String && ((String) reply).startsWith("+")) {
+                out.write((reply + "\r\n").getBytes(StandardCharsets.UTF_8));
+            } else if (reply instanceof List) {
+                List<?> items = (List<?>) reply;
+                out.write(("*" + items.size() + "\r\n").getBytes(StandardCharsets.UTF_8));
+                for (Object item : items) {
+                    write(item);
+                }
+            } else {
+                byte[] bytes = reply instanceof byte[] ? (byte[]) reply : ((String) reply).getBytes(StandardCharsets.UTF_8);
+                out.write(("$" + bytes.length + "\r\n").getBytes(StandardCharsets.UTF_8));
+                out.write(bytes);
+                out.write("\r\n".getBytes(StandardCharsets.UTF_8));
+            }
+        }
+
+        private String readLine(DataInputStream in) throws IOException {
+            StringBuilder line = new StringBuilder();
+            int b;
+            while ((b = in.read()) != '\n') {
+                if (b < 0) {
+                    return null;
+                }
+                if (b != '\r') {
+                    line.append((char) b);
+                }
+            }
+            return line.toString();
+        }
+    }
+}
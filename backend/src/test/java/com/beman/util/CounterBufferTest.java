@@ -0,0 +1,88 @@
+package com.beman.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 计数增量缓冲单元测试
+ */
+@DisplayName("计数增量缓冲测试")
+class CounterBufferTest {
+
+    @Test
+    @DisplayName("测试取出与累加并发时增量不丢失")
+    void testDrainConcurrentWithAdd() throws Exception {
+        CounterBuffer buffer = new CounterBuffer();
+        int writers = 4;
+        int perWriter = 200_000;
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean done = new AtomicBoolean();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < writers; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int n = 0; n < perWriter; n++) {
+                        buffer.add(1L, 1);
+                        buffer.add((long) (n % 8), 1);
+                    }
+                    return null;
+                }));
+            }
+
+            long total = 0;
+            start.countDown();
+            while (!done.get()) {
+                done.set(futures.stream().allMatch(Future::isDone));
+                for (long delta : buffer.drain().values()) {
+                    total += delta;
+                }
+            }
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+            for (long delta : buffer.drain().values()) {
+                total += delta;
+            }
+
+            assertEquals(2L * writers * perWriter, total);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("测试取出后清空，之后的增量留到下一轮")
+    void testDrainClears() {
+        CounterBuffer buffer = new CounterBuffer();
+        buffer.add(1L, 3);
+        buffer.add(2L, -1);
+        buffer.add(5L, 2);
+        buffer.add(5L, -2);
+
+        assertEquals(3, buffer.get(1L));
+        Map<Long, Long> drained = buffer.drain();
+        assertEquals(2, drained.size(), "净增量为零的键不取出");
+        assertEquals(3L, drained.get(1L));
+        assertEquals(-1L, drained.get(2L));
+        assertEquals(0, buffer.get(1L));
+
+        buffer.add(1L, 1);
+        assertEquals(1, buffer.get(1L));
+        assertEquals(Collections.singletonMap(1L, 1L), buffer.drain());
+    }
+}
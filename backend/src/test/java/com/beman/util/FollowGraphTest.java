@@ -0,0 +1,103 @@
+package com.beman.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 关注关系图邻接表测试
+ */
+@DisplayName("关注关系图邻接表测试")
+class FollowGraphTest {
+
+    private FollowGraph graph;
+
+    /**
+     * 10 ↔ 20 ↔ 30 互关，10 → 40，40 → 20、50，20 → 60，30 → 60，50 → 10
+     */
+    @BeforeEach
+    void setUp() {
+        graph = new FollowGraph.Builder(new long[]{10, 20, 30, 40, 50, 60}, 4)
+                .add(10, 20).add(10, 30).add(10, 40)
+                .add(20, 10).add(20, 30).add(20, 60)
+                .add(30, 10).add(30, 20).add(30, 60)
+                .add(40, 20).add(40, 50)
+                .add(50, 10)
+                .build();
+    }
+
+    @Test
+    @DisplayName("测试两个方向的邻接关系")
+    void testAdjacency() {
+        assertEquals(12, graph.edgeCount());
+        assertArrayEquals(new long[]{20, 30, 40}, graph.following(10));
+        assertArrayEquals(new long[]{20, 30, 50}, graph.followers(10));
+        assertArrayEquals(new long[]{20, 30}, graph.followers(60));
+        assertArrayEquals(new long[0], graph.following(60));
+        assertArrayEquals(new long[0], graph.following(99));
+        assertTrue(graph.follows(40, 50));
+        assertFalse(graph.follows(50, 40));
+        assertFalse(graph.follows(99, 10));
+    }
+
+    @Test
+    @DisplayName("测试互关和共同粉丝")
+    void testMutualAndCommonFollowers() {
+        assertArrayEquals(new long[]{20, 30}, graph.mutual(10));
+        assertArrayEquals(new long[0], graph.mutual(40));
+        assertEquals(1, graph.countCommonFollowers(20, 30), "10、30、40 关注了 20，10、20 关注了 30，共同的是 10");
+        assertEquals(1, graph.countCommonFollowers(10, 20));
+        assertEquals(0, graph.countCommonFollowers(10, 99));
+    }
+
+    @Test
+    @DisplayName("测试二度推荐按路径数排序并排除已关注")
+    void testSuggest() {
+        // 10 关注 20、30、40；二度：60（经 20、30），50（经 40），10 自己和已关注的 20、30 排除
+        assertArrayEquals(new long[]{60, 50}, graph.suggest(10, 10, 100));
+        assertArrayEquals(new long[]{60}, graph.suggest(10, 1, 100));
+        // 每个中间用户只展开 1 个关注：20 → 10，30 → 10，40 → 20，全部被排除
+        assertArrayEquals(new long[0], graph.suggest(10, 10, 1));
+    }
+
+    @Test
+    @DisplayName("测试构建时忽略未知用户和重复关系，拒绝乱序")
+    void testBuilderValidation() {
+        FollowGraph.Builder builder = new FollowGraph.Builder(new long[]{1, 2, 3}, 1)
+                .add(1, 2).add(1, 2).add(1, 9).add(2, 2).add(3, 1);
+        assertEquals(3, builder.skipped());
+        assertEquals(2, builder.build().edgeCount());
+
+        FollowGraph.Builder unordered = new FollowGraph.Builder(new long[]{1, 2, 3}, 1).add(2, 1);
+        assertThrows(IllegalArgumentException.class, () -> unordered.add(1, 3));
+    }
+
+    @Test
+    @DisplayName("测试叠加增量生成新图，新用户加入图中")
+    void testMerge() {
+        Map<Long, Set<Long>> added = new HashMap<>();
+        added.put(60L, new TreeSet<>(Arrays.asList(10L, 70L)));
+        added.put(70L, new TreeSet<>(Collections.singletonList(20L)));
+        Map<Long, Set<Long>> removed = new HashMap<>();
+        removed.put(10L, new TreeSet<>(Collections.singletonList(40L)));
+
+        FollowGraph merged = graph.merge(new long[]{70, 20}, added, removed);
+
+        assertEquals(7, merged.userCount());
+        assertEquals(14, merged.edgeCount());
+        assertArrayEquals(new long[]{20, 30}, merged.following(10));
+        assertArrayEquals(new long[]{10, 70}, merged.following(60));
+        assertArrayEquals(new long[]{10, 30, 40, 70}, merged.followers(20));
+        assertArrayEquals(new long[]{20, 30, 50, 60}, merged.followers(10));
+        assertEquals(12, graph.edgeCount(), "原图不变");
+    }
+}
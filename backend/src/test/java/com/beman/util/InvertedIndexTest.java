@@ -0,0 +1,87 @@
+package com.beman.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 帖子倒排索引单元测试
+ */
+@DisplayName("帖子倒排索引测试")
+class InvertedIndexTest {
+
+    private InvertedIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new InvertedIndex();
+        index.put(1L, "第三天了", "他一直不理我，冷战让人很难受", Arrays.asList("冷战化解"), 1);
+        index.put(2L, "如何化解冷战", "冷战的时候先冷静，再主动沟通。冷战不能拖太久", Arrays.asList("冷战化解", "沟通技巧"), 1);
+        index.put(3L, "今天很开心", "一起去看了电影", Arrays.asList("关系经营"), 2);
+    }
+
+    @Test
+    @DisplayName("测试关键词命中并按相关度排序")
+    void testRankedSearch() {
+        InvertedIndex.Hits hits = index.search("冷战", null, null, 0, 10);
+
+        assertEquals(2, hits.getTotal());
+        assertEquals(Arrays.asList(2L, 1L), hits.getIds(), "词频更高的帖子应该排在前面");
+    }
+
+    @Test
+    @DisplayName("测试多字查询要求所有二元词项都命中")
+    void testBigramConjunction() {
+        assertEquals(Collections.singletonList(2L), index.search("主动沟通", null, null, 0, 10).getIds());
+        assertEquals(0, index.search("主动道歉", null, null, 0, 10).getTotal());
+        assertEquals(Collections.singletonList(3L), index.search("电", null, null, 0, 10).getIds(), "应该支持单字查询");
+    }
+
+    @Test
+    @DisplayName("测试标签精确过滤和内容类型过滤")
+    void testFilters() {
+        assertEquals(Collections.singletonList(2L), index.search("冷战", Collections.singletonList("沟通技巧"), null, 0, 10).getIds());
+        assertEquals(Arrays.asList(2L, 1L), index.search(null, Collections.singletonList("冷战化解"), null, 0, 10).getIds(),
+                "只有标签时按新旧倒序");
+        assertEquals(0, index.search(null, Collections.singletonList("冷战"), null, 0, 10).getTotal(), "标签不应该模糊匹配");
+        assertEquals(Collections.singletonList(3L), index.search("电影", null, 2, 0, 10).getIds());
+        assertEquals(0, index.search("电影", null, 1, 0, 10).getTotal());
+    }
+
+    @Test
+    @DisplayName("测试更新和删除")
+    void testUpdateAndRemove() {
+        index.put(3L, "今天很开心", "冷战终于结束了", Collections.emptyList(), 1);
+        assertEquals(3, index.search("冷战", null, null, 0, 10).getTotal(), "更新后的内容应该可以检索");
+        assertEquals(0, index.search("电影", null, null, 0, 10).getTotal(), "更新前的内容不应该再命中");
+
+        index.remove(2L);
+        InvertedIndex.Hits hits = index.search("冷战", null, null, 0, 10);
+        assertEquals(2, hits.getTotal());
+        assertFalse(hits.getIds().contains(2L));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    @DisplayName("测试分页和压缩")
+    void testPagingAndCompaction() {
+        InvertedIndex large = new InvertedIndex();
+        for (long id = 1; id <= 2000; id++) {
+            large.put(id, "标题" + id, "关于沟通的第" + id + "篇", Collections.emptyList(), 1);
+        }
+        for (long id = 1; id <= 1000; id++) {
+            large.remove(id);
+        }
+
+        InvertedIndex.Hits hits = large.search("沟通", null, null, 20, 10);
+        assertEquals(1000, hits.getTotal());
+        assertEquals(10, hits.getIds().size());
+        assertTrue(hits.getIds().stream().allMatch(id -> id > 1000));
+        assertEquals(1000, large.size());
+    }
+}
@@ -0,0 +1,99 @@
+package com.beman.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * KeywordMatcher单元测试
+ */
+@DisplayName("关键词匹配器测试")
+class KeywordMatcherTest {
+
+    @Test
+    @DisplayName("测试命中位置和次数")
+    void testHitsAndCounts() {
+        KeywordMatcher matcher = KeywordMatcher.compile(Arrays.asList("分手", "吵架", "冷战"));
+
+        KeywordMatcher.MatchResult result = matcher.match("吵架后冷战，冷战后又吵架");
+
+        assertEquals(4, result.getHits().size(), "应该命中4次");
+        assertEquals(2, result.getCounts().get("吵架"), "吵架应该出现2次");
+        assertEquals(2, result.getCounts().get("冷战"), "冷战应该出现2次");
+        assertFalse(result.contains("分手"), "不应该命中分手");
+
+        KeywordMatcher.Hit first = result.getHits().get(0);
+        assertEquals("吵架", first.getKeyword());
+        assertEquals(0, first.getStart());
+        assertEquals(2, first.getEnd());
+    }
+
+    @Test
+    @DisplayName("测试重叠和包含关系的关键词")
+    void testOverlappingKeywords() {
+        KeywordMatcher matcher = KeywordMatcher.compile(Arrays.asList("报复", "报复社会", "社会", "he", "she", "hers"));
+
+        KeywordMatcher.MatchResult result = matcher.match("他想报复社会 ushers");
+
+        assertTrue(result.contains("报复"));
+        assertTrue(result.contains("报复社会"));
+        assertTrue(result.contains("社会"));
+        assertTrue(result.contains("she"));
+        assertTrue(result.contains("he"));
+        assertTrue(result.contains("hers"));
+        assertEquals(6, result.getHits().size(), "每个关键词应该各命中一次");
+    }
+
+    @Test
+    @DisplayName("测试不区分大小写")
+    void testCaseInsensitive() {
+        KeywordMatcher matcher = KeywordMatcher.compile(Collections.singletonList("PUA"));
+
+        assertTrue(matcher.match("他总是pua我").contains("pua"));
+        assertTrue(matcher.match("他总是Pua我").contains("PUA"));
+    }
+
+    @Test
+    @DisplayName("测试集合内计数")
+    void testCountIn() {
+        KeywordMatcher matcher = KeywordMatcher.compile(Arrays.asList("生气", "失望", "分手"));
+
+        KeywordMatcher.MatchResult result = matcher.match("很生气，很生气，也很失望");
+
+        assertEquals(2, result.countIn(new HashSet<>(Arrays.asList("生气", "失望"))), "重复命中只计一次");
+        assertEquals(0, result.countIn(Collections.singleton("分手")));
+    }
+
+    @Test
+    @DisplayName("测试空输入")
+    void testEmptyInput() {
+        KeywordMatcher matcher = KeywordMatcher.compile(Arrays.asList("分手", "", null));
+
+        assertEquals(1, matcher.size(), "空白关键词应该被忽略");
+        assertTrue(matcher.match(null).isEmpty());
+        assertTrue(matcher.match("").isEmpty());
+        assertTrue(KeywordMatcher.compile(Collections.<String>emptyList()).match("分手").isEmpty());
+    }
+
+    @Test
+    @DisplayName("测试与逐词contains结果一致")
+    void testConsistentWithContains() {
+        List<String> keywords = Arrays.asList("分手", "离婚", "绝交", "拉黑", "恨你", "去死", "吵架", "冷战",
+                "生气", "失望", "绝望", "想不开", "活不下去", "不理你");
+        KeywordMatcher matcher = KeywordMatcher.compile(keywords);
+        String text = "吵架冷战了好几天，他说不理你就不理你，我很失望甚至绝望，想过分手，但又想不开";
+
+        KeywordMatcher.MatchResult result = matcher.match(text);
+
+        for (String keyword : keywords) {
+            assertEquals(text.contains(keyword), result.contains(keyword), "关键词 " + keyword + " 判定应该一致");
+        }
+        assertEquals(2, result.getCounts().get("不理你"));
+    }
+}
@@ -0,0 +1,89 @@
+package com.beman.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 密码哈希算法单元测试
+ */
+@DisplayName("密码哈希算法测试")
+class PasswordHasherTest {
+
+    private final Pbkdf2PasswordHasher hasher = new Pbkdf2PasswordHasher(1000);
+
+    @Test
+    @DisplayName("测试PBKDF2哈希和校验")
+    void testPbkdf2HashAndMatch() {
+        String encoded = hasher.hash("secret123");
+
+        assertTrue(encoded.startsWith("pbkdf2_sha256$1000$"));
+        assertTrue(encoded.length() <= 100);
+        assertTrue(hasher.supports(encoded));
+        assertTrue(hasher.matches("secret123", encoded));
+        assertFalse(hasher.matches("secret124", encoded));
+        assertNotEquals(encoded, hasher.hash("secret123"), "每次使用不同的盐");
+    }
+
+    @Test
+    @DisplayName("测试迭代次数低于当前设置时需要重新哈希")
+    void testNeedsRehash() {
+        String weak = new Pbkdf2PasswordHasher(500).hash("secret123");
+
+        assertTrue(hasher.matches("secret123", weak), "旧参数的编码仍可校验");
+        assertTrue(hasher.needsRehash(weak));
+        assertFalse(hasher.needsRehash(hasher.hash("secret123")));
+        assertFalse(new Pbkdf2PasswordHasher(500).needsRehash(hasher.hash("secret123")), "不降级");
+        assertTrue(hasher.needsRehash("e10adc3949ba59abbe56e057f20f883e"));
+        assertFalse(hasher.matches("secret123", "pbkdf2_sha256$1000$broken"));
+    }
+
+    @Test
+    @DisplayName("测试旧版MD5密码只校验不生成")
+    void testLegacyMd5() {
+        PasswordVerifier md5 = new Md5PasswordVerifier();
+        String legacy = DigestUtils.md5DigestAsHex("123456".getBytes(StandardCharsets.UTF_8));
+
+        assertTrue(md5.supports(legacy));
+        assertFalse(md5.supports(hasher.hash("123456")));
+        assertTrue(md5.matches("123456", legacy));
+        assertTrue(md5.matches("123456", legacy.toUpperCase()));
+        assertFalse(md5.matches("1234567", legacy));
+        assertTrue(md5.needsRehash(legacy));
+        assertFalse(md5 instanceof PasswordHasher, "旧算法不能用于生成新密码");
+    }
+
+    @Test
+    @DisplayName("测试存储的编码损坏时视为不匹配并需要重新哈希")
+    void testMalformedEncoded() {
+        String encoded = hasher.hash("secret123");
+        String salt = encoded.split("\\$")[2];
+        String hash = encoded.split("\\$")[3];
+        String[] malformed = {
+                "pbkdf2_sha256$abc$" + salt + "$" + hash,
+                "pbkdf2_sha256$0$" + salt + "$" + hash,
+                "pbkdf2_sha256$99999999999$" + salt + "$" + hash,
+                "pbkdf2_sha256$1000$!!!$" + hash,
+                "pbkdf2_sha256$1000$" + salt + "$%%%",
+                "pbkdf2_sha256$1000$$" + hash,
+        };
+
+        for (String broken : malformed) {
+            assertFalse(assertDoesNotThrow(() -> hasher.matches("secret123", broken)), broken);
+            assertTrue(assertDoesNotThrow(() -> hasher.needsRehash(broken)), broken);
+        }
+    }
+
+    @Test
+    @DisplayName("测试按本机速度校准迭代次数")
+    void testCalibrate() {
+        int iterations = Pbkdf2PasswordHasher.calibrate(5, 3000);
+
+        assertTrue(iterations >= 3000);
+        assertEquals(0, iterations % 1000);
+    }
+}
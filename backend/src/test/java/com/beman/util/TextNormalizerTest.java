@@ -0,0 +1,83 @@
+package com.beman.util;
+
+import com.beman.model.AuditResult;
+import com.beman.service.impl.ContentAuditServiceImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TextNormalizer单元测试
+ */
+@DisplayName("审核文本归一化测试")
+class TextNormalizerTest {
+
+    @Test
+    @DisplayName("测试剔除空白、标点和零宽字符")
+    void testStripSeparators() {
+        assertEquals("分手", TextNormalizer.normalizeToString("分 手"));
+        assertEquals("分手", TextNormalizer.normalizeToString("分-手"));
+        assertEquals("分手", TextNormalizer.normalizeToString("分\u200b手"));
+        assertEquals("分手", TextNormalizer.normalizeToString("分\u200d手\ufeff"));
+        assertEquals("分手", TextNormalizer.normalizeToString("分，。！手"));
+        assertEquals("分手", TextNormalizer.normalizeToString("分★手"));
+    }
+
+    @Test
+    @DisplayName("测试全角转半角和大小写折叠")
+    void testWidthAndCase() {
+        assertEquals("pua", TextNormalizer.normalizeToString("ＰＵＡ"));
+        assertEquals("pua123", TextNormalizer.normalizeToString("P u A １２３"));
+    }
+
+    @Test
+    @DisplayName("测试繁体异体字映射")
+    void testVariants() {
+        assertEquals("离婚", TextNormalizer.normalizeToString("離婚"));
+        assertEquals("恐怖袭击", TextNormalizer.normalizeToString("恐怖襲擊"));
+    }
+
+    @Test
+    @DisplayName("测试命中位置换算回原文")
+    void testOffsets() {
+        KeywordMatcher matcher = KeywordMatcher.compile(Arrays.asList("分手"));
+        String text = "我想 分 手了";
+
+        TextNormalizer.Buffer buffer = TextNormalizer.normalize(text);
+        KeywordMatcher.MatchResult result = matcher.match(buffer.getChars(), buffer.getLength(), buffer.getOffsets());
+
+        assertEquals(1, result.getHits().size());
+        KeywordMatcher.Hit hit = result.getHits().get(0);
+        assertEquals("分 手", text.substring(hit.getStart(), hit.getEnd()), "命中位置应该对应原文");
+    }
+
+    @Test
+    @DisplayName("测试超长文本")
+    void testLongText() {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 10000; i++) {
+            builder.append("正常 内容，");
+        }
+        builder.append("分 手");
+
+        TextNormalizer.Buffer buffer = TextNormalizer.normalize(builder);
+
+        assertEquals(10000 * 4 + 2, buffer.getLength());
+        assertTrue(buffer.toString().endsWith("分手"));
+    }
+
+    @Test
+    @DisplayName("测试规避写法被审核识别")
+    void testAuditEvasion() {
+        ContentAuditServiceImpl contentAuditService = new ContentAuditServiceImpl();
+
+        for (String content : Arrays.asList("我想和她分 手", "我想和她分\u200b手", "我想和她分.手", "我們離婚吧")) {
+            AuditResult result = contentAuditService.auditContent(content);
+            assertTrue(result.isExtreme(), content + " 应该被识别为极端内容");
+        }
+        assertEquals(1, contentAuditService.getRiskLevel("今天吵 架了，很生-气"), "两个敏感词应该是中风险");
+    }
+}
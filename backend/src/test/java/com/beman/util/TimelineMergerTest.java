@@ -0,0 +1,74 @@
+package com.beman.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 时间线归并单元测试
+ */
+@DisplayName("时间线归并测试")
+class TimelineMergerTest {
+
+    @Test
+    @DisplayName("测试多路归并按ID倒序并去重")
+    void testMergeAndDeduplicate() {
+        List<long[]> sources = Arrays.asList(
+                new long[]{90, 50, 10},
+                new long[]{80, 50, 40},
+                new long[]{});
+
+        assertArrayEquals(new long[]{90, 80, 50, 40, 10}, TimelineMerger.merge(sources, null, 10));
+        assertArrayEquals(new long[]{90, 80, 50}, TimelineMerger.merge(sources, null, 3));
+    }
+
+    @Test
+    @DisplayName("测试从游标之后开始")
+    void testBeforeCursor() {
+        List<long[]> sources = Arrays.asList(new long[]{90, 50, 10}, new long[]{80, 50, 40});
+
+        assertArrayEquals(new long[]{40, 10}, TimelineMerger.merge(sources, 50L, 10));
+        assertArrayEquals(new long[0], TimelineMerger.merge(sources, 10L, 10));
+        assertEquals(1, TimelineMerger.firstBelow(new long[]{90, 50, 10}, 90));
+        assertEquals(3, TimelineMerger.firstBelow(new long[]{90, 50, 10}, 5));
+    }
+
+    @Test
+    @DisplayName("测试逐页翻完与整体排序一致")
+    void testPagingMatchesSortedUnion() {
+        Random random = new Random(11);
+        List<long[]> sources = new ArrayList<>();
+        TreeSet<Long> union = new TreeSet<>(Collections.reverseOrder());
+        for (int i = 0; i < 20; i++) {
+            TreeSet<Long> ids = new TreeSet<>(Collections.reverseOrder());
+            int count = random.nextInt(50);
+            for (int j = 0; j < count; j++) {
+                ids.add((long) random.nextInt(500) + 1);
+            }
+            sources.add(ids.stream().mapToLong(Long::longValue).toArray());
+            union.addAll(ids);
+        }
+
+        List<Long> paged = new ArrayList<>();
+        Long before = null;
+        while (true) {
+            long[] page = TimelineMerger.merge(sources, before, 7);
+            for (long id : page) {
+                paged.add(id);
+            }
+            if (page.length < 7) {
+                break;
+            }
+            before = page[page.length - 1];
+        }
+        assertEquals(new ArrayList<>(union), paged);
+    }
+}
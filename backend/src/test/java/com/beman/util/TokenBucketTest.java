@@ -0,0 +1,45 @@
+package com.beman.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 令牌桶单元测试
+ */
+@DisplayName("令牌桶测试")
+class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    @DisplayName("测试满桶取完后拒绝")
+    void testBurstUpToCapacity() {
+        TokenBucket bucket = new TokenBucket(3, 1, 0);
+
+        assertTrue(bucket.tryAcquire(0));
+        assertTrue(bucket.tryAcquire(0));
+        assertTrue(bucket.tryAcquire(0));
+        assertFalse(bucket.tryAcquire(0));
+    }
+
+    @Test
+    @DisplayName("测试按速率补充且不超过容量")
+    void testRefill() {
+        TokenBucket bucket = new TokenBucket(2, 0.5, 0);
+        bucket.tryAcquire(0);
+        bucket.tryAcquire(0);
+
+        assertFalse(bucket.tryAcquire(SECOND), "1 秒只补半个令牌");
+        assertTrue(bucket.tryAcquire(2 * SECOND));
+        assertFalse(bucket.tryAcquire(2 * SECOND));
+
+        // 闲置很久也只补满一桶
+        assertTrue(bucket.tryAcquire(100 * SECOND));
+        assertTrue(bucket.tryAcquire(100 * SECOND));
+        assertFalse(bucket.tryAcquire(100 * SECOND));
+    }
+}
@@ -0,0 +1,100 @@
+package com.beman.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 带时间衰减的热点计数器单元测试
+ */
+@DisplayName("热点计数器测试")
+class TrendingCounterTest {
+
+    private static final long HOUR = TimeUnit.HOURS.toMillis(1);
+
+    @Test
+    @DisplayName("测试容量有限时高频键不会被低频键挤出")
+    void testHeavyHittersSurvive() {
+        TrendingCounter counter = new TrendingCounter(10, HOUR, 0);
+        Random random = new Random(7);
+        for (int i = 0; i < 20000; i++) {
+            // 三个高频键约占一半流量，其余是大量只出现几次的长尾键
+            if (random.nextBoolean()) {
+                counter.add("热门" + random.nextInt(3), 1, 0);
+            } else {
+                counter.add("长尾" + random.nextInt(5000), 1, 0);
+            }
+        }
+
+        assertEquals(10, counter.size());
+        List<String> top = keys(counter.top(3, 0));
+        assertTrue(top.containsAll(Arrays.asList("热门0", "热门1", "热门2")), "高频键应该稳定排在前三: " + top);
+        TrendingCounter.Entry first = counter.top(1, 0).get(0);
+        assertTrue(first.getCount() - first.getError() > 3000, "计数下界应该接近真实值");
+    }
+
+    @Test
+    @DisplayName("测试累加改变名次后新键替换的是当前最小的计数项")
+    void testReplacesCurrentMinimum() {
+        TrendingCounter counter = new TrendingCounter(3, HOUR, 0);
+        counter.add("沟通技巧", 5, 0);
+        counter.add("冷战化解", 1, 0);
+        counter.add("情绪管理", 3, 0);
+        counter.add("冷战化解", 10, 0);
+
+        counter.add("异地恋", 1, 0);
+
+        List<TrendingCounter.Entry> top = counter.top(3, 0);
+        assertEquals(Arrays.asList("冷战化解", "沟通技巧", "异地恋"), keys(top));
+        assertEquals(4, top.get(2).getCount(), 1e-9, "新键继承被替换项的计数");
+        assertEquals(3, top.get(2).getError(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("测试计数随时间衰减，近期热度超过早期热度")
+    void testDecay() {
+        TrendingCounter counter = new TrendingCounter(100, HOUR, 0);
+        counter.add("早期", 100, 0);
+        counter.add("近期", 30, 2 * HOUR);
+
+        List<TrendingCounter.Entry> top = counter.top(2, 2 * HOUR);
+        assertEquals(Arrays.asList("近期", "早期"), keys(top));
+        assertEquals(100 * Math.exp(-2), top.get(1).getCount(), 1e-6, "每经过一个时间常数衰减为 1/e");
+    }
+
+    @Test
+    @DisplayName("测试长时间运行后整体缩放不影响计数")
+    void testRescale() {
+        TrendingCounter counter = new TrendingCounter(100, HOUR, 0);
+        counter.add("沟通技巧", 1, 100 * HOUR);
+        counter.add("沟通技巧", 1, 100 * HOUR);
+
+        assertEquals(2, counter.top(1, 100 * HOUR).get(0).getCount(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("测试快照恢复时按间隔衰减")
+    void testRestore() {
+        TrendingCounter source = new TrendingCounter(100, HOUR, 0);
+        source.add("冷战化解", 50, 0);
+        source.add("情绪管理", 20, 0);
+
+        TrendingCounter restored = new TrendingCounter(100, HOUR, 3 * HOUR);
+        restored.restore(source.entries(HOUR), HOUR, 3 * HOUR);
+
+        List<TrendingCounter.Entry> top = restored.top(2, 3 * HOUR);
+        assertEquals(Arrays.asList("冷战化解", "情绪管理"), keys(top));
+        assertEquals(50 * Math.exp(-3), top.get(0).getCount(), 1e-9);
+    }
+
+    private static List<String> keys(List<TrendingCounter.Entry> entries) {
+        return entries.stream().map(TrendingCounter.Entry::getKey).collect(Collectors.toList());
+    }
+}